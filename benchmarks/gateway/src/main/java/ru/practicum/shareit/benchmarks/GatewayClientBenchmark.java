@@ -0,0 +1,172 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+import ru.practicum.shareit.commons.client.GatewayResponseCache;
+import ru.practicum.shareit.commons.client.ShareItServerClientConfiguration;
+import ru.practicum.shareit.item.ItemClient;
+
+/**
+ * Обращение шлюза к сервису через {@link ru.practicum.shareit.commons.client.BaseClient}: запрос по пулу соединений
+ * Apache HttpClient к заглушке сервиса на локальном HTTP-сервере JDK, чтение тела ответа и формирование ответа шлюза.
+ * Клиент и пул соединений создаются так же, как в шлюзе (shareit-server.client.*). Параметр items - число вещей в
+ * ответе заглушки. Тест cachedItem - ответ из кэша ответов шлюза без обращения к сервису. Тест itemsByOwnerObjectTree
+ * повторяет прежнюю передачу ответа: тело разбирается в дерево объектов и сериализуется заново; разницу в выделении
+ * памяти с передачей массива байтов показывает профилировщик -prof gc
+ * <p>
+ * HTTP-сервер JDK по умолчанию не отключает алгоритм Нейгла, и ответ, записанный несколькими пакетами, задерживается
+ * до подтверждения клиента (около 40 мс). Tomcat сервиса отключает его по умолчанию, поэтому для заглушки он также
+ * отключен
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+@State(Scope.Benchmark)
+public class GatewayClientBenchmark {
+
+    private static final long USER_ID = 1L;
+
+    @Param({"1", "100"})
+    public int items;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private PoolingHttpClientConnectionManager connectionManager;
+    private ItemClient itemClient;
+    private RestClient restClient;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() throws IOException {
+        byte[] list = itemsJson(items).getBytes(StandardCharsets.UTF_8);
+        byte[] single = itemsJson(1).getBytes(StandardCharsets.UTF_8);
+
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/items", exchange -> {
+            boolean byId = exchange.getRequestURI().getQuery() == null;
+            if (byId) {
+                exchange.getResponseHeaders().add("Cache-Control", "max-age=3600");
+                exchange.getResponseHeaders().add("ETag", "\"1\"");
+            }
+            respond(exchange, byId ? single : list);
+        });
+        server.setExecutor(executor);
+        server.start();
+
+        ShareItServerClientConfiguration configuration = new ShareItServerClientConfiguration();
+        connectionManager = configuration.shareItServerConnectionManager(100, 100, Duration.ofSeconds(2),
+                Duration.ofSeconds(30));
+        ClientHttpRequestFactory requestFactory = configuration.shareItServerRequestFactory(connectionManager,
+                Duration.ofSeconds(5), Duration.ofSeconds(30), Duration.ofSeconds(30));
+        GatewayResponseCache responseCache = new GatewayResponseCache(true, 10_000, Duration.ofMinutes(10),
+                new SimpleMeterRegistry());
+        String baseUrl = "http://localhost:" + server.getAddress().getPort();
+        itemClient = new ItemClient(baseUrl, RestClient.builder(), requestFactory, responseCache);
+        restClient = RestClient.builder()
+                .baseUrl(baseUrl + "/items")
+                .requestFactory(requestFactory)
+                .build();
+        objectMapper = new ObjectMapper();
+
+        checkSuccessful(itemsByOwner());
+        checkSuccessful(cachedItem());
+    }
+
+    @TearDown
+    public void tearDown() {
+        connectionManager.close();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> itemsByOwner() {
+        return itemClient.findAll(USER_ID, 0, items, null, false);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ResponseEntity<Object> itemsByOwnerConcurrent() {
+        return itemClient.findAll(USER_ID, 0, items, null, false);
+    }
+
+    @Benchmark
+    public byte[] itemsByOwnerObjectTree() throws IOException {
+        Object body = restClient.get()
+                .uri("?from={from}&size={size}", 0, items)
+                .header("X-Sharer-User-Id", String.valueOf(USER_ID))
+                .retrieve()
+                .body(Object.class);
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> cachedItem() {
+        return itemClient.findById(1L, USER_ID);
+    }
+
+    /**
+     * Метод проверяет, что заглушка ответила успешно: иначе тест измерял бы обработку ошибки
+     *
+     * @param response ответ шлюза
+     */
+    private static void checkSuccessful(ResponseEntity<Object> response) {
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            throw new IllegalStateException("Заглушка сервиса вернула код " + response.getStatusCode());
+        }
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String itemsJson(int count) {
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int id = 1; id <= count; id++) {
+            json.add(String.join("",
+                    "{\"id\":", String.valueOf(id),
+                    ",\"sharer\":{\"id\":1,\"email\":\"owner@shareit.ru\",\"name\":\"Владелец\"}",
+                    ",\"name\":\"Дрель ", String.valueOf(id), "\"",
+                    ",\"description\":\"Аккумуляторная дрель с набором сверл\",\"available\":true",
+                    ",\"lastBooking\":null,\"nextBooking\":null,\"comments\":[],\"request\":null}"));
+        }
+        return json.toString();
+    }
+}
@@ -0,0 +1,135 @@
+package ru.practicum.shareit.benchmarks;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.projection.ProjectionFactory;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
+import ru.practicum.shareit.booking.projection.BookingProjection;
+import ru.practicum.shareit.item.projection.CommentProjection;
+import ru.practicum.shareit.item.projection.ItemProjection;
+
+/**
+ * Данные для тестов производительности. Проекции создаются той же фабрикой Spring Data, что и проекции результатов
+ * запросов репозиториев, поэтому обращение к их полям стоит столько же, сколько в сервисе
+ */
+final class BenchmarkData {
+
+    static final long OWNER_ID = 1L;
+
+    static final long BOOKER_ID = 2L;
+
+    /**
+     * Каждая REQUEST_STEP-я вещь создана по запросу
+     */
+    static final int REQUEST_STEP = 4;
+
+    static final int COMMENTS_PER_ITEM = 3;
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private static final ProjectionFactory PROJECTIONS = new SpelAwareProxyProjectionFactory();
+
+    private BenchmarkData() {
+    }
+
+    static ItemProjection item(long id) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("name", "Дрель " + id);
+        row.put("description", "Аккумуляторная дрель с набором сверл, номер " + id);
+        row.put("available", true);
+        row.put("sharerId", OWNER_ID);
+        row.put("sharerName", "Владелец");
+        row.put("sharerEmail", "owner@shareit.ru");
+        if (id % REQUEST_STEP == 0) {
+            row.put("requestId", id);
+            row.put("requestDescription", "Нужна дрель на выходные");
+            row.put("requestCreated", NOW.minusDays(3));
+            row.put("requestorId", BOOKER_ID);
+            row.put("requestorName", "Арендатор");
+            row.put("requestorEmail", "booker@shareit.ru");
+        }
+        return PROJECTIONS.createProjection(ItemProjection.class, row);
+    }
+
+    static List<ItemProjection> items(int size) {
+        List<ItemProjection> items = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            items.add(item(id));
+        }
+        return items;
+    }
+
+    static BookingProjection booking(long id) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("startDate", NOW.plusDays(id));
+        row.put("endDate", NOW.plusDays(id + 1));
+        row.put("status", BookingStatus.APPROVED);
+        row.put("itemId", id);
+        row.put("itemName", "Дрель " + id);
+        row.put("itemDescription", "Аккумуляторная дрель с набором сверл, номер " + id);
+        row.put("itemAvailable", true);
+        row.put("sharerId", OWNER_ID);
+        row.put("sharerName", "Владелец");
+        row.put("sharerEmail", "owner@shareit.ru");
+        row.put("bookerId", BOOKER_ID);
+        row.put("bookerName", "Арендатор");
+        row.put("bookerEmail", "booker@shareit.ru");
+        return PROJECTIONS.createProjection(BookingProjection.class, row);
+    }
+
+    static List<BookingProjection> bookings(int size) {
+        List<BookingProjection> bookings = new ArrayList<>(size);
+        for (long id = 1; id <= size; id++) {
+            bookings.add(booking(id));
+        }
+        return bookings;
+    }
+
+    /**
+     * Метод возвращает последнее и следующее бронирования каждой вещи
+     */
+    static List<BookingNeighbourProjection> neighbours(int size) {
+        List<BookingNeighbourProjection> neighbours = new ArrayList<>(size * 2);
+        for (long itemId = 1; itemId <= size; itemId++) {
+            for (String kind : List.of(BookingNeighbourProjection.LAST, BookingNeighbourProjection.NEXT)) {
+                boolean last = BookingNeighbourProjection.LAST.equals(kind);
+                Map<String, Object> row = new HashMap<>();
+                row.put("itemId", itemId);
+                row.put("id", neighbours.size() + 1L);
+                row.put("bookerId", BOOKER_ID);
+                row.put("startDate", last ? NOW.minusDays(2) : NOW.plusDays(2));
+                row.put("endDate", last ? NOW.minusDays(1) : NOW.plusDays(3));
+                row.put("kind", kind);
+                neighbours.add(PROJECTIONS.createProjection(BookingNeighbourProjection.class, row));
+            }
+        }
+        return neighbours;
+    }
+
+    static CommentProjection comment(long id, long itemId) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("itemId", itemId);
+        row.put("text", "Дрель в хорошем состоянии, аккумулятор держит заряд");
+        row.put("authorName", "Арендатор");
+        row.put("created", NOW.minusHours(id));
+        return PROJECTIONS.createProjection(CommentProjection.class, row);
+    }
+
+    static List<CommentProjection> comments(int size) {
+        List<CommentProjection> comments = new ArrayList<>(size * COMMENTS_PER_ITEM);
+        for (long itemId = 1; itemId <= size; itemId++) {
+            for (int i = 0; i < COMMENTS_PER_ITEM; i++) {
+                comments.add(comment(comments.size() + 1L, itemId));
+            }
+        }
+        return comments;
+    }
+}
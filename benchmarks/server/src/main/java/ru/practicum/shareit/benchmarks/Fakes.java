@@ -0,0 +1,39 @@
+package ru.practicum.shareit.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Заглушки репозиториев и инфраструктуры JPA для измерения сервисов без БД. Заглушка отвечает на вызовы методов с
+ * переданными именами заранее подготовленными значениями, вызов остальных методов завершается исключением
+ */
+final class Fakes {
+
+    private Fakes() {
+    }
+
+    /**
+     * Метод возвращает реализацию интерфейса, отвечающую на вызовы методов с переданными именами
+     *
+     * @param type интерфейс
+     * @param answers ответы по имени метода, аргумент функции - аргументы вызова
+     * @return реализация интерфейса
+     */
+    static <T> T of(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer != null) {
+                return answer.apply(args);
+            }
+            return switch (method.getName()) {
+                case "toString" -> "Fake" + type.getSimpleName();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            };
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * Пакетная вставка пользователей через репозиторий в БД H2 в памяти. Идентификаторы выдаются последовательностью
+ * блоками, строки отправляются пакетами JDBC (hibernate.jdbc.batch_size). Результат - вставленных строк в секунду.
+ * Контекст сервиса запускается без веб-сервера с профилями test и prod. Параметр batchSize задает размер пакета JDBC:
+ * при значении 1 каждая строка отправляется отдельным выражением, как до включения пакетной вставки
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(InsertBenchmark.BATCH)
+public class InsertBenchmark {
+
+    static final int BATCH = 50;
+
+    @Param({"50", "1"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private UserRepository userRepository;
+    private long counter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test", "prod")
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmarks", "logging.level.ru.practicum.shareit=WARN",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize)
+                .run();
+        userRepository = context.getBean(UserRepository.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<User> users() {
+        List<User> users = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long number = counter++;
+            users.add(User.builder().name("User " + number).email("user" + number + "@benchmark.ru").build());
+        }
+        return userRepository.saveAll(users);
+    }
+}
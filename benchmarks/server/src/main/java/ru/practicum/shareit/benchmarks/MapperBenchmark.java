@@ -0,0 +1,149 @@
+package ru.practicum.shareit.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import io.micrometer.core.instrument.binder.logging.LogbackMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
+import ru.practicum.shareit.booking.projection.BookingProjection;
+import ru.practicum.shareit.item.dto.CommentShortDto;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.projection.CommentProjection;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.request.dto.ItemRequestFullDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+
+/**
+ * Преобразование проекций и сущностей преобразователями моделей. Параметр level задает уровень журнала
+ * преобразователей: INFO - как в профиле prod, сообщения TRACE отключены; TRACE - сообщения передаются в журнал без
+ * вывода. В контексте журнала, как в сервисе с actuator, зарегистрирован счетчик событий журнала Micrometer, поэтому
+ * с профилировщиком {@code -prof gc} видно выделение памяти на аргументы сообщений
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private static final List<Class<?>> MAPPERS = List.of(BookingMapperImpl.class, CommentMapperImpl.class,
+            ItemMapperImpl.class, ItemRequestMapperImpl.class, UserMapperImpl.class);
+
+    @Param({"INFO", "TRACE"})
+    public String level;
+
+    private final UserMapper userMapper = new UserMapperImpl();
+    private final ItemMapper itemMapper = new ItemMapperImpl();
+    private final BookingMapper bookingMapper = new BookingMapperImpl();
+    private final CommentMapper commentMapper = new CommentMapperImpl();
+    private final ItemRequestMapper itemRequestMapper = new ItemRequestMapperImpl(userMapper);
+
+    private LogbackMetrics logbackMetrics;
+
+    private ItemProjection item;
+    private BookingProjection booking;
+    private BookingNeighbourProjection neighbour;
+    private CommentProjection comment;
+    private User user;
+    private ItemRequest itemRequest;
+
+    @Setup
+    public void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logbackMetrics = new LogbackMetrics();
+        logbackMetrics.bindTo(new SimpleMeterRegistry());
+
+        NOPAppender<ILoggingEvent> appender = new NOPAppender<>();
+        appender.setContext(context);
+        appender.start();
+        for (Class<?> mapper : MAPPERS) {
+            Logger logger = context.getLogger(mapper);
+            logger.setLevel(Level.toLevel(level));
+            logger.setAdditive(false);
+            logger.addAppender(appender);
+        }
+
+        item = BenchmarkData.item(BenchmarkData.REQUEST_STEP);
+        booking = BenchmarkData.booking(1);
+        neighbour = BenchmarkData.neighbours(1).getFirst();
+        comment = BenchmarkData.comment(1, 1);
+        user = User.builder().entityId(BenchmarkData.BOOKER_ID).name("Арендатор").email("booker@shareit.ru").build();
+        itemRequest = ItemRequest.builder().entityId(1L).description("Нужна дрель на выходные").requestor(user)
+                .created(LocalDateTime.of(2024, 6, 1, 12, 0)).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        logbackMetrics.close();
+    }
+
+    @Benchmark
+    public ItemFullDto itemFullDto() {
+        return itemMapper.mapToFullDto(item);
+    }
+
+    @Benchmark
+    public ItemShortDto itemShortDto() {
+        return itemMapper.mapToShortDto(item);
+    }
+
+    @Benchmark
+    public BookingFullDto bookingFullDto() {
+        return bookingMapper.mapToFullDto(booking);
+    }
+
+    @Benchmark
+    public BookingShortDto bookingShortDto() {
+        return bookingMapper.mapToShortDto(neighbour);
+    }
+
+    @Benchmark
+    public CommentShortDto commentShortDto() {
+        return commentMapper.mapToShortDto(comment);
+    }
+
+    @Benchmark
+    public UserDto userDto() {
+        return userMapper.mapToUserDto(user);
+    }
+
+    @Benchmark
+    public ItemRequestFullDto itemRequestFullDto() {
+        return itemRequestMapper.mapToItemRequestFullDto(itemRequest);
+    }
+}
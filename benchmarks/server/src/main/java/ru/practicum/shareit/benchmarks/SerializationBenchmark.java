@@ -0,0 +1,91 @@
+package ru.practicum.shareit.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
+import ru.practicum.shareit.item.dto.CommentShortDto;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.projection.CommentProjection;
+import ru.practicum.shareit.item.projection.ItemProjection;
+
+/**
+ * Сериализация страниц {@link ItemFullDto} и {@link BookingFullDto} в JSON. Сериализатор настроен так же, как
+ * ObjectMapper Spring Boot в сервисе: даты в формате ISO-8601. Параметр size - размер страницы
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<ItemFullDto> items;
+    private List<BookingFullDto> bookings;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS)
+                .build();
+
+        ItemMapperImpl itemMapper = new ItemMapperImpl();
+        BookingMapperImpl bookingMapper = new BookingMapperImpl();
+        CommentMapperImpl commentMapper = new CommentMapperImpl();
+
+        Map<Long, List<CommentShortDto>> comments = BenchmarkData.comments(size).stream()
+                .collect(Collectors.groupingBy(CommentProjection::getItemId,
+                        Collectors.mapping(commentMapper::mapToShortDto, Collectors.toList())));
+        List<BookingNeighbourProjection> neighbours = BenchmarkData.neighbours(size);
+
+        items = new ArrayList<>(size);
+        for (ItemProjection item : BenchmarkData.items(size)) {
+            ItemFullDto dto = itemMapper.mapToFullDto(item);
+            int index = (int) (item.getId() - 1) * 2;
+            dto.setLastBooking(bookingMapper.mapToShortDto(neighbours.get(index)));
+            dto.setNextBooking(bookingMapper.mapToShortDto(neighbours.get(index + 1)));
+            dto.setComments(comments.get(item.getId()));
+            items.add(dto);
+        }
+        bookings = BenchmarkData.bookings(size).stream()
+                .map(bookingMapper::mapToFullDto)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] items() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] bookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+}
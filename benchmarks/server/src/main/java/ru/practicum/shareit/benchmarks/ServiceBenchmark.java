@@ -0,0 +1,104 @@
+package ru.practicum.shareit.benchmarks;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingFullDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.booking.projection.BookingProjection;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.commons.cache.EntityExistenceChecker;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+/**
+ * Формирование страницы вещей владельца ({@code ItemServiceImpl.completeCollection}: последнее и следующее
+ * бронирования, комментарии и вещи запросов) и страницы бронирований пользователя
+ * ({@code BookingServiceImpl.completeCollection}). Репозитории заменены заглушками, возвращающими готовые проекции,
+ * поэтому измеряется только работа сервиса и преобразователей моделей. Параметр size - размер страницы
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ServiceBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup
+    public void setUp() {
+        List<ItemProjection> items = BenchmarkData.items(size);
+        List<ItemProjection> requestItems = items.stream()
+                .filter(item -> item.getRequestId() != null)
+                .toList();
+        List<BookingProjection> bookings = BenchmarkData.bookings(size);
+
+        ItemRepository itemRepository = Fakes.of(ItemRepository.class, Map.of(
+                "findAllBySharerEntityId", args -> new SliceImpl<>(items),
+                "findByRequestEntityIdIn", args -> requestItems));
+        BookingRepository bookingRepository = Fakes.of(BookingRepository.class, Map.of(
+                "findNeighbourBookings", args -> BenchmarkData.neighbours(size),
+                "findAllByBookerEntityId", args -> new SliceImpl<>(bookings)));
+        CommentRepository commentRepository = Fakes.of(CommentRepository.class, Map.of(
+                "findAllByItemEntityIdIn", args -> BenchmarkData.comments(size)));
+        UserRepository userRepository = Fakes.of(UserRepository.class, Map.of());
+
+        // Пользователь найден в кэше второго уровня, обращения к репозиторию нет
+        Cache cache = Fakes.of(Cache.class, Map.of("contains", args -> true));
+        EntityExistenceChecker entityExistenceChecker = new EntityExistenceChecker(
+                Fakes.of(EntityManagerFactory.class, Map.of("getCache", args -> cache)));
+
+        UserMapperImpl userMapper = new UserMapperImpl();
+        itemService = new ItemServiceImpl(itemRepository, new ItemMapperImpl(), bookingRepository,
+                new BookingMapperImpl(), userRepository, userMapper, commentRepository, new CommentMapperImpl(),
+                Fakes.of(ItemRequestRepository.class, Map.of()), new ItemRequestMapperImpl(userMapper),
+                Fakes.of(ItemSearchEngine.class, Map.of()), entityExistenceChecker);
+        bookingService = new BookingServiceImpl(bookingRepository, new BookingMapperImpl(), userRepository,
+                userMapper, itemRepository, new ItemMapperImpl(), entityExistenceChecker);
+    }
+
+    @Benchmark
+    public Slice<ItemFullDto> itemsByOwner() {
+        return itemService.findAllByOwner(BenchmarkData.OWNER_ID, 0, size, null);
+    }
+
+    @Benchmark
+    public Slice<BookingFullDto> bookingsByBooker() {
+        return bookingService.findAllByBookerAndState(BenchmarkData.BOOKER_ID, BookingState.ALL, 0, size, null);
+    }
+}
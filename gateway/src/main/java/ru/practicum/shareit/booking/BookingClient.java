@@ -1,16 +1,20 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.commons.client.BaseClient;
+import ru.practicum.shareit.commons.client.GatewayResponseCache;
 
 @Service
 public class BookingClient extends BaseClient {
@@ -18,31 +22,37 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestClient.Builder builder,
+                         ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(requestFactory)
+                        .build(),
+                responseCache, API_PREFIX
         );
     }
 
-    public ResponseEntity<Object> getBookingsByBooker(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getBookingsByBooker(Long userId, BookingState state, Integer from, Integer size,
+                                                      String after, boolean withTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withTotal(withCursor("?state={state}&from={from}&size={size}", after, parameters), withTotal),
+                userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsByOwner(Long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getBookingsByOwner(Long userId, BookingState state, Integer from, Integer size,
+                                                     String after, boolean withTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get(withTotal(withCursor("/owner?state={state}&from={from}&size={size}", after, parameters),
+                withTotal), userId, parameters);
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
@@ -60,4 +70,12 @@ public class BookingClient extends BaseClient {
         );
         return patch("/" + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
-}
\ No newline at end of file
+
+    public ResponseEntity<Object> createBookings(long userId, List<BookItemRequestDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
+    public ResponseEntity<Object> approveBookings(long ownerId, List<BookingApprovalDto> approvals) {
+        return patch("/batch/approve", ownerId, approvals);
+    }
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
 
@@ -31,6 +33,11 @@ import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    /**
+     * Максимальное количество строк пакетного запроса
+     */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final BookingClient bookingClient;
 
     /**
@@ -40,13 +47,17 @@ public class BookingController {
      * @param stateParam состояние бронирования
      * @param from номер начального элемента коллекции
      * @param size максимальный размер возвращаемой коллекции
+     * @param after курсор последнего полученного бронирования
+     * @param withTotal признак передачи общего количества бронирований в заголовке X-Total-Count
      * @return коллекция бронирований
      */
     @GetMapping
     public ResponseEntity<Object> getBookingsByBooker(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                       @RequestParam(name = "state", defaultValue = "ALL") String stateParam,
                                                       @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                      @Positive @RequestParam(name = "size", defaultValue = "100") Integer size) {
+                                                      @Positive @RequestParam(name = "size", defaultValue = "100") Integer size,
+                                                      @RequestParam(name = "after", required = false) String after,
+                                                      @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.info("Запрос бронирований, созданных пользователем на уровне клиента");
 
         if (userId == null) {
@@ -58,7 +69,7 @@ public class BookingController {
                 .orElseThrow(() -> new IllegalArgumentException("Неизвестное значение: " + stateParam));
         log.info("Передано состояние бронирования: {}", state);
 
-        return bookingClient.getBookingsByBooker(userId, state, from, size);
+        return bookingClient.getBookingsByBooker(userId, state, from, size, after, withTotal);
     }
 
     /**
@@ -68,13 +79,17 @@ public class BookingController {
      * @param stateParam состояние бронирования
      * @param from номер начального элемента коллекции
      * @param size максимальный размер возвращаемой коллекции
+     * @param after курсор последнего полученного бронирования
+     * @param withTotal признак передачи общего количества бронирований в заголовке X-Total-Count
      * @return коллекция бронирований
      */
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                     @RequestParam(name = "state", required = false, defaultValue = "ALL") String stateParam,
                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                    @Positive @RequestParam(name = "size", defaultValue = "100") Integer size) {
+                                                    @Positive @RequestParam(name = "size", defaultValue = "100") Integer size,
+                                                    @RequestParam(name = "after", required = false) String after,
+                                                    @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.info("Запрос бронирований по владельцу вещей на уровне клиента");
 
         if (ownerId == null) {
@@ -86,7 +101,7 @@ public class BookingController {
                 .orElseThrow(() -> new IllegalArgumentException("Неизвестное значение: " + stateParam));
         log.info("Передано состояние бронирования вещей: {}", state);
 
-        return bookingClient.getBookingsByOwner(ownerId, state, from, size);
+        return bookingClient.getBookingsByOwner(ownerId, state, from, size, after, withTotal);
     }
 
     /**
@@ -142,6 +157,28 @@ public class BookingController {
         return bookingClient.createBooking(userId, requestDto);
     }
 
+    /**
+     * Обработка POST-запроса к /bookings/batch. Даты и вещи строк проверяются сервисом, результат возвращается
+     * для каждой строки
+     *
+     * @param userId идентификатор бронирующего
+     * @param requestDtos несохранённые экземпляры {@link BookItemRequestDto}
+     * @return результаты обработки строк в порядке строк запроса
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Object> bookItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @RequestBody List<BookItemRequestDto> requestDtos) {
+        log.info("Пакетное создание бронирований на уровне клиента");
+
+        if (userId == null) {
+            throw new IncorrectDataException("Атрибут \"X-Sharer-User-Id\" не найден в заголовке");
+        }
+        checkBatchSize(requestDtos);
+        log.info("Передано строк: {}", requestDtos.size());
+
+        return bookingClient.createBookings(userId, requestDtos);
+    }
+
     /**
      * Обработка PATCH-запроса к /bookings/{bookingId}?approved={approved}
      *
@@ -173,4 +210,37 @@ public class BookingController {
 
         return bookingClient.approveBooking(ownerId, bookingId, approved);
     }
-}
\ No newline at end of file
+
+    /**
+     * Обработка PATCH-запроса к /bookings/batch/approve
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param approvals идентификаторы бронирований и статусы согласования {@link BookingApprovalDto}
+     * @return результаты обработки строк в порядке строк запроса
+     */
+    @PatchMapping("/batch/approve")
+    public ResponseEntity<Object> approveBookings(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                  @RequestBody List<BookingApprovalDto> approvals) {
+        log.info("Пакетное согласование бронирований на уровне клиента");
+
+        if (ownerId == null) {
+            throw new IncorrectDataException("Атрибут \"X-Sharer-User-Id\" не найден в заголовке");
+        }
+        log.info("Передан идентификатор владельца вещей: {}", ownerId);
+
+        checkBatchSize(approvals);
+        log.info("Передано строк: {}", approvals.size());
+
+        return bookingClient.approveBookings(ownerId, approvals);
+    }
+
+    private static void checkBatchSize(List<?> rows) {
+        if (rows == null || rows.isEmpty()) {
+            throw new IncorrectDataException("Пакет бронирований не может быть пустым");
+        }
+        if (rows.size() > MAX_BATCH_SIZE) {
+            throw new IncorrectDataException("Пакет бронирований не может содержать больше " + MAX_BATCH_SIZE
+                    + " строк");
+        }
+    }
+}
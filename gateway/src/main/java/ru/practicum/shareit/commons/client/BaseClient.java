@@ -1,38 +1,130 @@
 package ru.practicum.shareit.commons.client;
 
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
-import org.springframework.http.HttpEntity;
+import java.util.Set;
+import java.util.TreeSet;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.RestClient;
 
 public class BaseClient {
 
-    protected final RestTemplate rest;
+    /**
+     * Заголовки ответа сервиса, которые не передаются клиенту шлюза: они относятся к соединению со шлюзом или
+     * выставляются сервером шлюза заново. Псевдозаголовки HTTP/2 (:status) также не передаются
+     */
+    private static final Set<String> NOT_FORWARDED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
 
-    public BaseClient(RestTemplate rest) {
+    static {
+        NOT_FORWARDED_HEADERS.addAll(List.of(HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING,
+                HttpHeaders.UPGRADE, HttpHeaders.TRAILER, HttpHeaders.CONTENT_LENGTH, HttpHeaders.DATE));
+    }
+
+    /**
+     * Размер буфера при потоковой передаче ответа сервиса
+     */
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    protected final RestClient rest;
+
+    private final GatewayResponseCache responseCache;
+
+    /**
+     * Путь ресурса, к которому обращается клиент
+     */
+    private final String resource;
+
+    /**
+     * Пути ресурсов, ответы которых удаляются из кэша при изменении ресурса клиента
+     */
+    private final Set<String> invalidatedResources;
+
+    /**
+     * @param rest HTTP-клиент сервиса
+     * @param responseCache кэш ответов сервиса
+     * @param resource путь ресурса, к которому обращается клиент
+     * @param dependentResources пути ресурсов, ответы которых содержат данные ресурса клиента
+     */
+    public BaseClient(RestClient rest, GatewayResponseCache responseCache, String resource,
+                      String... dependentResources) {
         this.rest = rest;
+        this.responseCache = responseCache;
+        this.resource = resource;
+        this.invalidatedResources = new TreeSet<>(List.of(dependentResources));
+        this.invalidatedResources.add(resource);
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
-        }
+    /**
+     * Метод формирует ответ шлюза из ответа сервиса. Тело ответа передается клиенту как массив байтов без разбора
+     * и повторной сериализации, вместе с кодом ответа и заголовками сервиса
+     *
+     * @param response ответ сервиса
+     * @return ответ шлюза
+     * @throws IOException при ошибке чтения тела ответа
+     */
+    private static ResponseEntity<Object> prepareGatewayResponse(ClientHttpResponse response) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (isForwarded(name)) {
+                headers.addAll(name, values);
+            }
+        });
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
 
-        if (response.hasBody()) {
-            return responseBuilder.body(response.getBody());
+        byte[] body = StreamUtils.copyToByteArray(response.getBody());
+        if (body.length > 0) {
+            return responseBuilder.body(body);
         }
 
         return responseBuilder.build();
     }
 
+    private static boolean isForwarded(String headerName) {
+        return !headerName.startsWith(":") && !NOT_FORWARDED_HEADERS.contains(headerName);
+    }
+
+    /**
+     * Метод добавляет к пути запроса курсор постраничной выборки, если он передан. Курсор не разбирается на уровне
+     * клиента и передается сервису без изменений
+     *
+     * @param path путь запроса с параметрами
+     * @param after курсор последнего полученного элемента или null
+     * @param parameters изменяемая коллекция параметров запроса
+     * @return путь запроса
+     */
+    protected static String withCursor(String path, @Nullable String after, Map<String, Object> parameters) {
+        if (after == null) {
+            return path;
+        }
+
+        parameters.put("after", after);
+        return path + "&after={after}";
+    }
+
+    /**
+     * Метод добавляет к пути запроса признак подсчета общего количества элементов выборки. Без признака сервис не
+     * выполняет запрос COUNT
+     *
+     * @param path путь запроса с параметрами
+     * @param withTotal признак подсчета общего количества элементов
+     * @return путь запроса
+     */
+    protected static String withTotal(String path, boolean withTotal) {
+        return withTotal ? path + "&withTotal=true" : path;
+    }
+
     protected ResponseEntity<Object> get(String path) {
         return get(path, null, null);
     }
@@ -42,7 +134,38 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, null);
+    }
+
+    protected ResponseEntity<Object> getCached(String path) {
+        return getCached(path, null, null);
+    }
+
+    protected ResponseEntity<Object> getCached(String path, Long userId) {
+        return getCached(path, userId, null);
+    }
+
+    /**
+     * Метод выполняет GET-запрос с использованием кэша ответов шлюза. Актуальный сохраненный ответ возвращается без
+     * обращения к сервису, устаревший ответ с ETag проверяется на сервисе условным запросом
+     *
+     * @param path путь запроса с параметрами
+     * @param userId идентификатор пользователя или null
+     * @param parameters значения параметров запроса или null
+     * @return ответ шлюза
+     */
+    protected ResponseEntity<Object> getCached(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        String key = GatewayResponseCache.key(resource, path, userId, parameters);
+
+        GatewayResponseCache.CachedResponse cached = responseCache.get(key);
+        if (cached != null && cached.isFresh()) {
+            return cached.toResponseEntity();
+        }
+
+        long generation = responseCache.generation(resource);
+        ResponseEntity<Object> response = makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null,
+                cached != null ? cached.etag() : null);
+        return responseCache.store(resource, key, cached, response, generation);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -55,7 +178,51 @@ public class BaseClient {
 
     protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters,
                                               T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, null);
+    }
+
+    /**
+     * Метод выполняет POST-запрос с потоковым телом. Тело запроса передается сервису по мере чтения, ответ сервиса
+     * передается клиенту шлюза по мере получения: ни запрос, ни ответ не накапливаются в памяти шлюза
+     *
+     * @param path путь запроса
+     * @param userId идентификатор пользователя или null
+     * @param contentType тип содержимого тела запроса
+     * @param body тело запроса
+     * @param response ответ шлюза
+     */
+    protected void postStreaming(String path, Long userId, MediaType contentType, InputStream body,
+                                 HttpServletResponse response) {
+        HttpStatusCode status = rest.post()
+                .uri(path)
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    headers.setContentType(contentType);
+                    headers.setAccept(List.of(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON));
+                })
+                .body(body::transferTo)
+                .exchange((shareitServerRequest, shareitServerResponse) -> {
+                    response.setStatus(shareitServerResponse.getStatusCode().value());
+                    shareitServerResponse.getHeaders().forEach((name, values) -> {
+                        if (isForwarded(name)) {
+                            values.forEach(value -> response.addHeader(name, value));
+                        }
+                    });
+
+                    InputStream serverBody = shareitServerResponse.getBody();
+                    ServletOutputStream output = response.getOutputStream();
+                    byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+                    int read;
+                    while ((read = serverBody.read(buffer)) != -1) {
+                        output.write(buffer, 0, read);
+                        output.flush();
+                    }
+                    return shareitServerResponse.getStatusCode();
+                });
+
+        if (status.is2xxSuccessful()) {
+            responseCache.invalidate(invalidatedResources);
+        }
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
@@ -64,7 +231,7 @@ public class BaseClient {
 
     protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters,
                                              T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, null);
     }
 
     protected <T> ResponseEntity<Object> patch(String path, T body) {
@@ -81,7 +248,7 @@ public class BaseClient {
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters,
                                                T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, null);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -93,24 +260,29 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, null);
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId,
-                                                          @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+                                                          @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                          @Nullable String etag) {
+        RestClient.RequestBodySpec request = rest.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        if (etag != null) {
+            request.ifNoneMatch(etag);
+        }
+        if (body != null) {
+            request.body(body);
+        }
+
+        ResponseEntity<Object> response = request.exchange((shareitServerRequest, shareitServerResponse) ->
+                prepareGatewayResponse(shareitServerResponse));
+
+        if (method != HttpMethod.GET && response.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidate(invalidatedResources);
         }
-        return prepareGatewayResponse(shareitServerResponse);
+        return response;
     }
 
     private HttpHeaders defaultHeaders(Long userId) {
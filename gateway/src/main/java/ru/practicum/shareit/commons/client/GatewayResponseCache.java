@@ -0,0 +1,275 @@
+package ru.practicum.shareit.commons.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Кэш ответов сервиса на идемпотентные GET-запросы шлюза. Ответ хранится по пути, параметрам запроса и
+ * идентификатору пользователя из заголовка X-Sharer-User-Id. Размер кэша ограничен, вытеснение выполняется по
+ * алгоритму W-TinyLFU (Caffeine).
+ * <p>
+ * Учитываются заголовки ответа сервиса:
+ * <ul>
+ *     <li>Cache-Control: no-store и private - ответ не сохраняется, no-cache - ответ проверяется на сервисе при каждом
+ *     запросе, max-age и s-maxage - ответ возвращается без обращения к сервису не дольше указанного времени, но не
+ *     дольше ttl</li>
+ *     <li>ETag - по истечении времени актуальности ответ проверяется на сервисе условным запросом If-None-Match.
+ *     Устаревший ответ с ETag хранится еще ttl после истечения времени актуальности, ответ без ETag удаляется сразу</li>
+ * </ul>
+ * Изменяющие запросы к ресурсу увеличивают номера поколений этого ресурса и зависящих от него ресурсов. Ответ
+ * сохраняется с номером поколения своего ресурса, ответ предыдущего поколения не возвращается и вытесняется из кэша
+ * обычным порядком, поэтому удаление не перебирает содержимое кэша.
+ * <p>
+ * Кэш и номера поколений хранятся в памяти экземпляра шлюза. Изменение, выполненное через другой экземпляр, не
+ * удаляет ответы этого экземпляра: ответ с ETag проверяется на сервисе условным запросом, так как сервис отправляет
+ * его с Cache-Control: no-cache, а ответ без ETag (поиск вещей) может оставаться устаревшим до истечения ttl
+ */
+@Component
+@Slf4j
+public class GatewayResponseCache {
+
+    private static final String CACHE_NAME = "gateway-responses";
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Cache<String, CachedResponse> cache;
+
+    /**
+     * Номера поколений ресурсов. Номер ресурса увеличивается при каждом изменении ресурса. Ответ, запрошенный у
+     * сервиса до изменения, не сохраняется после него
+     */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public GatewayResponseCache(@Value("${shareit-gateway.response-cache.enabled}") boolean enabled,
+                                @Value("${shareit-gateway.response-cache.max-size}") long maxSize,
+                                @Value("${shareit-gateway.response-cache.ttl}") Duration ttl,
+                                MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new CachedResponseExpiry(ttlNanos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Метод формирует ключ кэша
+     *
+     * @param resource путь ресурса
+     * @param path путь запроса с параметрами относительно ресурса
+     * @param userId идентификатор пользователя или null
+     * @param parameters значения параметров запроса или null
+     * @return ключ кэша
+     */
+    public static String key(String resource, String path, @Nullable Long userId,
+                             @Nullable Map<String, Object> parameters) {
+        String uri = UriComponentsBuilder.fromUriString(resource + path)
+                .buildAndExpand(parameters != null ? parameters : Map.of())
+                .toUriString();
+        return uri + "#" + userId;
+    }
+
+    /**
+     * Метод возвращает текущий номер поколения ресурса
+     *
+     * @param resource путь ресурса
+     * @return номер поколения
+     */
+    public long generation(String resource) {
+        return generations.computeIfAbsent(resource, r -> new AtomicLong()).get();
+    }
+
+    /**
+     * Метод возвращает сохраненный ответ
+     *
+     * @param key ключ кэша
+     * @return сохраненный ответ или null, если ответ не найден, сохранен до изменения ресурса или кэш отключен
+     */
+    @Nullable
+    public CachedResponse get(String key) {
+        if (!enabled) {
+            return null;
+        }
+
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && cached.generation() != generation(cached.resource())) {
+            cache.asMap().remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * Метод сохраняет ответ сервиса и возвращает ответ клиенту шлюза. Если сервис подтвердил актуальность
+     * сохраненного ответа кодом 304, клиенту возвращается сохраненный ответ
+     *
+     * @param resource путь ресурса
+     * @param key ключ кэша
+     * @param cached ранее сохраненный ответ или null
+     * @param response ответ сервиса
+     * @param requestGeneration номер поколения ресурса на момент отправки запроса сервису
+     * @return ответ клиенту шлюза
+     */
+    public ResponseEntity<Object> store(String resource, String key, @Nullable CachedResponse cached,
+                                        ResponseEntity<Object> response, long requestGeneration) {
+        if (!enabled) {
+            return response;
+        }
+
+        CachedResponse stored;
+        ResponseEntity<Object> result;
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            stored = cached.revalidate(requestGeneration, freshUntil(response.getHeaders()));
+            result = stored.toResponseEntity();
+        } else if (isStorable(response)) {
+            stored = new CachedResponse(resource, requestGeneration, response.getHeaders(), response.getBody(),
+                    response.getHeaders().getETag(), freshUntil(response.getHeaders()));
+            result = response;
+        } else {
+            return response;
+        }
+
+        // Ответ сохраняется, только если за время запроса к сервису ресурс не изменялся
+        if (generation(resource) == requestGeneration) {
+            cache.put(key, stored);
+        }
+        return result;
+    }
+
+    /**
+     * Метод удаляет из кэша ответы ресурсов, увеличивая номера их поколений
+     *
+     * @param resources пути ресурсов
+     */
+    public void invalidate(Collection<String> resources) {
+        if (!enabled) {
+            return;
+        }
+
+        resources.forEach(resource -> generations.computeIfAbsent(resource, r -> new AtomicLong()).incrementAndGet());
+        log.debug("Из кэша шлюза удалены ответы ресурсов {}", resources);
+    }
+
+    private boolean isStorable(ResponseEntity<Object> response) {
+        if (!response.getStatusCode().isSameCodeAs(HttpStatus.OK)) {
+            return false;
+        }
+
+        String cacheControl = cacheControl(response.getHeaders());
+        if (cacheControl.contains("no-store") || cacheControl.contains("private")) {
+            return false;
+        }
+
+        // Ответ, который нужно проверять при каждом запросе, имеет смысл хранить только для условного запроса
+        return !cacheControl.contains("no-cache") || response.getHeaders().getETag() != null;
+    }
+
+    private long freshUntil(HttpHeaders headers) {
+        String cacheControl = cacheControl(headers);
+        long freshness = ttlNanos;
+
+        if (cacheControl.contains("no-cache")) {
+            freshness = 0;
+        } else {
+            Long maxAge = directive(cacheControl, "s-maxage");
+            if (maxAge == null) {
+                maxAge = directive(cacheControl, "max-age");
+            }
+            if (maxAge != null) {
+                freshness = Math.min(freshness, Duration.ofSeconds(maxAge).toNanos());
+            }
+        }
+
+        return System.nanoTime() + freshness;
+    }
+
+    private static String cacheControl(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl != null ? cacheControl.toLowerCase(Locale.ROOT) : "";
+    }
+
+    @Nullable
+    private static Long directive(String cacheControl, String name) {
+        for (String directive : cacheControl.split(",")) {
+            String[] parts = directive.trim().split("=", 2);
+            if (parts.length == 2 && parts[0].equals(name)) {
+                try {
+                    return Long.parseLong(parts[1].replace("\"", "").trim());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Сохраненный ответ сервиса
+     *
+     * @param resource путь ресурса
+     * @param generation номер поколения ресурса, к которому относится ответ
+     * @param headers заголовки ответа
+     * @param body тело ответа
+     * @param etag ETag ответа или null
+     * @param freshUntil момент System.nanoTime(), до которого ответ возвращается без обращения к сервису
+     */
+    public record CachedResponse(String resource, long generation, HttpHeaders headers, @Nullable Object body,
+                                 @Nullable String etag, long freshUntil) {
+
+        public boolean isFresh() {
+            return System.nanoTime() - freshUntil < 0;
+        }
+
+        CachedResponse revalidate(long generation, long freshUntil) {
+            return new CachedResponse(resource, generation, headers, body, etag, freshUntil);
+        }
+
+        ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.ok().headers(headers).body(body);
+        }
+    }
+
+    /**
+     * Время хранения ответа: до истечения времени актуальности, для ответа с ETag - еще ttl после него, чтобы
+     * устаревший ответ можно было проверить на сервисе условным запросом
+     *
+     * @param ttlNanos время хранения устаревшего ответа с ETag в наносекундах
+     */
+    private record CachedResponseExpiry(long ttlNanos) implements Expiry<String, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+            long fresh = Math.max(0, value.freshUntil() - currentTime);
+            return value.etag() != null ? fresh + ttlNanos : fresh;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.commons.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/**
+ * Общий для всех клиентов шлюза HTTP-клиент сервиса ShareIt. Параметры задаются свойствами shareit-server.client.*
+ * <p>
+ * По умолчанию запросы выполняются по HTTP/1.1 через общий пул соединений Apache HttpClient, состояние которого
+ * публикуется в метриках httpcomponents.httpclient.pool.* с тегом httpclient=shareit-server. При
+ * shareit-server.client.http2=true запросы выполняются JDK {@link HttpClient} по HTTP/2 без TLS (h2c) и
+ * мультиплексируются в одном соединении, пул соединений не используется
+ */
+@Configuration
+public class ShareItServerClientConfiguration {
+
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.http2", havingValue = "false", matchIfMissing = true)
+    public PoolingHttpClientConnectionManager shareItServerConnectionManager(
+            @Value("${shareit-server.client.max-connections}") int maxConnections,
+            @Value("${shareit-server.client.max-connections-per-route}") int maxConnectionsPerRoute,
+            @Value("${shareit-server.client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.client.read-timeout}") Duration readTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .build())
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.http2", havingValue = "false", matchIfMissing = true)
+    public MeterBinder shareItServerConnectionPoolMetrics(PoolingHttpClientConnectionManager connectionManager) {
+        return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.http2", havingValue = "false", matchIfMissing = true)
+    public ClientHttpRequestFactory shareItServerRequestFactory(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${shareit-server.client.connection-request-timeout}") Duration connectionRequestTimeout,
+            @Value("${shareit-server.client.read-timeout}") Duration readTimeout,
+            @Value("${shareit-server.client.keep-alive}") Duration keepAlive) {
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(readTimeout))
+                        .setConnectionKeepAlive(TimeValue.of(keepAlive))
+                        .build())
+                .evictIdleConnections(TimeValue.of(keepAlive))
+                .build();
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-server.client.http2", havingValue = "true")
+    public ClientHttpRequestFactory shareItServerHttp2RequestFactory(
+            @Value("${shareit-server.client.connect-timeout}") Duration connectTimeout,
+            @Value("${shareit-server.client.read-timeout}") Duration readTimeout) {
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+}
@@ -1,17 +1,22 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.io.InputStream;
+import java.util.HashMap;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.commons.client.BaseClient;
+import ru.practicum.shareit.commons.client.GatewayResponseCache;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
@@ -22,37 +27,44 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory()).build());
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestClient.Builder builder,
+                      ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache) {
+        super(builder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(requestFactory).build(), responseCache, API_PREFIX, "/requests");
     }
 
-    public ResponseEntity<Object> findAll(Long userId, @PositiveOrZero Integer from, @Positive Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> findAll(Long userId, @PositiveOrZero Integer from, @Positive Integer size,
+                                          String after, boolean withTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
+        ));
 
-        return get("/?from={from}&size={size}", userId, parameters);
+        return get(withTotal(withCursor("?from={from}&size={size}", after, parameters), withTotal), userId,
+                parameters);
     }
 
     public ResponseEntity<Object> findByText(String text, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
-                "from", "from",
+                "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", null, parameters);
+        return getCached("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
     public ResponseEntity<Object> findById(Long itemId, Long ownerId) {
-        return get("/" + itemId, ownerId);
+        return getCached("/" + itemId, ownerId);
     }
 
     public ResponseEntity<Object> addItem(Long userId, ItemCreateDto dto) {
         return post("", userId, dto);
     }
 
+    public void importItems(Long userId, MediaType contentType, InputStream body, HttpServletResponse response) {
+        postStreaming("/import", userId, contentType, body, response);
+    }
+
     public ResponseEntity<Object> addComment(Long authorId, Long itemId, @Valid CommentCreateDto dto) {
         return post("/" + itemId + "/comment", authorId, dto);
     }
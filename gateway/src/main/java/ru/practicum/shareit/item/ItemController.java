@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 import java.util.ArrayList;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -37,12 +41,16 @@ public class ItemController {
     /**
      * Обработка GET-запроса к /items
      *
+     * @param after курсор последней полученной вещи
+     * @param withTotal признак передачи общего количества вещей в заголовке X-Total-Count
      * @return коллекция вещей
      */
     @GetMapping
     public ResponseEntity<Object> findAll(@RequestHeader("X-Sharer-User-Id") Long userId,
                                           @PositiveOrZero @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-                                          @Positive @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+                                          @Positive @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+                                          @RequestParam(name = "after", required = false) String after,
+                                          @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.info("Запрос вещей на уровне клиента");
 
         if (userId == null) {
@@ -50,7 +58,7 @@ public class ItemController {
         }
         log.info("Запрос от пользователя с id: {}", userId);
 
-        return itemClient.findAll(userId, from, size);
+        return itemClient.findAll(userId, from, size, after, withTotal);
     }
 
     /**
@@ -118,6 +126,28 @@ public class ItemController {
         return itemClient.addItem(userId, dto);
     }
 
+    /**
+     * Обработка POST-запроса к /items/import. Тело запроса и ответ сервиса передаются потоком без разбора: строки
+     * импорта проверяются сервисом по тем же правилам, что и {@link ItemCreateDto}
+     *
+     * @param request запрос с телом в формате application/x-ndjson или text/csv
+     * @param response ответ, в который в формате NDJSON передаются события импорта
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public void importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        log.info("Импорт вещей на уровне клиента");
+
+        if (userId == null) {
+            throw new IncorrectDataException("Атрибут \"X-Sharer-User-Id\" не найден в заголовке");
+        }
+        log.info("Импорт от владельца с id: {}", userId);
+
+        itemClient.importItems(userId, MediaType.parseMediaType(request.getContentType()), request.getInputStream(),
+                response);
+    }
+
     /**
      * Обработка POST-запроса к /items/{itemId}/comment
      *
@@ -1,13 +1,15 @@
 package ru.practicum.shareit.request;
 
+import java.util.HashMap;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.commons.client.BaseClient;
+import ru.practicum.shareit.commons.client.GatewayResponseCache;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
 @Service
@@ -15,31 +17,33 @@ public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory()).build());
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestClient.Builder builder,
+                             ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache) {
+        super(builder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(requestFactory).build(), responseCache, API_PREFIX);
     }
 
 
-    public ResponseEntity<Object> findAll(Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> findAll(Integer from, Integer size, String after, boolean withTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
+        ));
 
-        return get("/all", null, parameters);
+        return get(withTotal(withCursor("/all?from={from}&size={size}", after, parameters), withTotal), null,
+                parameters);
     }
 
-    public ResponseEntity<Object> getByRequestorId(Long requestorId, Integer from, Integer size) {
+    public ResponseEntity<Object> getByRequestorId(Long requestorId, Integer from, Integer size, boolean withTotal) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
         );
-        return get("", requestorId, parameters);
+        return get(withTotal("?from={from}&size={size}", withTotal), requestorId, parameters);
     }
 
     public ResponseEntity<Object> getById(Long itemRequestId) {
-        return get("/" + itemRequestId);
+        return getCached("/" + itemRequestId);
     }
 
     public ResponseEntity<Object> createItemRequest(Long requestorId, ItemRequestCreateDto dto) {
@@ -31,28 +31,34 @@ public class ItemRequestController {
     /**
      * Обработка GET-запрос к /requests/all
      *
+     * @param after курсор последнего полученного запроса
+     * @param withTotal признак передачи общего количества запросов в заголовке X-Total-Count
      * @return коллекция запросов
      */
     @GetMapping("/all")
     public ResponseEntity<Object> findAll(
             @PositiveOrZero @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+            @Positive @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.info("Получение всех запросов, созданных другими пользователями на уровне клиента");
 
-        return itemRequestClient.findAll(from, size);
+        return itemRequestClient.findAll(from, size, after, withTotal);
     }
 
     /**
      * Обработка GET-запроса к /requests
      *
      * @param requestorId идентификатор автора запросов
+     * @param withTotal признак передачи общего количества запросов автора в заголовке X-Total-Count
      * @return коллекция запросов
      */
     @GetMapping
     public ResponseEntity<Object> findByRequestorId(
             @RequestHeader("X-Sharer-User-Id") Long requestorId,
             @PositiveOrZero @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+            @Positive @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.info("Получение всех своих запросов на уровне клиента");
 
         if (requestorId == null) {
@@ -60,7 +66,7 @@ public class ItemRequestController {
         }
         log.info("Запрос поступил от пользователя с идентификатором: {}", requestorId);
 
-        return itemRequestClient.getByRequestorId(requestorId, from, size);
+        return itemRequestClient.getByRequestorId(requestorId, from, size, withTotal);
     }
 
     /**
@@ -1,15 +1,17 @@
 package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
+import java.util.HashMap;
 import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.commons.client.BaseClient;
+import ru.practicum.shareit.commons.client.GatewayResponseCache;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
@@ -19,21 +21,23 @@ public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(builder.uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory()).build());
+    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestClient.Builder builder,
+                      ClientHttpRequestFactory requestFactory, GatewayResponseCache responseCache) {
+        super(builder.uriBuilderFactory(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                .requestFactory(requestFactory).build(), responseCache, API_PREFIX, "/items", "/requests");
     }
 
-    public ResponseEntity<Object> getUsers(Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getUsers(Integer from, Integer size, String after, boolean withTotal) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("?from={from}&size={size}", null, parameters);
+        ));
+        return get(withTotal(withCursor("?from={from}&size={size}", after, parameters), withTotal), null,
+                parameters);
     }
 
     public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId);
+        return getCached("/" + userId);
     }
 
     public ResponseEntity<Object> addUser(@Valid UserCreateDto dto) {
@@ -35,15 +35,19 @@ public class UserController {
      *
      * @param from номер начального элемента коллекции
      * @param size максимальный размер возвращаемой коллекции
+     * @param after курсор последнего полученного пользователя
+     * @param withTotal признак передачи общего количества пользователей в заголовке X-Total-Count
      * @return коллекция пользователей
      */
     @GetMapping
     public ResponseEntity<Object> findAll(
             @PositiveOrZero @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+            @Positive @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.info("Запрос всех пользователей на уровне клиента");
 
-        return userClient.getUsers(from, size);
+        return userClient.getUsers(from, size, after, withTotal);
     }
 
     /**
@@ -0,0 +1,196 @@
+package ru.practicum.shareit.commons.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Проверка обращений базового клиента шлюза к сервису")
+class BaseClientTest {
+
+    private static final String ITEM = "{\"id\":1,\"name\":\"Дрель\"}";
+
+    private ServerStub server;
+    private TestClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new ServerStub();
+        RestClient rest = RestClient.builder()
+                .uriBuilderFactory(new DefaultUriBuilderFactory(server.url() + "/items"))
+                .requestFactory(server.requestFactory())
+                .build();
+        client = new TestClient(rest,
+                new GatewayResponseCache(true, 100, Duration.ofSeconds(30), new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @DisplayName("Актуальный ответ возвращается из кэша без обращения к сервису")
+    @Test
+    void getCachedFresh() {
+        server.respond(request -> ServerStub.Response.json(200, ITEM).with("Cache-Control", "max-age=60"));
+
+        client.findById(1L);
+        ResponseEntity<Object> response = client.findById(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(bytes(ITEM), (byte[]) response.getBody());
+        assertEquals(1, server.requests().size());
+    }
+
+    @DisplayName("Ответ с no-cache и ETag проверяется условным запросом, на ответ 304 возвращается сохраненное тело")
+    @Test
+    void getCachedRevalidated() {
+        server.respond(request -> "\"1\"".equals(request.headers().getIfNoneMatch().stream().findFirst().orElse(null))
+                ? new ServerStub.Response(304, Map.of("ETag", "\"1\"", "Cache-Control", "no-cache"), "")
+                : ServerStub.Response.json(200, ITEM).with("ETag", "\"1\"").with("Cache-Control", "no-cache"));
+
+        client.findById(1L);
+        ResponseEntity<Object> response = client.findById(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(bytes(ITEM), (byte[]) response.getBody());
+        assertEquals(2, server.requests().size());
+        assertNull(server.requests().getFirst().headers().getFirst("If-None-Match"));
+        assertEquals("\"1\"", server.requests().get(1).headers().getFirst("If-None-Match"));
+    }
+
+    @DisplayName("Ответ с Cache-Control: private, no-store запрашивается у сервиса каждый раз")
+    @Test
+    void getCachedNoStore() {
+        server.respond(request -> ServerStub.Response.json(200, ITEM).with("Cache-Control", "private, no-store"));
+
+        client.findById(1L);
+        client.findById(1L);
+
+        assertEquals(2, server.requests().size());
+        assertFalse(server.requests().get(1).headers().containsKey("If-None-Match"));
+    }
+
+    @DisplayName("Успешный изменяющий запрос удаляет из кэша ответы ресурса и зависящих от него ресурсов")
+    @Test
+    void invalidateOnSuccessfulWrite() {
+        server.respond(request -> ServerStub.Response.json(200, ITEM).with("Cache-Control", "max-age=60"));
+        GatewayResponseCache cache = client.responseCache();
+        String requestKey = GatewayResponseCache.key("/requests", "/1", null, null);
+        cache.store("/requests", requestKey, null, ResponseEntity.ok().header("Cache-Control", "max-age=60")
+                .body(bytes(ITEM)), cache.generation("/requests"));
+
+        client.findById(1L);
+        client.update(1L);
+        client.findById(1L);
+
+        assertEquals(3, server.requests().size());
+        assertEquals("PATCH", server.requests().get(1).method());
+        assertNull(cache.get(requestKey));
+    }
+
+    @DisplayName("Изменяющий запрос с ошибкой не удаляет ответы из кэша")
+    @Test
+    void keepOnFailedWrite() {
+        server.respond(request -> "PATCH".equals(request.method())
+                ? ServerStub.Response.json(400, "{\"error\":\"Ошибка\"}")
+                : ServerStub.Response.json(200, ITEM).with("Cache-Control", "max-age=60"));
+
+        client.findById(1L);
+        ResponseEntity<Object> response = client.update(1L);
+        client.findById(1L);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals(2, server.requests().size());
+    }
+
+    @DisplayName("Потоковый запрос передает тело сервису и ответ клиенту шлюза, успешный ответ удаляет ответы из кэша")
+    @Test
+    void postStreaming() throws Exception {
+        String lines = "{\"name\":\"Дрель\"}\n{\"name\":\"Пила\"}\n";
+        server.respond(request -> "POST".equals(request.method())
+                ? new ServerStub.Response(201, Map.of("Content-Type", MediaType.APPLICATION_NDJSON_VALUE), "{}\n{}\n")
+                : ServerStub.Response.json(200, ITEM).with("Cache-Control", "max-age=60"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        client.findById(1L);
+        client.postStreaming("/batch", 1L, MediaType.APPLICATION_NDJSON,
+                new ByteArrayInputStream(bytes(lines)), response);
+        client.findById(1L);
+
+        ServerStub.Request request = server.requests().get(1);
+        assertEquals("/items/batch", request.uri().getPath());
+        assertEquals(lines, request.body());
+        assertEquals("1", request.headers().getFirst("X-Sharer-User-Id"));
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, request.headers().getFirst("Content-Type"));
+        assertEquals(201, response.getStatus());
+        assertEquals(MediaType.APPLICATION_NDJSON_VALUE, response.getContentType());
+        assertEquals("{}\n{}\n", response.getContentAsString());
+        assertNull(response.getHeader("Content-Length"));
+        assertEquals(3, server.requests().size());
+    }
+
+    @DisplayName("Потоковый запрос с ошибкой передает ответ сервиса и не удаляет ответы из кэша")
+    @Test
+    void postStreamingFailed() throws Exception {
+        server.respond(request -> "POST".equals(request.method())
+                ? ServerStub.Response.json(400, "{\"error\":\"Ошибка\"}")
+                : ServerStub.Response.json(200, ITEM).with("Cache-Control", "max-age=60"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        client.findById(1L);
+        client.postStreaming("/batch", 1L, MediaType.APPLICATION_NDJSON,
+                new ByteArrayInputStream(bytes("{}\n")), response);
+        client.findById(1L);
+
+        assertEquals(400, response.getStatus());
+        assertEquals("{\"error\":\"Ошибка\"}", response.getContentAsString(StandardCharsets.UTF_8));
+        assertEquals(2, server.requests().size());
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Клиент ресурса /items, ответы которого содержат данные ресурса /requests
+     */
+    private static class TestClient extends BaseClient {
+
+        private final GatewayResponseCache responseCache;
+
+        TestClient(RestClient rest, GatewayResponseCache responseCache) {
+            super(rest, responseCache, "/items", "/requests");
+            this.responseCache = responseCache;
+        }
+
+        GatewayResponseCache responseCache() {
+            return responseCache;
+        }
+
+        ResponseEntity<Object> findById(long itemId) {
+            return getCached("/{itemId}", null, Map.of("itemId", itemId));
+        }
+
+        ResponseEntity<Object> update(long itemId) {
+            return patch("/{itemId}", 1L, Map.of("itemId", itemId), Map.of("name", "Дрель"));
+        }
+    }
+}
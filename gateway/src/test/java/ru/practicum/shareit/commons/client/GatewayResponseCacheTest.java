@@ -0,0 +1,178 @@
+package ru.practicum.shareit.commons.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Проверка кэша ответов шлюза")
+class GatewayResponseCacheTest {
+
+    private static final String ITEMS = "/items";
+    private static final String USERS = "/users";
+    private static final String KEY = GatewayResponseCache.key(ITEMS, "/{itemId}", 1L, Map.of("itemId", 1L));
+    private static final byte[] BODY = "{\"id\":1}".getBytes();
+
+    private GatewayResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GatewayResponseCache(true, 100, Duration.ofSeconds(30), new SimpleMeterRegistry());
+    }
+
+    @DisplayName("Ключ содержит путь ресурса с подставленными параметрами и идентификатор пользователя")
+    @Test
+    void key() {
+        assertEquals("/items/1#1", KEY);
+        assertEquals("/items/search?text=drill#null",
+                GatewayResponseCache.key(ITEMS, "/search?text={text}", null, Map.of("text", "drill")));
+    }
+
+    @DisplayName("Ответ с max-age возвращается из кэша как актуальный")
+    @Test
+    void storeFresh() {
+        ResponseEntity<Object> response = ResponseEntity.ok().header("Cache-Control", "max-age=60").body(BODY);
+
+        assertSame(response, cache.store(ITEMS, KEY, null, response, cache.generation(ITEMS)));
+
+        GatewayResponseCache.CachedResponse cached = cache.get(KEY);
+        assertNotNull(cached);
+        assertTrue(cached.isFresh());
+        assertSame(BODY, cached.body());
+    }
+
+    @DisplayName("Время актуальности ответа ограничено ttl кэша")
+    @Test
+    void storeMaxAgeLimitedByTtl() {
+        ResponseEntity<Object> response = ResponseEntity.ok().header("Cache-Control", "max-age=3600").body(BODY);
+
+        cache.store(ITEMS, KEY, null, response, cache.generation(ITEMS));
+
+        GatewayResponseCache.CachedResponse cached = cache.get(KEY);
+        assertNotNull(cached);
+        assertTrue(cached.freshUntil() - System.nanoTime() <= Duration.ofSeconds(30).toNanos());
+    }
+
+    @DisplayName("Ответы с Cache-Control: no-store и private не сохраняются")
+    @Test
+    void storeNoStoreAndPrivate() {
+        cache.store(ITEMS, KEY, null, ResponseEntity.ok().header("Cache-Control", "no-store").eTag("\"1\"")
+                .body(BODY), cache.generation(ITEMS));
+        assertNull(cache.get(KEY));
+
+        cache.store(ITEMS, KEY, null, ResponseEntity.ok().header("Cache-Control", "Private, No-Store").body(BODY),
+                cache.generation(ITEMS));
+        assertNull(cache.get(KEY));
+
+        cache.store(ITEMS, KEY, null, ResponseEntity.ok().header("Cache-Control", "private").body(BODY),
+                cache.generation(ITEMS));
+        assertNull(cache.get(KEY));
+    }
+
+    @DisplayName("Ответ с Cache-Control: no-cache сохраняется только с ETag и сразу требует проверки на сервисе")
+    @Test
+    void storeNoCache() {
+        cache.store(ITEMS, KEY, null, ResponseEntity.ok().header("Cache-Control", "no-cache").body(BODY),
+                cache.generation(ITEMS));
+        assertNull(cache.get(KEY));
+
+        cache.store(ITEMS, KEY, null, ResponseEntity.ok().header("Cache-Control", "no-cache").eTag("\"1\"")
+                .body(BODY), cache.generation(ITEMS));
+
+        GatewayResponseCache.CachedResponse cached = cache.get(KEY);
+        assertNotNull(cached);
+        assertFalse(cached.isFresh());
+        assertEquals("\"1\"", cached.etag());
+    }
+
+    @DisplayName("Ответ с кодом, отличным от 200, не сохраняется")
+    @Test
+    void storeNotOk() {
+        ResponseEntity<Object> response = ResponseEntity.status(HttpStatus.NOT_FOUND).body(BODY);
+
+        assertSame(response, cache.store(ITEMS, KEY, null, response, cache.generation(ITEMS)));
+        assertNull(cache.get(KEY));
+    }
+
+    @DisplayName("Ответ 304 возвращает клиенту сохраненное тело и продлевает актуальность ответа")
+    @Test
+    void storeNotModified() {
+        cache.store(ITEMS, KEY, null, ResponseEntity.ok().header("Cache-Control", "no-cache").eTag("\"1\"")
+                .body(BODY), cache.generation(ITEMS));
+        GatewayResponseCache.CachedResponse cached = cache.get(KEY);
+
+        ResponseEntity<Object> result = cache.store(ITEMS, KEY, cached,
+                ResponseEntity.status(HttpStatus.NOT_MODIFIED).header("Cache-Control", "max-age=60").build(),
+                cache.generation(ITEMS));
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertSame(BODY, result.getBody());
+        assertEquals("\"1\"", result.getHeaders().getETag());
+        GatewayResponseCache.CachedResponse revalidated = cache.get(KEY);
+        assertNotNull(revalidated);
+        assertTrue(revalidated.isFresh());
+    }
+
+    @DisplayName("Ответ, запрошенный до изменения ресурса, не сохраняется после изменения")
+    @Test
+    void storeAfterInvalidation() {
+        long requestGeneration = cache.generation(ITEMS);
+        cache.invalidate(List.of(ITEMS));
+
+        ResponseEntity<Object> response = ResponseEntity.ok().header("Cache-Control", "max-age=60").body(BODY);
+
+        assertSame(response, cache.store(ITEMS, KEY, null, response, requestGeneration));
+        assertNull(cache.get(KEY));
+    }
+
+    @DisplayName("Изменение другого ресурса не мешает сохранению ответа")
+    @Test
+    void storeAfterOtherResourceInvalidation() {
+        long requestGeneration = cache.generation(ITEMS);
+        cache.invalidate(List.of(USERS));
+
+        cache.store(ITEMS, KEY, null, ResponseEntity.ok().header("Cache-Control", "max-age=60").body(BODY),
+                requestGeneration);
+
+        assertNotNull(cache.get(KEY));
+    }
+
+    @DisplayName("Изменение ресурса удаляет его сохраненные ответы, ответы других ресурсов сохраняются")
+    @Test
+    void invalidate() {
+        String userKey = GatewayResponseCache.key(USERS, "/1", null, null);
+        cache.store(ITEMS, KEY, null, ResponseEntity.ok().header("Cache-Control", "max-age=60").body(BODY),
+                cache.generation(ITEMS));
+        cache.store(USERS, userKey, null, ResponseEntity.ok().header("Cache-Control", "max-age=60").body(BODY),
+                cache.generation(USERS));
+
+        cache.invalidate(List.of(ITEMS));
+
+        assertNull(cache.get(KEY));
+        assertNotNull(cache.get(userKey));
+    }
+
+    @DisplayName("Отключенный кэш не сохраняет ответы")
+    @Test
+    void disabled() {
+        GatewayResponseCache disabled = new GatewayResponseCache(false, 100, Duration.ofSeconds(30),
+                new SimpleMeterRegistry());
+        ResponseEntity<Object> response = ResponseEntity.ok().header("Cache-Control", "max-age=60").body(BODY);
+
+        assertSame(response, disabled.store(ITEMS, KEY, null, response, disabled.generation(ITEMS)));
+        disabled.invalidate(List.of(ITEMS));
+        assertNull(disabled.get(KEY));
+    }
+}
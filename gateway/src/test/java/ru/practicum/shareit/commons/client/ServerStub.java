@@ -0,0 +1,94 @@
+package ru.practicum.shareit.commons.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+/**
+ * Заглушка сервиса ShareIt на локальном HTTP-сервере JDK. Запоминает полученные запросы и отвечает функцией,
+ * заданной методом {@link #respond(Function)}
+ */
+public class ServerStub implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private volatile Function<Request, Response> handler = request -> Response.json(200, "{}");
+
+    public ServerStub() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    public String url() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return new JdkClientHttpRequestFactory();
+    }
+
+    public void respond(Function<Request, Response> handler) {
+        this.handler = handler;
+    }
+
+    public List<Request> requests() {
+        return requests;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        exchange.getRequestHeaders().forEach(headers::addAll);
+        Request request = new Request(exchange.getRequestMethod(), exchange.getRequestURI(), headers,
+                new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        requests.add(request);
+
+        Response response = handler.apply(request);
+        response.headers().forEach((name, value) -> exchange.getResponseHeaders().add(name, value));
+        byte[] body = response.body().getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Запрос, полученный заглушкой
+     */
+    public record Request(String method, URI uri, HttpHeaders headers, String body) {
+    }
+
+    /**
+     * Ответ заглушки
+     */
+    public record Response(int status, Map<String, String> headers, String body) {
+
+        public static Response json(int status, String body) {
+            return new Response(status, Map.of("Content-Type", "application/json"), body);
+        }
+
+        public Response with(String name, String value) {
+            Map<String, String> withHeader = new HashMap<>(headers);
+            withHeader.put(name, value);
+            return new Response(status, withHeader, body);
+        }
+    }
+}
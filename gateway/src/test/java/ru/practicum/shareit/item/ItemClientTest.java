@@ -0,0 +1,64 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClient;
+import ru.practicum.shareit.commons.client.GatewayResponseCache;
+import ru.practicum.shareit.commons.client.ServerStub;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Проверка обращений клиента вещей шлюза к сервису")
+class ItemClientTest {
+
+    private static final String ITEMS = "[{\"id\":1,\"name\":\"Дрель\"}]";
+
+    private ServerStub server;
+    private ItemClient itemClient;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new ServerStub();
+        server.respond(request -> ServerStub.Response.json(200, ITEMS));
+        itemClient = new ItemClient(server.url(), RestClient.builder(), server.requestFactory(),
+                new GatewayResponseCache(true, 100, Duration.ofSeconds(30), new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @DisplayName("Вещи владельца запрашиваются у сервиса по пути /items без завершающей косой черты")
+    @Test
+    void findAll() {
+        ResponseEntity<Object> response = itemClient.findAll(1L, 0, 10, null, false);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(ITEMS.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+
+        ServerStub.Request request = server.requests().getFirst();
+        assertEquals("GET", request.method());
+        assertEquals("/items", request.uri().getPath());
+        assertEquals("from=0&size=10", request.uri().getQuery());
+        assertEquals("1", request.headers().getFirst("X-Sharer-User-Id"));
+    }
+
+    @DisplayName("Курсор и признак подсчета общего количества передаются сервису параметрами запроса /items")
+    @Test
+    void findAllWithCursor() {
+        itemClient.findAll(1L, 0, 10, "abc", true);
+
+        ServerStub.Request request = server.requests().getFirst();
+        assertEquals("/items", request.uri().getPath());
+        assertEquals("from=0&size=10&after=abc&withTotal=true", request.uri().getQuery());
+    }
+}
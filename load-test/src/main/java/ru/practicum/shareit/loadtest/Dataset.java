@@ -0,0 +1,107 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Параметры воспроизводимого набора данных. Одинаковые seed, размеры, skew и epoch дают одинаковые строки БД, поэтому
+ * нагрузочный тест выбирает пользователей, вещи и слова поиска из тех же распределений, что и заполнение БД, без
+ * обращения к БД
+ * <p>
+ * Идентификаторы строк - номера от 1. Владельцы вещей выбираются по рангу распределения Ципфа (ранг равен
+ * идентификатору пользователя), бронирующие - по рангу того же распределения после перестановки идентификаторов,
+ * чтобы самые активные арендаторы не совпадали с самыми крупными владельцами. Популярность вещи также определяется
+ * рангом, равным идентификатору вещи
+ *
+ * @param seed        начальное значение генераторов случайных чисел
+ * @param users       число пользователей
+ * @param items       число вещей
+ * @param requests    число запросов вещей
+ * @param bookings    число бронирований
+ * @param commentRate доля завершенных подтвержденных бронирований с комментарием
+ * @param skew        показатель распределения Ципфа
+ * @param epoch       дата, относительно которой бронирования делятся на завершенные, текущие и будущие
+ */
+public record Dataset(long seed, int users, int items, int requests, int bookings, double commentRate, double skew,
+                      LocalDate epoch) {
+
+    static final List<String> NOUNS = List.of("дрель", "перфоратор", "шуруповерт", "лестница", "палатка",
+            "велосипед", "самокат", "байдарка", "проектор", "фотоаппарат", "штатив", "гитара", "синтезатор",
+            "пылесос", "пароочиститель", "генератор", "компрессор", "болгарка", "лобзик", "рубанок", "газонокосилка",
+            "триммер", "мангал", "спальник", "рюкзак", "коляска", "автокресло", "сноуборд", "лыжи", "коньки");
+
+    static final List<String> BRANDS = List.of("Bosch", "Makita", "Stanley", "Xiaomi", "Canon", "Nikon", "Yamaha",
+            "Karcher", "Husqvarna", "Tramp", "Stern", "Samsung");
+
+    private static final int USERS = 1_000_000;
+    private static final int ITEMS = 2_000_000;
+    private static final int REQUESTS = 200_000;
+    private static final int BOOKINGS = 5_000_000;
+
+    /**
+     * Метод возвращает параметры набора данных из аргументов командной строки. Размеры по умолчанию (1 млн
+     * пользователей, 2 млн вещей, 200 тыс. запросов, 5 млн бронирований) умножаются на --scale, отдельные размеры
+     * задаются аргументами --users, --items, --requests и --bookings
+     */
+    public static Dataset from(Options options) {
+        double scale = options.decimal("scale", 1.0);
+        return new Dataset(
+                options.number("seed", 42),
+                size(options, "users", USERS * scale, 2),
+                size(options, "items", ITEMS * scale, 1),
+                size(options, "requests", REQUESTS * scale, 0),
+                size(options, "bookings", BOOKINGS * scale, 0),
+                options.decimal("comment-rate", 0.3),
+                options.decimal("skew", 0.9),
+                options.date("epoch", LocalDate.now()));
+    }
+
+    /**
+     * Метод возвращает независимый генератор случайных чисел для потока данных: изменение размера одной таблицы не
+     * меняет строки других таблиц
+     */
+    public SplittableRandom random(String stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream.hashCode());
+    }
+
+    public LocalDateTime now() {
+        return epoch.atStartOfDay();
+    }
+
+    /**
+     * Распределение рангов пользователей: ранг владельца равен его идентификатору, ранг бронирующего преобразуется
+     * методом {@link #booker(int)}
+     */
+    public Zipf userRanks() {
+        return new Zipf(users, skew);
+    }
+
+    /**
+     * Распределение популярности вещей: ранг равен идентификатору вещи
+     */
+    public Zipf itemRanks() {
+        return new Zipf(items, skew);
+    }
+
+    /**
+     * Распределение наименований вещей и слов поиска по списку {@link #NOUNS}
+     */
+    public Zipf nounRanks() {
+        return new Zipf(NOUNS.size(), skew);
+    }
+
+    /**
+     * Метод возвращает идентификатор бронирующего пользователя по рангу. Умножение на простое число, не являющееся
+     * делителем числа пользователей, по модулю числа пользователей - перестановка идентификаторов
+     */
+    public int booker(int rank) {
+        long stride = users % 7919 == 0 ? 104_729 : 7919;
+        return (int) (((rank - 1) * stride + users / 2) % users) + 1;
+    }
+
+    private static int size(Options options, String name, double defaultValue, int min) {
+        return (int) Math.max(min, options.number(name, Math.round(defaultValue)));
+    }
+}
@@ -0,0 +1,231 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Нагрузка на шлюз запросами {@link Scenario} в заданной пропорции. Пользователи, вещи и слова поиска выбираются из
+ * распределений набора данных {@link Dataset}, поэтому самые активные пользователи и самые популярные вещи
+ * запрашиваются чаще остальных
+ * <p>
+ * Каждый из concurrency виртуальных потоков отправляет запросы последовательно. Без заданной частоты запрос
+ * отправляется сразу после ответа на предыдущий (закрытая модель нагрузки). При заданной частоте потоки отправляют
+ * запросы по расписанию, и задержка отсчитывается от запланированного времени отправки: медленный ответ увеличивает
+ * задержку следующих запросов, а не уменьшает число измерений (coordinated omission)
+ */
+@Slf4j
+public class LoadDriver {
+
+    static final String DEFAULT_MIX = "items:20,item:30,search:15,bookings:25,owner-bookings:10";
+    static final String DEFAULT_STATES = "ALL:40,CURRENT:10,PAST:20,FUTURE:15,WAITING:10,REJECTED:5";
+
+    private static final long HIGHEST_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Dataset dataset;
+    private final URI gateway;
+    private final int concurrency;
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Duration timeout;
+    private final Map<String, Integer> mixWeights;
+    private final Weighted<Scenario> mix;
+    private final Weighted<String> states;
+    private final Zipf userRanks;
+    private final Zipf itemRanks;
+    private final Zipf nounRanks;
+    private final HttpClient client;
+
+    public LoadDriver(Dataset dataset, Options options) {
+        this.dataset = dataset;
+        this.gateway = URI.create(options.string("gateway", "http://localhost:8080"));
+        this.concurrency = (int) options.number("concurrency", 64);
+        this.rate = options.decimal("rate", 0);
+        this.warmup = options.duration("warmup", Duration.ofSeconds(15));
+        this.duration = options.duration("duration", Duration.ofSeconds(60));
+        this.timeout = options.duration("timeout", Duration.ofSeconds(10));
+        this.mixWeights = options.weights("mix", DEFAULT_MIX);
+        this.mix = new Weighted<>(mixWeights, Scenario::from);
+        this.states = new Weighted<>(options.weights("states", DEFAULT_STATES), state -> state);
+        this.userRanks = dataset.userRanks();
+        this.itemRanks = dataset.itemRanks();
+        this.nounRanks = dataset.nounRanks();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .build();
+    }
+
+    /**
+     * Метод нагружает шлюз в течение warmup + duration и возвращает результаты за duration
+     */
+    public Report run() throws InterruptedException {
+        long started = System.nanoTime();
+        long measureFrom = started + warmup.toNanos();
+        long measureTo = measureFrom + duration.toNanos();
+        log.info("Нагрузка на {}: {} потоков, {} запросов/с, разогрев {} с, измерение {} с", gateway, concurrency,
+                rate > 0 ? rate : "без ограничения", warmup.toSeconds(), duration.toSeconds());
+
+        List<Future<Statistics>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int worker = 0; worker < concurrency; worker++) {
+                int index = worker;
+                futures.add(executor.submit(() -> work(index, started, measureFrom, measureTo)));
+            }
+        }
+
+        Statistics total = new Statistics();
+        Map<Scenario, Statistics> byScenario = new EnumMap<>(Scenario.class);
+        for (Future<Statistics> future : futures) {
+            Statistics statistics = join(future);
+            statistics.byScenario.forEach((scenario, value) -> {
+                byScenario.computeIfAbsent(scenario, key -> new Statistics()).add(value);
+                total.add(value);
+            });
+        }
+
+        double seconds = duration.toNanos() / 1e9;
+        List<Report.Endpoint> endpoints = byScenario.entrySet().stream()
+                .map(entry -> entry.getValue().endpoint(entry.getKey().key(), seconds))
+                .toList();
+        return new Report(Instant.now().minus(duration), dataset,
+                new Report.Settings(gateway.toString(), concurrency, rate, warmup.toSeconds(), duration.toSeconds(),
+                        mixWeights),
+                endpoints, total.endpoint("total", seconds));
+    }
+
+    private Statistics work(int worker, long started, long measureFrom, long measureTo) {
+        SplittableRandom random = dataset.random("load-" + worker);
+        Statistics statistics = new Statistics();
+        long interval = rate > 0 ? (long) (1e9 * concurrency / rate) : 0;
+        long next = started + interval * worker / concurrency;
+        while (true) {
+            long intended = interval > 0 ? next : System.nanoTime();
+            if (intended >= measureTo) {
+                return statistics;
+            }
+            if (interval > 0) {
+                next += interval;
+                for (long delay = intended - System.nanoTime(); delay > 0; delay = intended - System.nanoTime()) {
+                    LockSupport.parkNanos(delay);
+                }
+            }
+
+            Scenario scenario = mix.pick(random);
+            String response = send(request(scenario, random));
+            if (intended >= measureFrom) {
+                statistics.record(scenario, response, (System.nanoTime() - intended) / 1000);
+            }
+        }
+    }
+
+    private HttpRequest request(Scenario scenario, SplittableRandom random) {
+        int user;
+        String path;
+        switch (scenario) {
+            case ITEMS -> {
+                user = userRanks.sample(random);
+                path = "/items";
+            }
+            case ITEM -> {
+                user = dataset.booker(userRanks.sample(random));
+                path = "/items/" + itemRanks.sample(random);
+            }
+            case SEARCH -> {
+                user = dataset.booker(userRanks.sample(random));
+                path = "/items/search?text=" + URLEncoder.encode(Dataset.NOUNS.get(nounRanks.sample(random) - 1),
+                        StandardCharsets.UTF_8);
+            }
+            case BOOKINGS -> {
+                user = dataset.booker(userRanks.sample(random));
+                path = "/bookings?state=" + states.pick(random);
+            }
+            case OWNER_BOOKINGS -> {
+                user = userRanks.sample(random);
+                path = "/bookings/owner?state=" + states.pick(random);
+            }
+            default -> throw new IllegalArgumentException("Неизвестный запрос: " + scenario);
+        }
+        return HttpRequest.newBuilder(gateway.resolve(path))
+                .timeout(timeout)
+                .header("X-Sharer-User-Id", String.valueOf(user))
+                .GET()
+                .build();
+    }
+
+    /**
+     * @return код состояния HTTP, io или timeout
+     */
+    private String send(HttpRequest request) {
+        try {
+            return String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        } catch (HttpTimeoutException e) {
+            return "timeout";
+        } catch (IOException e) {
+            return "io";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "io";
+        }
+    }
+
+    private static Statistics join(Future<Statistics> future) throws InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Поток нагрузки завершился с ошибкой", e.getCause());
+        }
+    }
+
+    /**
+     * Задержки успешных ответов в микросекундах и число ответов по коду состояния
+     */
+    private static final class Statistics {
+
+        private final Histogram latencies = new Histogram(HIGHEST_LATENCY_MICROS, 3);
+        private final Map<String, Long> responses = new HashMap<>();
+        private final Map<Scenario, Statistics> byScenario = new EnumMap<>(Scenario.class);
+
+        private void record(Scenario scenario, String response, long micros) {
+            byScenario.computeIfAbsent(scenario, key -> new Statistics()).record(response, micros);
+        }
+
+        private void record(String response, long micros) {
+            if (response.startsWith("2")) {
+                latencies.recordValue(Math.min(micros, HIGHEST_LATENCY_MICROS));
+            }
+            responses.merge(response, 1L, Long::sum);
+        }
+
+        private void add(Statistics other) {
+            latencies.add(other.latencies);
+            other.responses.forEach((response, count) -> responses.merge(response, count, Long::sum));
+        }
+
+        private Report.Endpoint endpoint(String name, double seconds) {
+            return Report.Endpoint.of(name, latencies, responses, seconds);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Properties;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Нагрузочное тестирование шлюза на БД сервиса, заполненной воспроизводимым набором данных
+ * <pre>
+ * java -jar load-test.jar seed --url=jdbc:postgresql://localhost:6541/shareit [--truncate] [параметры набора]
+ * java -jar load-test.jar run --gateway=http://localhost:8080 [--report=results.json] [параметры набора]
+ * </pre>
+ * Параметры набора данных (--seed, --scale, --users, --items, --requests, --bookings, --comment-rate, --skew, --epoch)
+ * команд seed и run должны совпадать: нагрузочный тест выбирает существующих пользователей и вещи по тем же
+ * распределениям. Параметры нагрузки: --concurrency, --rate, --warmup, --duration, --timeout, --mix, --states
+ */
+@Slf4j
+public class LoadTest {
+
+    /**
+     * Таблица результатов выводится в UTF-8 независимо от кодировки консоли по умолчанию
+     */
+    private static final PrintStream OUT = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            usage();
+            return;
+        }
+        Options options = Options.parse(Arrays.copyOfRange(args, 1, args.length));
+        Dataset dataset = Dataset.from(options);
+        switch (args[0]) {
+            case "seed" -> seed(dataset, options);
+            case "run" -> run(dataset, options);
+            default -> usage();
+        }
+    }
+
+    private static void seed(Dataset dataset, Options options) throws SQLException {
+        String url = options.string("url", "jdbc:postgresql://localhost:6541/shareit");
+        Properties properties = new Properties();
+        properties.setProperty("user", options.string("username", "shareit"));
+        properties.setProperty("password", options.string("password", "shareit"));
+        // Пакет вставок отправляется в PostgreSQL одним выражением INSERT с несколькими строками VALUES
+        properties.setProperty("reWriteBatchedInserts", "true");
+        long started = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, properties)) {
+            new Seeder(dataset, connection).seed(options.flag("truncate"));
+        }
+        log.info("БД заполнена за {} с", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private static void run(Dataset dataset, Options options) throws InterruptedException, IOException {
+        Report report = new LoadDriver(dataset, options).run();
+        report.print(OUT);
+
+        String path = options.string("report", null);
+        if (path != null) {
+            File file = new File(path);
+            if (file.getParentFile() != null) {
+                file.getParentFile().mkdirs();
+            }
+            new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .writerWithDefaultPrettyPrinter()
+                    .writeValue(file, report);
+            log.info("Результаты сохранены в {}", file.getAbsolutePath());
+        }
+    }
+
+    private static void usage() {
+        OUT.println("Использование: java -jar load-test.jar seed|run [--имя=значение ...]");
+        OUT.println("  seed: --url, --username, --password, --truncate");
+        OUT.println("  run:  --gateway, --concurrency, --rate, --warmup, --duration, --timeout, --report,");
+        OUT.println("        --mix=" + LoadDriver.DEFAULT_MIX);
+        OUT.println("        --states=" + LoadDriver.DEFAULT_STATES);
+        OUT.println("  набор данных: --seed, --scale, --users, --items, --requests, --bookings, --comment-rate,");
+        OUT.println("        --skew, --epoch");
+    }
+}
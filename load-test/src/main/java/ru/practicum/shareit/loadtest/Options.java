@@ -0,0 +1,94 @@
+package ru.practicum.shareit.loadtest;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Параметры командной строки вида --имя=значение
+ */
+public class Options {
+
+    private final Map<String, String> values;
+
+    private Options(Map<String, String> values) {
+        this.values = values;
+    }
+
+    /**
+     * Метод разбирает аргументы командной строки
+     *
+     * @param args аргументы вида --имя=значение, аргумент --имя без значения равен --имя=true
+     * @return экземпляр {@link Options}
+     * @throws IllegalArgumentException если аргумент не начинается с --
+     */
+    public static Options parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Неизвестный аргумент: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                values.put(arg.substring(2), "true");
+            } else {
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return new Options(values);
+    }
+
+    public String string(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    public long number(String name, long defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+
+    public double decimal(String name, double defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    public boolean flag(String name) {
+        return Boolean.parseBoolean(values.get(name));
+    }
+
+    public LocalDate date(String name, LocalDate defaultValue) {
+        String value = values.get(name);
+        return value == null ? defaultValue : LocalDate.parse(value);
+    }
+
+    /**
+     * Метод возвращает длительность в формате 500ms, 30s, 5m или 1h
+     */
+    public Duration duration(String name, Duration defaultValue) {
+        String value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        return Duration.parse("PT" + value.toUpperCase());
+    }
+
+    /**
+     * Метод возвращает веса в формате имя:вес,имя:вес
+     */
+    public Map<String, Integer> weights(String name, String defaultValue) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String pair : string(name, defaultValue).split(",")) {
+            String[] parts = pair.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Вес должен быть задан в формате имя:вес: " + pair);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.loadtest;
+
+import java.io.PrintStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Результат нагрузочного теста
+ *
+ * @param startedAt   время начала измерения
+ * @param dataset     параметры набора данных
+ * @param settings    параметры нагрузки
+ * @param endpoints   результаты по запросам
+ * @param total       результат по всем запросам
+ */
+public record Report(Instant startedAt, Dataset dataset, Settings settings, List<Endpoint> endpoints,
+                     Endpoint total) {
+
+    /**
+     * @param gateway         адрес шлюза
+     * @param concurrency     число одновременных запросов
+     * @param rate            заданная частота запросов в секунду, 0 - запрос отправляется сразу после ответа на
+     *                        предыдущий
+     * @param warmupSeconds   длительность разогрева
+     * @param durationSeconds длительность измерения
+     * @param mix             веса запросов
+     */
+    public record Settings(String gateway, int concurrency, double rate, long warmupSeconds, long durationSeconds,
+                           Map<String, Integer> mix) {
+    }
+
+    /**
+     * Задержки - время от запланированной отправки запроса до получения ответа, в миллисекундах. При заданной частоте
+     * запросов задержка включает ожидание отправки, если предыдущий запрос потока еще выполнялся
+     *
+     * @param name       имя запроса
+     * @param requests   число ответов
+     * @param errors     число ответов с кодом не 2xx, ошибок ввода-вывода и превышений времени ожидания
+     * @param throughput ответов в секунду
+     * @param responses  число ответов по коду состояния HTTP, io - ошибка ввода-вывода, timeout - превышение времени
+     *                   ожидания
+     */
+    public record Endpoint(String name, long requests, long errors, double throughput, double p50, double p90,
+                           double p99, double p999, double max, SortedMap<String, Long> responses) {
+
+        static Endpoint of(String name, Histogram latencies, Map<String, Long> responses, double seconds) {
+            long errors = responses.entrySet().stream()
+                    .filter(response -> !response.getKey().startsWith("2"))
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            long requests = latencies.getTotalCount() + errors;
+            return new Endpoint(name, requests, errors, round(requests / seconds),
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                    millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                    millis(latencies.getMaxValue()), new TreeMap<>(responses));
+        }
+
+        private static double millis(long micros) {
+            return round(micros / 1000.0);
+        }
+
+        private static double round(double value) {
+            return Math.round(value * 10) / 10.0;
+        }
+    }
+
+    /**
+     * Метод выводит таблицу результатов
+     */
+    public void print(PrintStream out) {
+        String format = "%-16s %10s %8s %12s %9s %9s %9s %9s %9s%n";
+        out.printf(format, "Запрос", "Ответов", "Ошибок", "Ответов/с", "p50, мс", "p90, мс", "p99, мс", "p99.9, мс",
+                "max, мс");
+        for (Endpoint endpoint : endpoints) {
+            print(out, format, endpoint);
+        }
+        print(out, format, total);
+        endpoints.stream()
+                .filter(endpoint -> endpoint.errors() > 0)
+                .forEach(endpoint -> out.printf("Ответы %s: %s%n", endpoint.name(), endpoint.responses()));
+    }
+
+    private static void print(PrintStream out, String format, Endpoint endpoint) {
+        out.printf(format, endpoint.name(), endpoint.requests(), endpoint.errors(), endpoint.throughput(),
+                endpoint.p50(), endpoint.p90(), endpoint.p99(), endpoint.p999(), endpoint.max());
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.loadtest;
+
+/**
+ * Запросы нагрузочного теста
+ */
+public enum Scenario {
+    // Вещи владельца: GET /items
+    ITEMS("items"),
+    // Вещь с бронированиями и комментариями: GET /items/{id}
+    ITEM("item"),
+    // Поиск доступных вещей: GET /items/search?text=
+    SEARCH("search"),
+    // Бронирования пользователя: GET /bookings?state=
+    BOOKINGS("bookings"),
+    // Бронирования вещей владельца: GET /bookings/owner?state=
+    OWNER_BOOKINGS("owner-bookings");
+
+    private final String key;
+
+    Scenario(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * @throws IllegalArgumentException если запрос с таким именем не существует
+     */
+    public static Scenario from(String key) {
+        for (Scenario scenario : values()) {
+            if (scenario.key.equals(key)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Неизвестный запрос: " + key);
+    }
+}
@@ -0,0 +1,304 @@
+package ru.practicum.shareit.loadtest;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Заполнение БД сервиса набором данных {@link Dataset} пакетными вставками JDBC. Схема БД создается миграциями Flyway
+ * при запуске сервиса, поэтому сервис запускается до заполнения хотя бы один раз
+ * <p>
+ * Бронирования вещи распределяются по окну от года до даты epoch до 90 дней после нее без пересечения периодов
+ * (ограничение ex_bookings_item_period в PostgreSQL): чем популярнее вещь, тем больше у нее бронирований и короче
+ * период. Комментарии оставляют авторы завершенных подтвержденных бронирований, как того требует сервис
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class Seeder {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_ROWS = 50_000;
+    private static final long DAY = 86_400;
+    private static final long PAST_DAYS = 365;
+    private static final long FUTURE_DAYS = 90;
+    private static final double AVAILABLE_RATE = 0.9;
+    private static final double REQUESTED_ITEM_RATE = 0.1;
+
+    private static final List<String> CONDITIONS = List.of("состояние отличное", "состояние хорошее",
+            "есть следы использования", "после ремонта");
+    private static final List<String> EXTRAS = List.of("с зарядным устройством", "в комплекте чехол",
+            "инструкция прилагается", "выдача у метро", "доставка по району", "залог обязателен");
+    private static final List<String> COMMENTS = List.of("Все отлично, спасибо!", "Вещь как в описании",
+            "Владелец опоздал на встречу", "Пришлось повозиться с настройкой", "Рекомендую");
+
+    private final Dataset dataset;
+    private final Connection connection;
+
+    /**
+     * Метод заполняет БД
+     *
+     * @param truncate удалить существующие строки перед заполнением
+     * @throws IllegalStateException если БД уже содержит пользователей, а truncate не задан
+     */
+    public void seed(boolean truncate) throws SQLException {
+        connection.setAutoCommit(false);
+        if (truncate) {
+            truncate();
+        } else if (count("users") > 0) {
+            throw new IllegalStateException("БД уже содержит пользователей, для повторного заполнения задайте "
+                    + "--truncate");
+        }
+        log.info("Заполнение БД {}: {}", connection.getMetaData().getURL(), dataset);
+
+        insertUsers();
+        insertRequests();
+        int[] owners = insertItems();
+        insertBookings(owners);
+        resetSequences();
+        analyze();
+    }
+
+    private void insertUsers() throws SQLException {
+        try (Batch batch = new Batch("users", "INSERT INTO users (id, name, email) VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= dataset.users(); id++) {
+                batch.statement.setLong(1, id);
+                batch.statement.setString(2, "Пользователь " + id);
+                batch.statement.setString(3, "user" + id + "@load.test");
+                batch.add();
+            }
+        }
+    }
+
+    private void insertRequests() throws SQLException {
+        SplittableRandom random = dataset.random("requests");
+        Zipf userRanks = dataset.userRanks();
+        Zipf nounRanks = dataset.nounRanks();
+        LocalDateTime now = dataset.now();
+        try (Batch batch = new Batch("requests",
+                "INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= dataset.requests(); id++) {
+                batch.statement.setLong(1, id);
+                batch.statement.setString(2, "Нужна вещь: " + Dataset.NOUNS.get(nounRanks.sample(random) - 1));
+                batch.statement.setLong(3, dataset.booker(userRanks.sample(random)));
+                batch.statement.setObject(4, now.minusSeconds(random.nextLong(PAST_DAYS * DAY)));
+                batch.add();
+            }
+        }
+    }
+
+    /**
+     * @return владельцы вещей по идентификатору вещи
+     */
+    private int[] insertItems() throws SQLException {
+        SplittableRandom random = dataset.random("items");
+        Zipf userRanks = dataset.userRanks();
+        Zipf nounRanks = dataset.nounRanks();
+        int[] owners = new int[dataset.items() + 1];
+        try (Batch batch = new Batch("items", "INSERT INTO items (id, name, description, is_available, owner_id, "
+                + "request_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= dataset.items(); id++) {
+                String noun = Dataset.NOUNS.get(nounRanks.sample(random) - 1);
+                String brand = pick(Dataset.BRANDS, random);
+                owners[id] = userRanks.sample(random);
+                batch.statement.setLong(1, id);
+                batch.statement.setString(2, Character.toUpperCase(noun.charAt(0)) + noun.substring(1) + " " + brand);
+                batch.statement.setString(3, noun + " " + brand + ", " + pick(CONDITIONS, random) + ", "
+                        + pick(EXTRAS, random));
+                batch.statement.setBoolean(4, random.nextDouble() < AVAILABLE_RATE);
+                batch.statement.setLong(5, owners[id]);
+                if (dataset.requests() > 0 && random.nextDouble() < REQUESTED_ITEM_RATE) {
+                    batch.statement.setLong(6, random.nextInt(dataset.requests()) + 1);
+                } else {
+                    batch.statement.setObject(6, null);
+                }
+                batch.add();
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * Число бронирований каждой вещи выбирается по популярности вещи, затем бронирования вещи равномерно
+     * распределяются по окну без пересечения периодов
+     */
+    private void insertBookings(int[] owners) throws SQLException {
+        SplittableRandom random = dataset.random("bookings");
+        Zipf itemRanks = dataset.itemRanks();
+        Zipf userRanks = dataset.userRanks();
+        int[] counts = new int[dataset.items() + 1];
+        for (int i = 0; i < dataset.bookings(); i++) {
+            counts[itemRanks.sample(random)]++;
+        }
+
+        LocalDateTime now = dataset.now();
+        LocalDateTime windowStart = now.minusDays(PAST_DAYS);
+        long window = (PAST_DAYS + FUTURE_DAYS) * DAY;
+        long id = 0;
+        long commentId = 0;
+        try (Batch bookings = new Batch("bookings", "INSERT INTO bookings (id, start_date, end_date, item_id, "
+                + "booker_id, status) VALUES (?, ?, ?, ?, ?, ?)");
+             Batch comments = new Batch("comments",
+                     "INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)")) {
+            for (int item = 1; item <= dataset.items(); item++) {
+                long slot = counts[item] == 0 ? 0 : Math.max(4, window / counts[item]);
+                for (int j = 0; j < counts[item]; j++) {
+                    // Период занимает не больше половины интервала вещи и не пересекается с соседними
+                    LocalDateTime start = windowStart.plusSeconds(j * slot + random.nextLong(slot / 4 + 1));
+                    LocalDateTime end = start.plusSeconds(Math.max(1, Math.min(slot / 2,
+                            DAY / 24 + random.nextLong(7 * DAY))));
+                    int booker = dataset.booker(userRanks.sample(random));
+                    if (booker == owners[item]) {
+                        booker = booker % dataset.users() + 1;
+                    }
+                    String status = status(start, end, now, random);
+
+                    bookings.statement.setLong(1, ++id);
+                    bookings.statement.setObject(2, start);
+                    bookings.statement.setObject(3, end);
+                    bookings.statement.setLong(4, item);
+                    bookings.statement.setLong(5, booker);
+                    bookings.statement.setString(6, status);
+                    bookings.add();
+
+                    if (end.isBefore(now) && "APPROVED".equals(status) && random.nextDouble() < dataset.commentRate()) {
+                        LocalDateTime created = end.plusSeconds(random.nextLong(3 * DAY));
+                        comments.statement.setLong(1, ++commentId);
+                        comments.statement.setString(2, pick(COMMENTS, random));
+                        comments.statement.setLong(3, item);
+                        comments.statement.setLong(4, booker);
+                        comments.statement.setObject(5, created.isAfter(now) ? now : created);
+                        comments.add();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Завершенные бронирования в основном подтверждены, среди будущих велика доля ожидающих подтверждения
+     */
+    private static String status(LocalDateTime start, LocalDateTime end, LocalDateTime now, SplittableRandom random) {
+        double value = random.nextDouble();
+        if (end.isBefore(now)) {
+            return value < 0.85 ? "APPROVED" : "REJECTED";
+        }
+        if (start.isBefore(now)) {
+            return "APPROVED";
+        }
+        return value < 0.4 ? "WAITING" : value < 0.9 ? "APPROVED" : "REJECTED";
+    }
+
+    private void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (isPostgres()) {
+                statement.execute("TRUNCATE comments, bookings, items, requests, users");
+            } else {
+                for (String table : List.of("comments", "bookings", "items", "requests", "users")) {
+                    statement.execute("DELETE FROM " + table);
+                }
+            }
+        }
+        connection.commit();
+        log.info("Строки удалены");
+    }
+
+    /**
+     * Последовательности выдают идентификаторы блоками по 50 (миграции V7, V8), значение последовательности -
+     * верхняя граница следующего блока
+     */
+    private void resetSequences() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            for (String table : List.of("users", "requests", "items", "bookings", "comments")) {
+                long next = maxId(table) + 50;
+                statement.execute(isPostgres()
+                        ? "SELECT setval('" + table + "_seq', " + next + ", false)"
+                        : "ALTER SEQUENCE " + table + "_seq RESTART WITH " + next);
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Статистика таблиц для планировщика запросов собирается после загрузки, а не при первом автоматическом анализе
+     * под нагрузкой
+     */
+    private void analyze() throws SQLException {
+        long started = System.nanoTime();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+        connection.commit();
+        log.info("Статистика таблиц собрана за {} с", (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private long count(String table) throws SQLException {
+        return queryLong("SELECT COUNT(*) FROM " + table);
+    }
+
+    private long maxId(String table) throws SQLException {
+        return queryLong("SELECT COALESCE(MAX(id), 0) FROM " + table);
+    }
+
+    private long queryLong(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private boolean isPostgres() throws SQLException {
+        return "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName());
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * Пакет вставок одной таблицы: пакет отправляется каждые {@link #BATCH_SIZE} строк, транзакция фиксируется
+     * каждые {@link #COMMIT_ROWS} строк
+     */
+    private final class Batch implements AutoCloseable {
+
+        private final String table;
+        private final PreparedStatement statement;
+        private final long started = System.nanoTime();
+        private long rows;
+
+        private Batch(String table, String sql) throws SQLException {
+            this.table = table;
+            this.statement = connection.prepareStatement(sql);
+        }
+
+        private void add() throws SQLException {
+            statement.addBatch();
+            rows++;
+            if (rows % BATCH_SIZE == 0) {
+                statement.executeBatch();
+            }
+            if (rows % COMMIT_ROWS == 0) {
+                connection.commit();
+            }
+            if (rows % (COMMIT_ROWS * 20) == 0) {
+                log.info("{}: {} строк", table, rows);
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            statement.executeBatch();
+            connection.commit();
+            statement.close();
+            double seconds = Math.max(1e-3, (System.nanoTime() - started) / 1e9);
+            log.info("{}: {} строк за {} с, {} строк/с", table, rows, Math.round(seconds),
+                    Math.round(rows / seconds));
+        }
+    }
+}
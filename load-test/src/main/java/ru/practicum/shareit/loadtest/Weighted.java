@@ -0,0 +1,47 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Выбор значения с вероятностью, пропорциональной весу
+ */
+public class Weighted<T> {
+
+    private final List<T> values = new ArrayList<>();
+    private final int[] bounds;
+
+    /**
+     * @param weights веса по имени значения, значения с нулевым весом не выбираются
+     * @param parser  преобразование имени в значение
+     * @throws IllegalArgumentException если сумма весов не положительна или вес отрицателен
+     */
+    public Weighted(Map<String, Integer> weights, Function<String, T> parser) {
+        bounds = new int[weights.size()];
+        int total = 0;
+        for (Map.Entry<String, Integer> weight : weights.entrySet()) {
+            if (weight.getValue() < 0) {
+                throw new IllegalArgumentException("Вес не может быть отрицательным: " + weight.getKey());
+            }
+            total += weight.getValue();
+            bounds[values.size()] = total;
+            values.add(parser.apply(weight.getKey()));
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Сумма весов должна быть положительной: " + weights);
+        }
+    }
+
+    public T pick(RandomGenerator random) {
+        int value = random.nextInt(bounds[bounds.length - 1]);
+        for (int i = 0; i < bounds.length; i++) {
+            if (value < bounds[i]) {
+                return values.get(i);
+            }
+        }
+        throw new IllegalStateException("Значение вне суммы весов: " + value);
+    }
+}
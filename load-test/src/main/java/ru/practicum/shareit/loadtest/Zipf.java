@@ -0,0 +1,85 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Распределение Ципфа на рангах 1..n: вероятность ранга k пропорциональна 1 / k^exponent. Небольшая часть
+ * пользователей владеет большинством вещей и бронирует чаще остальных, небольшая часть вещей бронируется и
+ * просматривается чаще остальных
+ * <p>
+ * Выборка выполняется методом rejection-inversion (W. Hörmann, G. Derflinger, "Rejection-inversion to generate
+ * variates from monotone discrete distributions") за постоянное время без таблиц вероятностей, поэтому подходит для
+ * миллионов рангов
+ */
+public class Zipf {
+
+    private final int n;
+    private final double exponent;
+    private final double hIntegralX1;
+    private final double hIntegralN;
+    private final double s;
+
+    /**
+     * @param n        число рангов
+     * @param exponent показатель распределения, 0 - равномерное распределение
+     */
+    public Zipf(int n, double exponent) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException("Число рангов должно быть положительным, показатель - неотрицательным");
+        }
+        this.n = n;
+        this.exponent = exponent;
+        this.hIntegralX1 = hIntegral(1.5) - 1;
+        this.hIntegralN = hIntegral(n + 0.5);
+        this.s = 2 - hIntegralInverse(hIntegral(2.5) - h(2));
+    }
+
+    /**
+     * Метод возвращает случайный ранг
+     *
+     * @param random источник случайных чисел
+     * @return ранг от 1 до n
+     */
+    public int sample(RandomGenerator random) {
+        while (true) {
+            double u = hIntegralN + random.nextDouble() * (hIntegralX1 - hIntegralN);
+            double x = hIntegralInverse(u);
+            int k = (int) Math.min(n, Math.max(1, Math.round(x)));
+            if (k - x <= s || u >= hIntegral(k + 0.5) - h(k)) {
+                return k;
+            }
+        }
+    }
+
+    public int size() {
+        return n;
+    }
+
+    private double h(double x) {
+        return Math.exp(-exponent * Math.log(x));
+    }
+
+    private double hIntegral(double x) {
+        double logX = Math.log(x);
+        return expm1Ratio((1 - exponent) * logX) * logX;
+    }
+
+    private double hIntegralInverse(double x) {
+        double t = Math.max(-1, x * (1 - exponent));
+        return Math.exp(log1pRatio(t) * x);
+    }
+
+    /**
+     * (exp(x) - 1) / x с сохранением точности около нуля
+     */
+    private static double expm1Ratio(double x) {
+        return Math.abs(x) > 1e-8 ? Math.expm1(x) / x : 1 + x * 0.5 * (1 + x / 3 * (1 + 0.25 * x));
+    }
+
+    /**
+     * log(1 + x) / x с сохранением точности около нуля
+     */
+    private static double log1pRatio(double x) {
+        return Math.abs(x) > 1e-8 ? Math.log1p(x) / x : 1 - x * (0.5 - x * (1.0 / 3 - 0.25 * x));
+    }
+}
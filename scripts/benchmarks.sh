@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+#
+# Запуск тестов производительности JMH сервиса и шлюза с сохранением результатов в JSON.
+#
+# Скрипт собирает модуль benchmarks (профиль Maven benchmarks), запускает тесты обоих модулей и сохраняет результаты
+# JMH в формате JSON в каталог benchmarks/results под именем <модуль>-<версия>.json, где версия - результат
+# git describe. Модули задаются переменной MODULES (по умолчанию "server gateway"), аргументы скрипта передаются
+# JMH, например:
+#
+#   scripts/benchmarks.sh                                         - все тесты
+#   MODULES=server scripts/benchmarks.sh MapperBenchmark -prof gc - тесты преобразователей с профилировщиком
+#                                                                   выделения памяти
+#
+# Сравнение результатов двух запусков (нужна утилита jq): для каждого теста выводятся оценки базового и нового запуска
+# и изменение в процентах. Для тестов в режимах avgt и sample рост оценки - замедление, для thrpt - ускорение:
+#
+#   scripts/benchmarks.sh --compare benchmarks/results/server-v1.0.json benchmarks/results/server-v1.1.json
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+if [[ "${1:-}" == "--compare" ]]; then
+    [[ $# -eq 3 ]] || { echo "Использование: $0 --compare <базовый.json> <новый.json>" >&2; exit 1; }
+    printf "Тест\tРежим\tБазовый\tНовый\tЕдиницы\tИзменение\n"
+    jq -r -n --slurpfile base "$2" --slurpfile current "$3" '
+        def key: .benchmark + ((.params // {}) | to_entries | map(" " + .key + "=" + .value) | join(""));
+        ($base[0] | map({(key): .primaryMetric.score}) | add) as $scores
+        | $current[0][]
+        | key as $key
+        | select($scores[$key] != null)
+        | [$key, .mode, .primaryMetric.scoreUnit, $scores[$key], .primaryMetric.score,
+           ((.primaryMetric.score - $scores[$key]) / $scores[$key] * 100)]
+        | "\(.[0] | sub("^ru\\.practicum\\.shareit\\.benchmarks\\."; ""))\t\(.[1])\t\(.[3] * 1000 | round / 1000)"
+          + "\t\(.[4] * 1000 | round / 1000)\t\(.[2])\t\(.[5] * 10 | round / 10)%"'
+    exit 0
+fi
+
+VERSION="$(git -C "$ROOT" describe --tags --always --dirty)"
+RESULTS="$ROOT/benchmarks/results"
+mkdir -p "$RESULTS"
+
+mvn -B -q -f "$ROOT/pom.xml" -Pbenchmarks clean package -DskipTests
+
+for module in ${MODULES:-server gateway}; do
+    java -jar "$ROOT/benchmarks/$module/target/benchmarks.jar" -rf json -rff "$RESULTS/$module-$VERSION.json" "$@"
+done
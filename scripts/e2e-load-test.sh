@@ -0,0 +1,96 @@
+#!/usr/bin/env bash
+#
+# Нагрузочный тест шлюза на БД, заполненной воспроизводимым набором данных (модуль load-test).
+#
+# Скрипт собирает сервис, шлюз и модуль load-test (профиль Maven load-test), запускает сервис для применения миграций
+# Flyway, заполняет БД командой seed, запускает сервис и шлюз и нагружает шлюз командой run. Таблица задержек и
+# пропускной способности по запросам выводится в консоль и сохраняется в load-test/results/<БД>-<версия>.json.
+#
+# Параметры окружения:
+#   DB        h2 (по умолчанию, файл load-test/target/data/shareit) или postgres (docker compose up -d db)
+#   PROFILES  профили Spring сервиса и шлюза, по умолчанию prod
+#   SCALE     доля полного набора данных (1 - 1 млн пользователей, 2 млн вещей, 5 млн бронирований), по умолчанию
+#             0.1 для h2 и 1 для postgres
+#   SEED      начальное значение генераторов набора данных, по умолчанию 42
+#   SKIP_SEED 1 - использовать ранее заполненную БД с теми же SCALE и SEED
+#   JAVA_OPTS параметры JVM сервиса и шлюза
+# Аргументы скрипта передаются команде run, например:
+#
+#   scripts/e2e-load-test.sh --concurrency=128 --duration=5m
+#   DB=postgres scripts/e2e-load-test.sh --rate=2000 --mix=item:50,search:50
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+DB="${DB:-h2}"
+PROFILES="${PROFILES:-prod}"
+SEED="${SEED:-42}"
+RESULTS="$ROOT/load-test/results"
+LOGS="$(mktemp -d)"
+PIDS=()
+
+case "$DB" in
+    h2)
+        SCALE="${SCALE:-0.1}"
+        URL="jdbc:h2:file:$ROOT/load-test/target/data/shareit"
+        # Профиль test подключает драйвер H2 и поиск подстрокой, остальные профили переопределяют его настройки
+        SERVER_ARGS=(--spring.profiles.active="test,$PROFILES" --spring.datasource.url="$URL")
+        ;;
+    postgres)
+        SCALE="${SCALE:-1}"
+        URL="jdbc:postgresql://localhost:6541/shareit"
+        SERVER_ARGS=(--spring.profiles.active="$PROFILES")
+        ;;
+    *)
+        echo "Неизвестная БД $DB, допустимые значения: h2, postgres" >&2
+        exit 1
+        ;;
+esac
+DATASET=(--scale="$SCALE" --seed="$SEED" --epoch="$(date +%Y-%m-%d)")
+
+stop_all() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2> /dev/null && wait "$pid" 2> /dev/null || true
+    done
+    PIDS=()
+}
+trap stop_all EXIT
+
+wait_healthy() {
+    for _ in $(seq 1 300); do
+        curl --fail --silent "$1/actuator/health" | grep -q UP && return 0
+        sleep 1
+    done
+    echo "Приложение $1 не запустилось" >&2
+    return 1
+}
+
+start_server() {
+    java ${JAVA_OPTS:-} -jar "$SERVER_JAR" "${SERVER_ARGS[@]}" >> "$LOGS/server.log" 2>&1 &
+    PIDS+=($!)
+    wait_healthy http://localhost:9090
+}
+
+(cd "$ROOT" && mvn -B -q -Pload-test package -DskipTests)
+SERVER_JAR="$(ls "$ROOT"/server/target/shareit-server-*.jar | grep -v original | head -1)"
+GATEWAY_JAR="$(ls "$ROOT"/gateway/target/shareit-gateway-*.jar | grep -v original | head -1)"
+LOAD_TEST_JAR="$ROOT/load-test/target/load-test.jar"
+
+# Набор данных зависит от даты epoch: бронирования делятся на завершенные и будущие относительно нее, поэтому
+# повторный запуск с SKIP_SEED=1 в другой день использует ранее заполненную БД со сдвинутыми состояниями
+if [[ "${SKIP_SEED:-0}" != "1" ]]; then
+    echo "Применение миграций"
+    start_server
+    stop_all
+    echo "Заполнение БД $URL"
+    java -jar "$LOAD_TEST_JAR" seed --url="$URL" --truncate "${DATASET[@]}"
+fi
+
+echo "Запуск сервиса и шлюза, журналы: $LOGS"
+start_server
+java ${JAVA_OPTS:-} -jar "$GATEWAY_JAR" --spring.profiles.active="$PROFILES" > "$LOGS/gateway.log" 2>&1 &
+PIDS+=($!)
+wait_healthy http://localhost:8080
+
+VERSION="$(git -C "$ROOT" describe --tags --always --dirty)"
+java -jar "$LOAD_TEST_JAR" run "${DATASET[@]}" --report="$RESULTS/$DB-$VERSION.json" "$@"
@@ -0,0 +1,99 @@
+#!/usr/bin/env bash
+#
+# Сравнение пропускной способности шлюза и сервиса в разных профилях Spring.
+#
+# Для каждого профиля из аргументов (по умолчанию "default prod") скрипт запускает собранные jar-файлы сервиса и
+# шлюза, создает пользователя, вещь и бронирование и нагружает шлюз утилитой hey
+# (https://github.com/rakyll/hey) на чтение вещи, поиск и список бронирований. В конце выводится таблица
+# запросов в секунду и 99-го перцентиля задержки по каждому профилю.
+#
+# Требования:
+#   mvn -B package -DskipTests        - jar-файлы server/target и gateway/target
+#   docker compose up -d db           - PostgreSQL на localhost:6541
+#   hey, curl и jq в PATH
+#
+# Параметры окружения: DURATION (по умолчанию 30s), CONCURRENCY (50), WARMUP (10s), JAVA_OPTS.
+#
+# Пример: scripts/load-test.sh default prod
+
+set -euo pipefail
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+PROFILES=("$@")
+[[ $# -eq 0 ]] && PROFILES=(default prod)
+DURATION="${DURATION:-30s}"
+CONCURRENCY="${CONCURRENCY:-50}"
+WARMUP="${WARMUP:-10s}"
+GATEWAY="http://localhost:8080"
+RESULTS="$(mktemp -d)"
+PIDS=()
+
+for tool in hey curl jq java; do
+    command -v "$tool" > /dev/null || { echo "Не найдена утилита $tool" >&2; exit 1; }
+done
+
+SERVER_JAR="$(ls "$ROOT"/server/target/shareit-server-*.jar | grep -v original | head -1)"
+GATEWAY_JAR="$(ls "$ROOT"/gateway/target/shareit-gateway-*.jar | grep -v original | head -1)"
+
+stop_all() {
+    for pid in "${PIDS[@]}"; do
+        kill "$pid" 2> /dev/null && wait "$pid" 2> /dev/null || true
+    done
+    PIDS=()
+}
+trap stop_all EXIT
+
+wait_healthy() {
+    for _ in $(seq 1 120); do
+        curl --fail --silent "$1/actuator/health" | grep -q UP && return 0
+        sleep 1
+    done
+    echo "Приложение $1 не запустилось" >&2
+    return 1
+}
+
+post() {
+    curl --fail --silent -X POST -H "Content-Type: application/json" -H "X-Sharer-User-Id: ${3:-0}" \
+        -d "$2" "$GATEWAY$1"
+}
+
+# Нагрузка на один адрес, результат - строка "запросов/с p99_мс"
+load() {
+    local url="$1" user="$2" report
+    hey -z "$WARMUP" -c "$CONCURRENCY" -H "X-Sharer-User-Id: $user" "$url" > /dev/null
+    report="$(hey -z "$DURATION" -c "$CONCURRENCY" -H "X-Sharer-User-Id: $user" "$url")"
+    echo "$(echo "$report" | awk '/Requests\/sec/ {print $2}')" \
+        "$(echo "$report" | awk '/ 99% in/ {printf "%.1f", $3 * 1000}')"
+}
+
+for profile in "${PROFILES[@]}"; do
+    echo "Профиль $profile"
+    java ${JAVA_OPTS:-} -jar "$SERVER_JAR" --spring.profiles.active="$profile" > "$RESULTS/server-$profile.log" 2>&1 &
+    PIDS+=($!)
+    java ${JAVA_OPTS:-} -jar "$GATEWAY_JAR" --spring.profiles.active="$profile" \
+        > "$RESULTS/gateway-$profile.log" 2>&1 &
+    PIDS+=($!)
+    wait_healthy http://localhost:9090
+    wait_healthy "$GATEWAY"
+
+    suffix="$profile-$RANDOM"
+    owner="$(post /users "{\"name\":\"Owner\",\"email\":\"owner-$suffix@load.test\"}" | jq .id)"
+    booker="$(post /users "{\"name\":\"Booker\",\"email\":\"booker-$suffix@load.test\"}" | jq .id)"
+    item="$(post /items '{"name":"Дрель","description":"Аккумуляторная дрель","available":true}' "$owner" | jq .id)"
+    start="$(date -d '+1 day' +%Y-%m-%dT%H:%M:%S)"
+    end="$(date -d '+2 days' +%Y-%m-%dT%H:%M:%S)"
+    post /bookings "{\"itemId\":$item,\"start\":\"$start\",\"end\":\"$end\"}" "$booker" > /dev/null
+
+    echo "$profile items $(load "$GATEWAY/items/$item" "$booker")" >> "$RESULTS/summary"
+    echo "$profile search $(load "$GATEWAY/items/search?text=%D0%B4%D1%80%D0%B5%D0%BB%D1%8C" "$booker")" >> "$RESULTS/summary"
+    echo "$profile bookings $(load "$GATEWAY/bookings?state=ALL" "$booker")" >> "$RESULTS/summary"
+
+    stop_all
+done
+
+echo
+printf "%-10s %-10s %12s %10s\n" "Профиль" "Запрос" "Запросов/с" "p99, мс"
+while read -r profile endpoint rps p99; do
+    printf "%-10s %-10s %12s %10s\n" "$profile" "$endpoint" "$rps" "$p99"
+done < "$RESULTS/summary"
+echo "Журналы приложений: $RESULTS"
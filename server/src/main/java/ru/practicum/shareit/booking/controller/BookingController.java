@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking.controller;
 
 import java.util.Collection;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,10 +17,15 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.commons.etag.EntityTag;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 
 /**
  * Обработка HTTP-запросов к /bookings
@@ -37,24 +45,36 @@ public class BookingController {
      * @param state состояние бронирования
      * @param from номер начального элемента коллекции
      * @param size максимальный размер возвращаемой коллекции
+     * @param after курсор последнего полученного бронирования
+     * @param withTotal признак передачи общего количества бронирований в заголовке X-Total-Count
      * @return коллекция {@link BookingFullDto}
      */
     @GetMapping
     public ResponseEntity<Collection<BookingFullDto>> getByBooker(@RequestHeader("X-Sharer-User-Id") Long bookerId,
                                                                   @RequestParam(name = "state") BookingState state,
                                                                   @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-                                                                  @RequestParam(name = "size", required = false, defaultValue = "100") Integer size) {
+                                                                  @RequestParam(name = "size", required = false, defaultValue = "100") Integer size,
+                                                                  @RequestParam(name = "after", required = false) String after,
+                                                                  @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.debug("Запрос бронирований, созданных пользователем на уровне контроллера");
         log.debug("Передан идентификатор бронирующего: {}", bookerId);
         log.debug("Передано состояние бронирования: {}", state.name());
         log.debug("Передан отступ: {}", from);
         log.debug("Передан максимальный размер коллекции: {}", size);
+        log.debug("Передан курсор: {}", after);
 
-        Collection<BookingFullDto> result = bookingService.findAllByBookerAndState(bookerId, state, from, size);
-        log.debug("На уровень контроллера вернулась коллекция бронирований пользователя размером {}", result.size());
+        Slice<BookingFullDto> result = bookingService.findAllByBookerAndState(bookerId, state, from, size, after);
+        log.debug("На уровень контроллера вернулась коллекция бронирований пользователя размером {}",
+                result.getNumberOfElements());
+
+        HttpHeaders headers = PageCursor.nextPageHeaders(result, BookingController::cursorOf);
+        if (withTotal) {
+            headers.set(PageCursor.TOTAL_COUNT_HEADER,
+                    String.valueOf(bookingService.countByBookerAndState(bookerId, state)));
+        }
 
         log.debug("Возврат результатов поиска бронирований на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        return new ResponseEntity<>(result.getContent(), headers, HttpStatus.OK);
     }
 
     /**
@@ -64,22 +84,33 @@ public class BookingController {
      * @param state состояние бронирования
      * @param from номер начального элемента коллекции
      * @param size максимальный размер возвращаемой коллекции
+     * @param after курсор последнего полученного бронирования
+     * @param withTotal признак передачи общего количества бронирований в заголовке X-Total-Count
      * @return коллекция {@link BookingFullDto}
      */
     @GetMapping("/owner")
     public ResponseEntity<Collection<BookingFullDto>> getByOwner(@RequestHeader("X-Sharer-User-Id") Long ownerId,
                                                                  @RequestParam(name = "state", required = false, defaultValue = "ALL") String state,
                                                                  @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-                                                                 @RequestParam(name = "size", required = false, defaultValue = "100") Integer size) {
+                                                                 @RequestParam(name = "size", required = false, defaultValue = "100") Integer size,
+                                                                 @RequestParam(name = "after", required = false) String after,
+                                                                 @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.debug("Запрос бронирований по владельцу вещей на уровне контроллера");
         log.debug("Передан идентификатор владельца вещей: {}", ownerId);
         log.debug("Передано состояние бронирования вещей: {}", state);
 
-        Collection<BookingFullDto> result = bookingService.findAllByOwnerAndState(ownerId, state, from, size);
-        log.debug("На уровень контроллера вернулась коллекция бронирований вещей владельца размером {}", result.size());
+        Slice<BookingFullDto> result = bookingService.findAllByOwnerAndState(ownerId, state, from, size, after);
+        log.debug("На уровень контроллера вернулась коллекция бронирований вещей владельца размером {}",
+                result.getNumberOfElements());
+
+        HttpHeaders headers = PageCursor.nextPageHeaders(result, BookingController::cursorOf);
+        if (withTotal) {
+            headers.set(PageCursor.TOTAL_COUNT_HEADER,
+                    String.valueOf(bookingService.countByOwnerAndState(ownerId, state)));
+        }
 
         log.debug("Возврат результатов бронирования на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        return new ResponseEntity<>(result.getContent(), headers, HttpStatus.OK);
     }
 
     /**
@@ -87,20 +118,29 @@ public class BookingController {
      *
      * @param bookerId идентификатор бронирующего
      * @param bookingId идентификатор брони
-     * @return экземпляр {@link BookingFullDto}
+     * @param request запрос с заголовком If-None-Match
+     * @return экземпляр {@link BookingFullDto} с заголовком ETag или ответ 304, если бронирование не изменилось
      */
     @GetMapping("/{bookingId}")
     public ResponseEntity<BookingFullDto> getById(@RequestHeader("X-Sharer-User-Id") Long bookerId,
-                                                  @PathVariable(name = "bookingId") Long bookingId) {
+                                                  @PathVariable(name = "bookingId") Long bookingId,
+                                                  WebRequest request) {
         log.debug("Запрос бронирования по идентификатору на уровне контроллера");
         log.debug("Передан идентификатор пользователя: {}", bookerId);
         log.debug("Передан идентификатор бронирования: {}", bookingId);
 
+        String eTag = bookingService.getEntityTag(bookerId, bookingId);
+        HttpHeaders headers = EntityTag.headers(eTag);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            log.debug("Бронирование не изменилось, возврат ответа 304 на уровень клиента");
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
         BookingFullDto result = bookingService.findByBookerIdAndBookingId(bookerId, bookingId);
         log.debug("На уровень контроллера вернулся экземпляр бронирования с id {}", result.getId());
 
         log.debug("Возврат результата поиск на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        return new ResponseEntity<>(result, headers, HttpStatus.OK);
     }
 
     /**
@@ -123,6 +163,26 @@ public class BookingController {
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
 
+    /**
+     * Обработка POST-запроса к /bookings/batch
+     *
+     * @param bookerId идентификатор бронирующего
+     * @param dtos несохранённые экземпляры {@link BookingCreateDto}
+     * @return результаты обработки строк в порядке строк запроса
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<BookingBatchResultDto>> createAll(@RequestHeader("X-Sharer-User-Id") Long bookerId,
+                                                                 @RequestBody List<BookingCreateDto> dtos) {
+        log.debug("Пакетное создание бронирований на уровне контроллера");
+        log.debug("Передан идентификатор бронирующего пользователя: {}", bookerId);
+
+        List<BookingBatchResultDto> result = bookingService.createAll(bookerId, dtos);
+        log.debug("На уровень контроллера вернулись результаты обработки строк пакета: {}", result.size());
+
+        log.debug("Возврат результатов пакетного создания на уровень клиента");
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
     /**
      * Обработка PATCH-запроса к /bookings/{bookingId}?approved={approved}
      *
@@ -146,4 +206,28 @@ public class BookingController {
         log.debug("Возврат результатов изменения бронирования на уровень клиента");
         return new ResponseEntity<>(result, HttpStatus.OK);
     }
+
+    /**
+     * Обработка PATCH-запроса к /bookings/batch/approve
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param dtos идентификаторы бронирований и статусы согласования {@link BookingApprovalDto}
+     * @return результаты обработки строк в порядке строк запроса
+     */
+    @PatchMapping("/batch/approve")
+    public ResponseEntity<List<BookingBatchResultDto>> approveAll(@RequestHeader("X-Sharer-User-Id") Long ownerId,
+                                                                  @RequestBody List<BookingApprovalDto> dtos) {
+        log.debug("Пакетное согласование бронирований на уровне контроллера");
+        log.debug("Передан идентификатор владельца вещей: {}", ownerId);
+
+        List<BookingBatchResultDto> result = bookingService.approveAll(ownerId, dtos);
+        log.debug("На уровень контроллера вернулись результаты обработки строк пакета: {}", result.size());
+
+        log.debug("Возврат результатов пакетного согласования на уровень клиента");
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    private static PageCursor cursorOf(BookingFullDto dto) {
+        return PageCursor.of(dto.getStart(), dto.getId());
+    }
 }
@@ -0,0 +1,32 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Результат обработки строки пакетного запроса бронирований.
+ */
+@Data
+@Builder
+public class BookingBatchResultDto {
+
+    /**
+     * Номер строки в пакетном запросе, начиная с 0
+     */
+    private int index;
+
+    /**
+     * HTTP-статус, который вернул бы запрос с одной этой строкой
+     */
+    private int status;
+
+    /**
+     * Созданное или измененное бронирование, если строка обработана успешно
+     */
+    private BookingFullDto booking;
+
+    /**
+     * Текст ошибки, если строка не обработана
+     */
+    private String error;
+}
@@ -4,6 +4,8 @@ import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
+import ru.practicum.shareit.booking.projection.BookingProjection;
 
 public interface BookingMapper {
 
@@ -15,6 +17,15 @@ public interface BookingMapper {
      */
     BookingFullDto mapToFullDto(Booking booking);
 
+    /**
+     * Метод преобразует проекцию {@link BookingProjection} в модель {@link BookingFullDto} вместе с бронируемой
+     * вещью, её владельцем и арендатором
+     *
+     * @param projection проекция {@link BookingProjection}
+     * @return модель {@link BookingFullDto}
+     */
+    BookingFullDto mapToFullDto(BookingProjection projection);
+
     /**
      * Метод преобразует модель {@link Booking} в модель {@link BookingShortDto}
      *
@@ -23,6 +34,14 @@ public interface BookingMapper {
      */
     BookingShortDto mapToShortDto(Booking booking);
 
+    /**
+     * Метод преобразует проекцию {@link BookingNeighbourProjection} в модель {@link BookingShortDto}
+     *
+     * @param projection проекция {@link BookingNeighbourProjection}
+     * @return модель {@link BookingShortDto}
+     */
+    BookingShortDto mapToShortDto(BookingNeighbourProjection projection);
+
     /**
      * Метод преобразует модель {@link BookingCreateDto} в модель {@link Booking}
      *
@@ -7,6 +7,10 @@ import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
+import ru.practicum.shareit.booking.projection.BookingProjection;
+import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
 @Slf4j
@@ -14,7 +18,9 @@ public class BookingMapperImpl implements BookingMapper {
 
     @Override
     public BookingFullDto mapToFullDto(Booking booking) {
-        log.debug("Преобразование данных из модели  {} в полную модель {}", Booking.class, BookingFullDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели  {} в полную модель {}", Booking.class, BookingFullDto.class);
+        }
         return BookingFullDto.builder()
                 .id(booking.getEntityId())
                 .start(booking.getStartDate())
@@ -23,9 +29,43 @@ public class BookingMapperImpl implements BookingMapper {
                 .build();
     }
 
+    @Override
+    public BookingFullDto mapToFullDto(BookingProjection projection) {
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из проекции {} в полную модель {}", BookingProjection.class,
+                    BookingFullDto.class);
+        }
+        ItemShortDto item = ItemShortDto.builder()
+                .id(projection.getItemId())
+                .name(projection.getItemName())
+                .description(projection.getItemDescription())
+                .available(projection.getItemAvailable())
+                .sharer(UserDto.builder()
+                        .id(projection.getSharerId())
+                        .name(projection.getSharerName())
+                        .email(projection.getSharerEmail())
+                        .build())
+                .build();
+
+        return BookingFullDto.builder()
+                .id(projection.getId())
+                .start(projection.getStartDate())
+                .end(projection.getEndDate())
+                .status(projection.getStatus())
+                .item(item)
+                .booker(UserDto.builder()
+                        .id(projection.getBookerId())
+                        .name(projection.getBookerName())
+                        .email(projection.getBookerEmail())
+                        .build())
+                .build();
+    }
+
     @Override
     public BookingShortDto mapToShortDto(Booking booking) {
-        log.debug("Преобразование данных из модели {} в краткую модель {}", Booking.class, BookingFullDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в краткую модель {}", Booking.class, BookingFullDto.class);
+        }
         return BookingShortDto.builder()
                 .id(booking.getEntityId())
                 .bookerId(booking.getBooker().getEntityId())
@@ -34,10 +74,26 @@ public class BookingMapperImpl implements BookingMapper {
                 .build();
     }
 
+    @Override
+    public BookingShortDto mapToShortDto(BookingNeighbourProjection projection) {
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из проекции {} в краткую модель {}", BookingNeighbourProjection.class,
+                    BookingShortDto.class);
+        }
+        return BookingShortDto.builder()
+                .id(projection.getId())
+                .bookerId(projection.getBookerId())
+                .start(projection.getStartDate())
+                .end(projection.getEndDate())
+                .build();
+    }
+
     @Override
     public Booking mapToBooking(BookingCreateDto dto) {
-        log.debug("Преобразование данных из модели {} в модель {} для сохранения", BookingCreateDto.class,
-                Booking.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в модель {} для сохранения", BookingCreateDto.class,
+                    Booking.class);
+        }
         return Booking.builder()
                 .startDate(dto.getStart())
                 .endDate(dto.getEnd())
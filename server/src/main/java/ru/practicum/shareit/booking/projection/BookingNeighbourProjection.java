@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Краткие сведения о последнем или следующем бронировании вещи.
+ */
+public interface BookingNeighbourProjection {
+
+    /**
+     * Признак последнего завершенного бронирования
+     */
+    String LAST = "LAST";
+
+    /**
+     * Признак ближайшего предстоящего бронирования
+     */
+    String NEXT = "NEXT";
+
+    /**
+     * Идентификатор бронируемой вещи
+     */
+    Long getItemId();
+
+    /**
+     * Идентификатор бронирования
+     */
+    Long getId();
+
+    /**
+     * Идентификатор арендатора
+     */
+    Long getBookerId();
+
+    /**
+     * Дата начала бронирования
+     */
+    LocalDateTime getStartDate();
+
+    /**
+     * Дата окончания бронирования
+     */
+    LocalDateTime getEndDate();
+
+    /**
+     * Вид бронирования: {@link #LAST} или {@link #NEXT}
+     */
+    String getKind();
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.booking.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Период бронирования вещи.
+ */
+public interface BookingPeriodProjection {
+
+    /**
+     * Идентификатор бронирования
+     */
+    Long getId();
+
+    /**
+     * Идентификатор бронируемой вещи
+     */
+    Long getItemId();
+
+    /**
+     * Дата начала бронирования
+     */
+    LocalDateTime getStartDate();
+
+    /**
+     * Дата окончания бронирования
+     */
+    LocalDateTime getEndDate();
+}
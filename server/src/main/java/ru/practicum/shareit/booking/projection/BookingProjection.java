@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.projection;
+
+import java.time.LocalDateTime;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+/**
+ * Сведения о бронировании для списков: поля бронирования, бронируемой вещи, её владельца и арендатора, выбранные
+ * одним запросом без загрузки сущностей.
+ */
+public interface BookingProjection {
+
+    /**
+     * Идентификатор бронирования
+     */
+    Long getId();
+
+    /**
+     * Дата начала бронирования
+     */
+    LocalDateTime getStartDate();
+
+    /**
+     * Дата окончания бронирования
+     */
+    LocalDateTime getEndDate();
+
+    /**
+     * Статус бронирования
+     */
+    BookingStatus getStatus();
+
+    /**
+     * Идентификатор бронируемой вещи
+     */
+    Long getItemId();
+
+    /**
+     * Наименование бронируемой вещи
+     */
+    String getItemName();
+
+    /**
+     * Описание бронируемой вещи
+     */
+    String getItemDescription();
+
+    /**
+     * Признак доступности бронируемой вещи
+     */
+    Boolean getItemAvailable();
+
+    /**
+     * Идентификатор владельца вещи
+     */
+    Long getSharerId();
+
+    /**
+     * Имя владельца вещи
+     */
+    String getSharerName();
+
+    /**
+     * Почтовый адрес владельца вещи
+     */
+    String getSharerEmail();
+
+    /**
+     * Идентификатор арендатора
+     */
+    Long getBookerId();
+
+    /**
+     * Имя арендатора
+     */
+    String getBookerName();
+
+    /**
+     * Почтовый адрес арендатора
+     */
+    String getBookerEmail();
+}
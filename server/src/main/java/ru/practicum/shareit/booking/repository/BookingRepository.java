@@ -1,24 +1,84 @@
 package ru.practicum.shareit.booking.repository;
 
 import java.time.LocalDateTime;
-import org.springframework.data.domain.Page;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
+import ru.practicum.shareit.booking.projection.BookingPeriodProjection;
+import ru.practicum.shareit.booking.projection.BookingProjection;
+import ru.practicum.shareit.commons.etag.EntityVersionProjection;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    /**
+     * Выборка полей {@link BookingProjection}: бронирование, вещь, её владелец и арендатор
+     */
+    String SELECT_BOOKING_PROJECTION = "SELECT b.entityId AS id, b.startDate AS startDate, b.endDate AS endDate, "
+            + "b.status AS status, "
+            + "i.entityId AS itemId, i.name AS itemName, i.description AS itemDescription, "
+            + "i.available AS itemAvailable, "
+            + "s.entityId AS sharerId, s.name AS sharerName, s.email AS sharerEmail, "
+            + "u.entityId AS bookerId, u.name AS bookerName, u.email AS bookerEmail "
+            + "FROM Booking AS b "
+            + "JOIN b.item AS i "
+            + "JOIN i.sharer AS s "
+            + "JOIN b.booker AS u ";
+
+    /**
+     * Условие выборки бронирований, следующих за курсором при сортировке по убыванию даты начала и идентификатора.
+     * Первое условие ограничивает диапазон по индексу, второе отсекает уже полученные бронирования с той же датой
+     */
+    String AFTER_BOOKING_CURSOR = "AND b.startDate <= :after_start "
+            + "AND (b.startDate < :after_start OR b.entityId < :after_id) ";
+
+    /**
+     * Метод возвращает бронирование по идентификатору в виде проекции
+     *
+     * @param bookingId идентификатор бронирования
+     * @return {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE b.entityId = :booking_id")
+    Optional<BookingProjection> findProjectionById(@Param("booking_id") Long bookingId);
+
+    /**
+     * Метод возвращает версию представления бронирования, доступного пользователю: версии бронирования, вещи, ее
+     * владельца и арендатора. Бронирование доступно арендатору и владельцу вещи
+     *
+     * @param bookingId идентификатор бронирования
+     * @param userId идентификатор пользователя
+     * @return {@link EntityVersionProjection}, владельцем считается владелец вещи
+     */
+    @Query("SELECT b.entityId AS id, s.entityId AS ownerId, "
+            + "CONCAT(CAST(b.version AS String), '.', CAST(i.version AS String), '.', CAST(s.version AS String), '.', "
+            + "CAST(u.version AS String)) AS version "
+            + "FROM Booking AS b "
+            + "JOIN b.item AS i "
+            + "JOIN i.sharer AS s "
+            + "JOIN b.booker AS u "
+            + "WHERE b.entityId = :booking_id "
+            + "AND (u.entityId = :user_id OR s.entityId = :user_id)")
+    Optional<EntityVersionProjection> findVersionByIdAndUserId(@Param("booking_id") Long bookingId,
+                                                                @Param("user_id") Long userId);
+
     /**
      * Метод возвращает коллекцию бронирований по переданному идентификатору инициатора бронирования
      *
      * @param bookerId идентификатор бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    Page<Booking> findAllByBookerEntityId(Long bookerId, Pageable pageable);
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE b.booker.entityId = :booker_id")
+    Slice<BookingProjection> findAllByBookerEntityId(@Param("booker_id") Long bookerId, Pageable pageable);
 
     /**
      * Метод возвращает коллекцию текущих бронирований по переданному идентификатору инициатора бронирования
@@ -27,18 +87,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param date дата поиска
      * @param status статус бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    @Query("SELECT b "
-            + "FROM Booking AS b "
+    @Query(SELECT_BOOKING_PROJECTION
             + "WHERE b.booker.entityId = :booker_id "
             + "AND b.startDate < :date "
             + "AND b.endDate > :date "
             + "AND b.status = :status")
-    Page<Booking> findAllCurrentBookerBookings(@Param("booker_id") Long bookerId,
-                                               @Param("date") LocalDateTime date,
-                                               @Param("status") BookingStatus status,
-                                               Pageable pageable);
+    Slice<BookingProjection> findAllCurrentBookerBookings(@Param("booker_id") Long bookerId,
+                                                          @Param("date") LocalDateTime date,
+                                                          @Param("status") BookingStatus status,
+                                                          Pageable pageable);
 
     /**
      * Метод возвращает коллекцию предстоящих бронирований по идентификатору инициатора бронирования
@@ -47,18 +106,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param date дата поиска
      * @param status статус бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    @Query("SELECT b "
-            + "FROM Booking AS b "
+    @Query(SELECT_BOOKING_PROJECTION
             + "WHERE b.booker.entityId = :booker_id "
             + "AND b.startDate > :date "
             + "AND b.endDate > :date "
             + "AND b.status = :status")
-    Page<Booking> findAllFutureBookerBookings(@Param("booker_id") Long bookerId,
-                                              @Param("date") LocalDateTime date,
-                                              @Param("status") BookingStatus status,
-                                              Pageable pageable);
+    Slice<BookingProjection> findAllFutureBookerBookings(@Param("booker_id") Long bookerId,
+                                                         @Param("date") LocalDateTime date,
+                                                         @Param("status") BookingStatus status,
+                                                         Pageable pageable);
 
     /**
      * Метод возвращает коллекцию прошедших бронирований по идентификатору инициатора бронирования
@@ -67,18 +125,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param date дата поиска
      * @param status статус бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    @Query("SELECT b "
-            + "FROM Booking AS b "
+    @Query(SELECT_BOOKING_PROJECTION
             + "WHERE b.booker.entityId = :booker_id "
             + "AND b.startDate < :date "
             + "AND b.endDate < :date "
             + "AND b.status = :status")
-    Page<Booking> findAllPastBookerBookings(@Param("booker_id") Long bookerId,
-                                            @Param("date") LocalDateTime date,
-                                            @Param("status") BookingStatus status,
-                                            Pageable pageable);
+    Slice<BookingProjection> findAllPastBookerBookings(@Param("booker_id") Long bookerId,
+                                                       @Param("date") LocalDateTime date,
+                                                       @Param("status") BookingStatus status,
+                                                       Pageable pageable);
 
     /**
      * Метод возвращает все бронирования по переданному статусу и идентификатору инициатора бронирования
@@ -86,24 +143,25 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param bookerId идентификатор инициатора бронирования
      * @param status статус бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    @Query("SELECT b "
-            + "FROM Booking AS b "
+    @Query(SELECT_BOOKING_PROJECTION
             + "WHERE b.booker.entityId = :booker_id "
             + "AND b.status = :status")
-    Page<Booking> findAllBookerBookingsByStatus(@Param("booker_id") Long bookerId,
-                                                @Param("status") BookingStatus status,
-                                                Pageable pageable);
+    Slice<BookingProjection> findAllBookerBookingsByStatus(@Param("booker_id") Long bookerId,
+                                                           @Param("status") BookingStatus status,
+                                                           Pageable pageable);
 
     /**
      * Метод возвращает все бронирования по переданному идентификатору владельца бронируемых вещей
      *
      * @param entityId идентификатор владельца бронируемых вещей
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    Page<Booking> findAllByItemSharerEntityId(Long entityId, Pageable pageable);
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id")
+    Slice<BookingProjection> findAllByItemSharerEntityId(@Param("owner_id") Long entityId, Pageable pageable);
 
     /**
      * Метод возвращает текущие бронирования по переданному идентификатору владельца бронируемых вещей
@@ -112,18 +170,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param date дата поиска
      * @param status статус бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    @Query("SELECT b "
-            + "FROM Booking AS b "
-            + "WHERE b.item.sharer.entityId = :owner_id "
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
             + "AND b.startDate < :date "
             + "AND b.endDate > :date "
             + "AND b.status = :status")
-    Page<Booking> findAllCurrentOwnerBookings(@Param("owner_id") Long ownerId,
-                                              @Param("date") LocalDateTime date,
-                                              @Param("status") BookingStatus status,
-                                              Pageable pageable);
+    Slice<BookingProjection> findAllCurrentOwnerBookings(@Param("owner_id") Long ownerId,
+                                                         @Param("date") LocalDateTime date,
+                                                         @Param("status") BookingStatus status,
+                                                         Pageable pageable);
 
     /**
      * Метод возвращает будущие бронирования по переданному идентификатору владельца бронируемых вещей
@@ -132,18 +189,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param date дата поиска
      * @param status статус бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    @Query("SELECT b "
-            + "FROM Booking AS b "
-            + "WHERE b.item.sharer.entityId = :owner_id "
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
             + "AND b.startDate > :date "
             + "AND b.endDate > :date "
             + "AND b.status = :status")
-    Page<Booking> findAllFutureOwnerBookings(@Param("owner_id") Long ownerId,
-                                             @Param("date") LocalDateTime date,
-                                             @Param("status") BookingStatus status,
-                                             Pageable pageable);
+    Slice<BookingProjection> findAllFutureOwnerBookings(@Param("owner_id") Long ownerId,
+                                                        @Param("date") LocalDateTime date,
+                                                        @Param("status") BookingStatus status,
+                                                        Pageable pageable);
 
     /**
      * Метод возвращает прошедшие бронирования по переданному идентификатору владельца бронируемых вещей
@@ -152,18 +208,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param date дата поиска
      * @param status статус бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    @Query("SELECT b "
-            + "FROM Booking AS b "
-            + "WHERE b.item.sharer.entityId = :owner_id "
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
             + "AND b.startDate < :date "
             + "AND b.endDate < :date "
             + "AND b.status = :status")
-    Page<Booking> findAllPastOwnerBookings(@Param("owner_id") Long ownerId,
-                                           @Param("date") LocalDateTime date,
-                                           @Param("status") BookingStatus status,
-                                           Pageable pageable);
+    Slice<BookingProjection> findAllPastOwnerBookings(@Param("owner_id") Long ownerId,
+                                                      @Param("date") LocalDateTime date,
+                                                      @Param("status") BookingStatus status,
+                                                      Pageable pageable);
 
     /**
      * Метод возвращает все бронирования по переданному статусу бронирования и идентификатору владельца бронируемых
@@ -172,67 +227,400 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
      * @param ownerId идентификатор владельца бронируемых вещей
      * @param status статус бронирования
      * @param pageable ограничение выборки и порядок сортировки
-     * @return коллекция {@link Booking}
+     * @return коллекция {@link BookingProjection}
      */
-    @Query("SELECT b "
-            + "FROM Booking AS b "
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
+            + "AND b.status = :status")
+    Slice<BookingProjection> findAllOwnerBookingsByStatus(@Param("owner_id") Long ownerId,
+                                                          @Param("status") BookingStatus status,
+                                                          Pageable pageable);
+
+    /**
+     * Метод возвращает коллекцию бронирований по переданному идентификатору инициатора бронирования после курсора
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE b.booker.entityId = :booker_id "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllByBookerEntityIdAfterCursor(@Param("booker_id") Long bookerId,
+                                                                @Param("after_start") LocalDateTime afterStart,
+                                                                @Param("after_id") Long afterId,
+                                                                Pageable pageable);
+
+    /**
+     * Метод возвращает коллекцию текущих бронирований по переданному идентификатору инициатора бронирования после курсора
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE b.booker.entityId = :booker_id "
+            + "AND b.startDate < :date "
+            + "AND b.endDate > :date "
+            + "AND b.status = :status "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllCurrentBookerBookingsAfterCursor(@Param("booker_id") Long bookerId,
+                                                                     @Param("date") LocalDateTime date,
+                                                                     @Param("status") BookingStatus status,
+                                                                     @Param("after_start") LocalDateTime afterStart,
+                                                                     @Param("after_id") Long afterId,
+                                                                     Pageable pageable);
+
+    /**
+     * Метод возвращает коллекцию предстоящих бронирований по идентификатору инициатора бронирования после курсора
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE b.booker.entityId = :booker_id "
+            + "AND b.startDate > :date "
+            + "AND b.endDate > :date "
+            + "AND b.status = :status "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllFutureBookerBookingsAfterCursor(@Param("booker_id") Long bookerId,
+                                                                    @Param("date") LocalDateTime date,
+                                                                    @Param("status") BookingStatus status,
+                                                                    @Param("after_start") LocalDateTime afterStart,
+                                                                    @Param("after_id") Long afterId,
+                                                                    Pageable pageable);
+
+    /**
+     * Метод возвращает коллекцию прошедших бронирований по идентификатору инициатора бронирования после курсора
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE b.booker.entityId = :booker_id "
+            + "AND b.startDate < :date "
+            + "AND b.endDate < :date "
+            + "AND b.status = :status "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllPastBookerBookingsAfterCursor(@Param("booker_id") Long bookerId,
+                                                                  @Param("date") LocalDateTime date,
+                                                                  @Param("status") BookingStatus status,
+                                                                  @Param("after_start") LocalDateTime afterStart,
+                                                                  @Param("after_id") Long afterId,
+                                                                  Pageable pageable);
+
+    /**
+     * Метод возвращает все бронирования по переданному статусу и идентификатору инициатора бронирования после курсора
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param status статус бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE b.booker.entityId = :booker_id "
+            + "AND b.status = :status "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllBookerBookingsByStatusAfterCursor(@Param("booker_id") Long bookerId,
+                                                                      @Param("status") BookingStatus status,
+                                                                      @Param("after_start") LocalDateTime afterStart,
+                                                                      @Param("after_id") Long afterId,
+                                                                      Pageable pageable);
+
+    /**
+     * Метод возвращает все бронирования по переданному идентификатору владельца бронируемых вещей после курсора
+     *
+     * @param ownerId идентификатор владельца бронируемых вещей
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllByItemSharerEntityIdAfterCursor(@Param("owner_id") Long ownerId,
+                                                                    @Param("after_start") LocalDateTime afterStart,
+                                                                    @Param("after_id") Long afterId,
+                                                                    Pageable pageable);
+
+    /**
+     * Метод возвращает текущие бронирования по переданному идентификатору владельца бронируемых вещей после курсора
+     *
+     * @param ownerId идентификатор владельца бронируемых вещей
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
+            + "AND b.startDate < :date "
+            + "AND b.endDate > :date "
+            + "AND b.status = :status "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllCurrentOwnerBookingsAfterCursor(@Param("owner_id") Long ownerId,
+                                                                    @Param("date") LocalDateTime date,
+                                                                    @Param("status") BookingStatus status,
+                                                                    @Param("after_start") LocalDateTime afterStart,
+                                                                    @Param("after_id") Long afterId,
+                                                                    Pageable pageable);
+
+    /**
+     * Метод возвращает будущие бронирования по переданному идентификатору владельца бронируемых вещей после курсора
+     *
+     * @param ownerId идентификатор владельца бронируемых вещей
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
+            + "AND b.startDate > :date "
+            + "AND b.endDate > :date "
+            + "AND b.status = :status "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllFutureOwnerBookingsAfterCursor(@Param("owner_id") Long ownerId,
+                                                                   @Param("date") LocalDateTime date,
+                                                                   @Param("status") BookingStatus status,
+                                                                   @Param("after_start") LocalDateTime afterStart,
+                                                                   @Param("after_id") Long afterId,
+                                                                   Pageable pageable);
+
+    /**
+     * Метод возвращает прошедшие бронирования по переданному идентификатору владельца бронируемых вещей после курсора
+     *
+     * @param ownerId идентификатор владельца бронируемых вещей
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
+            + "AND b.startDate < :date "
+            + "AND b.endDate < :date "
+            + "AND b.status = :status "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllPastOwnerBookingsAfterCursor(@Param("owner_id") Long ownerId,
+                                                                 @Param("date") LocalDateTime date,
+                                                                 @Param("status") BookingStatus status,
+                                                                 @Param("after_start") LocalDateTime afterStart,
+                                                                 @Param("after_id") Long afterId,
+                                                                 Pageable pageable);
+
+    /**
+     * Метод возвращает все бронирования по переданному статусу бронирования и идентификатору владельца бронируемых вещей после курсора
+     *
+     * @param ownerId идентификатор владельца бронируемых вещей
+     * @param status статус бронирования
+     * @param afterStart дата начала последнего полученного бронирования
+     * @param afterId идентификатор последнего полученного бронирования
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link BookingProjection}
+     */
+    @Query(SELECT_BOOKING_PROJECTION
+            + "WHERE i.sharer.entityId = :owner_id "
+            + "AND b.status = :status "
+            + AFTER_BOOKING_CURSOR)
+    Slice<BookingProjection> findAllOwnerBookingsByStatusAfterCursor(@Param("owner_id") Long ownerId,
+                                                                     @Param("status") BookingStatus status,
+                                                                     @Param("after_start") LocalDateTime afterStart,
+                                                                     @Param("after_id") Long afterId,
+                                                                     Pageable pageable);
+
+    /**
+     * Метод возвращает количество бронирований по идентификатору инициатора бронирования
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @return количество бронирований
+     */
+    long countByBookerEntityId(Long bookerId);
+
+    /**
+     * Метод возвращает количество текущих бронирований по идентификатору инициатора бронирования
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @return количество бронирований
+     */
+    @Query("SELECT COUNT(b) FROM Booking AS b "
+            + "WHERE b.booker.entityId = :booker_id "
+            + "AND b.startDate < :date "
+            + "AND b.endDate > :date "
+            + "AND b.status = :status")
+    long countCurrentBookerBookings(@Param("booker_id") Long bookerId,
+                                    @Param("date") LocalDateTime date,
+                                    @Param("status") BookingStatus status);
+
+    /**
+     * Метод возвращает количество предстоящих бронирований по идентификатору инициатора бронирования
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @return количество бронирований
+     */
+    @Query("SELECT COUNT(b) FROM Booking AS b "
+            + "WHERE b.booker.entityId = :booker_id "
+            + "AND b.startDate > :date "
+            + "AND b.endDate > :date "
+            + "AND b.status = :status")
+    long countFutureBookerBookings(@Param("booker_id") Long bookerId,
+                                   @Param("date") LocalDateTime date,
+                                   @Param("status") BookingStatus status);
+
+    /**
+     * Метод возвращает количество прошедших бронирований по идентификатору инициатора бронирования
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @return количество бронирований
+     */
+    @Query("SELECT COUNT(b) FROM Booking AS b "
+            + "WHERE b.booker.entityId = :booker_id "
+            + "AND b.startDate < :date "
+            + "AND b.endDate < :date "
+            + "AND b.status = :status")
+    long countPastBookerBookings(@Param("booker_id") Long bookerId,
+                                 @Param("date") LocalDateTime date,
+                                 @Param("status") BookingStatus status);
+
+    /**
+     * Метод возвращает количество бронирований в указанном статусе по идентификатору инициатора бронирования
+     *
+     * @param bookerId идентификатор инициатора бронирования
+     * @param status статус бронирования
+     * @return количество бронирований
+     */
+    long countByBookerEntityIdAndStatus(Long bookerId, BookingStatus status);
+
+    /**
+     * Метод возвращает количество бронирований вещей владельца
+     *
+     * @param ownerId идентификатор владельца бронируемых вещей
+     * @return количество бронирований
+     */
+    long countByItemSharerEntityId(Long ownerId);
+
+    /**
+     * Метод возвращает количество текущих бронирований вещей владельца
+     *
+     * @param ownerId идентификатор владельца бронируемых вещей
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @return количество бронирований
+     */
+    @Query("SELECT COUNT(b) FROM Booking AS b "
             + "WHERE b.item.sharer.entityId = :owner_id "
+            + "AND b.startDate < :date "
+            + "AND b.endDate > :date "
             + "AND b.status = :status")
-    Page<Booking> findAllOwnerBookingsByStatus(@Param("owner_id") Long ownerId,
-                                               @Param("status") BookingStatus status,
-                                               Pageable pageable);
+    long countCurrentOwnerBookings(@Param("owner_id") Long ownerId,
+                                   @Param("date") LocalDateTime date,
+                                   @Param("status") BookingStatus status);
 
     /**
-     * Метод возвращает следующее бронирование вещи
+     * Метод возвращает количество будущих бронирований вещей владельца
      *
-     * @param itemId идентификатор вещи
+     * @param ownerId идентификатор владельца бронируемых вещей
      * @param date дата поиска
      * @param status статус бронирования
-     * @param pageable порядок сортировки
-     * @return экземпляр класса {@link Booking}
+     * @return количество бронирований
      */
-    @Query("Select b "
-            + "FROM Booking AS b "
-            + "WHERE b.item.entityId = :item_id "
-            + "AND b.startDate >= :date "
+    @Query("SELECT COUNT(b) FROM Booking AS b "
+            + "WHERE b.item.sharer.entityId = :owner_id "
+            + "AND b.startDate > :date "
+            + "AND b.endDate > :date "
             + "AND b.status = :status")
-    Page<Booking> findNextBooking(@Param("item_id") Long itemId,
+    long countFutureOwnerBookings(@Param("owner_id") Long ownerId,
                                   @Param("date") LocalDateTime date,
-                                  @Param("status") BookingStatus status,
-                                  Pageable pageable);
+                                  @Param("status") BookingStatus status);
 
     /**
-     * Метод возвращает последнее завершенное бронирование вещи
+     * Метод возвращает количество прошедших бронирований вещей владельца
      *
-     * @param itemId идентификатор вещи
+     * @param ownerId идентификатор владельца бронируемых вещей
      * @param date дата поиска
      * @param status статус бронирования
-     * @param pageable порядок сортировки
-     * @return экземпляр класса {@link Booking}
+     * @return количество бронирований
      */
-    @Query("Select b "
-            + "FROM Booking AS b "
-            + "WHERE b.item.entityId = :item_id "
+    @Query("SELECT COUNT(b) FROM Booking AS b "
+            + "WHERE b.item.sharer.entityId = :owner_id "
+            + "AND b.startDate < :date "
             + "AND b.endDate < :date "
             + "AND b.status = :status")
-    Page<Booking> findLastBooking(@Param("item_id") Long itemId,
-                                  @Param("date") LocalDateTime date,
-                                  @Param("status") BookingStatus status,
-                                  Pageable pageable);
+    long countPastOwnerBookings(@Param("owner_id") Long ownerId,
+                                @Param("date") LocalDateTime date,
+                                @Param("status") BookingStatus status);
 
     /**
-     * Метод проверяет наличие связи между бронированием и владельцем бронируемой вещи
+     * Метод возвращает количество бронирований вещей владельца в указанном статусе
      *
-     * @param bookingId идентификатор бронирования
-     * @param ownerId идентификатор владельца бронируемой вещи
-     * @return результат проверки
+     * @param ownerId идентификатор владельца бронируемых вещей
+     * @param status статус бронирования
+     * @return количество бронирований
      */
-    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END "
-            + "FROM Booking AS b "
-            + "WHERE b.entityId = :booking_id "
-            + "AND b.item.sharer.entityId = :owner_id")
-    boolean existsByBookingAndOwner(@Param("booking_id") Long bookingId,
-                                    @Param("owner_id") Long ownerId);
+    long countByItemSharerEntityIdAndStatus(Long ownerId, BookingStatus status);
+
+    /**
+     * Метод за один проход по таблице бронирований возвращает для каждой вещи из коллекции последнее завершенное и
+     * ближайшее предстоящее бронирование. Соседние бронирования нумеруются оконной функцией в разрезе вещи и вида
+     * бронирования, поэтому запрос одинаково выполняется в PostgreSQL и H2
+     *
+     * @param itemIds коллекция идентификаторов вещей
+     * @param date дата поиска
+     * @param status статус бронирования
+     * @return коллекция {@link BookingNeighbourProjection}
+     */
+    @Query(value = "SELECT nb.item_id AS itemId, "
+            + "nb.id AS id, "
+            + "nb.booker_id AS bookerId, "
+            + "nb.start_date AS startDate, "
+            + "nb.end_date AS endDate, "
+            + "nb.kind AS kind "
+            + "FROM (SELECT b.item_id, b.id, b.booker_id, b.start_date, b.end_date, "
+            + "CASE WHEN b.end_date < :date THEN 'LAST' ELSE 'NEXT' END AS kind, "
+            + "ROW_NUMBER() OVER (PARTITION BY b.item_id, CASE WHEN b.end_date < :date THEN 0 ELSE 1 END "
+            + "ORDER BY CASE WHEN b.end_date < :date THEN b.start_date END DESC, "
+            + "CASE WHEN b.end_date < :date THEN NULL ELSE b.start_date END ASC, "
+            + "b.id ASC) AS rn "
+            + "FROM bookings AS b "
+            + "WHERE b.item_id IN (:item_ids) "
+            + "AND b.status = :#{#status.name()} "
+            + "AND (b.end_date < :date OR b.start_date >= :date)) AS nb "
+            + "WHERE nb.rn = 1",
+            nativeQuery = true)
+    Collection<BookingNeighbourProjection> findNeighbourBookings(@Param("item_ids") Collection<Long> itemIds,
+                                                                @Param("date") LocalDateTime date,
+                                                                @Param("status") BookingStatus status);
 
     /**
      * Метод проверяет наличие связи между пользователем и вещью через завершенное бронирования
@@ -253,4 +641,63 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                   @Param("user_id") Long userId,
                                   @Param("search_date") LocalDateTime date,
                                   @Param("search_status") BookingStatus status);
+
+    /**
+     * Метод проверяет наличие у вещи бронирования в указанном статусе, период которого пересекается с переданным.
+     * Запрос обслуживается индексом idx_bookings_item_status_start: просматривается только диапазон бронирований
+     * вещи, начавшихся до окончания проверяемого периода
+     *
+     * @param itemId идентификатор вещи
+     * @param start дата начала проверяемого периода
+     * @param end дата окончания проверяемого периода
+     * @param status статус бронирования
+     * @param excludedBookingId идентификатор бронирования, которое не нужно учитывать, или null
+     * @return результат проверки
+     */
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END "
+            + "FROM Booking b "
+            + "WHERE b.item.entityId = :item_id "
+            + "AND b.status = :search_status "
+            + "AND b.startDate < :end_date "
+            + "AND b.endDate > :start_date "
+            + "AND (:excluded_id IS NULL OR b.entityId <> :excluded_id)")
+    boolean existsOverlapping(@Param("item_id") Long itemId,
+                              @Param("start_date") LocalDateTime start,
+                              @Param("end_date") LocalDateTime end,
+                              @Param("search_status") BookingStatus status,
+                              @Param("excluded_id") Long excludedBookingId);
+
+    /**
+     * Метод возвращает бронирования вещей в указанном статусе, период которых пересекается с переданным. Используется
+     * пакетными операциями: пересечения всех строк пакета проверяются по результату одного запроса
+     *
+     * @param itemIds идентификаторы вещей
+     * @param start дата начала периода, охватывающего периоды всех строк пакета
+     * @param end дата окончания периода, охватывающего периоды всех строк пакета
+     * @param status статус бронирования
+     * @return коллекция {@link BookingPeriodProjection}
+     */
+    @Query("SELECT b.entityId AS id, b.item.entityId AS itemId, b.startDate AS startDate, b.endDate AS endDate "
+            + "FROM Booking b "
+            + "WHERE b.item.entityId IN :item_ids "
+            + "AND b.status = :search_status "
+            + "AND b.startDate < :end_date "
+            + "AND b.endDate > :start_date")
+    List<BookingPeriodProjection> findAllOverlapping(@Param("item_ids") Collection<Long> itemIds,
+                                                     @Param("start_date") LocalDateTime start,
+                                                     @Param("end_date") LocalDateTime end,
+                                                     @Param("search_status") BookingStatus status);
+
+    /**
+     * Метод возвращает бронирования по идентификаторам вместе с вещами, их владельцами и бронирующими
+     *
+     * @param bookingIds идентификаторы бронирований
+     * @return коллекция {@link Booking}
+     */
+    @Query("SELECT b FROM Booking AS b "
+            + "JOIN FETCH b.item AS i "
+            + "JOIN FETCH i.sharer "
+            + "JOIN FETCH b.booker "
+            + "WHERE b.entityId IN :booking_ids")
+    List<Booking> findAllWithItemAndBookerByIdIn(@Param("booking_ids") Collection<Long> bookingIds);
 }
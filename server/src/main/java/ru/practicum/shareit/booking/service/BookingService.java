@@ -1,6 +1,9 @@
 package ru.practicum.shareit.booking.service;
 
-import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Slice;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.dto.BookingState;
@@ -14,9 +17,20 @@ public interface BookingService {
      * @param state статус бронирования
      * @param from Номер начального элемента
      * @param size Максимальный размер коллекции
-     * @return коллекция {@link BookingFullDto}
+     * @param after курсор последнего полученного бронирования или null. Если передан, from не учитывается
+     * @return страница {@link BookingFullDto} с признаком наличия следующих бронирований
      */
-    Collection<BookingFullDto> findAllByBookerAndState(Long bookerId, BookingState state, Integer from, Integer size);
+    Slice<BookingFullDto> findAllByBookerAndState(Long bookerId, BookingState state, Integer from, Integer size,
+                                                       String after);
+
+    /**
+     * Метод возвращает общее количество бронирований пользователя в указанном состоянии
+     *
+     * @param bookerId идентификатор бронирующего
+     * @param state статус бронирования
+     * @return количество бронирований
+     */
+    long countByBookerAndState(Long bookerId, BookingState state);
 
     /**
      * Метод возвращает коллекцию {@link BookingFullDto} с учетом идентификатор собственника и статуса бронирования
@@ -25,9 +39,20 @@ public interface BookingService {
      * @param state статус бронирования
      * @param from Номер начального элемента
      * @param size Максимальный размер коллекции
-     * @return коллекция {@link BookingFullDto}
+     * @param after курсор последнего полученного бронирования или null. Если передан, from не учитывается
+     * @return страница {@link BookingFullDto} с признаком наличия следующих бронирований
      */
-    Collection<BookingFullDto> findAllByOwnerAndState(Long ownerId, String state, Integer from, Integer size);
+    Slice<BookingFullDto> findAllByOwnerAndState(Long ownerId, String state, Integer from, Integer size,
+                                                      String after);
+
+    /**
+     * Метод возвращает общее количество бронирований вещей собственника в указанном состоянии
+     *
+     * @param ownerId идентификатор собственника
+     * @param state статус бронирования
+     * @return количество бронирований
+     */
+    long countByOwnerAndState(Long ownerId, String state);
 
     /**
      * Метод возвращает экземпляр {@link BookingFullDto} с учетом идентификатора бронирующего и идентификатора
@@ -39,6 +64,15 @@ public interface BookingService {
      */
     BookingFullDto findByBookerIdAndBookingId(Long bookerId, Long bookingId);
 
+    /**
+     * Метод возвращает ETag представления бронирования без его формирования
+     *
+     * @param userId идентификатор арендатора или владельца вещи
+     * @param bookingId идентификатор бронирования
+     * @return значение ETag или null, если бронирование не найдено или недоступно пользователю
+     */
+    String getEntityTag(Long userId, Long bookingId);
+
     /**
      * Метод передаёт для сохранения модель {@link BookingCreateDto} и идентификатор бронирующего
      *
@@ -58,4 +92,25 @@ public interface BookingService {
      * @return измененная модель {@link BookingFullDto}
      */
     BookingFullDto approve(Long ownerId, Long bookingId, Boolean approved);
+
+    /**
+     * Метод создает бронирования пакетом. Строки проверяются вместе: вещи и подтвержденные бронирования всех строк
+     * загружаются общими запросами, прошедшие проверку бронирования сохраняются пакетной вставкой. Ошибка в строке
+     * не отменяет сохранение остальных строк
+     *
+     * @param bookerId идентификатор бронирующего
+     * @param dtos несохраненные модели {@link BookingCreateDto}
+     * @return результаты обработки строк {@link BookingBatchResultDto} в порядке строк запроса
+     */
+    List<BookingBatchResultDto> createAll(Long bookerId, List<BookingCreateDto> dtos);
+
+    /**
+     * Метод изменяет статусы бронирований пакетом. Бронирования, вещи и пересекающиеся подтвержденные бронирования
+     * всех строк загружаются общими запросами. Ошибка в строке не отменяет изменение остальных строк
+     *
+     * @param ownerId идентификатор владельца вещей
+     * @param dtos идентификаторы бронирований и статусы согласования {@link BookingApprovalDto}
+     * @return результаты обработки строк {@link BookingBatchResultDto} в порядке строк запроса
+     */
+    List<BookingBatchResultDto> approveAll(Long ownerId, List<BookingApprovalDto> dtos);
 }
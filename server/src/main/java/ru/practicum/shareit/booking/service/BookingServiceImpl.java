@@ -1,25 +1,47 @@
 package ru.practicum.shareit.booking.service;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingPeriodProjection;
+import ru.practicum.shareit.booking.projection.BookingProjection;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.commons.cache.EntityExistenceChecker;
+import ru.practicum.shareit.commons.etag.EntityTag;
+import ru.practicum.shareit.commons.exceptions.BookingOverlapException;
 import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
 import ru.practicum.shareit.commons.exceptions.UserIsNotSharerException;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
@@ -32,7 +54,18 @@ import ru.practicum.shareit.user.repository.UserRepository;
 @Slf4j
 public class BookingServiceImpl implements BookingService {
 
-    private static final Sort SORT_START_DESC = Sort.by(Direction.DESC, "startDate");
+    private static final Sort SORT_START_DESC = Sort.by(Direction.DESC, "startDate")
+            .and(Sort.by(Direction.DESC, "entityId"));
+
+    /**
+     * Ограничение непересечения подтвержденных бронирований одной вещи (миграция V5, PostgreSQL)
+     */
+    private static final String OVERLAP_CONSTRAINT = "ex_bookings_item_period";
+
+    /**
+     * Код SQLSTATE нарушения ограничения EXCLUDE в PostgreSQL
+     */
+    private static final String EXCLUSION_VIOLATION = "23P01";
 
     private final BookingRepository bookingRepository;
     private final BookingMapper bookingMapper;
@@ -43,36 +76,28 @@ public class BookingServiceImpl implements BookingService {
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
 
+    private final EntityExistenceChecker entityExistenceChecker;
+
     @Override
-    public Collection<BookingFullDto> findAllByBookerAndState(Long bookerId, BookingState bookingState, Integer from, Integer size) {
+    public Slice<BookingFullDto> findAllByBookerAndState(Long bookerId, BookingState bookingState, Integer from,
+                                                         Integer size, String after) {
         log.debug("Запрос бронирований, созданных пользователем на уровне сервиса");
 
-        User booker = userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + bookerId + " не найден"));
-        log.debug("Передан идентификатор бронирующего: {}", booker.getEntityId());
+        if (!entityExistenceChecker.exists(User.class, bookerId, userRepository::existsById)) {
+            throw new NotFoundException("Пользователь с id " + bookerId + " не найден");
+        }
+        log.debug("Передан идентификатор бронирующего: {}", bookerId);
 
         log.debug("Передано состояние бронирования: {}", bookingState);
 
-        PageRequest pageRequest = PageRequest.of(from, size, SORT_START_DESC);
-        log.debug("Сформированы ограничения коллекции и порядок сортировки");
-
-        Collection<Booking> searchResult = switch (bookingState) {
-            case ALL -> bookingRepository.findAllByBookerEntityId(booker.getEntityId(), pageRequest).getContent();
-            case CURRENT -> bookingRepository.findAllCurrentBookerBookings(booker.getEntityId(),
-                    LocalDateTime.now(), BookingStatus.APPROVED, pageRequest).getContent();
-            case FUTURE -> bookingRepository.findAllFutureBookerBookings(booker.getEntityId(), LocalDateTime.now(),
-                    BookingStatus.APPROVED, pageRequest).getContent();
-            case PAST -> bookingRepository.findAllPastBookerBookings(booker.getEntityId(), LocalDateTime.now(),
-                    BookingStatus.APPROVED, pageRequest).getContent();
-            case REJECTED ->
-                    bookingRepository.findAllBookerBookingsByStatus(booker.getEntityId(), BookingStatus.REJECTED,
-                            pageRequest).getContent();
-            case WAITING -> bookingRepository.findAllBookerBookingsByStatus(booker.getEntityId(), BookingStatus.WAITING,
-                    pageRequest).getContent();
-        };
-        log.debug("На уровень сервиса вернулась коллекция бронирований пользователя размером {}", searchResult.size());
+        Slice<BookingProjection> searchResult = after == null
+                ? findBookerBookings(bookerId, bookingState, PageRequest.of(from, size, SORT_START_DESC))
+                : findBookerBookingsAfterCursor(bookerId, bookingState, PageCursor.decode(after, true),
+                        PageRequest.of(0, size, SORT_START_DESC));
+        log.debug("На уровень сервиса вернулась коллекция бронирований пользователя размером {}",
+                searchResult.getNumberOfElements());
 
-        Collection<BookingFullDto> result = completeCollection(searchResult);
+        Slice<BookingFullDto> result = completeCollection(searchResult);
         log.debug("Коллекция бронирования преобразована");
 
         log.debug("Возврат результатов запроса на уровень контроллера");
@@ -80,67 +105,91 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public Collection<BookingFullDto> findAllByOwnerAndState(Long ownerId, String state, Integer from, Integer size) {
+    public Slice<BookingFullDto> findAllByOwnerAndState(Long ownerId, String state, Integer from, Integer size,
+                                                        String after) {
         log.debug("Запрос бронирований на вещи владельца на уровне сервиса");
 
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + ownerId + " не найден"));
-        log.debug("Передан идентификатор владельца: {}", owner.getEntityId());
+        if (!entityExistenceChecker.exists(User.class, ownerId, userRepository::existsById)) {
+            throw new NotFoundException("Пользователь с id " + ownerId + " не найден");
+        }
+        log.debug("Передан идентификатор владельца: {}", ownerId);
 
         BookingState bookingState = BookingState.of(state);
         log.debug("Передано состояние бронирований: {}", bookingState);
 
-        PageRequest pageRequest = PageRequest.of(from, size, SORT_START_DESC);
-
-        Collection<Booking> searchResult = switch (bookingState) {
-            case ALL -> bookingRepository.findAllByItemSharerEntityId(owner.getEntityId(),
-                    pageRequest).getContent();
-            case CURRENT -> bookingRepository.findAllCurrentOwnerBookings(owner.getEntityId(), LocalDateTime.now(),
-                    BookingStatus.APPROVED, pageRequest).getContent();
-            case FUTURE -> bookingRepository.findAllFutureOwnerBookings(owner.getEntityId(), LocalDateTime.now(),
-                    BookingStatus.APPROVED, pageRequest).getContent();
-            case PAST -> bookingRepository.findAllPastOwnerBookings(owner.getEntityId(), LocalDateTime.now(),
-                    BookingStatus.APPROVED, pageRequest).getContent();
-            case REJECTED -> bookingRepository.findAllOwnerBookingsByStatus(owner.getEntityId(), BookingStatus.REJECTED,
-                    pageRequest).getContent();
-            case WAITING -> bookingRepository.findAllOwnerBookingsByStatus(owner.getEntityId(), BookingStatus.WAITING,
-                    pageRequest).getContent();
-        };
+        Slice<BookingProjection> searchResult = after == null
+                ? findOwnerBookings(ownerId, bookingState, PageRequest.of(from, size, SORT_START_DESC))
+                : findOwnerBookingsAfterCursor(ownerId, bookingState, PageCursor.decode(after, true),
+                        PageRequest.of(0, size, SORT_START_DESC));
         log.debug("На уровень сервиса вернулась коллекция бронирования вещей владельца размером {}",
-                searchResult.size());
+                searchResult.getNumberOfElements());
 
-        Collection<BookingFullDto> result = completeCollection(searchResult);
+        Slice<BookingFullDto> result = completeCollection(searchResult);
         log.debug("Коллекция бронирования вещей владельца преобразована");
 
         log.debug("Возврат результатов поиска бронирования вещей владельца на уровень контроллера");
         return result;
     }
 
+    @Override
+    public long countByBookerAndState(Long bookerId, BookingState bookingState) {
+        log.debug("Подсчет бронирований, созданных пользователем, на уровне сервиса");
+
+        return switch (bookingState) {
+            case ALL -> bookingRepository.countByBookerEntityId(bookerId);
+            case CURRENT -> bookingRepository.countCurrentBookerBookings(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED);
+            case FUTURE -> bookingRepository.countFutureBookerBookings(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED);
+            case PAST -> bookingRepository.countPastBookerBookings(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED);
+            case REJECTED -> bookingRepository.countByBookerEntityIdAndStatus(bookerId, BookingStatus.REJECTED);
+            case WAITING -> bookingRepository.countByBookerEntityIdAndStatus(bookerId, BookingStatus.WAITING);
+        };
+    }
+
+    @Override
+    public long countByOwnerAndState(Long ownerId, String state) {
+        log.debug("Подсчет бронирований на вещи владельца на уровне сервиса");
+
+        return switch (BookingState.of(state)) {
+            case ALL -> bookingRepository.countByItemSharerEntityId(ownerId);
+            case CURRENT -> bookingRepository.countCurrentOwnerBookings(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED);
+            case FUTURE -> bookingRepository.countFutureOwnerBookings(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED);
+            case PAST -> bookingRepository.countPastOwnerBookings(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED);
+            case REJECTED -> bookingRepository.countByItemSharerEntityIdAndStatus(ownerId, BookingStatus.REJECTED);
+            case WAITING -> bookingRepository.countByItemSharerEntityIdAndStatus(ownerId, BookingStatus.WAITING);
+        };
+    }
+
     @Override
     public BookingFullDto findByBookerIdAndBookingId(Long bookerId, Long bookingId) {
         log.debug("Запрос бронирования по идентификатору на уровне сервиса");
 
-        User booker = userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + bookerId + " не найден"));
-        log.debug("Передан идентификатор пользователя, инициировавшего запрос: {}", booker.getEntityId());
+        if (!entityExistenceChecker.exists(User.class, bookerId, userRepository::existsById)) {
+            throw new NotFoundException("Пользователь с id " + bookerId + " не найден");
+        }
+        log.debug("Передан идентификатор пользователя, инициировавшего запрос: {}", bookerId);
 
-        Booking booking = bookingRepository.findById(bookingId)
+        BookingProjection booking = bookingRepository.findProjectionById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование с id " + bookingId + " не найдено"));
-        log.debug("Передан идентификатор бронирования: {}", booking.getEntityId());
+        log.debug("Передан идентификатор бронирования: {}", booking.getId());
 
-        log.debug("Проверка: является ли пользователь с id {} инициатором бронирования с id {}", booker.getEntityId(),
-                booking.getEntityId());
-        boolean isBookingBooker = booking.getBooker().getEntityId().equals(booker.getEntityId());
+        log.debug("Проверка: является ли пользователь с id {} инициатором бронирования с id {}", bookerId,
+                booking.getId());
+        boolean isBookingBooker = booking.getBookerId().equals(bookerId);
 
         if (!isBookingBooker) {
             log.debug("Пользователь не является инициатором бронирования.");
 
-            log.debug("Проверка: является ли пользователь с id {} владельцем бронируемой вещи", booker.getEntityId());
-            boolean isBookedItemOwner = bookingRepository.existsByBookingAndOwner(booking.getEntityId(),
-                    booker.getEntityId());
+            log.debug("Проверка: является ли пользователь с id {} владельцем бронируемой вещи", bookerId);
+            boolean isBookedItemOwner = booking.getSharerId().equals(bookerId);
 
             if (!isBookedItemOwner) {
-                throw new UserIsNotSharerException("Пользователь с id " + booker.getEntityId()
+                throw new UserIsNotSharerException("Пользователь с id " + bookerId
                         + " не является автором бронирования или владельцем бронируемой вещи");
             } else {
                 log.debug("Пользователь является владельцем вещи");
@@ -150,17 +199,20 @@ public class BookingServiceImpl implements BookingService {
         }
         log.debug("Проверки завершены");
 
-        // Преобразуем модель
         BookingFullDto result = bookingMapper.mapToFullDto(booking);
-        result.setItem(itemMapper.mapToShortDto(booking.getItem()));
-        result.getItem().setSharer(userMapper.mapToUserDto(booking.getItem().getSharer()));
-        result.setBooker(userMapper.mapToUserDto(booking.getBooker()));
         log.debug("Полученная модель преобразована");
 
         log.debug("Возврат результата поиска на уровень контроллера");
         return result;
     }
 
+    @Override
+    public String getEntityTag(Long userId, Long bookingId) {
+        return bookingRepository.findVersionByIdAndUserId(bookingId, userId)
+                .map(version -> EntityTag.of("bookings", version))
+                .orElse(null);
+    }
+
     @Override
     @Transactional
     public BookingFullDto create(Long bookerId, BookingCreateDto dto) {
@@ -170,13 +222,15 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + bookerId + " не найден"));
         log.debug("Передан идентификатор инициатора бронирования: {}", booker.getEntityId());
 
-        Item item = itemRepository.findById(dto.getItemId())
+        Item item = itemRepository.findByIdForUpdate(dto.getItemId())
                 .orElseThrow(() -> new NotFoundException("Бронируемая вещь с id " + dto.getItemId() + " не найдена"));
         if (!item.getAvailable()) {
             throw new IncorrectDataException("Вещь с id " + item.getEntityId() + " не доступна для бронирования");
         }
         log.debug("Получен идентификатор бронируемой вещи: {}", item.getEntityId());
 
+        checkOverlapping(item.getEntityId(), dto.getStart(), dto.getEnd(), null);
+
         Booking booking = bookingMapper.mapToBooking(dto);
         booking.setItem(item);
         booking.setBooker(booker);
@@ -185,10 +239,7 @@ public class BookingServiceImpl implements BookingService {
         bookingRepository.save(booking);
         log.debug("На уровень сервиса после сохранения вернулось бронирование с id {}", booking.getEntityId());
 
-        BookingFullDto result = bookingMapper.mapToFullDto(booking);
-        result.setItem(itemMapper.mapToShortDto(item));
-        result.getItem().setSharer(userMapper.mapToUserDto(item.getSharer()));
-        result.setBooker(userMapper.mapToUserDto(booker));
+        BookingFullDto result = mapToFullDto(booking);
         log.debug("Полученная после сохранения модель преобразована");
 
         log.debug("Возврат результатов сохранения на уровень контроллера");
@@ -214,56 +265,485 @@ public class BookingServiceImpl implements BookingService {
         }
         log.debug("Пользователь с id {} является владельцем бронируемой вещи", ownerId);
 
+        if (approved) {
+            Long itemId = booking.getItem().getEntityId();
+            itemRepository.findByIdForUpdate(itemId)
+                    .orElseThrow(() -> new NotFoundException("Бронируемая вещь с id " + itemId + " не найдена"));
+            checkOverlapping(itemId, booking.getStartDate(), booking.getEndDate(), booking.getEntityId());
+        }
+
         // Устанавливаем статус бронирования
         booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
 
-        bookingRepository.save(booking);
+        try {
+            bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            throw new BookingOverlapException("Период бронирования с id " + booking.getEntityId()
+                    + " пересекается с подтвержденным бронированием вещи");
+        }
         log.debug("Изменения бронирования сохранены");
 
-        BookingFullDto result = bookingMapper.mapToFullDto(booking);
-        result.setItem(itemMapper.mapToShortDto(booking.getItem()));
-        result.getItem().setSharer(userMapper.mapToUserDto(booking.getItem().getSharer()));
-        result.setBooker(userMapper.mapToUserDto(booking.getBooker()));
+        BookingFullDto result = mapToFullDto(booking);
         log.debug("Измененная модель преобразована");
 
         log.debug("Возврат результатов согласования бронирования на уровень контроллера");
         return result;
     }
 
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> createAll(Long bookerId, List<BookingCreateDto> dtos) {
+        log.debug("Пакетное создание бронирований на уровне сервиса");
+        log.debug("Передано строк: {}", dtos.size());
+
+        User booker = userRepository.findById(bookerId)
+                .orElseThrow(() -> new NotFoundException("Пользователь с id " + bookerId + " не найден"));
+        log.debug("Передан идентификатор инициатора бронирований: {}", booker.getEntityId());
+
+        List<BookingBatchResultDto> results = new ArrayList<>(Collections.nCopies(dtos.size(), null));
+
+        Map<Long, Item> items = lockItems(dtos.stream()
+                .filter(dto -> dto != null && dto.getItemId() != null)
+                .map(BookingCreateDto::getItemId)
+                .collect(Collectors.toSet()));
+        log.debug("Заблокировано бронируемых вещей: {}", items.size());
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, Booking> candidates = new LinkedHashMap<>();
+        for (int index = 0; index < dtos.size(); index++) {
+            BookingCreateDto dto = dtos.get(index);
+            try {
+                checkPeriod(dto, now);
+
+                Item item = items.get(dto.getItemId());
+                if (item == null) {
+                    throw new NotFoundException("Бронируемая вещь с id " + dto.getItemId() + " не найдена");
+                }
+                if (!item.getAvailable()) {
+                    throw new IncorrectDataException("Вещь с id " + item.getEntityId()
+                            + " не доступна для бронирования");
+                }
+
+                Booking booking = bookingMapper.mapToBooking(dto);
+                booking.setItem(item);
+                booking.setBooker(booker);
+                candidates.put(index, booking);
+            } catch (IncorrectDataException | NotFoundException e) {
+                results.set(index, failure(index, e));
+            }
+        }
+
+        Map<Long, List<BookingPeriodProjection>> approvedPeriods = findApprovedPeriods(candidates.values(), Set.of());
+
+        List<Booking> accepted = new ArrayList<>();
+        for (Map.Entry<Integer, Booking> candidate : candidates.entrySet()) {
+            Booking booking = candidate.getValue();
+            if (overlaps(approvedPeriods.getOrDefault(booking.getItem().getEntityId(), List.of()), booking)) {
+                results.set(candidate.getKey(), failure(candidate.getKey(), overlapException(booking)));
+            } else {
+                accepted.add(booking);
+            }
+        }
+
+        // Идентификаторы выдаются последовательностью при сохранении, строки вставляются пакетами при фиксации
+        bookingRepository.saveAll(accepted);
+        log.debug("Сохранено бронирований: {} из {}", accepted.size(), dtos.size());
+
+        candidates.forEach((index, booking) -> {
+            if (results.get(index) == null) {
+                results.set(index, success(index, booking));
+            }
+        });
+
+        log.debug("Возврат результатов пакетного создания на уровень контроллера");
+        return results;
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> approveAll(Long ownerId, List<BookingApprovalDto> dtos) {
+        log.debug("Пакетное согласование бронирований на уровне сервиса");
+        log.debug("Передан идентификатор владельца вещей: {}", ownerId);
+        log.debug("Передано строк: {}", dtos.size());
+
+        List<BookingBatchResultDto> results = new ArrayList<>(Collections.nCopies(dtos.size(), null));
+
+        Set<Long> bookingIds = dtos.stream()
+                .filter(dto -> dto != null && dto.getBookingId() != null)
+                .map(BookingApprovalDto::getBookingId)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> bookings = bookingIds.isEmpty()
+                ? Map.of()
+                : bookingRepository.findAllWithItemAndBookerByIdIn(bookingIds).stream()
+                        .collect(Collectors.toMap(Booking::getEntityId, Function.identity()));
+        log.debug("Найдено бронирований: {}", bookings.size());
+
+        Set<Long> processedIds = new HashSet<>();
+        Map<Integer, Booking> candidates = new LinkedHashMap<>();
+        for (int index = 0; index < dtos.size(); index++) {
+            BookingApprovalDto dto = dtos.get(index);
+            try {
+                if (dto == null || dto.getBookingId() == null || dto.getApproved() == null) {
+                    throw new IncorrectDataException(
+                            "Идентификатор бронирования и статус согласования должны быть указаны");
+                }
+                if (!processedIds.add(dto.getBookingId())) {
+                    throw new IncorrectDataException(
+                            "Бронирование с id " + dto.getBookingId() + " указано в пакете повторно");
+                }
+
+                Booking booking = bookings.get(dto.getBookingId());
+                if (booking == null) {
+                    throw new NotFoundException("Бронирование с id " + dto.getBookingId() + " не найдено");
+                }
+                if (!booking.getItem().getSharer().getEntityId().equals(ownerId)) {
+                    throw new IncorrectDataException(
+                            "Пользователь с id " + ownerId + " не является владельцем бронируемой вещи");
+                }
+                candidates.put(index, booking);
+            } catch (IncorrectDataException | NotFoundException e) {
+                results.set(index, failure(index, e));
+            }
+        }
+
+        // Подтверждаемые бронирования проверяются на пересечение после блокировки своих вещей. Отклоняемые в этом же
+        // пакете бронирования пересечений не создают
+        List<Booking> approvals = new ArrayList<>();
+        Set<Long> rejectedIds = new HashSet<>();
+        candidates.forEach((index, booking) -> {
+            if (dtos.get(index).getApproved()) {
+                approvals.add(booking);
+            } else {
+                rejectedIds.add(booking.getEntityId());
+            }
+        });
+        lockItems(approvals.stream()
+                .map(booking -> booking.getItem().getEntityId())
+                .collect(Collectors.toSet()));
+        Map<Long, List<BookingPeriodProjection>> approvedPeriods = findApprovedPeriods(approvals, rejectedIds);
+        Map<Long, List<Booking>> approvedInBatch = new HashMap<>();
+
+        List<Booking> rejections = new ArrayList<>();
+        List<Booking> acceptedApprovals = new ArrayList<>();
+        for (Map.Entry<Integer, Booking> candidate : candidates.entrySet()) {
+            Booking booking = candidate.getValue();
+            if (!dtos.get(candidate.getKey()).getApproved()) {
+                rejections.add(booking);
+                continue;
+            }
+
+            Long itemId = booking.getItem().getEntityId();
+            List<Booking> itemApprovals = approvedInBatch.computeIfAbsent(itemId, id -> new ArrayList<>());
+            if (overlaps(approvedPeriods.getOrDefault(itemId, List.of()), booking)
+                    || itemApprovals.stream().anyMatch(other -> isOverlapping(other, booking))) {
+                results.set(candidate.getKey(), failure(candidate.getKey(), overlapException(booking)));
+                continue;
+            }
+            itemApprovals.add(booking);
+            acceptedApprovals.add(booking);
+        }
+
+        // Отклонения сохраняются отдельно и раньше подтверждений: hibernate.order_updates упорядочивает изменения
+        // одного сброса по идентификатору, и подтверждение с меньшим идентификатором нарушило бы ограничение
+        // ex_bookings_item_period до отклонения пересекающегося с ним бронирования. Статус подтверждений
+        // устанавливается после сброса отклонений, иначе они попали бы в тот же сброс
+        rejections.forEach(booking -> booking.setStatus(BookingStatus.REJECTED));
+        bookingRepository.saveAllAndFlush(rejections);
+        acceptedApprovals.forEach(booking -> booking.setStatus(BookingStatus.APPROVED));
+        try {
+            bookingRepository.saveAllAndFlush(acceptedApprovals);
+        } catch (DataIntegrityViolationException e) {
+            if (!isOverlapViolation(e)) {
+                throw e;
+            }
+            throw new BookingOverlapException(
+                    "Периоды бронирований пакета пересекаются с подтвержденными бронированиями вещей");
+        }
+        log.debug("Изменено бронирований: {} из {}", rejections.size() + acceptedApprovals.size(), dtos.size());
+
+        candidates.forEach((index, booking) -> {
+            if (results.get(index) == null) {
+                results.set(index, success(index, booking));
+            }
+        });
+
+        log.debug("Возврат результатов пакетного согласования на уровень контроллера");
+        return results;
+    }
+
     /**
-     * Метод преобразует коллекцию бронирований
+     * Метод блокирует строки вещей до конца транзакции и загружает владельцев вещей для ответа
      *
-     * @param searchResult коллекция-источник
-     * @return преобразованная коллекция {@link BookingFullDto}
+     * @param itemIds идентификаторы вещей
+     * @return найденные вещи по идентификатору
      */
-    private Collection<BookingFullDto> completeCollection(Collection<Booking> searchResult) {
-        // Преобразуем коллекцию
-        Collection<BookingFullDto> result = searchResult.stream()
-                .map(bookingMapper::mapToFullDto)
-                .toList();
-
-        // Дополним коллекцию бронируемыми вещами и инициаторами бронирований
-        for (BookingFullDto dto : result) {
-            // Найдем бронируемую вещь
-            Optional<Item> item = searchResult.stream()
-                    .filter(book -> book.getEntityId().equals(dto.getId()))
-                    .map(Booking::getItem)
-                    .findFirst();
-            item.ifPresent(value -> {
-                // Установим вещь
-                dto.setItem(itemMapper.mapToShortDto(value));
-                // Установим владельца вещи
-                dto.getItem().setSharer(userMapper.mapToUserDto(item.get().getSharer()));
-            });
-
-            // Найдём инициатора бронирования
-            Optional<User> booker = searchResult.stream()
-                    .filter(book -> book.getEntityId().equals(dto.getId()))
-                    .map(Booking::getBooker)
-                    .findFirst();
-            // Установим его
-            booker.ifPresent(value -> dto.setBooker(userMapper.mapToUserDto(value)));
+    private Map<Long, Item> lockItems(Set<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
         }
+
+        List<Item> items = itemRepository.findAllByIdForUpdate(itemIds);
+        userRepository.findAllById(items.stream()
+                .map(item -> item.getSharer().getEntityId())
+                .collect(Collectors.toSet()));
+        return items.stream()
+                .collect(Collectors.toMap(Item::getEntityId, Function.identity()));
+    }
+
+    /**
+     * Метод загружает одним запросом подтвержденные бронирования вещей пакета, пересекающиеся с периодом,
+     * охватывающим периоды всех бронирований пакета
+     *
+     * @param bookings бронирования пакета
+     * @param excludedBookingIds идентификаторы бронирований, которые не нужно учитывать
+     * @return периоды подтвержденных бронирований по идентификатору вещи
+     */
+    private Map<Long, List<BookingPeriodProjection>> findApprovedPeriods(Collection<Booking> bookings,
+                                                                         Set<Long> excludedBookingIds) {
+        if (bookings.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<Long> itemIds = new HashSet<>();
+        LocalDateTime start = null;
+        LocalDateTime end = null;
+        for (Booking booking : bookings) {
+            itemIds.add(booking.getItem().getEntityId());
+            start = start == null || booking.getStartDate().isBefore(start) ? booking.getStartDate() : start;
+            end = end == null || booking.getEndDate().isAfter(end) ? booking.getEndDate() : end;
+        }
+
+        return bookingRepository.findAllOverlapping(itemIds, start, end, BookingStatus.APPROVED).stream()
+                .filter(period -> !excludedBookingIds.contains(period.getId()))
+                .collect(Collectors.groupingBy(BookingPeriodProjection::getItemId));
+    }
+
+    private static boolean overlaps(List<BookingPeriodProjection> periods, Booking booking) {
+        return periods.stream()
+                .anyMatch(period -> !period.getId().equals(booking.getEntityId())
+                        && period.getStartDate().isBefore(booking.getEndDate())
+                        && period.getEndDate().isAfter(booking.getStartDate()));
+    }
+
+    private static boolean isOverlapping(Booking first, Booking second) {
+        return first.getStartDate().isBefore(second.getEndDate()) && first.getEndDate().isAfter(second.getStartDate());
+    }
+
+    private static BookingOverlapException overlapException(Booking booking) {
+        return new BookingOverlapException("Вещь с id " + booking.getItem().getEntityId()
+                + " уже забронирована на период с " + booking.getStartDate() + " по " + booking.getEndDate());
+    }
+
+    /**
+     * Метод проверяет, что нарушено ограничение непересечения подтвержденных бронирований ex_bookings_item_period:
+     * код SQLSTATE 23P01 (exclusion_violation) или имя ограничения. Остальные нарушения целостности не означают
+     * пересечения бронирований и не преобразуются в {@link BookingOverlapException}
+     *
+     * @param e исключение нарушения целостности данных
+     * @return true, если нарушено ограничение непересечения бронирований
+     */
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && OVERLAP_CONSTRAINT.equalsIgnoreCase(violation.getConstraintName())) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Метод проверяет строку пакетного создания бронирований
+     *
+     * @param dto несохраненная модель {@link BookingCreateDto}
+     * @param now текущий момент
+     */
+    private static void checkPeriod(BookingCreateDto dto, LocalDateTime now) {
+        if (dto == null || dto.getItemId() == null || dto.getStart() == null || dto.getEnd() == null) {
+            throw new IncorrectDataException("Вещь, дата начала и дата окончания бронирования должны быть указаны");
+        }
+        if (!dto.getEnd().isAfter(dto.getStart())) {
+            throw new IncorrectDataException("Дата окончания бронирования должна быть позже даты начала бронирования");
+        }
+        if (dto.getStart().isBefore(now)) {
+            throw new IncorrectDataException("Дата начала бронирования не может быть в прошлом");
+        }
+    }
+
+    private BookingBatchResultDto success(int index, Booking booking) {
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(HttpStatus.OK.value())
+                .booking(mapToFullDto(booking))
+                .build();
+    }
+
+    private static BookingBatchResultDto failure(int index, RuntimeException e) {
+        HttpStatus status = switch (e) {
+            case NotFoundException ignored -> HttpStatus.NOT_FOUND;
+            case BookingOverlapException ignored -> HttpStatus.CONFLICT;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+        log.debug("Строка {} пакета не обработана: {}", index, e.getMessage());
+
+        return BookingBatchResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .error(e.getMessage())
+                .build();
+    }
+
+    /**
+     * Метод преобразует бронирование вместе с вещью, её владельцем и бронирующим
+     *
+     * @param booking бронирование
+     * @return экземпляр {@link BookingFullDto}
+     */
+    private BookingFullDto mapToFullDto(Booking booking) {
+        BookingFullDto result = bookingMapper.mapToFullDto(booking);
+        result.setItem(itemMapper.mapToShortDto(booking.getItem()));
+        result.getItem().setSharer(userMapper.mapToUserDto(booking.getItem().getSharer()));
+        result.setBooker(userMapper.mapToUserDto(booking.getBooker()));
         return result;
     }
+
+    /**
+     * Метод проверяет, что у вещи нет подтвержденного бронирования, пересекающегося с переданным периодом. Вызывается
+     * после блокировки строки вещи, поэтому параллельные бронирования одной вещи проверяются последовательно
+     *
+     * @param itemId идентификатор вещи
+     * @param start дата начала периода
+     * @param end дата окончания периода
+     * @param excludedBookingId идентификатор проверяемого бронирования или null для нового
+     */
+    private void checkOverlapping(Long itemId, LocalDateTime start, LocalDateTime end, Long excludedBookingId) {
+        log.debug("Проверка пересечения периода с {} по {} с подтвержденными бронированиями вещи с id {}", start, end,
+                itemId);
+        if (bookingRepository.existsOverlapping(itemId, start, end, BookingStatus.APPROVED, excludedBookingId)) {
+            throw new BookingOverlapException("Вещь с id " + itemId + " уже забронирована на период с " + start
+                    + " по " + end);
+        }
+    }
+
+    /**
+     * Метод возвращает страницу бронирований пользователя в указанном состоянии по номеру страницы
+     *
+     * @param bookerId идентификатор бронирующего
+     * @param bookingState состояние бронирования
+     * @param pageRequest номер и размер страницы, порядок сортировки
+     * @return страница {@link BookingProjection}
+     */
+    private Slice<BookingProjection> findBookerBookings(Long bookerId, BookingState bookingState,
+                                                       PageRequest pageRequest) {
+        return switch (bookingState) {
+            case ALL -> bookingRepository.findAllByBookerEntityId(bookerId, pageRequest);
+            case CURRENT -> bookingRepository.findAllCurrentBookerBookings(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, pageRequest);
+            case FUTURE -> bookingRepository.findAllFutureBookerBookings(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, pageRequest);
+            case PAST -> bookingRepository.findAllPastBookerBookings(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, pageRequest);
+            case REJECTED -> bookingRepository.findAllBookerBookingsByStatus(bookerId, BookingStatus.REJECTED,
+                    pageRequest);
+            case WAITING -> bookingRepository.findAllBookerBookingsByStatus(bookerId, BookingStatus.WAITING,
+                    pageRequest);
+        };
+    }
+
+    /**
+     * Метод возвращает бронирования пользователя в указанном состоянии, следующие за курсором. Количество
+     * бронирований не подсчитывается, предыдущие страницы не просматриваются
+     *
+     * @param bookerId идентификатор бронирующего
+     * @param bookingState состояние бронирования
+     * @param cursor курсор последнего полученного бронирования
+     * @param pageRequest размер страницы и порядок сортировки
+     * @return страница {@link BookingProjection}
+     */
+    private Slice<BookingProjection> findBookerBookingsAfterCursor(Long bookerId, BookingState bookingState,
+                                                                  PageCursor cursor, PageRequest pageRequest) {
+        return switch (bookingState) {
+            case ALL -> bookingRepository.findAllByBookerEntityIdAfterCursor(bookerId, cursor.date(), cursor.id(),
+                    pageRequest);
+            case CURRENT -> bookingRepository.findAllCurrentBookerBookingsAfterCursor(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, cursor.date(), cursor.id(), pageRequest);
+            case FUTURE -> bookingRepository.findAllFutureBookerBookingsAfterCursor(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, cursor.date(), cursor.id(), pageRequest);
+            case PAST -> bookingRepository.findAllPastBookerBookingsAfterCursor(bookerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, cursor.date(), cursor.id(), pageRequest);
+            case REJECTED -> bookingRepository.findAllBookerBookingsByStatusAfterCursor(bookerId,
+                    BookingStatus.REJECTED, cursor.date(), cursor.id(), pageRequest);
+            case WAITING -> bookingRepository.findAllBookerBookingsByStatusAfterCursor(bookerId,
+                    BookingStatus.WAITING, cursor.date(), cursor.id(), pageRequest);
+        };
+    }
+
+    /**
+     * Метод возвращает страницу бронирований вещей владельца в указанном состоянии по номеру страницы
+     *
+     * @param ownerId идентификатор владельца
+     * @param bookingState состояние бронирования
+     * @param pageRequest номер и размер страницы, порядок сортировки
+     * @return страница {@link BookingProjection}
+     */
+    private Slice<BookingProjection> findOwnerBookings(Long ownerId, BookingState bookingState,
+                                                      PageRequest pageRequest) {
+        return switch (bookingState) {
+            case ALL -> bookingRepository.findAllByItemSharerEntityId(ownerId, pageRequest);
+            case CURRENT -> bookingRepository.findAllCurrentOwnerBookings(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, pageRequest);
+            case FUTURE -> bookingRepository.findAllFutureOwnerBookings(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, pageRequest);
+            case PAST -> bookingRepository.findAllPastOwnerBookings(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, pageRequest);
+            case REJECTED -> bookingRepository.findAllOwnerBookingsByStatus(ownerId, BookingStatus.REJECTED,
+                    pageRequest);
+            case WAITING -> bookingRepository.findAllOwnerBookingsByStatus(ownerId, BookingStatus.WAITING,
+                    pageRequest);
+        };
+    }
+
+    /**
+     * Метод возвращает бронирования вещей владельца в указанном состоянии, следующие за курсором
+     *
+     * @param ownerId идентификатор владельца
+     * @param bookingState состояние бронирования
+     * @param cursor курсор последнего полученного бронирования
+     * @param pageRequest размер страницы и порядок сортировки
+     * @return страница {@link BookingProjection}
+     */
+    private Slice<BookingProjection> findOwnerBookingsAfterCursor(Long ownerId, BookingState bookingState,
+                                                                 PageCursor cursor, PageRequest pageRequest) {
+        return switch (bookingState) {
+            case ALL -> bookingRepository.findAllByItemSharerEntityIdAfterCursor(ownerId, cursor.date(), cursor.id(),
+                    pageRequest);
+            case CURRENT -> bookingRepository.findAllCurrentOwnerBookingsAfterCursor(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, cursor.date(), cursor.id(), pageRequest);
+            case FUTURE -> bookingRepository.findAllFutureOwnerBookingsAfterCursor(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, cursor.date(), cursor.id(), pageRequest);
+            case PAST -> bookingRepository.findAllPastOwnerBookingsAfterCursor(ownerId, LocalDateTime.now(),
+                    BookingStatus.APPROVED, cursor.date(), cursor.id(), pageRequest);
+            case REJECTED -> bookingRepository.findAllOwnerBookingsByStatusAfterCursor(ownerId,
+                    BookingStatus.REJECTED, cursor.date(), cursor.id(), pageRequest);
+            case WAITING -> bookingRepository.findAllOwnerBookingsByStatusAfterCursor(ownerId,
+                    BookingStatus.WAITING, cursor.date(), cursor.id(), pageRequest);
+        };
+    }
+
+    /**
+     * Метод преобразует страницу бронирований
+     *
+     * @param searchResult страница-источник
+     * @return преобразованная страница {@link BookingFullDto}
+     */
+    private Slice<BookingFullDto> completeCollection(Slice<BookingProjection> searchResult) {
+        return searchResult.map(bookingMapper::mapToFullDto);
+    }
 }
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.commons.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Кэш второго уровня Hibernate для пользователей, вещей и запросов и кэш результатов запросов, помеченных подсказкой
+ * {@code org.hibernate.cacheable}. Области кэша создаются в отдельном для каждого контекста менеджере JCache
+ * (Caffeine) и ограничены по размеру и времени хранения записи. Отключается свойством shareit.entity-cache.enabled=false
+ * <p>
+ * Кэш хранится в памяти экземпляра сервиса и не согласуется между экземплярами: изменение, выполненное другим
+ * экземпляром, не удаляет запись из кэша этого экземпляра, и устаревшая запись возвращается до истечения ttl. Поэтому
+ * кэш подключается только для единственного экземпляра сервиса: при shareit.deployment.instances больше 1 он
+ * отключается независимо от shareit.entity-cache.enabled
+ * <p>
+ * Попадания и промахи публикуются в метриках hibernate.second.level.cache.requests и hibernate.cache.query.requests
+ * с тегом result
+ */
+@Configuration
+@Slf4j
+public class EntityCacheConfiguration {
+
+    /**
+     * Область кэша пользователей
+     */
+    public static final String USERS_REGION = "users";
+
+    /**
+     * Область кэша вещей
+     */
+    public static final String ITEMS_REGION = "items";
+
+    /**
+     * Область кэша запросов вещей
+     */
+    public static final String REQUESTS_REGION = "requests";
+
+    @Bean
+    @ConditionalOnExpression("${shareit.entity-cache.enabled:true} and ${shareit.deployment.instances:1} == 1")
+    public CacheManager entityCacheManager(@Value("${shareit.entity-cache.max-size:10000}") long maxSize,
+                                           @Value("${shareit.entity-cache.query-max-size:10000}") long queryMaxSize,
+                                           @Value("${shareit.entity-cache.ttl:10m}") Duration ttl) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()),
+                EntityCacheConfiguration.class.getClassLoader());
+
+        for (String region : new String[]{USERS_REGION, ITEMS_REGION, REQUESTS_REGION}) {
+            cacheManager.createCache(region, regionConfiguration(maxSize, ttl));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(queryMaxSize, ttl));
+
+        // Отметки времени изменения таблиц не вытесняются: без них результаты запросов из кэша нельзя проверить
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                new CaffeineConfiguration<>());
+
+        log.info("Кэш второго уровня: до {} записей в области, время хранения {}", maxSize, ttl);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(ObjectProvider<CacheManager> entityCacheManager) {
+        return properties -> {
+            CacheManager cacheManager = entityCacheManager.getIfAvailable();
+            if (cacheManager == null) {
+                log.info("Кэш второго уровня отключен");
+                // Без явного отключения Hibernate сам подключит единственную найденную реализацию кэша
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+
+            properties.putAll(Map.of(
+                    AvailableSettings.USE_SECOND_LEVEL_CACHE, true,
+                    AvailableSettings.USE_QUERY_CACHE, true,
+                    AvailableSettings.CACHE_REGION_FACTORY, "jcache",
+                    ConfigSettings.CACHE_MANAGER, cacheManager,
+                    ConfigSettings.MISSING_CACHE_STRATEGY, "fail",
+                    AvailableSettings.GENERATE_STATISTICS, true));
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.commons.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collection;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Очистка кэша второго уровня для записей, которые удаляются каскадно на уровне БД, минуя Hibernate
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Метод удаляет из кэша второго уровня записи сущностей с переданными идентификаторами после фиксации текущей
+     * транзакции. Очистка до фиксации позволила бы параллельному запросу снова поместить в кэш еще не удаленные
+     * записи. Остальные записи области кэша сохраняются
+     *
+     * @param entityClass класс сущностей
+     * @param ids идентификаторы сущностей
+     */
+    public void evictAfterCommit(Class<?> entityClass, Collection<?> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        Runnable evict = () -> {
+            ids.forEach(id -> entityManagerFactory.getCache().evict(entityClass, id));
+            log.debug("Из кэша второго уровня удалены записи {} с id {}", entityClass.getSimpleName(), ids);
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+}
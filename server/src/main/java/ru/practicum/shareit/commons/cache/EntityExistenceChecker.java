@@ -0,0 +1,66 @@
+package ru.practicum.shareit.commons.cache;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Проверка существования сущностей без их загрузки. Сначала проверяется кэш второго уровня: запись удаляется из него
+ * вместе со строкой в БД (в том числе при каскадном удалении, см. {@link EntityCacheEvictor}), поэтому найденная в кэше
+ * сущность существует. Для остальных идентификаторов выполняется запрос только по первичному ключу, без чтения строк
+ * и без добавления сущностей в контекст постоянства
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityExistenceChecker {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Метод проверяет существование сущности
+     *
+     * @param entityClass класс сущности
+     * @param id идентификатор сущности
+     * @param existsById проверка существования в БД, например {@code repository::existsById}
+     * @return результат проверки
+     */
+    public boolean exists(Class<?> entityClass, Long id, Predicate<Long> existsById) {
+        return id != null && (cache().contains(entityClass, id) || existsById.test(id));
+    }
+
+    /**
+     * Метод возвращает идентификаторы несуществующих сущностей. Отсутствующие в кэше идентификаторы проверяются
+     * одним запросом
+     *
+     * @param entityClass класс сущности
+     * @param ids идентификаторы сущностей
+     * @param findExistingIds запрос существующих в БД идентификаторов из переданных
+     * @return идентификаторы несуществующих сущностей
+     */
+    public Set<Long> findMissing(Class<?> entityClass, Collection<Long> ids,
+                                 Function<Collection<Long>, Collection<Long>> findExistingIds) {
+        Cache cache = cache();
+        Set<Long> missing = new HashSet<>();
+        for (Long id : ids) {
+            if (!cache.contains(entityClass, id)) {
+                missing.add(id);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            findExistingIds.apply(List.copyOf(missing)).forEach(missing::remove);
+        }
+        return missing;
+    }
+
+    private Cache cache() {
+        return entityManagerFactory.getCache();
+    }
+}
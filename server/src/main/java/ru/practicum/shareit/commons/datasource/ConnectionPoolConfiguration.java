@@ -0,0 +1,55 @@
+package ru.practicum.shareit.commons.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Размер пула соединений HikariCP по числу процессоров: {@code процессоры * per-core + spare}. Запросы к БД
+ * ограничены процессорами и диском сервера БД, а не числом потоков Tomcat, поэтому пул больше этого размера только
+ * увеличивает конкуренцию за блокировки в БД. Подключается свойством shareit.datasource.pool.per-core, значение
+ * spring.datasource.hikari.maximum-pool-size имеет приоритет
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.datasource.pool.per-core")
+@Slf4j
+public class ConnectionPoolConfiguration {
+
+    static final String MAXIMUM_POOL_SIZE = "spring.datasource.hikari.maximum-pool-size";
+
+    /**
+     * Метод возвращает размер пула соединений для переданного числа процессоров
+     *
+     * @param processors число процессоров
+     * @param perCore число соединений на процессор
+     * @param spare число дополнительных соединений
+     * @return размер пула, не меньше 1
+     */
+    static int poolSize(int processors, int perCore, int spare) {
+        return Math.max(1, processors * perCore + spare);
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionPoolSizePostProcessor(Environment environment) {
+        int perCore = environment.getRequiredProperty("shareit.datasource.pool.per-core", Integer.class);
+        int spare = environment.getProperty("shareit.datasource.pool.spare", Integer.class, 0);
+        boolean explicit = environment.containsProperty(MAXIMUM_POOL_SIZE);
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                // Свойства spring.datasource.hikari.* к этому моменту уже привязаны, пул еще не запущен
+                if (bean instanceof HikariDataSource dataSource && !explicit) {
+                    int size = poolSize(Runtime.getRuntime().availableProcessors(), perCore, spare);
+                    dataSource.setMaximumPoolSize(size);
+                    log.info("Размер пула соединений {} установлен по числу процессоров: {}", beanName, size);
+                }
+                return bean;
+            }
+        };
+    }
+}
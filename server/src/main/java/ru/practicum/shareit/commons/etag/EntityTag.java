@@ -0,0 +1,47 @@
+package ru.practicum.shareit.commons.etag;
+
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.Nullable;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Вычисление строгих ETag ответов по версиям записей. Значение ETag не раскрывает версии и идентификаторы записей
+ */
+public final class EntityTag {
+
+    private EntityTag() {
+    }
+
+    /**
+     * Метод вычисляет ETag представления сущности
+     *
+     * @param resource наименование ресурса
+     * @param projection версия представления сущности
+     * @return значение заголовка ETag
+     */
+    public static String of(String resource, EntityVersionProjection projection) {
+        String value = resource + ":" + projection.getId() + ":" + projection.getVersion();
+        return "\"" + DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Метод формирует заголовки кэширования ответа. Ответ с ETag кэш может сохранить, но перед использованием
+     * проверяет на сервисе условным запросом (Cache-Control: no-cache). Ответ без ETag не сохраняется
+     * (Cache-Control: private, no-store)
+     *
+     * @param eTag значение заголовка ETag или null
+     * @return заголовки ответа
+     */
+    public static HttpHeaders headers(@Nullable String eTag) {
+        HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) {
+            headers.setETag(eTag);
+            headers.setCacheControl(CacheControl.noCache());
+        } else {
+            headers.setCacheControl(CacheControl.noStore().cachePrivate());
+        }
+        return headers;
+    }
+}
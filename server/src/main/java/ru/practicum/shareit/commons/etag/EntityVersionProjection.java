@@ -0,0 +1,23 @@
+package ru.practicum.shareit.commons.etag;
+
+/**
+ * Версия представления сущности: версии записей, из которых собирается ответ, выбранные одним запросом без загрузки
+ * сущностей. Используется для вычисления ETag до формирования ответа
+ */
+public interface EntityVersionProjection {
+
+    /**
+     * Идентификатор сущности
+     */
+    Long getId();
+
+    /**
+     * Идентификатор владельца сущности, если представление для него отличается
+     */
+    Long getOwnerId();
+
+    /**
+     * Версии записей представления, перечисленные через точку
+     */
+    String getVersion();
+}
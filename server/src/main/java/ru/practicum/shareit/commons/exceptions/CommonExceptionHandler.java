@@ -1,6 +1,7 @@
 package ru.practicum.shareit.commons.exceptions;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -72,6 +73,37 @@ public class CommonExceptionHandler {
                 HttpStatus.CONFLICT);
     }
 
+    /**
+     * Обработка исключения {@link BookingOverlapException}
+     *
+     * @param e обрабатываемое исключение
+     * @return сообщение об ошибке и соответствующий HTTP-статус (409 CONFLICT)
+     */
+    @ExceptionHandler(BookingOverlapException.class)
+    public ResponseEntity<ErrorResponse> handleBookingOverlap(final BookingOverlapException e) {
+        log.warn("Вызвано исключение BookingOverlapException с текстом {}", e.getMessage());
+
+        return new ResponseEntity<>(
+                ErrorResponse.builder().error("Пересечение периодов бронирования").errorMessage(e.getMessage()).build(),
+                HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Обработка исключения {@link OptimisticLockingFailureException}: запись изменена другим запросом после ее чтения
+     *
+     * @param e обрабатываемое исключение
+     * @return сообщение об ошибке и соответствующий HTTP-статус (409 CONFLICT)
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLocking(final OptimisticLockingFailureException e) {
+        log.warn("Вызвано исключение OptimisticLockingFailureException с текстом {}", e.getMessage());
+
+        return new ResponseEntity<>(
+                ErrorResponse.builder().error("Конфликт изменений")
+                        .errorMessage("Запись изменена другим запросом, повторите запрос").build(),
+                HttpStatus.CONFLICT);
+    }
+
     /**
      * Обработка исключения {@link RuntimeException}
      *
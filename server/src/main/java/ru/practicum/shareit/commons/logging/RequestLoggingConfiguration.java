@@ -0,0 +1,34 @@
+package ru.practicum.shareit.commons.logging;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Подключение итоговой строки журнала на HTTP-запрос {@link RequestSummaryInterceptor}. Параметры задаются свойствами
+ * shareit.request-log.*, отключается свойством shareit.request-log.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.request-log.enabled", havingValue = "true", matchIfMissing = true)
+public class RequestLoggingConfiguration implements WebMvcConfigurer {
+
+    private final double sampleRate;
+    private final Duration slowThreshold;
+    private final boolean withSqlStatistics;
+
+    public RequestLoggingConfiguration(@Value("${shareit.request-log.sample-rate:1.0}") double sampleRate,
+                                       @Value("${shareit.request-log.slow-threshold:500ms}") Duration slowThreshold,
+                                       @Value("${shareit.sql-metrics.enabled:true}") boolean withSqlStatistics) {
+        this.sampleRate = sampleRate;
+        this.slowThreshold = slowThreshold;
+        this.withSqlStatistics = withSqlStatistics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestSummaryInterceptor(sampleRate, slowThreshold, withSqlStatistics));
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.commons.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import ru.practicum.shareit.commons.sql.SqlStatistics;
+
+/**
+ * Итоговая строка журнала на HTTP-запрос вместо построчного журнала уровня DEBUG. Строка содержит метод, шаблон пути,
+ * статус ответа и длительность обработки, а при включенном подсчете SQL-запросов - количество запросов, строк и время
+ * их выполнения в формате ключ=значение.
+ * <p>
+ * В журнал попадает доля запросов sampleRate, а также все запросы, завершившиеся ошибкой сервера или выполнявшиеся
+ * дольше slowThreshold: такие запросы записываются с уровнем WARN. Решение о записи принимается до формирования
+ * строки, поэтому не попавшие в выборку запросы не создают событий журнала
+ */
+@Slf4j
+public class RequestSummaryInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = RequestSummaryInterceptor.class.getName() + ".start";
+    private static final String STATISTICS_ATTRIBUTE = RequestSummaryInterceptor.class.getName() + ".statistics";
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+    private final boolean withSqlStatistics;
+
+    /**
+     * @param sampleRate доля запросов, попадающих в журнал, от 0 до 1
+     * @param slowThreshold длительность обработки, начиная с которой запрос записывается всегда
+     * @param withSqlStatistics признак подсчета SQL-запросов
+     */
+    public RequestSummaryInterceptor(double sampleRate, Duration slowThreshold, boolean withSqlStatistics) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.withSqlStatistics = withSqlStatistics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && log.isInfoEnabled()) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+            if (withSqlStatistics) {
+                request.setAttribute(STATISTICS_ATTRIBUTE, SqlStatistics.open());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(START_ATTRIBUTE) instanceof Long start)) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        request.removeAttribute(START_ATTRIBUTE);
+
+        SqlStatistics statistics = null;
+        if (request.getAttribute(STATISTICS_ATTRIBUTE) instanceof SqlStatistics opened) {
+            opened.close();
+            request.removeAttribute(STATISTICS_ATTRIBUTE);
+            statistics = opened;
+        }
+
+        int status = response.getStatus();
+        boolean slow = elapsed >= slowThresholdNanos || status >= 500;
+        if (!slow && (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+
+        String path = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern
+                ? pattern : request.getRequestURI();
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+
+        if (statistics == null) {
+            if (slow) {
+                log.warn("method={} path={} status={} duration_ms={}", request.getMethod(), path, status,
+                        durationMillis);
+            } else {
+                log.info("method={} path={} status={} duration_ms={}", request.getMethod(), path, status,
+                        durationMillis);
+            }
+            return;
+        }
+
+        Object[] arguments = {request.getMethod(), path, status, durationMillis, statistics.getStatements(),
+                statistics.getRows(), TimeUnit.NANOSECONDS.toMillis(statistics.getNanos())};
+        if (slow) {
+            log.warn("method={} path={} status={} duration_ms={} sql_statements={} sql_rows={} sql_ms={}", arguments);
+        } else {
+            log.info("method={} path={} status={} duration_ms={} sql_statements={} sql_rows={} sql_ms={}", arguments);
+        }
+    }
+}
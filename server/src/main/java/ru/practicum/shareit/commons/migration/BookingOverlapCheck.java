@@ -0,0 +1,81 @@
+package ru.practicum.shareit.commons.migration;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+/**
+ * Проверка существующих данных перед миграцией V5 (ограничение ex_bookings_item_period, PostgreSQL). Ограничение
+ * EXCLUDE не создается, если в таблице уже есть пересекающиеся подтвержденные бронирования одной вещи. Какое из
+ * бронирований отменить, решает человек, поэтому данные не изменяются: миграция прерывается с перечнем пар
+ * идентификаторов пересекающихся бронирований, после исправления данных миграция повторяется при запуске сервиса
+ */
+@Component
+public class BookingOverlapCheck implements Callback {
+
+    /**
+     * Наибольшее число пар бронирований в сообщении об ошибке
+     */
+    static final int MAX_REPORTED_PAIRS = 100;
+
+    private static final MigrationVersion OVERLAP_CONSTRAINT_VERSION = MigrationVersion.fromVersion("5");
+
+    // Периоды бронирований полуоткрытые, как tsrange(start_date, end_date) в ограничении
+    private static final String FIND_OVERLAPPING = """
+            SELECT o.id, b.id
+              FROM bookings o
+              JOIN bookings b ON b.item_id = o.item_id AND b.id > o.id
+             WHERE o.status = 'APPROVED'
+               AND b.status = 'APPROVED'
+               AND o.start_date < b.end_date
+               AND b.start_date < o.end_date
+             ORDER BY o.id, b.id
+             FETCH FIRST %d ROWS ONLY
+            """.formatted(MAX_REPORTED_PAIRS + 1);
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        return event == Event.BEFORE_EACH_MIGRATE && context.getMigrationInfo() != null
+                && OVERLAP_CONSTRAINT_VERSION.equals(context.getMigrationInfo().getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> pairs = new ArrayList<>();
+        try (Statement statement = context.getConnection().createStatement();
+             ResultSet resultSet = statement.executeQuery(FIND_OVERLAPPING)) {
+            while (resultSet.next()) {
+                pairs.add(resultSet.getLong(1) + " и " + resultSet.getLong(2));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось проверить пересечение подтвержденных бронирований", e);
+        }
+
+        if (pairs.isEmpty()) {
+            return;
+        }
+        boolean truncated = pairs.size() > MAX_REPORTED_PAIRS;
+        throw new IllegalStateException("Ограничение ex_bookings_item_period не может быть создано: пересекаются "
+                + "подтвержденные бронирования с id " + String.join(", ", pairs.subList(0,
+                Math.min(pairs.size(), MAX_REPORTED_PAIRS)))
+                + (truncated ? " и другие" : "")
+                + ". Отклоните или измените одно бронирование из каждой пары и перезапустите сервис");
+    }
+
+    @Override
+    public String getCallbackName() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.commons.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
+
+/**
+ * Курсор постраничной выборки по ключу сортировки. Хранит ключ последнего возвращенного элемента: дату, по которой
+ * упорядочена выборка (если упорядочена по дате), и идентификатор. Клиент получает курсор в заголовке
+ * {@value #NEXT_CURSOR_HEADER} в виде непрозрачной строки и передает его в параметре after следующего запроса.
+ * <p>
+ * В отличие от from, курсор не требует пропуска предыдущих строк и подсчета общего количества: следующая страница
+ * выбирается условием по ключу сортировки.
+ *
+ * @param date дата последнего возвращенного элемента или null
+ * @param id идентификатор последнего возвращенного элемента
+ */
+public record PageCursor(LocalDateTime date, Long id) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    /**
+     * Заголовок с общим количеством элементов выборки. Передается только по запросу клиента (withTotal=true), так как
+     * требует отдельного запроса COUNT к базе данных
+     */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    private static final String SEPARATOR = "|";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static PageCursor of(Long id) {
+        return new PageCursor(null, id);
+    }
+
+    public static PageCursor of(LocalDateTime date, Long id) {
+        return new PageCursor(date, id);
+    }
+
+    /**
+     * Метод преобразует курсор в строку для передачи клиенту
+     *
+     * @return закодированный курсор
+     */
+    public String encode() {
+        String value = date == null ? String.valueOf(id) : date + SEPARATOR + id;
+        return ENCODER.encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Метод восстанавливает курсор из переданной клиентом строки
+     *
+     * @param token закодированный курсор
+     * @param withDate признак выборки, упорядоченной по дате
+     * @return {@link PageCursor}
+     */
+    public static PageCursor decode(String token, boolean withDate) {
+        try {
+            String value = new String(DECODER.decode(token), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+
+            if (withDate != separator >= 0) {
+                throw new IncorrectDataException("Курсор " + token + " не относится к запрошенной выборке");
+            }
+
+            return withDate
+                    ? of(LocalDateTime.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)))
+                    : of(Long.valueOf(value));
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new IncorrectDataException("Некорректное значение курсора: " + token);
+        }
+    }
+
+    /**
+     * Метод формирует заголовки ответа с курсором следующей страницы. Курсор передается, только если за страницей есть
+     * еще элементы выборки: выборка запрашивает на один элемент больше размера страницы и возвращает признак
+     * {@link Slice#hasNext()}, поэтому курсор полностью заполненной последней страницы не ведет на пустую страницу
+     *
+     * @param page возвращаемая страница
+     * @param keyExtractor функция получения ключа сортировки элемента
+     * @param <T> тип элементов страницы
+     * @return заголовки ответа
+     */
+    public static <T> HttpHeaders nextPageHeaders(Slice<T> page, Function<T, PageCursor> keyExtractor) {
+        HttpHeaders headers = new HttpHeaders();
+
+        if (page.hasContent() && page.hasNext()) {
+            headers.set(NEXT_CURSOR_HEADER, keyExtractor.apply(page.getContent().getLast()).encode());
+        }
+
+        return headers;
+    }
+}
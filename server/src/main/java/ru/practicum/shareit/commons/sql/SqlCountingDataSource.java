@@ -0,0 +1,151 @@
+package ru.practicum.shareit.commons.sql;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Источник данных, учитывающий в {@link SqlStatistics} каждый выполненный запрос, время его выполнения и количество
+ * прочитанных или измененных строк. Соединения, запросы и результаты пула оборачиваются в динамические прокси, вызовы
+ * передаются исходным объектам без изменений
+ */
+public class SqlCountingDataSource extends DelegatingDataSource {
+
+    public SqlCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    private static <T> T proxy(Class<T> type, TargetHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlCountingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                handler));
+    }
+
+    private static Statement proxyStatement(Statement statement) {
+        StatementHandler handler = new StatementHandler(statement);
+
+        if (statement instanceof CallableStatement) {
+            return proxy(CallableStatement.class, handler);
+        }
+        if (statement instanceof PreparedStatement) {
+            return proxy(PreparedStatement.class, handler);
+        }
+        return proxy(Statement.class, handler);
+    }
+
+    /**
+     * Базовый обработчик прокси: сравнивает прокси по ссылке и передает остальные вызовы исходному объекту
+     */
+    private abstract static class TargetHandler implements InvocationHandler {
+
+        private final Object target;
+
+        TargetHandler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> handle(method, args);
+            };
+        }
+
+        Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        abstract Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private static final class ConnectionHandler extends TargetHandler {
+
+        ConnectionHandler(Connection target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(method, args);
+            return result instanceof Statement statement ? proxyStatement(statement) : result;
+        }
+    }
+
+    private static final class StatementHandler extends TargetHandler {
+
+        StatementHandler(Statement target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return wrapResultSet(invokeTarget(method, args));
+            }
+
+            long start = System.nanoTime();
+            Object result = invokeTarget(method, args);
+            SqlStatistics.recordStatement(System.nanoTime() - start);
+
+            SqlStatistics.recordRows(updatedRows(result));
+            return wrapResultSet(result);
+        }
+
+        private static Object wrapResultSet(Object result) {
+            return result instanceof ResultSet resultSet
+                    ? proxy(ResultSet.class, new ResultSetHandler(resultSet))
+                    : result;
+        }
+
+        private static long updatedRows(Object result) {
+            return switch (result) {
+                case Integer count -> Math.max(count, 0);
+                case Long count -> Math.max(count, 0);
+                case int[] counts -> Arrays.stream(counts).filter(count -> count > 0).asLongStream().sum();
+                case long[] counts -> Arrays.stream(counts).filter(count -> count > 0).sum();
+                case null, default -> 0;
+            };
+        }
+    }
+
+    private static final class ResultSetHandler extends TargetHandler {
+
+        ResultSetHandler(ResultSet target) {
+            super(target);
+        }
+
+        @Override
+        Object handle(Method method, Object[] args) throws Throwable {
+            Object result = invokeTarget(method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                SqlStatistics.recordRows(1);
+            }
+            return result;
+        }
+    }
+}
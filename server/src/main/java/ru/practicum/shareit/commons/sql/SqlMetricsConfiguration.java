@@ -0,0 +1,42 @@
+package ru.practicum.shareit.commons.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Подключение подсчета SQL-запросов: источник данных оборачивается в {@link SqlCountingDataSource}, а обработка
+ * HTTP-запросов - в {@link SqlMetricsInterceptor}, если в контексте есть реестр метрик. Отключается свойством
+ * shareit.sql-metrics.enabled=false
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit.sql-metrics.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SqlMetricsConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Bean
+    public static BeanPostProcessor sqlCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource && !(bean instanceof SqlCountingDataSource)
+                        ? new SqlCountingDataSource(dataSource)
+                        : bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(meters -> registry.addInterceptor(new SqlMetricsInterceptor(meters)));
+    }
+}
@@ -0,0 +1,73 @@
+package ru.practicum.shareit.commons.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Подсчет SQL-запросов, выполненных при обработке HTTP-запроса. Перед вызовом метода контроллера открывается область
+ * подсчета {@link SqlStatistics}, после завершения обработки ее значения публикуются в метриках:
+ * <ul>
+ *     <li>shareit.sql.statements - количество SQL-запросов</li>
+ *     <li>shareit.sql.rows - количество прочитанных и измененных строк</li>
+ *     <li>shareit.sql.time - суммарное время выполнения SQL-запросов</li>
+ * </ul>
+ * Метрики размечаются тегами controller и method по обработавшему запрос методу контроллера
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class SqlMetricsInterceptor implements HandlerInterceptor {
+
+    private static final String STATISTICS_ATTRIBUTE = SqlMetricsInterceptor.class.getName() + ".statistics";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(STATISTICS_ATTRIBUTE, SqlStatistics.open());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(STATISTICS_ATTRIBUTE) instanceof SqlStatistics statistics)
+                || !(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        statistics.close();
+        request.removeAttribute(STATISTICS_ATTRIBUTE);
+
+        Tags tags = Tags.of(
+                "controller", handlerMethod.getBeanType().getSimpleName(),
+                "method", handlerMethod.getMethod().getName());
+
+        DistributionSummary.builder("shareit.sql.statements")
+                .baseUnit("statements")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("shareit.sql.rows")
+                .baseUnit("rows")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        Timer.builder("shareit.sql.time")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+
+        log.debug("Выполнено SQL-запросов: {}, строк: {}, время выполнения: {} мс", statistics.getStatements(),
+                statistics.getRows(), TimeUnit.NANOSECONDS.toMillis(statistics.getNanos()));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.commons.sql;
+
+/**
+ * Счетчики SQL-запросов, выполненных в текущем потоке: количество запросов, прочитанных или измененных строк и время
+ * выполнения. Значения накапливает {@link SqlCountingDataSource}, пока в потоке открыта область подсчета.
+ * <p>
+ * Области могут быть вложенными: при закрытии вложенная область добавляет свои значения к внешней. Вне открытой
+ * области запросы не учитываются
+ */
+public final class SqlStatistics implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatistics parent;
+
+    private long statements;
+    private long rows;
+    private long nanos;
+
+    private SqlStatistics(SqlStatistics parent) {
+        this.parent = parent;
+    }
+
+    /**
+     * Метод открывает область подсчета в текущем потоке
+     *
+     * @return {@link SqlStatistics} открытой области
+     */
+    public static SqlStatistics open() {
+        SqlStatistics statistics = new SqlStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    static void recordStatement(long elapsedNanos) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+            statistics.nanos += elapsedNanos;
+        }
+    }
+
+    static void recordRows(long count) {
+        SqlStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.rows += count;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Метод закрывает область подсчета и возвращает поток к внешней области, если она есть
+     */
+    @Override
+    public void close() {
+        if (parent == null) {
+            CURRENT.remove();
+            return;
+        }
+
+        parent.statements += statements;
+        parent.rows += rows;
+        parent.nanos += nanos;
+        CURRENT.set(parent);
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.commons.threads;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * Точка доступа actuator /actuator/pinning со сводкой закреплений виртуальных потоков {@link PinningReport}
+ */
+@Endpoint(id = "pinning")
+@RequiredArgsConstructor
+public class PinningEndpoint {
+
+    private final VirtualThreadPinningMonitor monitor;
+
+    @ReadOperation
+    public PinningReport pinning() {
+        return monitor.report();
+    }
+}
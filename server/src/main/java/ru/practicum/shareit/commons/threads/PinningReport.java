@@ -0,0 +1,25 @@
+package ru.practicum.shareit.commons.threads;
+
+import java.util.List;
+
+/**
+ * Сводка закреплений виртуальных потоков за потоком-носителем
+ *
+ * @param thresholdMs минимальная учитываемая длительность закрепления
+ * @param total общее число закреплений
+ * @param frames закрепления, сгруппированные по первому кадру стека за пределами JDK
+ */
+public record PinningReport(long thresholdMs, long total, List<Frame> frames) {
+
+    /**
+     * Закрепления, вызванные одним методом
+     *
+     * @param frame класс и метод
+     * @param count число закреплений
+     * @param totalMs суммарная длительность закреплений
+     * @param maxMs наибольшая длительность закрепления
+     * @param stackTrace стек первого закрепления
+     */
+    public record Frame(String frame, long count, long totalMs, long maxMs, List<String> stackTrace) {
+    }
+}
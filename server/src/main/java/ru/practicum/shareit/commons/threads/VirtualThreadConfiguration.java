@@ -0,0 +1,33 @@
+package ru.practicum.shareit.commons.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Обнаружение закрепления виртуальных потоков в режиме обработки запросов в виртуальных потоках
+ * (spring.threads.virtual.enabled=true). Отключается свойством shareit.virtual-threads.pinning.enabled=false
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "shareit.virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${shareit.virtual-threads.pinning.threshold:20ms}") Duration threshold,
+            @Value("${shareit.virtual-threads.pinning.max-frames:50}") int maxFrames,
+            MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, maxFrames, meterRegistry);
+    }
+
+    @Bean
+    public PinningEndpoint pinningEndpoint(VirtualThreadPinningMonitor monitor) {
+        return new PinningEndpoint(monitor);
+    }
+}
@@ -0,0 +1,179 @@
+package ru.practicum.shareit.commons.threads;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.Closeable;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Обнаружение закрепления виртуальных потоков за потоком-носителем. Виртуальный поток, заблокированный внутри блока
+ * {@code synchronized} или нативного метода, не освобождает поток-носитель, и при длительной блокировке (например,
+ * при ожидании ответа БД в синхронизированном методе драйвера JDBC) остальные виртуальные потоки ожидают свободного
+ * носителя
+ * <p>
+ * Монитор читает события JFR {@code jdk.VirtualThreadPinned} длительностью не меньше порога в текущем процессе и
+ * группирует их по первому кадру стека за пределами JDK. Закрепления публикуются в метрике
+ * shareit.virtual-threads.pinned с тегом frame, сводка с примерами стеков возвращается методом {@link #report()}
+ * <p>
+ * В журнал с уровнем WARN выводится только первое закрепление в каждом кадре, повторные - с уровнем DEBUG: при
+ * всплеске нагрузки закрепление в драйвере JDBC происходит почти в каждом запросе, и их число и длительность
+ * отслеживаются по метрике
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements Closeable {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    static final String OTHER_FRAME = "other";
+
+    private static final int STACK_TRACE_DEPTH = 20;
+
+    private final Duration threshold;
+    private final int maxFrames;
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, PinnedFrame> frames = new ConcurrentHashMap<>();
+    private final LongAdder total = new LongAdder();
+    private RecordingStream stream;
+
+    /**
+     * @param threshold минимальная длительность закрепления, о котором сообщает JFR
+     * @param maxFrames предельное число различных кадров в сводке и значений тега frame, остальные закрепления
+     *                  учитываются в группе other
+     * @param meterRegistry реестр метрик
+     */
+    public VirtualThreadPinningMonitor(Duration threshold, int maxFrames, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.maxFrames = maxFrames;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Метод запускает чтение событий JFR в отдельном потоке
+     */
+    public void start() {
+        if (stream != null) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Обнаружение закрепления виртуальных потоков длительностью от {} мс включено", threshold.toMillis());
+    }
+
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    /**
+     * Метод возвращает сводку закреплений виртуальных потоков с момента запуска
+     *
+     * @return экземпляр {@link PinningReport}, кадры упорядочены по убыванию числа закреплений
+     */
+    public PinningReport report() {
+        List<PinningReport.Frame> snapshot = frames.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingLong(PinningReport.Frame::count).reversed())
+                .toList();
+        return new PinningReport(threshold.toMillis(), total.sum(), snapshot);
+    }
+
+    void onPinned(RecordedEvent event) {
+        long nanos = event.getDuration().toNanos();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String frame = stackTrace == null ? OTHER_FRAME : pinnedFrame(stackTrace.getFrames());
+
+        PinnedFrame pinned = frames.get(frame);
+        if (pinned == null) {
+            if (frames.size() >= maxFrames) {
+                frame = OTHER_FRAME;
+            }
+            pinned = frames.computeIfAbsent(frame, key -> new PinnedFrame(key, stackTrace));
+        }
+        pinned.record(nanos);
+        total.increment();
+
+        if (pinned.firstReported()) {
+            log.warn("Виртуальный поток закреплен за носителем {} мс в {}. Повторные закрепления в этом кадре "
+                    + "учитываются в метрике shareit.virtual-threads.pinned", Duration.ofNanos(nanos).toMillis(), frame);
+        } else {
+            log.debug("Виртуальный поток закреплен за носителем {} мс в {}", Duration.ofNanos(nanos).toMillis(), frame);
+        }
+    }
+
+    /**
+     * Метод возвращает первый кадр стека за пределами JDK - метод приложения или библиотеки, вызвавший блокировку
+     */
+    static String pinnedFrame(List<RecordedFrame> stack) {
+        for (RecordedFrame frame : stack) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName();
+            }
+        }
+        return stack.isEmpty() ? OTHER_FRAME : describe(stack.getFirst());
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":"
+                + frame.getLineNumber();
+    }
+
+    private final class PinnedFrame {
+
+        private final Timer timer;
+        private final List<String> stackTrace;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        private PinnedFrame(String frame, RecordedStackTrace stackTrace) {
+            this.timer = Timer.builder("shareit.virtual-threads.pinned")
+                    .description("Закрепление виртуальных потоков за потоком-носителем")
+                    .tag("frame", frame)
+                    .register(meterRegistry);
+            this.stackTrace = stackTrace == null || OTHER_FRAME.equals(frame)
+                    ? List.of()
+                    : stackTrace.getFrames().stream()
+                            .limit(STACK_TRACE_DEPTH)
+                            .map(VirtualThreadPinningMonitor::describe)
+                            .toList();
+        }
+
+        private void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            timer.record(Duration.ofNanos(nanos));
+        }
+
+        /**
+         * Метод возвращает true только при первом вызове: первое закрепление в кадре выводится в журнал с уровнем WARN
+         */
+        private boolean firstReported() {
+            return reported.compareAndSet(false, true);
+        }
+
+        private PinningReport.Frame snapshot(String frame) {
+            return new PinningReport.Frame(frame, count.sum(), Duration.ofNanos(totalNanos.sum()).toMillis(),
+                    Duration.ofNanos(maxNanos.get()).toMillis(), stackTrace);
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package ru.practicum.shareit.item.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,12 +21,18 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.commons.etag.EntityTag;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentShortDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
+import ru.practicum.shareit.item.dto.ItemImportEventDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.importing.ItemImportReader;
+import ru.practicum.shareit.item.importing.ItemImporter;
 import ru.practicum.shareit.item.service.ItemService;
 
 /**
@@ -33,24 +45,34 @@ import ru.practicum.shareit.item.service.ItemService;
 public class ItemController {
 
     private final ItemService itemService;
+    private final ItemImporter itemImporter;
 
     /**
      * Обработка GET-запроса к /items
      *
+     * @param after курсор последней полученной вещи
+     * @param withTotal признак передачи общего количества вещей в заголовке X-Total-Count
      * @return коллекция {@link ItemFullDto}
      */
     @GetMapping
     public ResponseEntity<Collection<ItemFullDto>> findAll(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                            @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-                                                           @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+                                                           @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+                                                           @RequestParam(name = "after", required = false) String after,
+                                                           @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.debug("Запрос вещей на уровне контроллера");
         log.debug("Запрос от пользователя с id: {}", userId);
+        log.debug("Передан курсор: {}", after);
 
-        Collection<ItemFullDto> result = itemService.findAllByOwner(userId, from, size);
-        log.debug("На уровень контроллера вернулась коллекция размером {}", result.size());
+        Slice<ItemFullDto> result = itemService.findAllByOwner(userId, from, size, after);
+        log.debug("На уровень контроллера вернулась коллекция размером {}", result.getNumberOfElements());
 
         log.debug("Возврат результатов поиска на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        HttpHeaders headers = PageCursor.nextPageHeaders(result, dto -> PageCursor.of(dto.getId()));
+        if (withTotal) {
+            headers.set(PageCursor.TOTAL_COUNT_HEADER, String.valueOf(itemService.countAllByOwner(userId)));
+        }
+        return new ResponseEntity<>(result.getContent(), headers, HttpStatus.OK);
     }
 
     /**
@@ -75,19 +97,31 @@ public class ItemController {
      * Обработка GET-запроса к /items/{id}
      *
      * @param itemId идентификатор вещи
-     * @return экземпляр класса {@link ItemShortDto}
+     * @param request запрос с заголовком If-None-Match
+     * @return экземпляр класса {@link ItemShortDto} с заголовком ETag или ответ 304, если вещь не изменилась.
+     * Владельцу вещи ETag не передается: последнее и следующее бронирования зависят от текущего времени, поэтому
+     * ответ передается с Cache-Control: private, no-store
      */
     @GetMapping("/{id}")
     public ResponseEntity<ItemFullDto> findById(@RequestHeader("X-Sharer-User-Id") Long ownerId,
-                                                @PathVariable(name = "id") Long itemId) {
+                                                @PathVariable(name = "id") Long itemId,
+                                                WebRequest request) {
         log.debug("Поиск вещи по идентификатору на уровне контроллера");
         log.debug("Передан id вещи: {}", itemId);
 
+        // Проверка выполняется до формирования вещи: бронирования, комментарии и вещи запроса не загружаются
+        String eTag = itemService.getEntityTag(itemId, ownerId);
+        HttpHeaders headers = EntityTag.headers(eTag);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            log.debug("Вещь не изменилась, возврат ответа 304 на уровень клиента");
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
         ItemFullDto result = itemService.findById(itemId, ownerId);
         log.debug("На уровень контроллера вернулся экземпляр с id {}", result.getId());
 
         log.debug("Возврат результатов поиска по идентификатору на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        return new ResponseEntity<>(result, headers, HttpStatus.OK);
     }
 
     /**
@@ -109,6 +143,25 @@ public class ItemController {
         return new ResponseEntity<>(result, HttpStatus.CREATED);
     }
 
+    /**
+     * Обработка POST-запроса к /items/import. Тело запроса в формате NDJSON или CSV читается построчно, вещи
+     * сохраняются частями по мере чтения
+     *
+     * @param request запрос с телом в формате application/x-ndjson или text/csv
+     * @param response ответ, в который в формате NDJSON передаются события {@link ItemImportEventDto}
+     */
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, ItemImportReader.TEXT_CSV_VALUE})
+    public void importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                            HttpServletRequest request,
+                            HttpServletResponse response) throws IOException {
+        log.debug("Импорт вещей на уровне контроллера");
+        log.debug("Импорт вещей от пользователя с id: {}", userId);
+
+        itemImporter.importItems(userId, MediaType.parseMediaType(request.getContentType()), request.getInputStream(),
+                response);
+        log.debug("Импорт вещей завершен на уровне контроллера");
+    }
+
     /**
      * Обработка POST-запроса к /items/{itemId}/comment
      *
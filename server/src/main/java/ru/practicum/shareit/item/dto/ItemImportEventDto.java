@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Событие импорта вещей, передаваемое клиенту отдельной строкой ответа в формате NDJSON.
+ */
+@Data
+@Builder
+public class ItemImportEventDto {
+
+    /**
+     * Тип события
+     */
+    private Type type;
+
+    /**
+     * Номер строки тела запроса, начиная с 1, для события {@link Type#ERROR}
+     */
+    private Integer line;
+
+    /**
+     * HTTP-статус, который вернул бы запрос на создание вещи из этой строки, для события {@link Type#ERROR}
+     */
+    private Integer status;
+
+    /**
+     * Текст ошибки для события {@link Type#ERROR}
+     */
+    private String error;
+
+    /**
+     * Количество обработанных строк с начала импорта
+     */
+    private Integer processed;
+
+    /**
+     * Количество созданных вещей с начала импорта
+     */
+    private Integer created;
+
+    /**
+     * Количество строк с ошибками с начала импорта
+     */
+    private Integer failed;
+
+    public enum Type {
+
+        /**
+         * Строка не прошла проверку, вещь не создана
+         */
+        ERROR,
+
+        /**
+         * Часть строк сохранена в отдельной транзакции
+         */
+        PROGRESS,
+
+        /**
+         * Тело запроса прочитано полностью
+         */
+        COMPLETED
+    }
+
+    public static ItemImportEventDto error(int line, int status, String error) {
+        return ItemImportEventDto.builder().type(Type.ERROR).line(line).status(status).error(error).build();
+    }
+
+    public static ItemImportEventDto progress(Type type, int processed, int failed) {
+        return ItemImportEventDto.builder().type(type).processed(processed).created(processed - failed)
+                .failed(failed).build();
+    }
+}
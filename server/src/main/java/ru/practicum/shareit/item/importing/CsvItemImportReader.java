@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.importing;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+/**
+ * Чтение вещей в формате CSV. Первая непустая строка содержит названия столбцов: name, description, available и
+ * requestId в любом порядке. Значения, содержащие запятые и кавычки, заключаются в кавычки, кавычка внутри значения
+ * удваивается. Значение не может содержать перевод строки
+ */
+class CsvItemImportReader extends ItemImportReader {
+
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String REQUEST_ID = "requestid";
+
+    private List<String> columns;
+
+    CsvItemImportReader(InputStream body, Charset charset) {
+        super(body, charset);
+    }
+
+    @Override
+    protected ItemImportLine parse(int number, String line) {
+        List<String> values = split(line);
+
+        if (columns == null) {
+            if (values == null) {
+                throw new IncorrectDataException("Заголовок CSV содержит незакрытую кавычку");
+            }
+            columns = values.stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+            for (String column : columns) {
+                if (!List.of(NAME, DESCRIPTION, AVAILABLE, REQUEST_ID).contains(column)) {
+                    throw new IncorrectDataException("Заголовок CSV содержит неизвестный столбец " + column);
+                }
+            }
+            return null;
+        }
+
+        if (values == null) {
+            return ItemImportLine.failed(number, "Строка содержит незакрытую кавычку");
+        }
+        if (values.size() != columns.size()) {
+            return ItemImportLine.failed(number, "Количество значений " + values.size()
+                    + " не совпадает с количеством столбцов " + columns.size());
+        }
+
+        ItemCreateDto dto = new ItemCreateDto();
+        for (int i = 0; i < columns.size(); i++) {
+            String value = values.get(i);
+            switch (columns.get(i)) {
+                case NAME -> dto.setName(value);
+                case DESCRIPTION -> dto.setDescription(value);
+                case AVAILABLE -> {
+                    if (value.isBlank()) {
+                        dto.setAvailable(null);
+                    } else if ("true".equalsIgnoreCase(value.trim()) || "false".equalsIgnoreCase(value.trim())) {
+                        dto.setAvailable(Boolean.parseBoolean(value.trim()));
+                    } else {
+                        return ItemImportLine.failed(number, "Признак доступности должен быть равен true или false");
+                    }
+                }
+                default -> {
+                    try {
+                        dto.setRequestId(value.isBlank() ? null : Long.valueOf(value.trim()));
+                    } catch (NumberFormatException e) {
+                        return ItemImportLine.failed(number, "Идентификатор запроса " + value + " не является числом");
+                    }
+                }
+            }
+        }
+        return ItemImportLine.of(number, dto);
+    }
+
+    /**
+     * Метод разбивает строку CSV на значения
+     *
+     * @param line строка
+     * @return значения или null, если строка содержит незакрытую кавычку
+     */
+    private static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+
+        int position = 0;
+        while (position < line.length()) {
+            char c = line.charAt(position);
+            if (quoted && c == '"' && position + 1 < line.length() && line.charAt(position + 1) == '"') {
+                value.append('"');
+                position++;
+            } else if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+            position++;
+        }
+
+        if (quoted) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
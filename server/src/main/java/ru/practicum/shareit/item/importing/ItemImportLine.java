@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.importing;
+
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+/**
+ * Прочитанная строка тела запроса импорта вещей
+ *
+ * @param number номер строки тела запроса, начиная с 1
+ * @param dto вещь, если строка разобрана, или null
+ * @param error текст ошибки разбора строки или null
+ */
+public record ItemImportLine(int number, ItemCreateDto dto, String error) {
+
+    public static ItemImportLine of(int number, ItemCreateDto dto) {
+        return new ItemImportLine(number, dto, null);
+    }
+
+    public static ItemImportLine failed(int number, String error) {
+        return new ItemImportLine(number, null, error);
+    }
+}
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
+
+/**
+ * Построчное чтение вещей из тела запроса импорта. Тело читается по мере разбора строк и не сохраняется в памяти
+ * целиком. Пустые строки пропускаются
+ */
+public abstract class ItemImportReader implements Closeable {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+
+    private final BufferedReader reader;
+    private int lineNumber;
+
+    protected ItemImportReader(InputStream body, Charset charset) {
+        this.reader = new BufferedReader(new InputStreamReader(body, charset));
+    }
+
+    /**
+     * Метод возвращает средство чтения для формата тела запроса
+     *
+     * @param contentType тип содержимого тела запроса: application/x-ndjson или text/csv
+     * @param body тело запроса
+     * @param objectMapper преобразователь строк NDJSON
+     * @return экземпляр {@link ItemImportReader}
+     */
+    public static ItemImportReader of(MediaType contentType, InputStream body, ObjectMapper objectMapper) {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            return new NdjsonItemImportReader(body, charset, objectMapper);
+        }
+        if (TEXT_CSV.isCompatibleWith(contentType)) {
+            return new CsvItemImportReader(body, charset);
+        }
+        throw new IncorrectDataException("Формат " + contentType + " не поддерживается при импорте вещей");
+    }
+
+    /**
+     * Метод читает следующую непустую строку тела запроса
+     *
+     * @return экземпляр {@link ItemImportLine} или null, если тело запроса прочитано полностью
+     * @throws IOException при ошибке чтения тела запроса
+     */
+    public ItemImportLine next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (!line.isBlank()) {
+                ItemImportLine result = parse(lineNumber, line);
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Метод разбирает непустую строку тела запроса
+     *
+     * @param number номер строки, начиная с 1
+     * @param line строка
+     * @return экземпляр {@link ItemImportLine} или null, если строка не описывает вещь
+     */
+    protected abstract ItemImportLine parse(int number, String line);
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
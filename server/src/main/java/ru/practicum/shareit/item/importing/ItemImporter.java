@@ -0,0 +1,103 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemImportEventDto;
+import ru.practicum.shareit.item.service.ItemService;
+
+/**
+ * Потоковый импорт вещей. Строки тела запроса читаются частями по shareit.items.import.chunk-size строк, каждая
+ * часть сохраняется в отдельной транзакции. После сохранения части клиенту передаются ошибки ее строк и событие
+ * о ходе импорта, поэтому ни тело запроса, ни ответ не накапливаются в памяти
+ * <p>
+ * Ответ начинает передаваться только после сохранения первой части: если пользователь не найден или формат тела
+ * запроса не поддерживается, клиент получает обычный ответ с ошибкой
+ */
+@Component
+@Slf4j
+public class ItemImporter {
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    private final ItemService itemService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public ItemImporter(ItemService itemService, ObjectMapper objectMapper,
+                        @Value("${shareit.items.import.chunk-size:500}") int chunkSize) {
+        this.itemService = itemService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Метод импортирует вещи из тела запроса и передает события импорта в ответ в формате NDJSON
+     *
+     * @param userId идентификатор владельца вещей
+     * @param contentType тип содержимого тела запроса
+     * @param body тело запроса
+     * @param response ответ
+     * @throws IOException при ошибке чтения запроса или записи ответа
+     */
+    public void importItems(Long userId, MediaType contentType, InputStream body, HttpServletResponse response)
+            throws IOException {
+        log.debug("Импорт вещей пользователя с id {} в формате {}", userId, contentType);
+
+        int processed = 0;
+        int failed = 0;
+        try (ItemImportReader reader = ItemImportReader.of(contentType, body, objectMapper)) {
+            List<ItemImportLine> chunk;
+            do {
+                chunk = readChunk(reader);
+                List<ItemImportEventDto> errors = itemService.importChunk(userId, chunk);
+                processed += chunk.size();
+                failed += errors.size();
+                log.debug("Сохранена часть импорта: обработано строк {}, ошибок {}", processed, failed);
+
+                List<ItemImportEventDto> events = new ArrayList<>(errors);
+                if (!chunk.isEmpty()) {
+                    events.add(ItemImportEventDto.progress(ItemImportEventDto.Type.PROGRESS, processed, failed));
+                }
+                write(response, events);
+            } while (chunk.size() == chunkSize);
+        }
+
+        write(response, List.of(ItemImportEventDto.progress(ItemImportEventDto.Type.COMPLETED, processed, failed)));
+        log.debug("Импорт вещей завершен: обработано строк {}, ошибок {}", processed, failed);
+    }
+
+    private List<ItemImportLine> readChunk(ItemImportReader reader) throws IOException {
+        List<ItemImportLine> chunk = new ArrayList<>(chunkSize);
+        ItemImportLine line;
+        while (chunk.size() < chunkSize && (line = reader.next()) != null) {
+            chunk.add(line);
+        }
+        return chunk;
+    }
+
+    private void write(HttpServletResponse response, List<ItemImportEventDto> events) throws IOException {
+        if (!response.isCommitted()) {
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+
+        ServletOutputStream output = response.getOutputStream();
+        for (ItemImportEventDto event : events) {
+            output.write(objectMapper.writeValueAsBytes(event));
+            output.write(LINE_SEPARATOR);
+        }
+        response.flushBuffer();
+    }
+}
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+/**
+ * Чтение вещей в формате NDJSON: каждая строка содержит JSON-объект с полями {@link ItemCreateDto}
+ */
+class NdjsonItemImportReader extends ItemImportReader {
+
+    private final ObjectMapper objectMapper;
+
+    NdjsonItemImportReader(InputStream body, Charset charset, ObjectMapper objectMapper) {
+        super(body, charset);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected ItemImportLine parse(int number, String line) {
+        try {
+            ItemCreateDto dto = objectMapper.readValue(line, ItemCreateDto.class);
+            if (dto == null) {
+                return ItemImportLine.failed(number, "Строка не содержит описания вещи");
+            }
+            return ItemImportLine.of(number, dto);
+        } catch (JsonProcessingException e) {
+            return ItemImportLine.failed(number, "Строка не является JSON-объектом вещи: " + e.getOriginalMessage());
+        }
+    }
+}
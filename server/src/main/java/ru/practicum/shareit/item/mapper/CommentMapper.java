@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.mapper;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentShortDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.projection.CommentProjection;
 
 public interface CommentMapper {
 
@@ -20,4 +21,11 @@ public interface CommentMapper {
      * @return экземпляр класса {@link CommentShortDto}
      */
     CommentShortDto mapToShortDto(Comment comment);
+
+    /**
+     * Метод преобразует {@link CommentProjection} в {@link CommentShortDto}
+     * @param projection проекция {@link CommentProjection}
+     * @return экземпляр класса {@link CommentShortDto}
+     */
+    CommentShortDto mapToShortDto(CommentProjection projection);
 }
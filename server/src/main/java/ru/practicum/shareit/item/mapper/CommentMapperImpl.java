@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentShortDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.projection.CommentProjection;
 
 @Service
 @Slf4j
@@ -13,8 +14,10 @@ public class CommentMapperImpl implements CommentMapper {
 
     @Override
     public Comment mapToComment(CommentCreateDto dto) {
-        log.debug("Преобразование данных из модели {} в модель {} для сохранения", CommentCreateDto.class,
-                Comment.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в модель {} для сохранения", CommentCreateDto.class,
+                    Comment.class);
+        }
         return Comment.builder()
                 .text(dto.getText())
                 .created(LocalDateTime.now())
@@ -23,7 +26,9 @@ public class CommentMapperImpl implements CommentMapper {
 
     @Override
     public CommentShortDto mapToShortDto(Comment comment) {
-        log.debug("Преобразование данных из модели {} в краткую модель {}", Comment.class, CommentShortDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в краткую модель {}", Comment.class, CommentShortDto.class);
+        }
         return CommentShortDto.builder()
                 .id(comment.getEntityId())
                 .text(comment.getText())
@@ -31,4 +36,18 @@ public class CommentMapperImpl implements CommentMapper {
                 .created(comment.getCreated())
                 .build();
     }
+
+    @Override
+    public CommentShortDto mapToShortDto(CommentProjection projection) {
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из проекции {} в краткую модель {}", CommentProjection.class,
+                    CommentShortDto.class);
+        }
+        return CommentShortDto.builder()
+                .id(projection.getId())
+                .text(projection.getText())
+                .authorName(projection.getAuthorName())
+                .created(projection.getCreated())
+                .build();
+    }
 }
@@ -5,6 +5,7 @@ import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
 
 public interface ItemMapper {
 
@@ -24,6 +25,15 @@ public interface ItemMapper {
      */
     ItemShortDto mapToShortDto(Item item);
 
+    /**
+     * Метод преобразует проекцию {@link ItemProjection} в {@link ItemShortDto} вместе с владельцем и связанным
+     * запросом
+     *
+     * @param projection проекция {@link ItemProjection}
+     * @return преобразованный экземпляр класса {@link ItemShortDto}
+     */
+    ItemShortDto mapToShortDto(ItemProjection projection);
+
     /**
      * Метод преобразует модель класса {@link Item} в {@link ItemFullDto}
      *
@@ -32,6 +42,15 @@ public interface ItemMapper {
      */
     ItemFullDto mapToFullDto(Item item);
 
+    /**
+     * Метод преобразует проекцию {@link ItemProjection} в {@link ItemFullDto} вместе с владельцем и связанным
+     * запросом. Бронирования, комментарии и вещи запроса не заполняются
+     *
+     * @param projection проекция {@link ItemProjection}
+     * @return преобразованный экземпляр класса {@link ItemFullDto}
+     */
+    ItemFullDto mapToFullDto(ItemProjection projection);
+
     /**
      * Метод дополняет поля класса {@link Item}, если они заполнены в экземпляре класса {@link ItemUpdateDto}
      *
@@ -7,6 +7,10 @@ import ru.practicum.shareit.item.dto.ItemFullDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.request.dto.ItemRequestFullDto;
+import ru.practicum.shareit.request.dto.ItemRequestShortDto;
+import ru.practicum.shareit.user.dto.UserDto;
 
 @Service
 @Slf4j
@@ -14,8 +18,10 @@ public class ItemMapperImpl implements ItemMapper {
 
     @Override
     public Item mapToItem(ItemCreateDto dto) {
-        log.debug("Преобразование данных из модели {} в модель {} для сохранения", ItemCreateDto.class,
-                Item.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в модель {} для сохранения", ItemCreateDto.class,
+                    Item.class);
+        }
         return Item.builder()
                 .name(dto.getName())
                 .description(dto.getDescription())
@@ -25,8 +31,10 @@ public class ItemMapperImpl implements ItemMapper {
 
     @Override
     public ItemShortDto mapToShortDto(Item item) {
-        log.debug("Преобразование данных из модели {} в краткую модель {}", Item.class,
-                ItemShortDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в краткую модель {}", Item.class,
+                    ItemShortDto.class);
+        }
         return ItemShortDto.builder()
                 .id(item.getEntityId())
                 .name(item.getName())
@@ -35,10 +43,35 @@ public class ItemMapperImpl implements ItemMapper {
                 .build();
     }
 
+    @Override
+    public ItemShortDto mapToShortDto(ItemProjection projection) {
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из проекции {} в краткую модель {}", ItemProjection.class,
+                    ItemShortDto.class);
+        }
+        ItemRequestShortDto request = projection.getRequestId() == null ? null : ItemRequestShortDto.builder()
+                .id(projection.getRequestId())
+                .description(projection.getRequestDescription())
+                .created(projection.getRequestCreated())
+                .requestor(mapRequestor(projection))
+                .build();
+
+        return ItemShortDto.builder()
+                .id(projection.getId())
+                .name(projection.getName())
+                .description(projection.getDescription())
+                .available(projection.getAvailable())
+                .sharer(mapSharer(projection))
+                .request(request)
+                .build();
+    }
+
     @Override
     public ItemFullDto mapToFullDto(Item item) {
-        log.debug("Преобразование данных из модели {} в полную модель {}", Item.class,
-                ItemFullDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в полную модель {}", Item.class,
+                    ItemFullDto.class);
+        }
         return ItemFullDto.builder()
                 .id(item.getEntityId())
                 .name(item.getName())
@@ -47,24 +80,65 @@ public class ItemMapperImpl implements ItemMapper {
                 .build();
     }
 
+    @Override
+    public ItemFullDto mapToFullDto(ItemProjection projection) {
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из проекции {} в полную модель {}", ItemProjection.class,
+                    ItemFullDto.class);
+        }
+        ItemRequestFullDto request = projection.getRequestId() == null ? null : ItemRequestFullDto.builder()
+                .id(projection.getRequestId())
+                .description(projection.getRequestDescription())
+                .created(projection.getRequestCreated())
+                .requestor(mapRequestor(projection))
+                .build();
+
+        return ItemFullDto.builder()
+                .id(projection.getId())
+                .name(projection.getName())
+                .description(projection.getDescription())
+                .available(projection.getAvailable())
+                .sharer(mapSharer(projection))
+                .request(request)
+                .build();
+    }
+
     @Override
     public void updateItemFields(ItemUpdateDto dto, Item item) {
-        log.debug("Изменение полей в экземпляре класса {} на основе данных из экземпляра класса {}", Item.class,
-                ItemUpdateDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Изменение полей в экземпляре класса {} на основе данных из экземпляра класса {}", Item.class,
+                    ItemUpdateDto.class);
+        }
         if (dto.hasName()) {
-            log.debug("Будет изменено наименование");
+            log.trace("Будет изменено наименование");
             item.setName(dto.getName());
         }
 
         if (dto.hasDescription()) {
-            log.debug("Будет изменено описание");
+            log.trace("Будет изменено описание");
             item.setDescription(dto.getDescription());
         }
 
         if (dto.hasAvailable()) {
-            log.debug("Будет изменен признак доступности");
+            log.trace("Будет изменен признак доступности");
             item.setAvailable(dto.getAvailable());
         }
 
     }
+
+    private UserDto mapSharer(ItemProjection projection) {
+        return UserDto.builder()
+                .id(projection.getSharerId())
+                .name(projection.getSharerName())
+                .email(projection.getSharerEmail())
+                .build();
+    }
+
+    private UserDto mapRequestor(ItemProjection projection) {
+        return UserDto.builder()
+                .id(projection.getRequestorId())
+                .name(projection.getRequestorName())
+                .email(projection.getRequestorEmail())
+                .build();
+    }
 }
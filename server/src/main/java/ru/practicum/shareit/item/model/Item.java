@@ -2,12 +2,15 @@ package ru.practicum.shareit.item.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -15,6 +18,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.commons.cache.EntityCacheConfiguration;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
@@ -23,6 +29,7 @@ import ru.practicum.shareit.user.model.User;
  */
 @Table(name = "items")
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfiguration.ITEMS_REGION)
 @Builder
 @EqualsAndHashCode(of = "entityId")
 @Getter
@@ -36,14 +43,16 @@ public class Item {
      * Идентификатор сущности
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long entityId;
 
     /**
      * Идентификатор владельца
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "owner_id", referencedColumnName = "id")
     private User sharer;
 
@@ -68,7 +77,15 @@ public class Item {
     /**
      * Идентификатор запроса
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "request_id", referencedColumnName = "id")
     private ItemRequest request;
+
+    /**
+     * Версия записи, увеличивается при каждом изменении
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сведения о комментарии для чтения.
+ */
+public interface CommentProjection {
+
+    /**
+     * Идентификатор комментария
+     */
+    Long getId();
+
+    /**
+     * Идентификатор комментируемой вещи
+     */
+    Long getItemId();
+
+    /**
+     * Содержимое комментария
+     */
+    String getText();
+
+    /**
+     * Имя автора комментария
+     */
+    String getAuthorName();
+
+    /**
+     * Дата создания комментария
+     */
+    LocalDateTime getCreated();
+}
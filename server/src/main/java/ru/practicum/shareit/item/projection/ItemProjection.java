@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сведения о вещи для чтения: поля вещи, её владельца и связанного запроса с автором, выбранные одним запросом без
+ * загрузки сущностей. Поля запроса и его автора пусты, если вещь не связана с запросом.
+ */
+public interface ItemProjection {
+
+    /**
+     * Идентификатор вещи
+     */
+    Long getId();
+
+    /**
+     * Краткое наименование
+     */
+    String getName();
+
+    /**
+     * Краткое описание
+     */
+    String getDescription();
+
+    /**
+     * Признак доступности
+     */
+    Boolean getAvailable();
+
+    /**
+     * Идентификатор владельца
+     */
+    Long getSharerId();
+
+    /**
+     * Имя владельца
+     */
+    String getSharerName();
+
+    /**
+     * Почтовый адрес владельца
+     */
+    String getSharerEmail();
+
+    /**
+     * Идентификатор запроса
+     */
+    Long getRequestId();
+
+    /**
+     * Описание запроса
+     */
+    String getRequestDescription();
+
+    /**
+     * Дата создания запроса
+     */
+    LocalDateTime getRequestCreated();
+
+    /**
+     * Идентификатор автора запроса
+     */
+    Long getRequestorId();
+
+    /**
+     * Имя автора запроса
+     */
+    String getRequestorName();
+
+    /**
+     * Почтовый адрес автора запроса
+     */
+    String getRequestorEmail();
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.projection;
+
+/**
+ * Текстовые поля вещи, по которым строится поисковый индекс.
+ */
+public interface ItemSearchProjection {
+
+    /**
+     * Идентификатор вещи
+     */
+    Long getId();
+
+    /**
+     * Краткое наименование
+     */
+    String getName();
+
+    /**
+     * Краткое описание
+     */
+    String getDescription();
+}
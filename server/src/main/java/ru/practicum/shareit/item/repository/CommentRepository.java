@@ -3,17 +3,25 @@ package ru.practicum.shareit.item.repository;
 import java.util.Collection;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.CommentProjection;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
     /**
-     * Метод возвращает коллекцию {@link Comment}, связанных с {@link Item}
+     * Метод возвращает коллекцию комментариев, связанных с любой из переданных {@link Item}
      *
-     * @param itemId идентификатор вещи
+     * @param itemIds коллекция идентификаторов вещей
      * @param sort порядок сортировки
-     * @return коллекция {@link Comment}
+     * @return коллекция {@link CommentProjection}
      */
-    Collection<Comment> findAllByItemEntityId(Long itemId, Sort sort);
+    @Query("SELECT c.entityId AS id, c.item.entityId AS itemId, c.text AS text, a.name AS authorName, "
+            + "c.created AS created "
+            + "FROM Comment AS c "
+            + "JOIN c.author AS a "
+            + "WHERE c.item.entityId IN :itemIds")
+    Collection<CommentProjection> findAllByItemEntityIdIn(@Param("itemIds") Collection<Long> itemIds, Sort sort);
 }
@@ -2,43 +2,236 @@ package ru.practicum.shareit.item.repository;
 
 import java.util.Collection;
 import java.util.List;
-import org.springframework.data.domain.Page;
+import java.util.Optional;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.commons.etag.EntityVersionProjection;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.item.projection.ItemSearchProjection;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
+    /**
+     * Выборка полей {@link ItemProjection}: вещь, её владелец и связанный запрос с автором
+     */
+    String SELECT_ITEM_PROJECTION = "SELECT i.entityId AS id, i.name AS name, i.description AS description, "
+            + "i.available AS available, "
+            + "s.entityId AS sharerId, s.name AS sharerName, s.email AS sharerEmail, "
+            + "r.entityId AS requestId, r.description AS requestDescription, r.created AS requestCreated, "
+            + "rq.entityId AS requestorId, rq.name AS requestorName, rq.email AS requestorEmail "
+            + "FROM Item AS i "
+            + "JOIN i.sharer AS s "
+            + "LEFT JOIN i.request AS r "
+            + "LEFT JOIN r.requestor AS rq ";
+
+    /**
+     * Версия вещей, созданных по запросу r: количество вещей, наибольший идентификатор и сумма версий вещей и их
+     * владельцев. Значение меняется при добавлении, удалении и изменении вещи или ее владельца
+     */
+    String SELECT_REQUEST_ITEMS_VERSION = "(SELECT CONCAT(CAST(COUNT(ri) AS String), '.', "
+            + "CAST(COALESCE(MAX(ri.entityId), 0) AS String), '.', "
+            + "CAST(COALESCE(SUM(ri.version + rs.version), 0) AS String)) "
+            + "FROM Item AS ri "
+            + "JOIN ri.sharer AS rs "
+            + "WHERE ri.request = r)";
+
     /**
      * Метод возвращает коллекцию вещей по идентификатору владельца
      *
      * @param sharerId идентификатор владельца
      * @param pageable ограничения выборки и порядок сортировки
+     * @return коллекция {@link ItemProjection}
+     */
+    @Query(SELECT_ITEM_PROJECTION
+            + "WHERE i.sharer.entityId = :sharerId")
+    Slice<ItemProjection> findAllBySharerEntityId(@Param("sharerId") Long sharerId, Pageable pageable);
+
+    /**
+     * Метод возвращает количество вещей владельца
+     *
+     * @param sharerId идентификатор владельца
+     * @return количество вещей
+     */
+    long countBySharerEntityId(Long sharerId);
+
+    /**
+     * Метод возвращает вещи владельца с идентификатором больше, чем у последней полученной вещи
+     *
+     * @param sharerId идентификатор владельца
+     * @param afterId идентификатор последней полученной вещи
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link ItemProjection}
+     */
+    @Query(SELECT_ITEM_PROJECTION
+            + "WHERE i.sharer.entityId = :sharerId "
+            + "AND i.entityId > :afterId")
+    Slice<ItemProjection> findAllBySharerEntityIdAfterCursor(@Param("sharerId") Long sharerId,
+                                                             @Param("afterId") Long afterId,
+                                                             Pageable pageable);
+
+    /**
+     * Метод возвращает вещь по идентификатору в виде проекции
+     *
+     * @param itemId идентификатор вещи
+     * @return {@link ItemProjection}
+     */
+    @Query(SELECT_ITEM_PROJECTION
+            + "WHERE i.entityId = :itemId")
+    Optional<ItemProjection> findProjectionById(@Param("itemId") Long itemId);
+
+    /**
+     * Метод возвращает вещи с переданными идентификаторами в виде проекций
+     *
+     * @param itemIds коллекция идентификаторов вещей
+     * @return коллекция {@link ItemProjection}
+     */
+    @Query(SELECT_ITEM_PROJECTION
+            + "WHERE i.entityId IN :itemIds")
+    List<ItemProjection> findProjectionsByIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    /**
+     * Метод возвращает идентификаторы существующих вещей из переданных, не загружая самих вещей
+     *
+     * @param itemIds коллекция идентификаторов вещей
+     * @return коллекция идентификаторов существующих вещей
+     */
+    @Query("SELECT i.entityId FROM Item AS i WHERE i.entityId IN :itemIds")
+    List<Long> findExistingIds(@Param("itemIds") Collection<Long> itemIds);
+
+    /**
+     * Метод возвращает вещь по идентификатору, блокируя её строку до конца транзакции. Используется, чтобы проверки
+     * пересечения бронирований одной вещи выполнялись последовательно
+     *
+     * @param itemId идентификатор вещи
+     * @return {@link Item}
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item AS i WHERE i.entityId = :itemId")
+    Optional<Item> findByIdForUpdate(@Param("itemId") Long itemId);
+
+    /**
+     * Метод возвращает вещи по идентификаторам, блокируя их строки до конца транзакции. Строки блокируются в порядке
+     * возрастания идентификаторов, поэтому пакетные операции над пересекающимися наборами вещей не блокируют друг друга
+     * взаимно
+     *
+     * @param itemIds идентификаторы вещей
      * @return коллекция {@link Item}
      */
-    Page<Item> findAllBySharerEntityId(Long sharerId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item AS i WHERE i.entityId IN :itemIds ORDER BY i.entityId")
+    List<Item> findAllByIdForUpdate(@Param("itemIds") Collection<Long> itemIds);
 
     /**
-     * Метод возвращает коллекцию доступных к бронированию вещей, в названии которых встречается переданная подстрока
+     * Метод возвращает коллекцию доступных к бронированию вещей, в названии или описании которых встречается
+     * переданная подстрока. Вещи с совпадением в названии возвращаются первыми
      *
      * @param searchText поисковая подстрока
-     * @param available признак доступности бронирования
-     * @return коллекция {@link Item}
+     * @param pageable ограничения выборки
+     * @return коллекция {@link ItemProjection}
      */
-    @Query("SELECT i "
-            + "FROM Item AS i "
-            + "WHERE UPPER(i.name) LIKE CONCAT('%', :searchText, '%') "
-            + "AND i.available = :available")
-    Page<Item> findAllByNameAndAvailable(String searchText, Boolean available, Pageable pageable);
+    @Query(SELECT_ITEM_PROJECTION
+            + "WHERE i.available = TRUE "
+            + "AND (UPPER(i.name) LIKE UPPER(CONCAT('%', :searchText, '%')) "
+            + "OR UPPER(i.description) LIKE UPPER(CONCAT('%', :searchText, '%'))) "
+            + "ORDER BY CASE WHEN UPPER(i.name) LIKE UPPER(CONCAT('%', :searchText, '%')) THEN 0 ELSE 1 END, "
+            + "i.entityId")
+    List<ItemProjection> findAvailableBySubstring(@Param("searchText") String searchText, Pageable pageable);
+
+    /**
+     * Метод возвращает коллекцию доступных к бронированию вещей, название или описание которых соответствует
+     * полнотекстовому запросу PostgreSQL. Вещи упорядочены по релевантности, совпадения в названии весят больше
+     * совпадений в описании
+     *
+     * @param tsQuery полнотекстовый запрос в синтаксисе to_tsquery
+     * @param pageable ограничения выборки
+     * @return коллекция {@link ItemProjection}
+     */
+    @Query(value = "SELECT i.id AS id, i.name AS name, i.description AS description, i.is_available AS available, "
+            + "s.id AS sharerId, s.name AS sharerName, s.email AS sharerEmail, "
+            + "r.id AS requestId, r.description AS requestDescription, r.created AS requestCreated, "
+            + "rq.id AS requestorId, rq.name AS requestorName, rq.email AS requestorEmail "
+            + "FROM items AS i "
+            + "JOIN users AS s ON s.id = i.owner_id "
+            + "LEFT JOIN requests AS r ON r.id = i.request_id "
+            + "LEFT JOIN users AS rq ON rq.id = r.requestor_id "
+            + "WHERE i.is_available "
+            + "AND to_tsvector('simple', i.name || ' ' || i.description) @@ to_tsquery('simple', :tsQuery) "
+            + "ORDER BY ts_rank(setweight(to_tsvector('simple', i.name), 'A') "
+            + "|| setweight(to_tsvector('simple', i.description), 'B'), to_tsquery('simple', :tsQuery)) DESC, "
+            + "i.id",
+            nativeQuery = true)
+    List<ItemProjection> findAvailableByFullText(@Param("tsQuery") String tsQuery, Pageable pageable);
 
+    /**
+     * Метод возвращает порцию доступных к бронированию вещей с идентификатором больше переданного для построения
+     * поискового индекса
+     *
+     * @param afterId идентификатор, после которого начинается порция
+     * @param pageable размер порции
+     * @return коллекция {@link ItemSearchProjection}, упорядоченная по идентификатору
+     */
+    @Query("SELECT i.entityId AS id, i.name AS name, i.description AS description "
+            + "FROM Item AS i "
+            + "WHERE i.available = TRUE "
+            + "AND i.entityId > :afterId "
+            + "ORDER BY i.entityId")
+    List<ItemSearchProjection> findAvailableForSearchIndex(@Param("afterId") Long afterId, Pageable pageable);
 
     /**
      * Метод возвращает коллекцию вещей, которые связаны с коллекцией идентификаторов запросов
      *
      * @param requestIds коллекция идентификаторов запросов
-     * @return коллекция {@link Item}
+     * @param sort порядок сортировки
+     * @return коллекция {@link ItemProjection}
+     */
+    @Query(SELECT_ITEM_PROJECTION
+            + "WHERE r.entityId IN :requestIds")
+    Collection<ItemProjection> findByRequestEntityIdIn(@Param("requestIds") List<Long> requestIds, Sort sort);
+
+    /**
+     * Метод возвращает версию представления вещи для существующего пользователя, не являющегося ее владельцем:
+     * версии вещи, ее владельца, связанного запроса с автором, комментариев с авторами и вещей, созданных по тому же
+     * запросу
+     *
+     * @param itemId идентификатор вещи
+     * @param userId идентификатор пользователя, запрашивающего вещь
+     * @return {@link EntityVersionProjection}, владельцем считается владелец вещи
+     */
+    @Query("SELECT i.entityId AS id, s.entityId AS ownerId, "
+            + "CONCAT(CAST(i.version AS String), '.', CAST(s.version AS String), '.', "
+            + "CAST(COALESCE(r.version, -1) AS String), '.', CAST(COALESCE(rq.version, -1) AS String), '.', "
+            + "(SELECT CONCAT(CAST(COUNT(c) AS String), '.', CAST(COALESCE(MAX(c.entityId), 0) AS String), '.', "
+            + "CAST(COALESCE(SUM(a.version), 0) AS String)) "
+            + "FROM Comment AS c "
+            + "JOIN c.author AS a "
+            + "WHERE c.item = i), '.', "
+            + SELECT_REQUEST_ITEMS_VERSION + ") AS version "
+            + "FROM Item AS i "
+            + "JOIN i.sharer AS s "
+            + "LEFT JOIN i.request AS r "
+            + "LEFT JOIN r.requestor AS rq "
+            + "WHERE i.entityId = :itemId "
+            + "AND s.entityId <> :userId "
+            + "AND EXISTS (SELECT u FROM User AS u WHERE u.entityId = :userId)")
+    Optional<EntityVersionProjection> findVersionByIdAndUserId(@Param("itemId") Long itemId,
+                                                                @Param("userId") Long userId);
+
+    /**
+     * Метод возвращает идентификаторы вещей, которые удаляются в БД каскадно вместе с пользователем: вещей
+     * пользователя и вещей, созданных по его запросам
+     *
+     * @param userId идентификатор пользователя
+     * @return коллекция идентификаторов вещей
      */
-    Collection<Item> findByRequestEntityIdIn(List<Long> requestIds, Sort sort);
+    @Query("SELECT i.entityId FROM Item AS i "
+            + "LEFT JOIN i.request AS r "
+            + "WHERE i.sharer.entityId = :userId OR r.requestor.entityId = :userId")
+    List<Long> findIdsDeletedWithUser(@Param("userId") Long userId);
 }
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+/**
+ * Полнотекстовый поиск средствами PostgreSQL. Запрос обслуживается GIN-индексом по to_tsvector названия и описания,
+ * который СУБД поддерживает в актуальном состоянии сама.
+ * <p>
+ * Слова поисковой строки сравниваются с началом слов названия и описания, поэтому вхождения в середину слова не
+ * находятся: по строке "рель" находится "рельс", но не "дрель". Подключается явно свойством
+ * shareit.search.engine=full-text
+ */
+@Service
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "full-text")
+@RequiredArgsConstructor
+@Slf4j
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    /**
+     * Метод преобразует поисковую строку в запрос to_tsquery: каждое слово ищется как префикс, все слова обязательны.
+     * Из строки остаются только буквы и цифры, поэтому операторы to_tsquery в запрос попасть не могут
+     *
+     * @param text поисковая строка
+     * @return запрос в синтаксисе to_tsquery или пустая строка, если в тексте нет слов
+     */
+    static String toTsQuery(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}]+"))
+                .filter(word -> !word.isEmpty())
+                .map(word -> word.toLowerCase() + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    @Override
+    public List<ItemProjection> search(String text, Pageable pageable) {
+        String tsQuery = toTsQuery(text);
+        log.debug("Сформирован полнотекстовый запрос: {}", tsQuery);
+
+        if (tsQuery.isEmpty()) {
+            return List.of();
+        }
+
+        return itemRepository.findAvailableByFullText(tsQuery, pageable);
+    }
+}
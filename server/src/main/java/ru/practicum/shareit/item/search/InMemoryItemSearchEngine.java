@@ -0,0 +1,193 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.item.projection.ItemSearchProjection;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+/**
+ * Поиск по триграммному индексу в памяти приложения. Индекс содержит только доступные к бронированию вещи, строится
+ * из БД при старте и обновляется после фиксации транзакций, изменивших вещь. Из БД по первичному ключу загружается
+ * только запрошенная страница результата.
+ * <p>
+ * Пока индекс строится или если число вещей превысило shareit.search.in-memory.max-documents, запросы обслуживаются
+ * поиском подстроки в БД.
+ */
+@Service
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "in-memory")
+@Slf4j
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+    private final ItemTrigramIndex index;
+    private final int maxDocuments;
+    private final int rebuildBatchSize;
+
+    private final Set<Long> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    private volatile boolean rebuilding;
+    private volatile boolean ready;
+    private volatile boolean overflowed;
+
+    public InMemoryItemSearchEngine(ItemRepository itemRepository,
+                                    @Value("${shareit.search.in-memory.shards:0}") int shards,
+                                    @Value("${shareit.search.in-memory.max-documents:1000000}") int maxDocuments,
+                                    @Value("${shareit.search.in-memory.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.itemRepository = itemRepository;
+        this.index = new ItemTrigramIndex(shards > 0 ? shards : Runtime.getRuntime().availableProcessors());
+        this.maxDocuments = maxDocuments;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    /**
+     * Метод заново строит индекс по доступным вещам из БД. Вещи читаются порциями по возрастанию идентификатора,
+     * каждая порция раскладывается по сегментам, и сегменты заполняются параллельно
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Построение индекса поиска вещей в памяти");
+        ready = false;
+        index.clear();
+        overflowed = false;
+        changedDuringRebuild.clear();
+        rebuilding = true;
+
+        try {
+            long lastId = 0;
+            List<ItemSearchProjection> batch;
+            do {
+                batch = itemRepository.findAvailableForSearchIndex(lastId, PageRequest.of(0, rebuildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                lastId = batch.getLast().getId();
+
+                batch.stream()
+                        .filter(document -> !changedDuringRebuild.contains(document.getId()))
+                        .collect(Collectors.groupingBy(document -> index.shardOf(document.getId())))
+                        .values()
+                        .parallelStream()
+                        .forEach(documents -> documents.forEach(
+                                document -> index.put(document.getId(), document.getName(),
+                                        document.getDescription())));
+
+                if (index.size() > maxDocuments) {
+                    overflow();
+                    return;
+                }
+            } while (batch.size() == rebuildBatchSize);
+
+            ready = true;
+            log.info("Индекс поиска вещей построен, проиндексировано вещей: {}, сегментов: {}", index.size(),
+                    index.shardCount());
+        } finally {
+            rebuilding = false;
+            changedDuringRebuild.clear();
+        }
+    }
+
+    @Override
+    public List<ItemProjection> search(String text, Pageable pageable) {
+        if (!ready || overflowed) {
+            log.debug("Индекс поиска в памяти недоступен, поиск выполняется в БД");
+            return itemRepository.findAvailableBySubstring(text, pageable);
+        }
+
+        List<Long> ids = index.search(text);
+        log.debug("В индексе найдено вещей: {}", ids.size());
+
+        if (pageable.getOffset() >= ids.size()) {
+            return List.of();
+        }
+        List<Long> pageIds = ids.subList((int) pageable.getOffset(),
+                (int) Math.min(ids.size(), pageable.getOffset() + pageable.getPageSize()));
+
+        Map<Long, ItemProjection> items = itemRepository.findProjectionsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(ItemProjection::getId, Function.identity()));
+
+        return pageIds.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public void onSaved(Item item) {
+        long id = item.getEntityId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+
+        afterCommit(id, () -> {
+            if (overflowed) {
+                return;
+            }
+            if (available) {
+                index.put(id, name, description);
+            } else {
+                index.remove(id);
+            }
+
+            if (index.size() > maxDocuments) {
+                overflow();
+            }
+        });
+    }
+
+    @Override
+    public void onDeleted(Long itemId) {
+        afterCommit(itemId, () -> index.remove(itemId));
+    }
+
+    int size() {
+        return index.size();
+    }
+
+    boolean isReady() {
+        return ready && !overflowed;
+    }
+
+    private void afterCommit(long id, Runnable action) {
+        Runnable tracked = () -> {
+            if (rebuilding) {
+                changedDuringRebuild.add(id);
+            }
+            action.run();
+        };
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    tracked.run();
+                }
+            });
+        } else {
+            tracked.run();
+        }
+    }
+
+    private void overflow() {
+        if (!overflowed) {
+            overflowed = true;
+            index.clear();
+            log.warn("Число доступных вещей превысило {}, индекс поиска в памяти отключен", maxDocuments);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
+
+/**
+ * Поиск доступных к бронированию вещей по тексту названия и описания.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Метод возвращает доступные к бронированию вещи, соответствующие поисковой строке, в порядке убывания
+     * релевантности
+     *
+     * @param text поисковая строка
+     * @param pageable ограничения выборки
+     * @return коллекция {@link ItemProjection}
+     */
+    List<ItemProjection> search(String text, Pageable pageable);
+
+    /**
+     * Метод уведомляет поисковый механизм о создании или изменении вещи
+     *
+     * @param item сохраненная вещь
+     */
+    default void onSaved(Item item) {
+    }
+
+    /**
+     * Метод уведомляет поисковый механизм об удалении вещи
+     *
+     * @param itemId идентификатор удаленной вещи
+     */
+    default void onDeleted(Long itemId) {
+    }
+}
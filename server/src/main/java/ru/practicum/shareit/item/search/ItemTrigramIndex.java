@@ -0,0 +1,240 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Инвертированный индекс по триграммам названия и описания вещей. Индекс разбит на сегменты по идентификатору вещи,
+ * у каждого сегмента своя блокировка, поэтому запись в один сегмент не останавливает поиск в остальных.
+ * <p>
+ * Триграммы только отбирают кандидатов, окончательно совпадение проверяется по сохраненному тексту, поэтому результат
+ * совпадает с поиском подстроки без учета регистра.
+ */
+final class ItemTrigramIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private static final Comparator<Match> MATCH_ORDER = Comparator.comparing(Match::inName).reversed()
+            .thenComparingLong(Match::id);
+
+    private final Shard[] shards;
+    private final AtomicInteger documentCount = new AtomicInteger();
+
+    ItemTrigramIndex(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Количество сегментов индекса должно быть положительным");
+        }
+
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Метод добавляет вещь в индекс или заменяет ранее проиндексированный текст
+     *
+     * @param id идентификатор вещи
+     * @param name название
+     * @param description описание
+     */
+    void put(long id, String name, String description) {
+        Document document = new Document(normalize(name), normalize(description));
+        if (shardFor(id).put(id, document)) {
+            documentCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Метод удаляет вещь из индекса
+     *
+     * @param id идентификатор вещи
+     */
+    void remove(long id) {
+        if (shardFor(id).remove(id)) {
+            documentCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Метод очищает все сегменты индекса
+     */
+    void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+        documentCount.set(0);
+    }
+
+    int size() {
+        return documentCount.get();
+    }
+
+    int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Метод возвращает номер сегмента, в котором хранится вещь
+     *
+     * @param id идентификатор вещи
+     * @return номер сегмента
+     */
+    int shardOf(long id) {
+        return (int) Math.floorMod(id, (long) shards.length);
+    }
+
+    /**
+     * Метод возвращает идентификаторы вещей, название или описание которых содержит строку. Сначала идут вещи с
+     * совпадением в названии, внутри группы - по возрастанию идентификатора
+     *
+     * @param text поисковая строка
+     * @return упорядоченная коллекция идентификаторов
+     */
+    List<Long> search(String text) {
+        String query = normalize(text);
+        long[] grams = query.length() < GRAM_LENGTH ? new long[0] : grams(query).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        List<Match> matches = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.search(query, grams, matches);
+        }
+        matches.sort(MATCH_ORDER);
+
+        return matches.stream().map(Match::id).toList();
+    }
+
+    private Shard shardFor(long id) {
+        return shards[shardOf(id)];
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<Long> grams(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return result;
+    }
+
+    private record Document(String name, String description) {
+
+        Set<Long> grams() {
+            Set<Long> result = ItemTrigramIndex.grams(name);
+            result.addAll(ItemTrigramIndex.grams(description));
+            return result;
+        }
+    }
+
+    private record Match(long id, boolean inName) {
+    }
+
+    private static final class Shard {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<Long, LongPostingList> postings = new HashMap<>();
+
+        boolean put(long id, Document document) {
+            lock.writeLock().lock();
+            try {
+                Document previous = documents.put(id, document);
+                if (previous != null) {
+                    unlink(id, previous);
+                }
+                for (Long gram : document.grams()) {
+                    postings.computeIfAbsent(gram, key -> new LongPostingList()).add(id);
+                }
+                return previous == null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean remove(long id) {
+            lock.writeLock().lock();
+            try {
+                Document previous = documents.remove(id);
+                if (previous == null) {
+                    return false;
+                }
+                unlink(id, previous);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void clear() {
+            lock.writeLock().lock();
+            try {
+                documents.clear();
+                postings.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void search(String query, long[] grams, List<Match> matches) {
+            lock.readLock().lock();
+            try {
+                if (grams.length == 0) {
+                    documents.forEach((id, document) -> collect(id, document, query, matches));
+                    return;
+                }
+
+                LongPostingList[] lists = new LongPostingList[grams.length];
+                for (int i = 0; i < grams.length; i++) {
+                    lists[i] = postings.get(grams[i]);
+                    if (lists[i] == null) {
+                        return;
+                    }
+                }
+                Arrays.sort(lists, Comparator.comparingInt(LongPostingList::size));
+
+                long[] candidates = lists[0].toArray();
+                for (int i = 1; i < lists.length && candidates.length > 0; i++) {
+                    candidates = lists[i].retainAll(candidates);
+                }
+                for (long id : candidates) {
+                    collect(id, documents.get(id), query, matches);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void unlink(long id, Document document) {
+            for (Long gram : document.grams()) {
+                LongPostingList list = postings.get(gram);
+                list.remove(id);
+                if (list.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        private static void collect(long id, Document document, String query, List<Match> matches) {
+            if (document.name().contains(query)) {
+                matches.add(new Match(id, true));
+            } else if (document.description().contains(query)) {
+                matches.add(new Match(id, false));
+            }
+        }
+    }
+}
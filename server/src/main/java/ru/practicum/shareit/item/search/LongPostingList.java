@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.Arrays;
+
+/**
+ * Отсортированный по возрастанию список идентификаторов вещей без повторов, хранящийся в массиве long[] без упаковки
+ * в объекты. Класс не потокобезопасен, синхронизацию обеспечивает сегмент индекса.
+ */
+final class LongPostingList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Метод добавляет идентификатор, сохраняя порядок
+     *
+     * @param id идентификатор вещи
+     */
+    void add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+
+        int insertAt = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    /**
+     * Метод удаляет идентификатор, если он есть в списке
+     *
+     * @param id идентификатор вещи
+     */
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        if (size > INITIAL_CAPACITY && size * 4 < ids.length) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Метод возвращает копию идентификаторов списка
+     *
+     * @return отсортированный массив идентификаторов
+     */
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Метод оставляет в отсортированном массиве только идентификаторы, присутствующие в этом списке
+     *
+     * @param candidates отсортированный массив идентификаторов
+     * @return отсортированный массив общих идентификаторов
+     */
+    long[] retainAll(long[] candidates) {
+        long[] result = new long[Math.min(candidates.length, size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < size) {
+            if (candidates[i] < ids[j]) {
+                i++;
+            } else if (candidates[i] > ids[j]) {
+                j++;
+            } else {
+                result[count++] = candidates[i];
+                i++;
+                j++;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+/**
+ * Поиск по вхождению подстроки в название или описание без учета регистра. Не требует специфичных для СУБД индексов
+ * и используется по умолчанию.
+ */
+@Service
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "substring", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SubstringItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<ItemProjection> search(String text, Pageable pageable) {
+        return itemRepository.findAvailableBySubstring(text, pageable);
+    }
+}
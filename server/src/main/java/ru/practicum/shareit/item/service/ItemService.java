@@ -1,12 +1,16 @@
 package ru.practicum.shareit.item.service;
 
 import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentShortDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemImportEventDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.importing.ItemImportLine;
 
 public interface ItemService {
 
@@ -16,9 +20,18 @@ public interface ItemService {
      * @param userId идентификатор пользователя
      * @param from номер начального элемента
      * @param size максимальный размер коллекции
-     * @return коллекция {@link ItemShortDto}
+     * @param after курсор последней полученной вещи или null. Если передан, from не учитывается
+     * @return страница {@link ItemFullDto} с признаком наличия следующих вещей
+     */
+    Slice<ItemFullDto> findAllByOwner(Long userId, Integer from, Integer size, String after);
+
+    /**
+     * Метод возвращает общее количество вещей, созданных пользователем
+     *
+     * @param userId идентификатор пользователя
+     * @return количество вещей
      */
-    Collection<ItemFullDto> findAllByOwner(Long userId, Integer from, Integer size);
+    long countAllByOwner(Long userId);
 
     /**
      * Метод возвращает коллекцию вещей, в текстовых полях которых встречается переданная подстрока
@@ -37,6 +50,17 @@ public interface ItemService {
      */
     ItemFullDto findById(Long itemId, Long ownerID);
 
+    /**
+     * Метод возвращает ETag представления вещи без его формирования. Представление вещи для владельца содержит
+     * последнее и следующее бронирования, которые меняются со временем без изменения записей, поэтому для владельца
+     * ETag не вычисляется
+     *
+     * @param itemId идентификатор вещи
+     * @param userId идентификатор пользователя, запрашивающего вещь
+     * @return значение ETag или null, если вещь не найдена или запрошена владельцем
+     */
+    String getEntityTag(Long itemId, Long userId);
+
     /**
      * Метод проверяет и передаёт для сохранения полученный экземпляр класса {@link ItemCreateDto} и возвращает его с
      * заполненными полями после сохранения
@@ -47,6 +71,16 @@ public interface ItemService {
      */
     ItemShortDto create(Long userId, ItemCreateDto dto);
 
+    /**
+     * Метод проверяет строки импорта и сохраняет вещи из прошедших проверку строк в одной транзакции. Запросы вещей
+     * всех строк загружаются одним запросом
+     *
+     * @param userId идентификатор владельца вещей
+     * @param lines прочитанные строки импорта
+     * @return события {@link ItemImportEventDto} об ошибках строк, не прошедших проверку
+     */
+    List<ItemImportEventDto> importChunk(Long userId, List<ItemImportLine> lines);
+
     /**
      * Метод проверяет и передаёт для добавления комментарий к веши
      *
@@ -3,36 +3,49 @@ package ru.practicum.shareit.item.service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
-import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.commons.cache.EntityExistenceChecker;
+import ru.practicum.shareit.commons.etag.EntityTag;
 import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
 import ru.practicum.shareit.commons.exceptions.UserIsNotSharerException;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentShortDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemImportEventDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.importing.ItemImportLine;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.CommentProjection;
+import ru.practicum.shareit.item.projection.ItemProjection;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.request.dto.ItemRequestFullDto;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -65,21 +78,36 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRequestMapper itemRequestMapper;
 
+    private final ItemSearchEngine itemSearchEngine;
+
+    private final EntityExistenceChecker entityExistenceChecker;
+
     @Override
-    public Collection<ItemFullDto> findAllByOwner(Long userId, Integer from, Integer size) {
+    public Slice<ItemFullDto> findAllByOwner(Long userId, Integer from, Integer size, String after) {
         log.debug("Запрос всех вещей на уровне сервиса");
         log.debug("Запрос от пользователя с id: {}", userId);
 
-        PageRequest pageRequest = PageRequest.of(from, size, SORT_ITEM_ID_ASC);
-        Collection<Item> searchResult = itemRepository.findAllBySharerEntityId(userId, pageRequest).getContent();
-        log.debug("Из репозитория получена коллекция размером {}", searchResult.size());
+        Slice<ItemProjection> searchResult;
+        if (after == null) {
+            searchResult = itemRepository.findAllBySharerEntityId(userId, PageRequest.of(from, size, SORT_ITEM_ID_ASC));
+        } else {
+            searchResult = itemRepository.findAllBySharerEntityIdAfterCursor(userId,
+                    PageCursor.decode(after, false).id(), PageRequest.of(0, size, SORT_ITEM_ID_ASC));
+        }
+        log.debug("Из репозитория получена коллекция размером {}", searchResult.getNumberOfElements());
 
-        Collection<ItemFullDto> result = completeCollection(searchResult);
+        Collection<ItemFullDto> result = completeCollection(searchResult.getContent(), true);
 
         log.debug("Полученная коллекция преобразована. Размер полученной коллекции: {}", result.size());
 
         log.debug("Возврат результатов поиска на уровень контроллера");
-        return result;
+        return new SliceImpl<>(List.copyOf(result), searchResult.getPageable(), searchResult.hasNext());
+    }
+
+    @Override
+    public long countAllByOwner(Long userId) {
+        log.debug("Подсчет вещей владельца на уровне сервиса");
+        return itemRepository.countBySharerEntityId(userId);
     }
 
     @Override
@@ -87,32 +115,19 @@ public class ItemServiceImpl implements ItemService {
         log.debug("Поиск вещей по вхождению подстроки на уровне сервиса");
         log.debug("Передана подстрока: {}", text);
 
-        PageRequest pageRequest = PageRequest.of(from, size, SORT_ITEM_ID_ASC);
+        if (text == null || text.isBlank()) {
+            log.debug("Передана пустая подстрока. Возврат пустой коллекции на уровень контроллера");
+            return List.of();
+        }
+
+        PageRequest pageRequest = PageRequest.of(from, size);
 
-        Collection<Item> searchResult = itemRepository.findAllByNameAndAvailable(text, true, pageRequest).getContent();
+        Collection<ItemProjection> searchResult = itemSearchEngine.search(text, pageRequest);
         log.debug("На уровне сервиса получен результат поиска по подстроке размером {}", searchResult.size());
 
         Collection<ItemShortDto> result = searchResult.stream()
                 .map(itemMapper::mapToShortDto)
                 .toList();
-        for (ItemShortDto item : result) {
-            // Найдём и установим владельца вещи
-            Optional<UserDto> sharer = searchResult.stream()
-                    .filter(i -> i.getEntityId().equals(item.getId()))
-                    .map(Item::getSharer)
-                    .map(userMapper::mapToUserDto)
-                    .findFirst();
-            sharer.ifPresent(item::setSharer);
-
-            // Найдем и установим связанный с вещью запрос
-            Optional<ItemRequest> request = searchResult.stream()
-                    .filter(i -> i.getEntityId().equals(item.getId()))
-                    .map(Item::getRequest)
-                    .findFirst();
-            request.ifPresent(itemRequest -> item.setRequest(itemRequestMapper.mapToItemRequestShortDto(itemRequest)));
-            request.ifPresent(itemRequest -> item.getRequest()
-                    .setRequestor(userMapper.mapToUserDto(request.get().getRequestor())));
-        }
         log.debug("Найденная коллекция преобразована. Размер полученной коллекции {}", result.size());
 
         log.debug("Возврат результатов поиска по подстроке на уровень контроллера");
@@ -123,70 +138,17 @@ public class ItemServiceImpl implements ItemService {
     public ItemFullDto findById(Long itemId, Long ownerId) {
         log.debug("Поиск вещи по идентификатору на уровне сервиса");
 
-        User owner = userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + ownerId + " не найден"));
-        log.debug("Передан идентификатор владельца: {}", owner.getEntityId());
+        if (!entityExistenceChecker.exists(User.class, ownerId, userRepository::existsById)) {
+            throw new NotFoundException("Пользователь с id " + ownerId + " не найден");
+        }
+        log.debug("Передан идентификатор владельца: {}", ownerId);
 
-        Item searchResult = itemRepository.findById(itemId)
+        ItemProjection searchResult = itemRepository.findProjectionById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
         log.debug("Передан id вещи: {}", itemId);
 
-        ItemFullDto result = itemMapper.mapToFullDto(searchResult);
-
-        if (searchResult.getRequest() != null) {
-            ItemRequestFullDto itemRequestFullDto = itemRequestMapper.mapToItemRequestFullDto(
-                    searchResult.getRequest());
-            UserDto requestor = userMapper.mapToUserDto(searchResult.getRequest().getRequestor());
-
-            List<Long> requestsIds = List.of(searchResult.getRequest().getEntityId());
-            Collection<Item> itemsWithRequests = itemRepository.findByRequestEntityIdIn(requestsIds, SORT_ITEM_ID_ASC);
-
-            Collection<ItemShortDto> items = new ArrayList<>();
-
-            for (Item item : itemsWithRequests) {
-                ItemShortDto itemShortDto = itemMapper.mapToShortDto(item);
-
-                Optional<UserDto> sharer = itemsWithRequests.stream()
-                        .filter(i -> i.equals(item))
-                        .map(Item::getSharer)
-                        .map(userMapper::mapToUserDto)
-                        .findFirst();
-                sharer.ifPresent(itemShortDto::setSharer);
-
-                if (item.getRequest() != null) {
-                    ItemRequestShortDto itemRequestShortDto = itemRequestMapper.mapToItemRequestShortDto(
-                            item.getRequest());
-                    UserDto shortRequestor = userMapper.mapToUserDto(item.getRequest().getRequestor());
-                    itemRequestShortDto.setRequestor(shortRequestor);
-
-                    itemShortDto.setRequest(itemRequestShortDto);
-                }
-
-                items.add(itemShortDto);
-            }
-            itemRequestFullDto.setItems(items);
-
-            itemRequestFullDto.setRequestor(requestor);
-            result.setRequest(itemRequestFullDto);
-        }
-
-        if (searchResult.getSharer().getEntityId().equals(owner.getEntityId())) {
-            Pageable pageable = PageRequest.of(0, 1, Sort.by(Direction.DESC, "endDate"));
-            Optional<Booking> booking = bookingRepository.findLastBooking(result.getId(), LocalDateTime.now(),
-                    BookingStatus.APPROVED, pageable).stream().findFirst();
-            booking.ifPresent(b -> result.setLastBooking(bookingMapper.mapToShortDto(b)));
-
-            pageable = PageRequest.of(0, 1, Sort.by(Direction.ASC, "endDate"));
-            booking = bookingRepository.findNextBooking(result.getId(), LocalDateTime.now(), BookingStatus.APPROVED,
-                    pageable).stream().findFirst();
-            booking.ifPresent(b -> result.setNextBooking(bookingMapper.mapToShortDto(b)));
-        }
-
-        result.setSharer(userMapper.mapToUserDto(owner));
-
-        Collection<Comment> comments = commentRepository.findAllByItemEntityId(result.getId(),
-                SORT_COMMENT_CREATED_ASC);
-        result.setComments(comments.stream().map(commentMapper::mapToShortDto).toList());
+        boolean isOwner = searchResult.getSharerId().equals(ownerId);
+        ItemFullDto result = completeCollection(List.of(searchResult), isOwner).getFirst();
 
         log.debug("Полученная вещь преобразована");
 
@@ -194,6 +156,13 @@ public class ItemServiceImpl implements ItemService {
         return result;
     }
 
+    @Override
+    public String getEntityTag(Long itemId, Long userId) {
+        return itemRepository.findVersionByIdAndUserId(itemId, userId)
+                .map(version -> EntityTag.of("items", version))
+                .orElse(null);
+    }
+
     @Override
     @Transactional
     public ItemShortDto create(Long userId, ItemCreateDto dto) {
@@ -218,6 +187,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         item = itemRepository.save(item);
+        itemSearchEngine.onSaved(item);
         log.debug("Новая вещь сохранена в хранилище");
 
         ItemShortDto result = itemMapper.mapToShortDto(item);
@@ -236,26 +206,76 @@ public class ItemServiceImpl implements ItemService {
         return result;
     }
 
+    @Override
+    @Transactional
+    public List<ItemImportEventDto> importChunk(Long userId, List<ItemImportLine> lines) {
+        log.debug("Импорт части вещей на уровне сервиса");
+        log.debug("Импорт от имени пользователя с id {}, строк {}", userId, lines.size());
+
+        if (!entityExistenceChecker.exists(User.class, userId, userRepository::existsById)) {
+            throw new NotFoundException("Пользователь с id " + userId + " не найден");
+        }
+        User sharer = userRepository.getReferenceById(userId);
+
+        List<Long> requestIds = lines.stream()
+                .map(ItemImportLine::dto)
+                .filter(Objects::nonNull)
+                .map(ItemCreateDto::getRequestId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of()
+                : itemRequestRepository.findAllById(requestIds).stream()
+                .collect(Collectors.toMap(ItemRequest::getEntityId, Function.identity()));
+        log.debug("Найдено запросов вещей: {} из {}", requests.size(), requestIds.size());
+
+        List<ItemImportEventDto> errors = new ArrayList<>();
+        List<Item> items = new ArrayList<>(lines.size());
+        for (ItemImportLine line : lines) {
+            String error = line.error() != null ? line.error() : validate(line.dto());
+            Long requestId = line.dto() != null ? line.dto().getRequestId() : null;
+
+            if (error != null) {
+                errors.add(ItemImportEventDto.error(line.number(), 400, error));
+            } else if (requestId != null && !requests.containsKey(requestId)) {
+                errors.add(ItemImportEventDto.error(line.number(), 404,
+                        "По переданному id " + requestId + " запрос не найден"));
+            } else {
+                Item item = itemMapper.mapToItem(line.dto());
+                item.setSharer(sharer);
+                item.setRequest(requestId != null ? requests.get(requestId) : null);
+                items.add(item);
+            }
+        }
+
+        itemRepository.saveAll(items).forEach(itemSearchEngine::onSaved);
+        log.debug("Сохранено вещей: {}, строк с ошибками: {}", items.size(), errors.size());
+
+        return errors;
+    }
+
     @Override
     @Transactional
     public CommentShortDto createComment(Long itemId, Long authorId, CommentCreateDto dto) {
         log.debug("Создания комментария на уровне сервиса");
 
-        Item item = itemRepository.findById(itemId)
-                .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
-        log.debug("Передан идентификатор комментируемой вещи: {}", item.getEntityId());
+        // Вещь нужна комментарию только как внешний ключ, поэтому вместо загрузки проверяется ее существование
+        if (!entityExistenceChecker.exists(Item.class, itemId, itemRepository::existsById)) {
+            throw new NotFoundException("Вещь с id " + itemId + " не найдена");
+        }
+        Item item = itemRepository.getReferenceById(itemId);
+        log.debug("Передан идентификатор комментируемой вещи: {}", itemId);
 
         User author = userRepository.findById(authorId)
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + authorId + " не найден"));
         log.debug("Передан идентификатор автора комментария: {}", author.getEntityId());
 
-        boolean isBooker = bookingRepository.existsByItemAndBooker(item.getEntityId(), author.getEntityId(),
+        boolean isBooker = bookingRepository.existsByItemAndBooker(itemId, author.getEntityId(),
                 LocalDateTime.now(), BookingStatus.APPROVED);
 
         if (!isBooker) {
             throw new IncorrectDataException(
-                    "Пользователь с id " + authorId + " ранее не бронировал комментируемую вещь с id "
-                            + item.getEntityId());
+                    "Пользователь с id " + authorId + " ранее не бронировал комментируемую вещь с id " + itemId);
         }
 
         Comment comment = commentMapper.mapToComment(dto);
@@ -294,6 +314,7 @@ public class ItemServiceImpl implements ItemService {
         log.debug("Измененная и полученная модели преобразованы");
 
         item = itemRepository.save(item);
+        itemSearchEngine.onSaved(item);
         log.debug("Измененная модель сохранения в хранилище");
 
         ItemShortDto result = itemMapper.mapToShortDto(item);
@@ -317,125 +338,105 @@ public class ItemServiceImpl implements ItemService {
     public void delete(Long userId, Long itemId) {
         log.debug("Удаление вещи по идентификатору на уровне сервиса");
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
-        log.debug("Запрос на удаление от пользователя с id: {}", user.getEntityId());
+        if (!entityExistenceChecker.exists(User.class, userId, userRepository::existsById)) {
+            throw new NotFoundException("Пользователь с id " + userId + " не найден");
+        }
+        log.debug("Запрос на удаление от пользователя с id: {}", userId);
 
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Вещь с id " + itemId + " не найдена"));
         log.debug("Передан идентификатор вещи: {}", item.getEntityId());
 
-        if (!item.getSharer().equals(user)) {
+        if (!item.getSharer().getEntityId().equals(userId)) {
             throw new IncorrectDataException("Пользователь не является владельцем вещи или ранее её не бронировал");
         }
 
         itemRepository.deleteById(item.getEntityId());
+        itemSearchEngine.onDeleted(item.getEntityId());
         log.debug("На уровень сервиса вернулась информация об успешном удалении вещи из хранилища");
 
         log.debug("Возврат результатов удаления на уровень контроллера");
     }
 
     /**
-     * Метод преобразует коллекцию вещей
+     * Метод проверяет создаваемую вещь по тем же правилам, что и шлюз при создании одной вещи
+     *
+     * @param dto несохраненный экземпляр {@link ItemCreateDto}
+     * @return текст ошибки или null, если вещь прошла проверку
+     */
+    private String validate(ItemCreateDto dto) {
+        if (dto.getName() == null || dto.getName().isBlank()) {
+            return "Наименование вещи должно быть указано";
+        }
+        if (dto.getDescription() == null || dto.getDescription().isBlank()) {
+            return "Описание вещи должно быть указано";
+        }
+        if (dto.getAvailable() == null) {
+            return "Признак доступности должен быть указан";
+        }
+        return null;
+    }
+
+    /**
+     * Метод преобразует коллекцию вещей. Бронирования, комментарии и связанные с запросами вещи загружаются одним
+     * запросом на всю коллекцию и сопоставляются с вещами по идентификатору
      *
      * @param searchResult коллекция-источник
+     * @param withBookings признак необходимости заполнить последнее и следующее бронирования
      * @return преобразованная коллекция {@link ItemFullDto}
      */
-    private Collection<ItemFullDto> completeCollection(Collection<Item> searchResult) {
-        // Преобразуем коллекцию
-        Collection<ItemFullDto> result = searchResult.stream()
-                .map(itemMapper::mapToFullDto)
+    private List<ItemFullDto> completeCollection(Collection<ItemProjection> searchResult, boolean withBookings) {
+        if (searchResult.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> itemIds = searchResult.stream()
+                .map(ItemProjection::getId)
                 .toList();
 
-        // Получим список связанных запросов по идентификаторам вещей
+        // Получим последние и следующие бронирования всех вещей
+        Map<Long, BookingShortDto> lastBookings = new HashMap<>();
+        Map<Long, BookingShortDto> nextBookings = new HashMap<>();
+        if (withBookings) {
+            Collection<BookingNeighbourProjection> bookings = bookingRepository.findNeighbourBookings(itemIds,
+                    LocalDateTime.now(), BookingStatus.APPROVED);
+            for (BookingNeighbourProjection booking : bookings) {
+                Map<Long, BookingShortDto> target = BookingNeighbourProjection.LAST.equals(booking.getKind())
+                        ? lastBookings : nextBookings;
+                target.put(booking.getItemId(), bookingMapper.mapToShortDto(booking));
+            }
+        }
+
+        // Получим комментарии ко всем вещам, сгруппированные по идентификатору вещи
+        Map<Long, List<CommentShortDto>> comments = commentRepository.findAllByItemEntityIdIn(itemIds,
+                        SORT_COMMENT_CREATED_ASC).stream()
+                .collect(Collectors.groupingBy(CommentProjection::getItemId,
+                        Collectors.mapping(commentMapper::mapToShortDto, Collectors.toList())));
+
+        // Получим вещи, связанные с запросами вещей коллекции, сгруппированные по идентификатору запроса
         List<Long> requestsIds = searchResult.stream()
-                .map(Item::getRequest)
-                .map(ItemRequest::getEntityId)
+                .map(ItemProjection::getRequestId)
+                .filter(Objects::nonNull)
+                .distinct()
                 .toList();
-        Collection<Item> itemsWithRequests = itemRepository.findByRequestEntityIdIn(requestsIds, SORT_ITEM_ID_ASC);
-
-        // Дополним коллекцию различными сведениями
-        for (ItemFullDto item : result) {
-            // Установим владельца вещи
-            Optional<User> owner = searchResult.stream()
-                    .filter(i -> i.getEntityId().equals(item.getId()))
-                    .map(Item::getSharer)
-                    .findFirst();
-            owner.ifPresent(user -> item.setSharer(userMapper.mapToUserDto(user)));
-
-            // Найдем последнее бронирование
-            Pageable pageable = PageRequest.of(0, 1, Sort.by(Direction.DESC, "startDate"));
-            Optional<Booking> booking = bookingRepository.findLastBooking(item.getId(), LocalDateTime.now(),
-                    BookingStatus.APPROVED, pageable).stream().findFirst();
-
-            // Установим его
-            booking.ifPresent(value -> item.setLastBooking(bookingMapper.mapToShortDto(value)));
-
-            // Найдем следующее бронирование
-            pageable = PageRequest.of(0, 1, Sort.by(Direction.ASC, "startDate"));
-            booking = bookingRepository.findNextBooking(item.getId(), LocalDateTime.now(), BookingStatus.APPROVED,
-                    pageable).stream().findFirst();
-
-            // Установим его
-            booking.ifPresent(value -> item.setNextBooking(bookingMapper.mapToShortDto(value)));
-
-            // Найдем все комментарии
-            Collection<Comment> comments = commentRepository.findAllByItemEntityId(item.getId(),
-                    SORT_COMMENT_CREATED_ASC);
-
-            // Установим их
-            item.setComments(comments.stream().map(commentMapper::mapToShortDto).toList());
-
-            // Найдём запрос
-            Optional<ItemRequest> itemRequest = searchResult.stream()
-                    .filter(i -> i.getEntityId().equals(item.getId()))
-                    .map(Item::getRequest)
-                    .findFirst();
-
-            // Установим его
-            itemRequest.ifPresent(request -> {
-                // Получим автора запроса
-                UserDto requestor = userMapper.mapToUserDto(request.getRequestor());
-
-                // Получим запрос
-                ItemRequestFullDto itemRequestFullDto = itemRequestMapper.mapToItemRequestFullDto(request);
-
-                // Установим автора запроса
-                itemRequestFullDto.setRequestor(requestor);
-
-                // Получим список вещей, связанных с запросом
-                Collection<ItemShortDto> items = itemsWithRequests.stream()
-                        .filter(i -> i.getRequest().getEntityId().equals(request.getEntityId()))
-                        .map(itemMapper::mapToShortDto)
-                        .toList();
-
-                // Для каждой вещи из списка
-                for (ItemShortDto it : items) {
-                    // Найдём связанный запрос
-                    Optional<ItemRequestShortDto> itemRequestShortDto = itemsWithRequests.stream()
-                            .filter(i -> i.getEntityId().equals(it.getId()))
-                            .map(Item::getRequest)
-                            .findFirst()
-                            .map(itemRequestMapper::mapToItemRequestShortDto);
-
-                    itemRequestShortDto.ifPresent(it::setRequest);
-
-                    // Найдём владельца
-                    Optional<UserDto> sharer = itemsWithRequests.stream()
-                            .filter(i -> i.getEntityId().equals(it.getId()))
-                            .map(Item::getSharer)
-                            .map(userMapper::mapToUserDto)
-                            .findFirst();
-                    // И установим его
-                    sharer.ifPresent(it::setSharer);
-                }
-
-                // Установим заполненный список связанных вещей запросу
-                itemRequestFullDto.setItems(items);
-
-                // Свяжем запрос с вещью
-                item.setRequest(itemRequestFullDto);
-            });
+        Map<Long, List<ItemShortDto>> itemsByRequest = requestsIds.isEmpty() ? Map.of()
+                : itemRepository.findByRequestEntityIdIn(requestsIds, SORT_ITEM_ID_ASC).stream()
+                .collect(Collectors.groupingBy(ItemProjection::getRequestId,
+                        Collectors.mapping(itemMapper::mapToShortDto, Collectors.toList())));
+
+        // Дополним коллекцию найденными сведениями
+        List<ItemFullDto> result = new ArrayList<>(searchResult.size());
+        for (ItemProjection item : searchResult) {
+            ItemFullDto dto = itemMapper.mapToFullDto(item);
+            dto.setLastBooking(lastBookings.get(item.getId()));
+            dto.setNextBooking(nextBookings.get(item.getId()));
+            dto.setComments(comments.getOrDefault(item.getId(), List.of()));
+
+            if (dto.getRequest() != null) {
+                dto.getRequest().setItems(itemsByRequest.getOrDefault(item.getRequestId(), List.of()));
+            }
+
+            result.add(dto);
         }
 
         return result;
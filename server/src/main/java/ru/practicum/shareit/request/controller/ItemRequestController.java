@@ -3,6 +3,8 @@ package ru.practicum.shareit.request.controller;
 import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,6 +15,9 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.commons.etag.EntityTag;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
@@ -32,58 +37,84 @@ public class ItemRequestController {
     /**
      * Обработка GET-запрос к /requests/all
      *
+     * @param after курсор последнего полученного запроса
+     * @param withTotal признак передачи общего количества запросов в заголовке X-Total-Count
      * @return коллекция {@link ItemRequestFullDto}
      */
     @GetMapping("/all")
     public ResponseEntity<Collection<ItemRequestShortDto>> findAll(
             @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.debug("Получение всех запросов, созданных другими пользователями на уровне контроллера");
+        log.debug("Передан курсор: {}", after);
 
-        Collection<ItemRequestShortDto> result = itemRequestService.findAll(from, size);
-        log.debug("На уровень контроллера вернулась коллекция всех запросов размером {}", result.size());
+        Slice<ItemRequestShortDto> result = itemRequestService.findAll(from, size, after);
+        log.debug("На уровень контроллера вернулась коллекция всех запросов размером {}", result.getNumberOfElements());
 
         log.debug("Возврат результатов на уровень контроллера");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        HttpHeaders headers = PageCursor.nextPageHeaders(result, dto -> PageCursor.of(dto.getCreated(), dto.getId()));
+        if (withTotal) {
+            headers.set(PageCursor.TOTAL_COUNT_HEADER, String.valueOf(itemRequestService.countAll()));
+        }
+        return new ResponseEntity<>(result.getContent(), headers, HttpStatus.OK);
     }
 
     /**
      * Обработка GET-запроса к /requests
      *
      * @param requestorId идентификатор автора запросов
+     * @param withTotal признак передачи общего количества запросов автора в заголовке X-Total-Count
      * @return коллекция {@link ItemRequestFullDto}
      */
     @GetMapping
     public ResponseEntity<Collection<ItemRequestFullDto>> findByRequestorId(
             @RequestHeader("X-Sharer-User-Id") Long requestorId,
             @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.debug("Получение всех своих запросов на уровне контроллера");
         log.debug("Запрос поступил от пользователя с идентификатором: {}", requestorId);
 
         Collection<ItemRequestFullDto> result = itemRequestService.findByRequestorId(requestorId, from, size);
         log.debug("На уровень контроллера вернулась коллекция собственных запросов размером {}", result.size());
 
+        HttpHeaders headers = new HttpHeaders();
+        if (withTotal) {
+            headers.set(PageCursor.TOTAL_COUNT_HEADER,
+                    String.valueOf(itemRequestService.countByRequestorId(requestorId)));
+        }
+
         log.debug("Возврат результатов поиска на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        return new ResponseEntity<>(result, headers, HttpStatus.OK);
     }
 
     /**
      * Обработка GET-запроса к /requests/{requestId}
      *
      * @param itemRequestId идентификатор запроса
-     * @return экземпляр {@link ItemRequestFullDto}
+     * @param request запрос с заголовком If-None-Match
+     * @return экземпляр {@link ItemRequestFullDto} с заголовком ETag или ответ 304, если запрос не изменился
      */
     @GetMapping("/{requestId}")
-    public ResponseEntity<ItemRequestFullDto> findById(@PathVariable(name = "requestId") Long itemRequestId) {
+    public ResponseEntity<ItemRequestFullDto> findById(@PathVariable(name = "requestId") Long itemRequestId,
+                                                       WebRequest request) {
         log.debug("Получение запроса по его идентификатору на уровне контроллера");
         log.debug("Передан идентификатор запроса: {}", itemRequestId);
 
+        String eTag = itemRequestService.getEntityTag(itemRequestId);
+        HttpHeaders headers = EntityTag.headers(eTag);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            log.debug("Запрос не изменился, возврат ответа 304 на уровень клиента");
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
         ItemRequestFullDto result = itemRequestService.findById(itemRequestId);
         log.debug("На уровень контроллера вернулся запрос с id {}", result.getId());
 
         log.debug("Возврат результатов поиска по идентификатору на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        return new ResponseEntity<>(result, headers, HttpStatus.OK);
     }
 
     /**
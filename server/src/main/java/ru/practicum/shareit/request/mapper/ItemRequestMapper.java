@@ -4,6 +4,7 @@ import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.projection.ItemRequestProjection;
 
 public interface ItemRequestMapper {
 
@@ -15,6 +16,14 @@ public interface ItemRequestMapper {
      */
     ItemRequestFullDto mapToItemRequestFullDto(ItemRequest itemRequest);
 
+    /**
+     * Метод преобразует {@link ItemRequestProjection} в {@link ItemRequestFullDto}
+     *
+     * @param projection проекция {@link ItemRequestProjection}
+     * @return экземпляр класса {@link ItemRequestFullDto}
+     */
+    ItemRequestFullDto mapToItemRequestFullDto(ItemRequestProjection projection);
+
     /**
      * Метод преобразует {@link ItemRequest} в {@link ItemRequestShortDto}
      *
@@ -23,6 +32,14 @@ public interface ItemRequestMapper {
      */
     ItemRequestShortDto mapToItemRequestShortDto(ItemRequest itemRequest);
 
+    /**
+     * Метод преобразует {@link ItemRequestProjection} в {@link ItemRequestShortDto}
+     *
+     * @param projection проекция {@link ItemRequestProjection}
+     * @return экземпляр класса {@link ItemRequestShortDto}
+     */
+    ItemRequestShortDto mapToItemRequestShortDto(ItemRequestProjection projection);
+
     /**
      * Метод преобразует {@link ItemRequestCreateDto} в {@link ItemRequest}
      *
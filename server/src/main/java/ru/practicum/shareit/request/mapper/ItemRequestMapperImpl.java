@@ -8,6 +8,8 @@ import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.projection.ItemRequestProjection;
+import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 
 
@@ -20,8 +22,10 @@ public class ItemRequestMapperImpl implements ItemRequestMapper {
 
     @Override
     public ItemRequestFullDto mapToItemRequestFullDto(ItemRequest itemRequest) {
-        log.debug("Преобразование данных из модели {} в модель {}", ItemRequest.class,
-                ItemRequestFullDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в модель {}", ItemRequest.class,
+                    ItemRequestFullDto.class);
+        }
         return ItemRequestFullDto.builder()
                 .id(itemRequest.getEntityId())
                 .description(itemRequest.getDescription())
@@ -40,13 +44,47 @@ public class ItemRequestMapperImpl implements ItemRequestMapper {
                 .build();
     }
 
+    @Override
+    public ItemRequestFullDto mapToItemRequestFullDto(ItemRequestProjection projection) {
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из проекции {} в модель {}", ItemRequestProjection.class,
+                    ItemRequestFullDto.class);
+        }
+        return ItemRequestFullDto.builder()
+                .id(projection.getId())
+                .description(projection.getDescription())
+                .requestor(mapRequestor(projection))
+                .created(projection.getCreated())
+                .build();
+    }
+
+    @Override
+    public ItemRequestShortDto mapToItemRequestShortDto(ItemRequestProjection projection) {
+        return ItemRequestShortDto.builder()
+                .id(projection.getId())
+                .description(projection.getDescription())
+                .requestor(mapRequestor(projection))
+                .created(projection.getCreated())
+                .build();
+    }
+
     @Override
     public ItemRequest mapToItemRequest(ItemRequestCreateDto dto) {
-        log.debug("Преобразование данных из модели {} в краткую модель {}", ItemRequestCreateDto.class,
-                ItemRequest.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в краткую модель {}", ItemRequestCreateDto.class,
+                    ItemRequest.class);
+        }
         return ItemRequest.builder()
                 .description(dto.getDescription())
                 .created(LocalDateTime.now())
                 .build();
     }
+
+    private UserDto mapRequestor(ItemRequestProjection projection) {
+        return UserDto.builder()
+                .id(projection.getRequestorId())
+                .name(projection.getRequestorName())
+                .email(projection.getRequestorEmail())
+                .build();
+    }
 }
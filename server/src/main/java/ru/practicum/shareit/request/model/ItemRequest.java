@@ -2,12 +2,15 @@ package ru.practicum.shareit.request.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,6 +19,9 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import ru.practicum.shareit.commons.cache.EntityCacheConfiguration;
 import ru.practicum.shareit.user.model.User;
 
 /**
@@ -23,6 +29,7 @@ import ru.practicum.shareit.user.model.User;
  */
 @Table(name = "requests")
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfiguration.REQUESTS_REGION)
 @Builder
 @EqualsAndHashCode(of = "entityId")
 @Getter
@@ -36,7 +43,8 @@ public class ItemRequest {
      * Идентификатор сущности
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long entityId;
 
@@ -49,7 +57,8 @@ public class ItemRequest {
     /**
      * Идентификатор владельца
      */
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @ToString.Exclude
     @JoinColumn(name = "requestor_id", referencedColumnName = "id")
     private User requestor;
 
@@ -58,4 +67,11 @@ public class ItemRequest {
      */
     @Column(name = "created", nullable = false)
     private LocalDateTime created;
+
+    /**
+     * Версия записи, увеличивается при каждом изменении
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.request.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Сведения о запросе вещи с автором для чтения, выбранные одним запросом без загрузки сущностей.
+ */
+public interface ItemRequestProjection {
+
+    /**
+     * Идентификатор запроса
+     */
+    Long getId();
+
+    /**
+     * Описание запроса
+     */
+    String getDescription();
+
+    /**
+     * Дата создания запроса
+     */
+    LocalDateTime getCreated();
+
+    /**
+     * Идентификатор автора запроса
+     */
+    Long getRequestorId();
+
+    /**
+     * Имя автора запроса
+     */
+    String getRequestorName();
+
+    /**
+     * Почтовый адрес автора запроса
+     */
+    String getRequestorEmail();
+}
@@ -1,11 +1,102 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.commons.etag.EntityVersionProjection;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.projection.ItemRequestProjection;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    Page<ItemRequest> findByRequestorEntityId(Long entityId, Pageable pageable);
+    /**
+     * Выборка полей {@link ItemRequestProjection}: запрос и его автор
+     */
+    String SELECT_ITEM_REQUEST_PROJECTION = "SELECT r.entityId AS id, r.description AS description, "
+            + "r.created AS created, "
+            + "u.entityId AS requestorId, u.name AS requestorName, u.email AS requestorEmail "
+            + "FROM ItemRequest AS r "
+            + "JOIN r.requestor AS u ";
+
+    /**
+     * Метод возвращает все запросы
+     *
+     * @param pageable ограничения выборки и порядок сортировки
+     * @return коллекция {@link ItemRequestProjection}
+     */
+    @Query(SELECT_ITEM_REQUEST_PROJECTION)
+    Slice<ItemRequestProjection> findAllProjections(Pageable pageable);
+
+    /**
+     * Метод возвращает запросы, следующие за курсором при сортировке по убыванию даты создания и идентификатора
+     *
+     * @param afterCreated дата создания последнего полученного запроса
+     * @param afterId идентификатор последнего полученного запроса
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link ItemRequestProjection}
+     */
+    @Query(SELECT_ITEM_REQUEST_PROJECTION
+            + "WHERE r.created <= :afterCreated "
+            + "AND (r.created < :afterCreated OR r.entityId < :afterId)")
+    Slice<ItemRequestProjection> findAllProjectionsAfterCursor(@Param("afterCreated") LocalDateTime afterCreated,
+                                                               @Param("afterId") Long afterId,
+                                                               Pageable pageable);
+
+    /**
+     * Метод возвращает запросы, созданные пользователем
+     *
+     * @param entityId идентификатор автора запросов
+     * @param pageable ограничения выборки и порядок сортировки
+     * @return коллекция {@link ItemRequestProjection}
+     */
+    @Query(SELECT_ITEM_REQUEST_PROJECTION
+            + "WHERE r.requestor.entityId = :requestorId")
+    Slice<ItemRequestProjection> findByRequestorEntityId(@Param("requestorId") Long entityId, Pageable pageable);
+
+    /**
+     * Метод возвращает количество запросов, созданных пользователем
+     *
+     * @param entityId идентификатор автора запросов
+     * @return количество запросов
+     */
+    long countByRequestorEntityId(Long entityId);
+
+    /**
+     * Метод возвращает запрос по идентификатору в виде проекции
+     *
+     * @param itemRequestId идентификатор запроса
+     * @return {@link ItemRequestProjection}
+     */
+    @Query(SELECT_ITEM_REQUEST_PROJECTION
+            + "WHERE r.entityId = :itemRequestId")
+    Optional<ItemRequestProjection> findProjectionById(@Param("itemRequestId") Long itemRequestId);
+
+    /**
+     * Метод возвращает версию представления запроса: версии запроса, его автора и вещей, созданных по запросу
+     *
+     * @param itemRequestId идентификатор запроса
+     * @return {@link EntityVersionProjection}, владельцем считается автор запроса
+     */
+    @Query("SELECT r.entityId AS id, rq.entityId AS ownerId, "
+            + "CONCAT(CAST(r.version AS String), '.', CAST(rq.version AS String), '.', "
+            + ItemRepository.SELECT_REQUEST_ITEMS_VERSION + ") AS version "
+            + "FROM ItemRequest AS r "
+            + "JOIN r.requestor AS rq "
+            + "WHERE r.entityId = :itemRequestId")
+    Optional<EntityVersionProjection> findVersionById(@Param("itemRequestId") Long itemRequestId);
+
+    /**
+     * Метод возвращает идентификаторы запросов пользователя, которые удаляются в БД каскадно вместе с ним
+     *
+     * @param requestorId идентификатор автора запросов
+     * @return коллекция идентификаторов запросов
+     */
+    @Query("SELECT r.entityId FROM ItemRequest AS r WHERE r.requestor.entityId = :requestorId")
+    List<Long> findIdsByRequestorEntityId(@Param("requestorId") Long requestorId);
 }
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request.service;
 
 import java.util.Collection;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
@@ -12,9 +13,17 @@ public interface ItemRequestService {
      *
      * @param from номер начального элемента коллекции
      * @param size максимальный размер коллекции
-     * @return коллекция {@link ItemRequestShortDto}
+     * @param after курсор последнего полученного запроса или null. Если передан, from не учитывается
+     * @return страница {@link ItemRequestShortDto} с признаком наличия следующих запросов
      */
-    Collection<ItemRequestShortDto> findAll(Integer from, Integer size);
+    Slice<ItemRequestShortDto> findAll(Integer from, Integer size, String after);
+
+    /**
+     * Метод возвращает общее количество запросов
+     *
+     * @return количество запросов
+     */
+    long countAll();
 
     /**
      * Метод возвращает коллекцию {@link ItemRequestFullDto}, созданных пользователем
@@ -24,6 +33,14 @@ public interface ItemRequestService {
      */
     Collection<ItemRequestFullDto> findByRequestorId(Long requestorId, Integer from, Integer size);
 
+    /**
+     * Метод возвращает общее количество запросов, созданных пользователем
+     *
+     * @param requestorId идентификатор пользователя
+     * @return количество запросов
+     */
+    long countByRequestorId(Long requestorId);
+
     /**
      * Метод возвращает экземпляр {@link ItemRequestFullDto} по переданному идентификатору
      *
@@ -32,6 +49,14 @@ public interface ItemRequestService {
      */
     ItemRequestFullDto findById(Long itemRequestId);
 
+    /**
+     * Метод возвращает ETag представления запроса без его формирования
+     *
+     * @param itemRequestId идентификатор запроса
+     * @return значение ETag или null, если запрос не найден
+     */
+    String getEntityTag(Long itemRequestId);
+
     /**
      * Метод проверяет и передаёт для сохранения полученный экземпляр класса {@link ItemRequestCreateDto} и возвращает
      * его с заполненными после сохранения полями
@@ -1,28 +1,31 @@
 package ru.practicum.shareit.request.service;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.commons.cache.EntityExistenceChecker;
+import ru.practicum.shareit.commons.etag.EntityTag;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.projection.ItemRequestProjection;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.dto.UserDto;
-import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
@@ -31,48 +34,59 @@ import ru.practicum.shareit.user.repository.UserRepository;
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
 
-    private static final Sort SORT_CREATED_DESC = Sort.by(Direction.DESC, "created");
+    private static final Sort SORT_CREATED_DESC = Sort.by(Direction.DESC, "created")
+            .and(Sort.by(Direction.DESC, "entityId"));
 
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRequestMapper itemRequestMapper;
 
     private final UserRepository userRepository;
-    private final UserMapper userMapper;
 
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
 
+    private final EntityExistenceChecker entityExistenceChecker;
+
 
     @Override
-    public Collection<ItemRequestShortDto> findAll(Integer from, Integer size) {
+    public Slice<ItemRequestShortDto> findAll(Integer from, Integer size, String after) {
         log.debug("Получение коллекции всех запросов на уровне контроллера");
 
-        PageRequest pageRequest = PageRequest.of(from, size, SORT_CREATED_DESC);
-
-        Page<ItemRequest> searchResult = itemRequestRepository.findAll(pageRequest);
-
-        log.debug("На уровень сервиса поступила коллекция запросов размером {}", searchResult.getContent().size());
+        Slice<ItemRequestProjection> searchResult;
+        if (after == null) {
+            searchResult = itemRequestRepository.findAllProjections(PageRequest.of(from, size, SORT_CREATED_DESC));
+        } else {
+            PageCursor cursor = PageCursor.decode(after, true);
+            searchResult = itemRequestRepository.findAllProjectionsAfterCursor(cursor.date(), cursor.id(),
+                    PageRequest.of(0, size, SORT_CREATED_DESC));
+        }
+        log.debug("На уровень сервиса поступила коллекция запросов размером {}", searchResult.getNumberOfElements());
 
-        Collection<ItemRequestShortDto> result = searchResult.stream()
-                .map(itemRequestMapper::mapToItemRequestShortDto)
-                .toList();
+        Slice<ItemRequestShortDto> result = searchResult.map(itemRequestMapper::mapToItemRequestShortDto);
         log.debug("Полученная коллекция всех запросов преобразована");
 
         log.debug("Возврат коллекции всех запросов на уровень контроллера ");
         return result;
     }
 
+    @Override
+    public long countAll() {
+        log.debug("Подсчет всех запросов на уровне сервиса");
+        return itemRequestRepository.count();
+    }
+
     @Override
     public Collection<ItemRequestFullDto> findByRequestorId(Long requestorId, Integer from, Integer size) {
         log.debug("Получение всех запросов, созданных пользователем на уровне сервиса");
 
-        User requestor = userRepository.findById(requestorId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с id " + requestorId + " не найден"));
-        log.debug("Получен идентификатор автора запросов: {}", requestor.getEntityId());
+        if (!entityExistenceChecker.exists(User.class, requestorId, userRepository::existsById)) {
+            throw new NotFoundException("Пользователь с id " + requestorId + " не найден");
+        }
+        log.debug("Получен идентификатор автора запросов: {}", requestorId);
 
         PageRequest pageRequest = PageRequest.of(from, size, SORT_CREATED_DESC);
 
-        Collection<ItemRequest> searchResult = itemRequestRepository.findByRequestorEntityId(requestor.getEntityId(),
+        Collection<ItemRequestProjection> searchResult = itemRequestRepository.findByRequestorEntityId(requestorId,
                 pageRequest).getContent();
         log.debug("На уровень сервиса вернулась коллекция запросов, созданных пользователем размером {}",
                 searchResult.size());
@@ -87,41 +101,36 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return result;
     }
 
+    @Override
+    public long countByRequestorId(Long requestorId) {
+        log.debug("Подсчет запросов, созданных пользователем, на уровне сервиса");
+        return itemRequestRepository.countByRequestorEntityId(requestorId);
+    }
+
     @Override
     public ItemRequestFullDto findById(Long itemRequestId) {
         log.debug("Поиск запроса по идентификатору");
         log.debug("Передан идентификатор запроса: {}", itemRequestId);
 
-        ItemRequest searchResult = itemRequestRepository.findById(itemRequestId)
+        ItemRequestProjection searchResult = itemRequestRepository.findProjectionById(itemRequestId)
                 .orElseThrow(() -> new NotFoundException("Запрос с id " + itemRequestId + " не найден"));
-        log.debug("На уровень сервиса вернулся запрос с id {}", searchResult.getEntityId());
+        log.debug("На уровень сервиса вернулся запрос с id {}", searchResult.getId());
 
         ItemRequestFullDto result = itemRequestMapper.mapToItemRequestFullDto(searchResult);
-
-        Collection<Item> items = itemRepository.findByRequestEntityIdIn(List.of(result.getId()),
-                Sort.by(Direction.ASC, "entityId"));
-        if (!items.isEmpty()) {
-            Collection<ItemShortDto> itemList = new ArrayList<>();
-            for (Item item : items) {
-                ItemShortDto itemShortDto = itemMapper.mapToShortDto(item);
-
-                UserDto sharer = userMapper.mapToUserDto(item.getSharer());
-                itemShortDto.setSharer(sharer);
-
-                ItemRequestShortDto itemRequestShortDto = itemRequestMapper.mapToItemRequestShortDto(item.getRequest());
-                itemShortDto.setRequest(itemRequestShortDto);
-
-                itemList.add(itemShortDto);
-            }
-
-            result.setItems(itemList);
-        }
+        completeModel(List.of(result));
         log.debug("Полученная модель преобразована");
 
         log.debug("Возврат результатов поиска на уровень контроллера");
         return result;
     }
 
+    @Override
+    public String getEntityTag(Long itemRequestId) {
+        return itemRequestRepository.findVersionById(itemRequestId)
+                .map(version -> EntityTag.of("requests", version))
+                .orElse(null);
+    }
+
     @Override
     public ItemRequestFullDto create(Long requestorId, ItemRequestCreateDto dto) {
         log.debug("Создание запроса на уровне сервиса");
@@ -138,49 +147,32 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         log.debug("После сохранения на уровень сервиса вернулся запрос с id {}", itemRequest.getEntityId());
 
         ItemRequestFullDto result = itemRequestMapper.mapToItemRequestFullDto(itemRequest);
-        Collection<Item> items = itemRepository.findByRequestEntityIdIn(List.of(result.getId()),
-                Sort.by(Direction.ASC, "entityId"));
-        if (!items.isEmpty()) {
-            Collection<ItemShortDto> itemList = new ArrayList<>();
-            for (Item item : items) {
-                ItemShortDto itemShortDto = itemMapper.mapToShortDto(item);
-
-                UserDto sharer = userMapper.mapToUserDto(item.getSharer());
-                itemShortDto.setSharer(sharer);
-
-                ItemRequestShortDto itemRequestShortDto = itemRequestMapper.mapToItemRequestShortDto(item.getRequest());
-                itemShortDto.setRequest(itemRequestShortDto);
-
-                itemList.add(itemShortDto);
-            }
-
-            result.setItems(itemList);
-        }
+        completeModel(List.of(result));
         log.debug("Сохраненная модель преобразована");
 
         log.debug("Возврат результатов сохранения на уровень контролера");
         return result;
     }
 
+    /**
+     * Метод дополняет запросы вещами, созданными в ответ на них. Вещи всех запросов загружаются одним запросом
+     *
+     * @param result коллекция запросов
+     */
     private void completeModel(Collection<ItemRequestFullDto> result) {
-        // Получим коллекцию всех вещей по списку идентификаторов запросов
-        Collection<Item> items = itemRepository.findByRequestEntityIdIn(
-                result.stream().map(ItemRequestFullDto::getId).toList(), Sort.by(Direction.ASC, "entityId"));
+        if (result.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<ItemShortDto>> itemsByRequest = itemRepository.findByRequestEntityIdIn(
+                        result.stream().map(ItemRequestFullDto::getId).toList(), Sort.by(Direction.ASC, "entityId"))
+                .stream()
+                .collect(Collectors.groupingBy(ItemProjection::getRequestId,
+                        Collectors.mapping(itemMapper::mapToShortDto, Collectors.toList())));
 
-        // Если коллекция не пустая
-        if (!items.isEmpty()) {
+        if (!itemsByRequest.isEmpty()) {
             for (ItemRequestFullDto dto : result) {
-                Collection<ItemShortDto> itemList = new ArrayList<>();
-                // Пополним коллекцию вещей модели
-                for (Item item : items) {
-                    if (item.getRequest().getEntityId().equals(dto.getId())) {
-                        ItemShortDto itemShortDto = itemMapper.mapToShortDto(item);
-                        itemShortDto.setSharer(userMapper.mapToUserDto(item.getSharer()));
-                        itemShortDto.setRequest(itemRequestMapper.mapToItemRequestShortDto(item.getRequest()));
-                        itemList.add(itemShortDto);
-                    }
-                }
-                dto.setItems(itemList);
+                dto.setItems(itemsByRequest.getOrDefault(dto.getId(), List.of()));
             }
         }
     }
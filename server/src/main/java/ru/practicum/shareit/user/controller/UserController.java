@@ -3,6 +3,8 @@ package ru.practicum.shareit.user.controller;
 import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -14,6 +16,9 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.commons.etag.EntityTag;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -33,37 +38,54 @@ public class UserController {
     /**
      * Обработка GET-запроса к /users
      *
+     * @param after курсор последнего полученного пользователя
+     * @param withTotal признак передачи общего количества пользователей в заголовке X-Total-Count
      * @return коллекция {@link UserDto}
      */
     @GetMapping
     public ResponseEntity<Collection<UserDto>> findAll(
             @RequestParam(name = "from", required = false, defaultValue = "0") Integer from,
-            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size) {
+            @RequestParam(name = "size", required = false, defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after,
+            @RequestParam(name = "withTotal", required = false, defaultValue = "false") Boolean withTotal) {
         log.debug("Запрос всех пользователей на уровне контроллера");
+        log.debug("Передан курсор: {}", after);
 
-        Collection<UserDto> result = userService.findAll(from, size);
-        log.debug("На уровень контроллера вернулась коллекция размером {}", result.size());
+        Slice<UserDto> result = userService.findAll(from, size, after);
+        log.debug("На уровень контроллера вернулась коллекция размером {}", result.getNumberOfElements());
 
         log.debug("Возврат результатов поиска на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        HttpHeaders headers = PageCursor.nextPageHeaders(result, dto -> PageCursor.of(dto.getId()));
+        if (withTotal) {
+            headers.set(PageCursor.TOTAL_COUNT_HEADER, String.valueOf(userService.countAll()));
+        }
+        return new ResponseEntity<>(result.getContent(), headers, HttpStatus.OK);
     }
 
     /**
      * Обработка GET-запроса к /user/{id}
      *
      * @param userId идентификатор пользователя
-     * @return экземпляр класса {@link UserDto}
+     * @param request запрос с заголовком If-None-Match
+     * @return экземпляр класса {@link UserDto} с заголовком ETag или ответ 304, если пользователь не изменился
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserDto> findById(@PathVariable(name = "id") Long userId) {
+    public ResponseEntity<UserDto> findById(@PathVariable(name = "id") Long userId, WebRequest request) {
         log.debug("Поиск пользователя по идентификатору на уровне контроллера");
         log.debug("Передан id пользователя: {}", userId);
 
+        String eTag = userService.getEntityTag(userId);
+        HttpHeaders headers = EntityTag.headers(eTag);
+        if (eTag != null && request.checkNotModified(eTag)) {
+            log.debug("Пользователь не изменился, возврат ответа 304 на уровень клиента");
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
         UserDto result = userService.findById(userId);
         log.debug("На уровень контроллера ввернулся экземпляр с id {}", result.getId());
 
         log.debug("Возврат результатов поиска по идентификатору на уровень клиента");
-        return new ResponseEntity<>(result, HttpStatus.OK);
+        return new ResponseEntity<>(result, headers, HttpStatus.OK);
     }
 
     /**
@@ -13,8 +13,10 @@ public class UserMapperImpl implements UserMapper {
 
     @Override
     public User mapToUser(UserCreateDto dto) {
-        log.debug("Преобразование данных из модели {} в модель {} для сохранения", UserCreateDto.class,
-                User.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в модель {} для сохранения", UserCreateDto.class,
+                    User.class);
+        }
         return User.builder()
                 .name(dto.getName())
                 .email(dto.getEmail())
@@ -23,7 +25,9 @@ public class UserMapperImpl implements UserMapper {
 
     @Override
     public UserDto mapToUserDto(User user) {
-        log.debug("Преобразование данных из модели {} в модель {}", User.class, UserDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Преобразование данных из модели {} в модель {}", User.class, UserDto.class);
+        }
         return UserDto.builder()
                 .id(user.getEntityId())
                 .email(user.getEmail())
@@ -33,15 +37,17 @@ public class UserMapperImpl implements UserMapper {
 
     @Override
     public void updateUserFields(UserUpdateDto dto, User user) {
-        log.debug("Изменение полей в экземпляре класса {} на основе данных из экземпляра класса {}", User.class,
-                UserUpdateDto.class);
+        if (log.isTraceEnabled()) {
+            log.trace("Изменение полей в экземпляре класса {} на основе данных из экземпляра класса {}", User.class,
+                    UserUpdateDto.class);
+        }
         if (dto.hasEmail()) {
-            log.debug("Будет изменен почтовый адрес");
+            log.trace("Будет изменен почтовый адрес");
             user.setEmail(dto.getEmail());
         }
 
         if (dto.hasName()) {
-            log.debug("Будет изменено имя");
+            log.trace("Будет изменено имя");
             user.setName(dto.getName());
         }
     }
@@ -1,17 +1,28 @@
 package ru.practicum.shareit.user.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.commons.etag.EntityVersionProjection;
 import ru.practicum.shareit.user.model.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     /**
-     * Метод проверяет наличие переданного почтового адреса у всех зарегистрированных пользователей
+     * Метод проверяет наличие переданного почтового адреса у всех зарегистрированных пользователей. Результат
+     * сохраняется в кэше запросов и сбрасывается при любом изменении таблицы пользователей
      *
      * @param email почтовый адрес
      * @return результат проверки
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmailIgnoreCase(String email);
 
 
@@ -28,4 +39,41 @@ public interface UserRepository extends JpaRepository<User, Long> {
             + "WHERE UPPER(u.email) = UPPER(:email) "
             + "AND u.entityId <> :userId")
     boolean existsByEmailAndUserId(String email, Long userId);
+
+    /**
+     * Метод возвращает идентификаторы существующих пользователей из переданных, не загружая самих пользователей
+     *
+     * @param userIds коллекция идентификаторов пользователей
+     * @return коллекция идентификаторов существующих пользователей
+     */
+    @Query("SELECT u.entityId FROM User AS u WHERE u.entityId IN :userIds")
+    List<Long> findExistingIds(Collection<Long> userIds);
+
+    /**
+     * Метод возвращает страницу пользователей без подсчета их общего количества
+     *
+     * @param pageable ограничения выборки и порядок сортировки
+     * @return коллекция {@link User}
+     */
+    Slice<User> findAllBy(Pageable pageable);
+
+    /**
+     * Метод возвращает пользователей с идентификатором больше, чем у последнего полученного пользователя
+     *
+     * @param entityId идентификатор последнего полученного пользователя
+     * @param pageable размер выборки и порядок сортировки
+     * @return коллекция {@link User}
+     */
+    Slice<User> findByEntityIdGreaterThan(Long entityId, Pageable pageable);
+
+    /**
+     * Метод возвращает версию представления пользователя
+     *
+     * @param userId идентификатор пользователя
+     * @return {@link EntityVersionProjection}
+     */
+    @Query("SELECT u.entityId AS id, u.entityId AS ownerId, CAST(u.version AS String) AS version "
+            + "FROM User AS u "
+            + "WHERE u.entityId = :userId")
+    Optional<EntityVersionProjection> findVersionById(Long userId);
 }
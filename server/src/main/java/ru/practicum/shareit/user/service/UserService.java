@@ -1,6 +1,6 @@
 package ru.practicum.shareit.user.service;
 
-import java.util.Collection;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -10,9 +10,19 @@ public interface UserService {
     /**
      * Метод возвращает коллекцию пользователей
      *
-     * @return коллекция {@link UserDto}
+     * @param from номер начального элемента коллекции
+     * @param size максимальный размер коллекции
+     * @param after курсор последнего полученного пользователя или null. Если передан, from не учитывается
+     * @return страница {@link UserDto} с признаком наличия следующих пользователей
      */
-    Collection<UserDto> findAll(Integer from, Integer size);
+    Slice<UserDto> findAll(Integer from, Integer size, String after);
+
+    /**
+     * Метод возвращает общее количество пользователей
+     *
+     * @return количество пользователей
+     */
+    long countAll();
 
     /**
      * Метод возвращает экземпляр класса {@link UserDto} по переданному идентификатору
@@ -22,6 +32,14 @@ public interface UserService {
      */
     UserDto findById(Long userId);
 
+    /**
+     * Метод возвращает ETag представления пользователя без его формирования
+     *
+     * @param userId идентификатор пользователя
+     * @return значение ETag или null, если пользователь не найден
+     */
+    String getEntityTag(Long userId);
+
     /**
      * Метод проверяет и передает для сохранения полученный экземпляр класса {@link UserCreateDto} и возвращает его с
      * заполненными полями после сохранения
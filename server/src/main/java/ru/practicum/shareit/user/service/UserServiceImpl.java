@@ -1,15 +1,23 @@
 package ru.practicum.shareit.user.service;
 
-import java.util.Collection;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.commons.cache.EntityCacheEvictor;
+import ru.practicum.shareit.commons.etag.EntityTag;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
 import ru.practicum.shareit.commons.exceptions.ValueAlreadyUsedException;
+import ru.practicum.shareit.commons.pagination.PageCursor;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -22,26 +30,45 @@ import ru.practicum.shareit.user.repository.UserRepository;
 @Slf4j
 public class UserServiceImpl implements UserService {
 
+    private static final Sort SORT_ID_ASC = Sort.by(Direction.ASC, "entityId");
+
     private final UserRepository userRepository;
 
     private final UserMapper userMapper;
 
+    private final ItemRepository itemRepository;
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final EntityCacheEvictor entityCacheEvictor;
+
     @Override
-    public Collection<UserDto> findAll(Integer from, Integer size) {
+    public Slice<UserDto> findAll(Integer from, Integer size, String after) {
         log.debug("Запрос всех пользователей на уровне сервиса");
 
-        PageRequest pageRequest = PageRequest.of(from, size, Sort.by(Direction.ASC, "entityId"));
-
-        Collection<User> searchResult = userRepository.findAll(pageRequest).getContent();
-        log.debug("Из репозитория получена коллекция размером {}", searchResult.size());
+        Slice<User> searchResult;
+        if (after == null) {
+            searchResult = userRepository.findAllBy(PageRequest.of(from, size, SORT_ID_ASC));
+        } else {
+            searchResult = userRepository.findByEntityIdGreaterThan(PageCursor.decode(after, false).id(),
+                    PageRequest.of(0, size, SORT_ID_ASC));
+        }
+        log.debug("Из репозитория получена коллекция размером {}", searchResult.getNumberOfElements());
 
-        Collection<UserDto> result = searchResult.stream().map(userMapper::mapToUserDto).toList();
-        log.debug("Полученная коллекция преобразована. Размер коллекции после преобразования: {}", result.size());
+        Slice<UserDto> result = searchResult.map(userMapper::mapToUserDto);
+        log.debug("Полученная коллекция преобразована. Размер коллекции после преобразования: {}",
+                result.getNumberOfElements());
 
         log.debug("Возврат результатов поиска на уровень контроллера");
         return result;
     }
 
+    @Override
+    public long countAll() {
+        log.debug("Подсчет всех пользователей на уровне сервиса");
+        return userRepository.count();
+    }
+
     @Override
     public UserDto findById(Long userId) {
         log.debug("Поиск пользователя по идентификатору на уровне сервиса");
@@ -58,6 +85,13 @@ public class UserServiceImpl implements UserService {
         return result;
     }
 
+    @Override
+    public String getEntityTag(Long userId) {
+        return userRepository.findVersionById(userId)
+                .map(version -> EntityTag.of("users", version))
+                .orElse(null);
+    }
+
     @Override
     @Transactional
     public UserDto create(UserCreateDto dto) {
@@ -118,9 +152,16 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException("Пользователь с id " + userId + " не найден"));
         log.debug("Пользователь с id {} для удаления найден в хранилище", user.getEntityId());
 
+        // Вещи и запросы пользователя удаляются каскадно на уровне БД и остаются в кэше второго уровня
+        List<Long> itemIds = itemRepository.findIdsDeletedWithUser(user.getEntityId());
+        List<Long> itemRequestIds = itemRequestRepository.findIdsByRequestorEntityId(user.getEntityId());
+
         userRepository.deleteById(user.getEntityId());
         log.debug("На уровень сервиса вернулась информация об успешном удалении пользователя из хранилища");
 
+        entityCacheEvictor.evictAfterCommit(Item.class, itemIds);
+        entityCacheEvictor.evictAfterCommit(ItemRequest.class, itemRequestIds);
+
         log.debug("Возврат результатов удаления на уровень контроллера");
     }
 
@@ -1,9 +1,3 @@
-DROP TABLE IF EXISTS users CASCADE;
-DROP TABLE IF EXISTS items CASCADE;
-DROP TABLE IF EXISTS bookings CASCADE;
-DROP TABLE IF EXISTS comments CASCADE;
-DROP TABLE IF EXISTS requests CASCADE;
-
 CREATE TABLE IF NOT EXISTS users (
   id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
   name VARCHAR NOT NULL,
@@ -82,4 +76,4 @@ COMMENT ON COLUMN bookings.start_date IS 'Дата начала';
 COMMENT ON COLUMN bookings.end_date IS 'Дата окончания';
 COMMENT ON COLUMN bookings.item_id IS 'Идентификатор вещи';
 COMMENT ON COLUMN bookings.booker_id IS 'Идентификатор бронирующего';
-COMMENT ON COLUMN bookings.status IS 'Статус';
\ No newline at end of file
+COMMENT ON COLUMN bookings.status IS 'Статус';
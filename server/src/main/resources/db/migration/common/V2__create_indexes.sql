@@ -0,0 +1,26 @@
+-- Вещи владельца: ItemRepository.findAllBySharerEntityId (сортировка по id)
+CREATE INDEX IF NOT EXISTS idx_items_owner_id ON items (owner_id, id);
+
+-- Вещи, созданные по запросам: ItemRepository.findByRequestEntityIdIn
+CREATE INDEX IF NOT EXISTS idx_items_request_id ON items (request_id, id);
+
+-- Запросы пользователя: ItemRequestRepository.findByRequestorEntityId (сортировка по дате создания)
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created DESC);
+
+-- Все запросы: ItemRequestRepository.findAll (сортировка по дате создания)
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC);
+
+-- Комментарии к вещам: CommentRepository.findAllByItemEntityIdIn (сортировка по дате создания)
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created);
+
+-- Все бронирования пользователя: BookingRepository.findAllByBookerEntityId
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+
+-- Бронирования пользователя по статусу и периоду: BookingRepository.findAll*BookerBookings*
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC);
+
+-- Бронирования вещи по статусу и периоду: BookingRepository.findNeighbourBookings, findAll*OwnerBookings*
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+-- Проверка завершенного бронирования перед комментарием: BookingRepository.existsByItemAndBooker
+CREATE INDEX IF NOT EXISTS idx_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
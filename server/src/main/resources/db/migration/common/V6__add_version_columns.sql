@@ -0,0 +1,12 @@
+-- Версии записей для оптимистической блокировки и ETag ответов: увеличиваются Hibernate при каждом изменении записи
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+COMMENT ON COLUMN users.version IS 'Версия записи';
+
+ALTER TABLE requests ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+COMMENT ON COLUMN requests.version IS 'Версия записи';
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+COMMENT ON COLUMN items.version IS 'Версия записи';
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+COMMENT ON COLUMN bookings.version IS 'Версия записи';
@@ -0,0 +1,7 @@
+-- Идентификаторы бронирований выдаются последовательностью с шагом 50 вместо столбца IDENTITY
+-- (см. postgresql/V7__create_bookings_sequence.sql). База H2 создается в памяти для тестов, поэтому
+-- при миграции таблица бронирований пуста и первый блок идентификаторов начинается с 1.
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 50 INCREMENT BY 50;
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT NEXT VALUE FOR bookings_seq;
@@ -0,0 +1,3 @@
+-- Проверка занятости почтового адреса без учета регистра: UserRepository.existsByEmailIgnoreCase,
+-- UserRepository.existsByEmailAndUserId
+CREATE INDEX IF NOT EXISTS idx_users_email_upper ON users (UPPER(email));
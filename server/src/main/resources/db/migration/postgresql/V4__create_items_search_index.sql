@@ -0,0 +1,4 @@
+-- Полнотекстовый поиск доступных вещей по названию и описанию: ItemRepository.findAvailableByFullText
+CREATE INDEX IF NOT EXISTS idx_items_available_fts ON items
+    USING gin (to_tsvector('simple', name || ' ' || description))
+    WHERE is_available;
@@ -0,0 +1,10 @@
+-- Подтвержденные бронирования одной вещи не должны пересекаться по периоду.
+-- Ограничение проверяется GiST-индексом по паре (item_id, период) и страхует проверку
+-- BookingRepository.existsOverlapping от гонок между экземплярами приложения.
+-- Для сравнения item_id на равенство в GiST-индексе нужно расширение btree_gist.
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings
+  ADD CONSTRAINT ex_bookings_item_period
+  EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+  WHERE (status = 'APPROVED');
@@ -0,0 +1,9 @@
+-- Идентификаторы бронирований выдаются последовательностью с шагом 50 вместо столбца IDENTITY: Hibernate
+-- резервирует блок из 50 идентификаторов одним обращением к последовательности (оптимизатор pooled) и может
+-- вставлять бронирования пакетами JDBC. Значение последовательности - верхняя граница блока, поэтому первый
+-- блок начинается сразу после наибольшего существующего идентификатора.
+CREATE SEQUENCE IF NOT EXISTS bookings_seq INCREMENT BY 50 OWNED BY bookings.id;
+SELECT setval('bookings_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM bookings), false);
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
@@ -13,8 +13,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -119,8 +122,8 @@ class BookingControllerTest {
     @DisplayName("Получение списка бронирований по идентификатору автора бронирований")
     @Test
     void getAllBookingsByBooker() throws Exception {
-        when(bookingService.findAllByBookerAndState(anyLong(), any(), anyInt(), anyInt()))
-                .thenReturn(List.of(bookingFullDto));
+        when(bookingService.findAllByBookerAndState(anyLong(), any(), anyInt(), anyInt(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingFullDto)));
 
         mockMvc.perform(get("/bookings")
                         .header(X_SHARER_HEADER, bookerDto.getId())
@@ -147,7 +150,7 @@ class BookingControllerTest {
     @DisplayName("Вызов исключения ValidationException при получении списка бронирований по идентификатору бронирующего")
     @Test
     void getAllBookingsByBookerWith400Exception() throws Exception {
-        when(bookingService.findAllByBookerAndState(anyLong(), any(), anyInt(), anyInt()))
+        when(bookingService.findAllByBookerAndState(anyLong(), any(), anyInt(), anyInt(), any()))
                 .thenThrow(IncorrectDataException.class);
         mockMvc.perform(get("/bookings")
                         .header(X_SHARER_HEADER, ownerDto.getId())
@@ -161,7 +164,7 @@ class BookingControllerTest {
     @DisplayName("Вызов исключения NotFoundException при получении списка бронирований по идентификатору бронирующего")
     @Test
     void getAllBookingsByBookerWith404Exception() throws Exception {
-        when(bookingService.findAllByBookerAndState(anyLong(), any(), anyInt(), anyInt()))
+        when(bookingService.findAllByBookerAndState(anyLong(), any(), anyInt(), anyInt(), any()))
                 .thenThrow(NotFoundException.class);
         mockMvc.perform(get("/bookings")
                         .header(X_SHARER_HEADER, ownerDto.getId())
@@ -175,7 +178,7 @@ class BookingControllerTest {
     @DisplayName("Вызов исключения RuntimeException при получении списка бронирований по идентификатору бронирующего")
     @Test
     void getAllBookingsByBookerWith500Exception() throws Exception {
-        when(bookingService.findAllByBookerAndState(anyLong(), any(), anyInt(), anyInt()))
+        when(bookingService.findAllByBookerAndState(anyLong(), any(), anyInt(), anyInt(), any()))
                 .thenThrow(RuntimeException.class);
         mockMvc.perform(get("/bookings")
                         .header(X_SHARER_HEADER, ownerDto.getId())
@@ -189,8 +192,8 @@ class BookingControllerTest {
     @DisplayName("Получение списка бронирований по идентификатору владельца вещи")
     @Test
     void getAllBookingByOwner() throws Exception {
-        when(bookingService.findAllByOwnerAndState(anyLong(), anyString(), anyInt(), anyInt()))
-                .thenReturn(List.of(bookingFullDto));
+        when(bookingService.findAllByOwnerAndState(anyLong(), anyString(), anyInt(), anyInt(), any()))
+                .thenReturn(new SliceImpl<>(List.of(bookingFullDto)));
 
         mockMvc.perform(get("/bookings/owner")
                         .header(X_SHARER_HEADER, ownerDto.getId())
@@ -217,7 +220,7 @@ class BookingControllerTest {
     @DisplayName("Вызов исключения ValidationException при получении списка бронирований по идентификатору владельца")
     @Test
     void getAllBookingsByOwnerWith400Exception() throws Exception {
-        when(bookingService.findAllByOwnerAndState(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.findAllByOwnerAndState(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenThrow(IncorrectDataException.class);
         mockMvc.perform(get("/bookings/owner")
                         .header(X_SHARER_HEADER, bookerDto.getId())
@@ -231,7 +234,7 @@ class BookingControllerTest {
     @DisplayName("Вызов исключения NotFoundException при получении списка бронирований по идентификатору владельца")
     @Test
     void getAllBookingsByOwnerWith404Exception() throws Exception {
-        when(bookingService.findAllByOwnerAndState(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.findAllByOwnerAndState(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenThrow(NotFoundException.class);
         mockMvc.perform(get("/bookings/owner")
                         .header(X_SHARER_HEADER, bookerDto.getId())
@@ -245,7 +248,7 @@ class BookingControllerTest {
     @DisplayName("Вызов исключения RuntimeException при получении списка бронирований по идентификатору владельца")
     @Test
     void getAllBookingsByOwnerWith500Exception() throws Exception {
-        when(bookingService.findAllByOwnerAndState(anyLong(), anyString(), anyInt(), anyInt()))
+        when(bookingService.findAllByOwnerAndState(anyLong(), anyString(), anyInt(), anyInt(), any()))
                 .thenThrow(RuntimeException.class);
         mockMvc.perform(get("/bookings/owner")
                         .header(X_SHARER_HEADER, bookerDto.getId())
@@ -508,4 +511,53 @@ class BookingControllerTest {
                 .andExpect(status().is5xxServerError())
                 .andExpect(status().isInternalServerError());
     }
-}
\ No newline at end of file
+
+    @DisplayName("Пакетное создание бронирований с результатом по каждой строке")
+    @Test
+    void createBookings() throws Exception {
+        when(bookingService.createAll(anyLong(), any()))
+                .thenReturn(List.of(
+                        BookingBatchResultDto.builder().index(0).status(200).booking(bookingFullDto).build(),
+                        BookingBatchResultDto.builder().index(1).status(404).error("Вещь не найдена").build()));
+
+        mockMvc.perform(post("/bookings/batch")
+                        .header(X_SHARER_HEADER, bookerDto.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(objectMapper.writeValueAsString(List.of(bookingCreateDto, bookingCreateDto)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingFullDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].booking.item.id", is(itemShortDto.getId()), Long.class))
+                .andExpect(jsonPath("$[0].booking.booker.id", is(bookerDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].error", is("Вещь не найдена")));
+    }
+
+    @DisplayName("Пакетное согласование бронирований с результатом по каждой строке")
+    @Test
+    void approveBookings() throws Exception {
+        bookingFullDto.setStatus(BookingStatus.APPROVED);
+        when(bookingService.approveAll(anyLong(), any()))
+                .thenReturn(List.of(
+                        BookingBatchResultDto.builder().index(0).status(200).booking(bookingFullDto).build(),
+                        BookingBatchResultDto.builder().index(1).status(409).error("Пересечение").build()));
+
+        mockMvc.perform(patch("/bookings/batch/approve")
+                        .header(X_SHARER_HEADER, ownerDto.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(objectMapper.writeValueAsString(List.of(
+                                new BookingApprovalDto(bookingFullDto.getId(), true),
+                                new BookingApprovalDto(bookingFullDto.getId() + 1, true))))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status", is(200)))
+                .andExpect(jsonPath("$[0].booking.status", is(BookingStatus.APPROVED.toString())))
+                .andExpect(jsonPath("$[1].status", is(409)))
+                .andExpect(jsonPath("$[1].error", is("Пересечение")));
+    }
+}
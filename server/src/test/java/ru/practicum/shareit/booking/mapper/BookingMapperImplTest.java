@@ -1,16 +1,21 @@
 package ru.practicum.shareit.booking.mapper;
 
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
+import ru.practicum.shareit.booking.projection.BookingProjection;
 import ru.practicum.shareit.user.model.User;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -81,6 +86,73 @@ class BookingMapperImplTest {
         assertEquals(booking.getEndDate(), bookingShortDto.getEnd());
     }
 
+    @DisplayName("Проверка преобразования из BookingNeighbourProjection в BookingShortDto")
+    @Test
+    void mapProjectionToShortDto() {
+        Random random = new Random();
+
+        Long id = Math.abs(random.nextLong());
+        Long bookerId = Math.abs(random.nextLong());
+        LocalDateTime start = LocalDateTime.now().minusDays(2);
+        LocalDateTime end = LocalDateTime.now().minusDays(1);
+
+        BookingNeighbourProjection projection = new SpelAwareProxyProjectionFactory().createProjection(
+                BookingNeighbourProjection.class, Map.of(
+                        "itemId", Math.abs(random.nextLong()),
+                        "id", id,
+                        "bookerId", bookerId,
+                        "startDate", start,
+                        "endDate", end,
+                        "kind", BookingNeighbourProjection.LAST));
+
+        BookingShortDto bookingShortDto = bookingMapper.mapToShortDto(projection);
+        assertNotNull(bookingShortDto);
+        assertEquals(id, bookingShortDto.getId());
+        assertEquals(bookerId, bookingShortDto.getBookerId());
+        assertEquals(start, bookingShortDto.getStart());
+        assertEquals(end, bookingShortDto.getEnd());
+    }
+
+    @DisplayName("Проверка преобразования из BookingProjection в BookingFullDto")
+    @Test
+    void mapProjectionToFullDto() {
+        Random random = new Random();
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", Math.abs(random.nextLong()));
+        values.put("startDate", LocalDateTime.now().plusDays(1));
+        values.put("endDate", LocalDateTime.now().plusDays(2));
+        values.put("status", BookingStatus.APPROVED);
+        values.put("itemId", Math.abs(random.nextLong()));
+        values.put("itemName", "Item name");
+        values.put("itemDescription", "Item description");
+        values.put("itemAvailable", true);
+        values.put("sharerId", Math.abs(random.nextLong()));
+        values.put("sharerName", "Owner Test");
+        values.put("sharerEmail", "owner@system.com");
+        values.put("bookerId", Math.abs(random.nextLong()));
+        values.put("bookerName", "Booker Test");
+        values.put("bookerEmail", "booker@system.com");
+
+        BookingProjection projection = new SpelAwareProxyProjectionFactory().createProjection(
+                BookingProjection.class, values);
+
+        BookingFullDto bookingFullDto = bookingMapper.mapToFullDto(projection);
+        assertNotNull(bookingFullDto);
+        assertEquals(projection.getId(), bookingFullDto.getId());
+        assertEquals(projection.getStartDate(), bookingFullDto.getStart());
+        assertEquals(projection.getEndDate(), bookingFullDto.getEnd());
+        assertEquals(projection.getStatus(), bookingFullDto.getStatus());
+        assertEquals(projection.getItemId(), bookingFullDto.getItem().getId());
+        assertEquals(projection.getItemName(), bookingFullDto.getItem().getName());
+        assertEquals(projection.getItemDescription(), bookingFullDto.getItem().getDescription());
+        assertEquals(projection.getItemAvailable(), bookingFullDto.getItem().getAvailable());
+        assertEquals(projection.getSharerId(), bookingFullDto.getItem().getSharer().getId());
+        assertEquals(projection.getSharerEmail(), bookingFullDto.getItem().getSharer().getEmail());
+        assertEquals(projection.getBookerId(), bookingFullDto.getBooker().getId());
+        assertEquals(projection.getBookerName(), bookingFullDto.getBooker().getName());
+    }
+
     @DisplayName("Проверка преобразования из BookingCreateDto в Booking")
     @Test
     void mapToBooking() {
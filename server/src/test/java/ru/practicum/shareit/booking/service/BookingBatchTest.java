@@ -0,0 +1,265 @@
+package ru.practicum.shareit.booking.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import org.h2.api.Trigger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingApprovalDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.commons.sql.QueryBudgetExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DisplayName("Пакетное создание и согласование бронирований")
+@SpringBootTest
+class BookingBatchTest {
+
+    private static final int BATCH_SIZE = 20;
+
+    @RegisterExtension
+    final QueryBudgetExtension queries = new QueryBudgetExtension();
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User owner;
+    private User booker;
+    private Item first;
+    private Item second;
+    private Item unavailable;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@batch.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@batch.com").build());
+        first = itemRepository.save(Item.builder().sharer(owner).name("First").description("First")
+                .available(true).build());
+        second = itemRepository.save(Item.builder().sharer(owner).name("Second").description("Second")
+                .available(true).build());
+        unavailable = itemRepository.save(Item.builder().sharer(owner).name("Unavailable").description("Unavailable")
+                .available(false).build());
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Строки пакета проверяются вместе, ошибка в строке не отменяет сохранение остальных")
+    @Test
+    void createAll() {
+        bookingRepository.save(Booking.builder().item(second).booker(booker).startDate(start.plusDays(100))
+                .endDate(start.plusDays(101)).status(BookingStatus.APPROVED).build());
+
+        List<BookingCreateDto> dtos = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            dtos.add(row(i % 2 == 0 ? first : second, start.plusDays(i), start.plusDays(i + 1)));
+        }
+        dtos.add(row(second, start.plusDays(100).plusHours(1), start.plusDays(100).plusHours(2)));
+        dtos.add(BookingCreateDto.builder().itemId(Long.MAX_VALUE).start(start).end(start.plusDays(1)).build());
+        dtos.add(row(unavailable, start, start.plusDays(1)));
+        dtos.add(row(first, start.plusDays(1), start));
+        dtos.add(null);
+
+        // Бронирующий, блокировка вещей, владельцы вещей, пересечения, последовательность и пакетная вставка
+        List<BookingBatchResultDto> results = queries.assertMaxQueries(6,
+                () -> bookingService.createAll(booker.getEntityId(), dtos));
+
+        assertEquals(dtos.size(), results.size());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            BookingBatchResultDto result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertEquals(200, result.getStatus());
+            assertNotNull(result.getBooking().getId());
+            assertEquals(BookingStatus.WAITING, result.getBooking().getStatus());
+            assertEquals(owner.getEntityId(), result.getBooking().getItem().getSharer().getId());
+            assertEquals(booker.getEntityId(), result.getBooking().getBooker().getId());
+            assertNull(result.getError());
+        }
+        assertEquals(409, results.get(BATCH_SIZE).getStatus());
+        assertEquals(404, results.get(BATCH_SIZE + 1).getStatus());
+        assertEquals(400, results.get(BATCH_SIZE + 2).getStatus());
+        assertEquals(400, results.get(BATCH_SIZE + 3).getStatus());
+        assertEquals(400, results.get(BATCH_SIZE + 4).getStatus());
+        assertNull(results.get(BATCH_SIZE + 4).getBooking());
+
+        assertEquals(BATCH_SIZE + 1, bookingRepository.count());
+    }
+
+    @DisplayName("Пересекающиеся подтверждения одной вещи в пакете не проходят проверку")
+    @Test
+    void approveAll() {
+        Booking approved = save(first, start, start.plusDays(2));
+        Booking overlapping = save(first, start.plusDays(1), start.plusDays(3));
+        Booking rejected = save(second, start, start.plusDays(1));
+        Booking foreign = save(second, start.plusDays(5), start.plusDays(6));
+
+        List<BookingApprovalDto> dtos = List.of(
+                new BookingApprovalDto(approved.getEntityId(), true),
+                new BookingApprovalDto(overlapping.getEntityId(), true),
+                new BookingApprovalDto(rejected.getEntityId(), false),
+                new BookingApprovalDto(Long.MAX_VALUE, true),
+                new BookingApprovalDto(approved.getEntityId(), false));
+
+        List<BookingBatchResultDto> results = bookingService.approveAll(owner.getEntityId(), dtos);
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals(BookingStatus.APPROVED, results.get(0).getBooking().getStatus());
+        assertEquals(409, results.get(1).getStatus());
+        assertEquals(200, results.get(2).getStatus());
+        assertEquals(BookingStatus.REJECTED, results.get(2).getBooking().getStatus());
+        assertEquals(404, results.get(3).getStatus());
+        assertEquals(400, results.get(4).getStatus());
+
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(approved.getEntityId()).orElseThrow()
+                .getStatus());
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(overlapping.getEntityId()).orElseThrow()
+                .getStatus());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(rejected.getEntityId()).orElseThrow()
+                .getStatus());
+
+        List<BookingBatchResultDto> notOwner = bookingService.approveAll(booker.getEntityId(),
+                List.of(new BookingApprovalDto(foreign.getEntityId(), true)));
+        assertEquals(400, notOwner.getFirst().getStatus());
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(foreign.getEntityId()).orElseThrow()
+                .getStatus());
+    }
+
+    @DisplayName("Подтверждение бронирования, пересекающегося с отклоняемым в том же пакете, сохраняется")
+    @Test
+    void approveAllRejectsBeforeApproving() throws SQLException {
+        Booking approval = save(first, start, start.plusDays(2));
+        Booking rejection = bookingRepository.save(Booking.builder().item(first).booker(booker)
+                .startDate(start.plusDays(1)).endDate(start.plusDays(3)).status(BookingStatus.APPROVED).build());
+
+        // Подтверждение имеет меньший идентификатор и при общем сбросе изменялось бы раньше отклонения
+        List<BookingBatchResultDto> results = withOverlapConstraint(() -> bookingService.approveAll(
+                owner.getEntityId(), List.of(
+                        new BookingApprovalDto(rejection.getEntityId(), false),
+                        new BookingApprovalDto(approval.getEntityId(), true))));
+
+        assertEquals(200, results.get(0).getStatus());
+        assertEquals(BookingStatus.REJECTED, results.get(0).getBooking().getStatus());
+        assertEquals(200, results.get(1).getStatus());
+        assertEquals(BookingStatus.APPROVED, results.get(1).getBooking().getStatus());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(rejection.getEntityId()).orElseThrow()
+                .getStatus());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(approval.getEntityId()).orElseThrow()
+                .getStatus());
+    }
+
+    private BookingCreateDto row(Item item, LocalDateTime start, LocalDateTime end) {
+        return BookingCreateDto.builder().itemId(item.getEntityId()).start(start).end(end).build();
+    }
+
+    private Booking save(Item item, LocalDateTime start, LocalDateTime end) {
+        return bookingRepository.save(Booking.builder().item(item).booker(booker).startDate(start).endDate(end)
+                .status(BookingStatus.WAITING).build());
+    }
+
+    /**
+     * Метод выполняет вызов с триггером H2, который, как ограничение ex_bookings_item_period в PostgreSQL, проверяет
+     * каждое изменение строки бронирования сразу, без откладывания до конца транзакции
+     */
+    private <T> T withOverlapConstraint(Supplier<T> call) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TRIGGER tr_bookings_item_period BEFORE UPDATE ON bookings FOR EACH ROW CALL \""
+                    + OverlapTrigger.class.getName() + "\"");
+            try {
+                return call.get();
+            } finally {
+                statement.execute("DROP TRIGGER tr_bookings_item_period");
+            }
+        }
+    }
+
+    /**
+     * Триггер H2, запрещающий пересечение подтвержденных бронирований одной вещи
+     */
+    public static class OverlapTrigger implements Trigger {
+
+        private int itemIndex;
+        private int startIndex;
+        private int endIndex;
+        private int statusIndex;
+        private int idIndex;
+
+        @Override
+        public void init(Connection connection, String schemaName, String triggerName, String tableName,
+                         boolean before, int type) throws SQLException {
+            List<String> columns = new ArrayList<>();
+            try (ResultSet resultSet = connection.getMetaData().getColumns(null, schemaName, tableName, null)) {
+                while (resultSet.next()) {
+                    columns.add(resultSet.getString("COLUMN_NAME").toLowerCase());
+                }
+            }
+            idIndex = columns.indexOf("id");
+            itemIndex = columns.indexOf("item_id");
+            startIndex = columns.indexOf("start_date");
+            endIndex = columns.indexOf("end_date");
+            statusIndex = columns.indexOf("status");
+        }
+
+        @Override
+        public void fire(Connection connection, Object[] oldRow, Object[] newRow) throws SQLException {
+            if (!BookingStatus.APPROVED.name().equals(newRow[statusIndex])) {
+                return;
+            }
+
+            try (PreparedStatement statement = connection.prepareStatement("SELECT COUNT(*) FROM bookings "
+                    + "WHERE item_id = ? AND status = 'APPROVED' AND id <> ? AND start_date < ? AND end_date > ?")) {
+                statement.setObject(1, newRow[itemIndex]);
+                statement.setObject(2, newRow[idIndex]);
+                statement.setObject(3, newRow[endIndex]);
+                statement.setObject(4, newRow[startIndex]);
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    if (resultSet.getLong(1) > 0) {
+                        throw new SQLException("conflicting key value violates exclusion constraint "
+                                + "\"ex_bookings_item_period\"", "23P01");
+                    }
+                }
+            }
+        }
+    }
+}
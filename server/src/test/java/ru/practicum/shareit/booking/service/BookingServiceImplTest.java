@@ -1,11 +1,15 @@
 package ru.practicum.shareit.booking.service;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -14,18 +18,23 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingFullDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingProjection;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.commons.exceptions.BookingOverlapException;
 import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
 import ru.practicum.shareit.commons.exceptions.UserIsNotSharerException;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
@@ -34,10 +43,14 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Обработка данных на уровне сервиса BookingService")
@@ -65,8 +78,30 @@ class BookingServiceImplTest {
     private Booking booking;
     private BookingCreateDto bookingCreateDto;
 
-    private static Page<Booking> getPageFromList(List<Booking> list) {
-        return new PageImpl<>(list, PageRequest.of(0, 10), list.size());
+    private static final SpelAwareProxyProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private static Page<BookingProjection> getPageFromList(List<Booking> list) {
+        return new PageImpl<>(list.stream().map(BookingServiceImplTest::getProjection).toList(),
+                PageRequest.of(0, 10), list.size());
+    }
+
+    private static BookingProjection getProjection(Booking booking) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", booking.getEntityId());
+        values.put("startDate", booking.getStartDate());
+        values.put("endDate", booking.getEndDate());
+        values.put("status", booking.getStatus());
+        values.put("itemId", booking.getItem().getEntityId());
+        values.put("itemName", booking.getItem().getName());
+        values.put("itemDescription", booking.getItem().getDescription());
+        values.put("itemAvailable", booking.getItem().getAvailable());
+        values.put("sharerId", booking.getItem().getSharer().getEntityId());
+        values.put("sharerName", booking.getItem().getSharer().getName());
+        values.put("sharerEmail", booking.getItem().getSharer().getEmail());
+        values.put("bookerId", booking.getBooker().getEntityId());
+        values.put("bookerName", booking.getBooker().getName());
+        values.put("bookerEmail", booking.getBooker().getEmail());
+        return PROJECTION_FACTORY.createProjection(BookingProjection.class, values);
     }
 
     @BeforeEach
@@ -129,14 +164,14 @@ class BookingServiceImplTest {
     @DisplayName("Получение списка бронирований по идентификатору бронирующего")
     @Test
     void getAllBookingsByBooker() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
 
         when(bookingRepository.findAllByBookerEntityId(anyLong(), any()))
                 .thenReturn(getPageFromList(List.of(booking)));
 
         Collection<BookingFullDto> bookingList = bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.ALL, 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
@@ -166,7 +201,7 @@ class BookingServiceImplTest {
                 .thenReturn(getPageFromList(List.of(booking)));
 
         bookingList = bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.CURRENT, 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
@@ -175,7 +210,7 @@ class BookingServiceImplTest {
                 .thenReturn(getPageFromList(List.of(booking)));
 
         bookingList = bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.FUTURE, 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
@@ -184,7 +219,7 @@ class BookingServiceImplTest {
                 .thenReturn(getPageFromList(List.of(booking)));
 
         bookingList = bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.PAST, 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
@@ -193,39 +228,76 @@ class BookingServiceImplTest {
                 .thenReturn(getPageFromList(List.of(booking)));
 
         bookingList = bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.REJECTED, 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
 
         bookingList = bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.WAITING, 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
     }
 
+    @DisplayName("Получение списка бронирований бронирующего после курсора")
+    @Test
+    void getAllBookingsByBookerAfterCursor() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+
+        LocalDateTime afterStart = booking.getStartDate().plusHours(1);
+        Long afterId = booking.getEntityId() + 1;
+        when(bookingRepository.findAllByBookerEntityIdAfterCursor(eq(booker.getEntityId()), eq(afterStart),
+                eq(afterId), any()))
+                .thenReturn(getPageFromList(List.of(booking)));
+
+        Collection<BookingFullDto> bookingList = bookingService.findAllByBookerAndState(booker.getEntityId(),
+                BookingState.ALL, 0, 10, PageCursor.of(afterStart, afterId).encode()).getContent();
+        assertEquals(1, bookingList.size());
+        assertEquals(booking.getEntityId(), bookingList.iterator().next().getId());
+        verify(bookingRepository, never()).findAllByBookerEntityId(anyLong(), any());
+
+        when(bookingRepository.findAllBookerBookingsByStatusAfterCursor(eq(booker.getEntityId()),
+                eq(BookingStatus.WAITING), eq(afterStart), eq(afterId), any()))
+                .thenReturn(getPageFromList(List.of(booking)));
+
+        bookingList = bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.WAITING, 0, 10,
+                PageCursor.of(afterStart, afterId).encode()).getContent();
+        assertEquals(1, bookingList.size());
+    }
+
+    @DisplayName("Вызов исключения IncorrectDataException при получении списка бронирований с некорректным курсором")
+    @Test
+    void getAllBookingsByBookerAfterCursorWith400Exception() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+
+        assertThrows(IncorrectDataException.class, () -> bookingService.findAllByBookerAndState(
+                booker.getEntityId(), BookingState.ALL, 0, 10, PageCursor.of(booking.getEntityId()).encode()));
+    }
+
     @DisplayName("Вызов исключения NotFoundException при получении списка бронирований по идентификатору бронирующего")
     @Test
     void getAllBookingsByBookerWith404Exception() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class,
-                () -> bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.ALL, 0, 10));
+                () -> bookingService.findAllByBookerAndState(booker.getEntityId(), BookingState.ALL, 0, 10, null));
     }
 
     @DisplayName("Получение списка бронирований по идентификатору владельца вещи")
     @Test
     void getAllBookingsByOwner() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
 
         when(bookingRepository.findAllByItemSharerEntityId(anyLong(), any()))
                 .thenReturn(getPageFromList(List.of(booking)));
 
         Collection<BookingFullDto> bookingList = bookingService.findAllByOwnerAndState(booker.getEntityId(), "ALL", 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
@@ -255,7 +327,7 @@ class BookingServiceImplTest {
                 .thenReturn(getPageFromList(List.of(booking)));
 
         bookingList = bookingService.findAllByOwnerAndState(booker.getEntityId(), "CURRENT", 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
@@ -264,7 +336,7 @@ class BookingServiceImplTest {
                 .thenReturn(getPageFromList(List.of(booking)));
 
         bookingList = bookingService.findAllByOwnerAndState(booker.getEntityId(), "FUTURE", 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
@@ -273,7 +345,7 @@ class BookingServiceImplTest {
                 .thenReturn(getPageFromList(List.of(booking)));
 
         bookingList = bookingService.findAllByOwnerAndState(booker.getEntityId(), "PAST", 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
@@ -282,35 +354,70 @@ class BookingServiceImplTest {
                 .thenReturn(getPageFromList(List.of(booking)));
 
         bookingList = bookingService.findAllByOwnerAndState(booker.getEntityId(), "REJECTED", 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
 
         bookingList = bookingService.findAllByOwnerAndState(booker.getEntityId(), "WAITING", 0,
-                10);
+                10, null).getContent();
         assertNotNull(bookingList);
         assertFalse(bookingList.isEmpty());
         assertEquals(1, bookingList.size());
     }
 
+    @DisplayName("Получение списка бронирований владельца вещи после курсора")
+    @Test
+    void getAllBookingsByOwnerAfterCursor() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+
+        LocalDateTime afterStart = booking.getStartDate().plusHours(1);
+        Long afterId = booking.getEntityId() + 1;
+        when(bookingRepository.findAllByItemSharerEntityIdAfterCursor(eq(owner.getEntityId()), eq(afterStart),
+                eq(afterId), any()))
+                .thenReturn(getPageFromList(List.of(booking)));
+
+        Collection<BookingFullDto> bookingList = bookingService.findAllByOwnerAndState(owner.getEntityId(), "ALL",
+                0, 10, PageCursor.of(afterStart, afterId).encode()).getContent();
+        assertEquals(1, bookingList.size());
+        assertEquals(booking.getEntityId(), bookingList.iterator().next().getId());
+        verify(bookingRepository, never()).findAllByItemSharerEntityId(anyLong(), any());
+    }
+
     @DisplayName("Вызов исключения NotFoundException при получении списка бронирований по идентификатору владельца вещи")
     @Test
     void getAllBookingsByOwnerWith404Exception() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class,
-                () -> bookingService.findAllByBookerAndState(owner.getEntityId(), BookingState.ALL, 0, 10));
+                () -> bookingService.findAllByBookerAndState(owner.getEntityId(), BookingState.ALL, 0, 10, null));
+    }
+
+    @DisplayName("Подсчет бронирований бронирующего и владельца вещи по состоянию")
+    @Test
+    void countBookingsByState() {
+        when(bookingRepository.countByBookerEntityId(booker.getEntityId()))
+                .thenReturn(3L);
+        when(bookingRepository.countByBookerEntityIdAndStatus(booker.getEntityId(), BookingStatus.WAITING))
+                .thenReturn(2L);
+        when(bookingRepository.countPastOwnerBookings(eq(owner.getEntityId()), any(), eq(BookingStatus.APPROVED)))
+                .thenReturn(1L);
+
+        assertEquals(3L, bookingService.countByBookerAndState(booker.getEntityId(), BookingState.ALL));
+        assertEquals(2L, bookingService.countByBookerAndState(booker.getEntityId(), BookingState.WAITING));
+        assertEquals(1L, bookingService.countByOwnerAndState(owner.getEntityId(), "PAST"));
+        assertEquals(0L, bookingService.countByOwnerAndState(owner.getEntityId(), "REJECTED"));
     }
 
     @DisplayName("Получение бронирования по идентификатору бронирования и бронирующего")
     @Test
     void getBookingByIdAndBooker() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(booker));
-        when(bookingRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(booking));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(bookingRepository.findProjectionById(anyLong()))
+                .thenReturn(Optional.of(getProjection(booking)));
 
         BookingFullDto dto = bookingService.findByBookerIdAndBookingId(booker.getEntityId(), booking.getEntityId());
         assertNotNull(dto);
@@ -331,10 +438,10 @@ class BookingServiceImplTest {
         assertEquals(owner.getEmail(), dto.getItem().getSharer().getEmail());
 
         booking.setBooker(owner);
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(owner));
-        when(bookingRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(booking));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(bookingRepository.findProjectionById(anyLong()))
+                .thenReturn(Optional.of(getProjection(booking)));
 
         dto = bookingService.findByBookerIdAndBookingId(owner.getEntityId(), booking.getEntityId());
         assertNotNull(dto);
@@ -360,10 +467,10 @@ class BookingServiceImplTest {
     void getBookingByIdAndBookerWith403Exception() {
         booking.setBooker(owner);
 
-        when(userRepository.findById(booker.getEntityId()))
-                .thenReturn(Optional.ofNullable(booker));
-        when(bookingRepository.findById(booking.getEntityId()))
-                .thenReturn(Optional.ofNullable(booking));
+        when(userRepository.existsById(booker.getEntityId()))
+                .thenReturn(true);
+        when(bookingRepository.findProjectionById(booking.getEntityId()))
+                .thenReturn(Optional.of(getProjection(booking)));
 
         assertThrows(UserIsNotSharerException.class,
                 () -> bookingService.findByBookerIdAndBookingId(booker.getEntityId(), booking.getEntityId()));
@@ -373,15 +480,15 @@ class BookingServiceImplTest {
     @DisplayName("Вызов исключения NotFoundException при получении бронирования по идентификатору бронирования и пользователя")
     @Test
     void getBookingByIdAndBookerWith404Exception() {
-        when(userRepository.findById(booker.getEntityId()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(booker.getEntityId()))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class,
                 () -> bookingService.findByBookerIdAndBookingId(booker.getEntityId(), booking.getEntityId()));
 
-        when(userRepository.findById(booker.getEntityId()))
-                .thenReturn(Optional.ofNullable(booker));
-        when(bookingRepository.findById(booking.getEntityId()))
+        when(userRepository.existsById(booker.getEntityId()))
+                .thenReturn(true);
+        when(bookingRepository.findProjectionById(booking.getEntityId()))
                 .thenReturn(Optional.empty());
         assertThrows(NotFoundException.class,
                 () -> bookingService.findByBookerIdAndBookingId(booker.getEntityId(), booking.getEntityId()));
@@ -393,7 +500,7 @@ class BookingServiceImplTest {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(booker));
 
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
         when(bookingRepository.save(any()))
@@ -423,7 +530,7 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.of(item));
 
         assertThrows(IncorrectDataException.class, () -> bookingService.create(booker.getEntityId(), bookingCreateDto));
@@ -439,12 +546,27 @@ class BookingServiceImplTest {
 
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> bookingService.create(booker.getEntityId(), bookingCreateDto));
     }
 
+    @DisplayName("Вызов исключения BookingOverlapException при создании бронирования на занятый период")
+    @Test
+    void createBookingWith409Exception() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlapping(item.getEntityId(), bookingCreateDto.getStart(),
+                bookingCreateDto.getEnd(), BookingStatus.APPROVED, null))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class, () -> bookingService.create(booker.getEntityId(), bookingCreateDto));
+        verify(bookingRepository, never()).save(any());
+    }
+
     @DisplayName("Изменение статуса бронирования")
     @Test
     void approveBooking() {
@@ -453,7 +575,10 @@ class BookingServiceImplTest {
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(booking));
 
-        when(bookingRepository.save(any()))
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+
+        when(bookingRepository.saveAndFlush(any()))
                 .thenReturn(booking);
 
         BookingFullDto dto = bookingService.approve(owner.getEntityId(), booking.getEntityId(), true);
@@ -494,4 +619,63 @@ class BookingServiceImplTest {
 
         assertThrows(NotFoundException.class, () -> bookingService.approve(owner.getEntityId(), booking.getEntityId(), true));
     }
-}
\ No newline at end of file
+
+    @DisplayName("Вызов исключения BookingOverlapException при подтверждении бронирования на занятый период")
+    @Test
+    void approveBookingWith409Exception() {
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(booking));
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.existsOverlapping(item.getEntityId(), booking.getStartDate(), booking.getEndDate(),
+                BookingStatus.APPROVED, booking.getEntityId()))
+                .thenReturn(true);
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.approve(owner.getEntityId(), booking.getEntityId(), true));
+        verify(bookingRepository, never()).saveAndFlush(any());
+
+        when(bookingRepository.saveAndFlush(any()))
+                .thenReturn(booking);
+        assertEquals(BookingStatus.REJECTED,
+                bookingService.approve(owner.getEntityId(), booking.getEntityId(), false).getStatus());
+    }
+
+    @DisplayName("Нарушение ограничения непересечения бронирований при подтверждении вызывает BookingOverlapException")
+    @Test
+    void approveBookingWithExclusionViolation() {
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(booking));
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("conflicting key value violates exclusion constraint",
+                        new SQLException("conflicting key value violates exclusion constraint", "23P01")))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement",
+                        new ConstraintViolationException("could not execute statement",
+                                new SQLException("constraint violation", "23000"), "EX_BOOKINGS_ITEM_PERIOD")));
+
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.approve(owner.getEntityId(), booking.getEntityId(), true));
+        assertThrows(BookingOverlapException.class,
+                () -> bookingService.approve(owner.getEntityId(), booking.getEntityId(), true));
+    }
+
+    @DisplayName("Прочие нарушения целостности при подтверждении бронирования не считаются пересечением периодов")
+    @Test
+    void approveBookingWithOtherIntegrityViolation() {
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("not-null violation",
+                new ConstraintViolationException("not-null violation",
+                        new SQLException("null value in column violates not-null constraint", "23502"), "end_date"));
+
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(booking));
+        when(itemRepository.findByIdForUpdate(anyLong()))
+                .thenReturn(Optional.ofNullable(item));
+        when(bookingRepository.saveAndFlush(any()))
+                .thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> bookingService.approve(owner.getEntityId(), booking.getEntityId(), true)));
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.commons.cache;
+
+import javax.cache.CacheManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Подключение кэша второго уровня")
+class EntityCacheConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withUserConfiguration(EntityCacheConfiguration.class);
+
+    @DisplayName("Кэш подключается по умолчанию для единственного экземпляра сервиса")
+    @Test
+    void enabledForSingleInstance() {
+        contextRunner.run(context -> assertThat(context).hasSingleBean(CacheManager.class));
+    }
+
+    @DisplayName("Кэш не подключается при нескольких экземплярах сервиса")
+    @Test
+    void disabledForSeveralInstances() {
+        contextRunner.withPropertyValues("shareit.deployment.instances=2")
+                .run(context -> assertThat(context).doesNotHaveBean(CacheManager.class));
+    }
+
+    @DisplayName("Кэш не подключается при shareit.entity-cache.enabled=false")
+    @Test
+    void disabledByProperty() {
+        contextRunner.withPropertyValues("shareit.entity-cache.enabled=false")
+                .run(context -> assertThat(context).doesNotHaveBean(CacheManager.class));
+    }
+}
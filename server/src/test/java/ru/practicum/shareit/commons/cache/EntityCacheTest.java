@@ -0,0 +1,163 @@
+package ru.practicum.shareit.commons.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.commons.sql.QueryBudgetExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Кэш второго уровня для пользователей, вещей и запросов")
+@SpringBootTest
+class EntityCacheTest {
+
+    @RegisterExtension
+    final QueryBudgetExtension queries = new QueryBudgetExtension();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private User owner;
+    private Item item;
+    private ItemRequest itemRequest;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@cache.com").build());
+        itemRequest = itemRequestRepository.save(ItemRequest.builder()
+                .description("Request")
+                .requestor(owner)
+                .created(LocalDateTime.now())
+                .build());
+        item = itemRepository.save(Item.builder()
+                .sharer(owner)
+                .name("Item")
+                .description("Description")
+                .available(true)
+                .request(itemRequest)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Повторная загрузка сущностей по идентификатору не обращается к БД")
+    @Test
+    void findByIdServedFromCache() {
+        // Идентификаторы выдаются последовательностями, поэтому вставленные записи попадают в кэш сразу
+        double hitsBefore = cacheRequests("hit");
+
+        queries.assertMaxQueries(0, () -> userRepository.findById(owner.getEntityId()));
+        queries.assertMaxQueries(0, () -> itemRequestRepository.findById(itemRequest.getEntityId()));
+        String sharerName = queries.assertMaxQueries(0, () -> transactionTemplate.execute(status ->
+                itemRepository.findById(item.getEntityId()).orElseThrow().getSharer().getName()));
+
+        assertEquals("Owner", sharerName);
+        assertTrue(cacheRequests("hit") - hitsBefore >= 4);
+    }
+
+    @DisplayName("Изменение пользователя обновляет запись в кэше")
+    @Test
+    void updateRefreshesCache() {
+        User user = userRepository.findById(owner.getEntityId()).orElseThrow();
+        user.setName("Renamed");
+        userRepository.save(user);
+
+        User cached = queries.assertMaxQueries(0, () -> userRepository.findById(owner.getEntityId()).orElseThrow());
+        assertEquals("Renamed", cached.getName());
+    }
+
+    @DisplayName("Результат проверки почты кэшируется и сбрасывается при изменении пользователей")
+    @Test
+    void existsByEmailQueryCached() {
+        assertFalse(userRepository.existsByEmailIgnoreCase("new@cache.com"));
+        assertFalse(queries.assertMaxQueries(0, () -> userRepository.existsByEmailIgnoreCase("new@cache.com")));
+
+        userRepository.save(User.builder().name("New").email("new@cache.com").build());
+
+        assertTrue(userRepository.existsByEmailIgnoreCase("NEW@cache.com"));
+        assertTrue(userRepository.existsByEmailIgnoreCase("new@cache.com"));
+        assertNotNull(meterRegistry.find("hibernate.cache.query.requests").tag("result", "hit").functionCounter());
+    }
+
+    @DisplayName("Удаление пользователя удаляет из кэша его вещи и запросы, удаленные каскадно в БД")
+    @Test
+    void deleteEvictsCascadedEntities() {
+        assertTrue(itemRepository.findById(item.getEntityId()).isPresent());
+        assertTrue(itemRequestRepository.findById(itemRequest.getEntityId()).isPresent());
+
+        userService.delete(owner.getEntityId());
+
+        assertFalse(itemRepository.findById(item.getEntityId()).isPresent());
+        assertFalse(itemRequestRepository.findById(itemRequest.getEntityId()).isPresent());
+    }
+
+    @DisplayName("Удаление пользователя не удаляет из кэша вещи и запросы других пользователей")
+    @Test
+    void deleteKeepsOtherUsersEntitiesCached() {
+        User other = userRepository.save(User.builder().name("Other").email("other@cache.com").build());
+        ItemRequest otherRequest = itemRequestRepository.save(ItemRequest.builder()
+                .description("Other request")
+                .requestor(other)
+                .created(LocalDateTime.now())
+                .build());
+        Item otherItem = itemRepository.save(Item.builder()
+                .sharer(other)
+                .name("Other item")
+                .description("Description")
+                .available(true)
+                .request(otherRequest)
+                .build());
+
+        userService.delete(owner.getEntityId());
+
+        queries.assertMaxQueries(0, () -> userRepository.findById(other.getEntityId()));
+        queries.assertMaxQueries(0, () -> itemRequestRepository.findById(otherRequest.getEntityId()));
+        queries.assertMaxQueries(0, () -> itemRepository.findById(otherItem.getEntityId()));
+    }
+
+    private double cacheRequests(String result) {
+        return meterRegistry.find("hibernate.second.level.cache.requests")
+                .tag("result", result)
+                .functionCounters().stream()
+                .mapToDouble(FunctionCounter::count)
+                .sum();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.commons.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.commons.exceptions.NotFoundException;
+import ru.practicum.shareit.commons.sql.QueryBudgetExtension;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Проверка существования сущностей без их загрузки")
+@SpringBootTest
+class EntityExistenceCheckerTest {
+
+    @RegisterExtension
+    final QueryBudgetExtension queries = new QueryBudgetExtension();
+
+    @Autowired
+    private EntityExistenceChecker entityExistenceChecker;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User first;
+    private User second;
+
+    @BeforeEach
+    void seed() {
+        first = userRepository.save(User.builder().name("First").email("first@exists.com").build());
+        second = userRepository.save(User.builder().name("Second").email("second@exists.com").build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Сущность из кэша второго уровня проверяется без обращения к БД")
+    @Test
+    void existsServedFromCache() {
+        userRepository.findById(first.getEntityId());
+
+        assertTrue(queries.assertMaxQueries(0,
+                () -> entityExistenceChecker.exists(User.class, first.getEntityId(), userRepository::existsById)));
+    }
+
+    @DisplayName("Отсутствующая в кэше сущность проверяется одним запросом и не попадает в кэш")
+    @Test
+    void existsQueriesDatabase() {
+        entityManagerFactory.getCache().evict(User.class);
+
+        assertTrue(queries.assertMaxQueries(1,
+                () -> entityExistenceChecker.exists(User.class, first.getEntityId(), userRepository::existsById)));
+        assertFalse(queries.assertMaxQueries(1,
+                () -> entityExistenceChecker.exists(User.class, Long.MAX_VALUE, userRepository::existsById)));
+        assertFalse(entityManagerFactory.getCache().contains(User.class, first.getEntityId()));
+        assertFalse(entityExistenceChecker.exists(User.class, null, userRepository::existsById));
+    }
+
+    @DisplayName("Несуществующие сущности коллекции определяются одним запросом")
+    @Test
+    void findMissingWithSingleQuery() {
+        entityManagerFactory.getCache().evict(User.class);
+        userRepository.findById(first.getEntityId());
+
+        Set<Long> missing = queries.assertMaxQueries(1, () -> entityExistenceChecker.findMissing(User.class,
+                List.of(first.getEntityId(), second.getEntityId(), Long.MAX_VALUE), userRepository::findExistingIds));
+        assertEquals(Set.of(Long.MAX_VALUE), missing);
+
+        userRepository.findById(second.getEntityId());
+        assertTrue(queries.assertMaxQueries(0, () -> entityExistenceChecker.findMissing(User.class,
+                List.of(first.getEntityId(), second.getEntityId()), userRepository::findExistingIds)).isEmpty());
+    }
+
+    @DisplayName("Запрос бронирований пользователя не загружает пользователя")
+    @Test
+    void serviceChecksUserWithoutLoading() {
+        userRepository.findById(first.getEntityId());
+
+        assertTrue(queries.assertMaxQueries(1, () -> bookingService.findAllByBookerAndState(first.getEntityId(),
+                BookingState.ALL, 0, 10, null)).isEmpty());
+        assertThrows(NotFoundException.class, () -> bookingService.findAllByBookerAndState(Long.MAX_VALUE,
+                BookingState.ALL, 0, 10, null));
+    }
+}
@@ -0,0 +1,34 @@
+package ru.practicum.shareit.commons.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Размер пула соединений по числу процессоров")
+@SpringBootTest(properties = {"shareit.datasource.pool.per-core=2", "shareit.datasource.pool.spare=1"})
+class ConnectionPoolConfigurationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DisplayName("Размер пула вычисляется по числу процессоров")
+    @Test
+    void poolSizedToProcessors() throws SQLException {
+        HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+
+        assertEquals(Runtime.getRuntime().availableProcessors() * 2 + 1, hikari.getMaximumPoolSize());
+    }
+
+    @DisplayName("Размер пула не бывает меньше одного соединения")
+    @Test
+    void poolSizeAtLeastOne() {
+        assertEquals(9, ConnectionPoolConfiguration.poolSize(4, 2, 1));
+        assertEquals(1, ConnectionPoolConfiguration.poolSize(1, 0, 0));
+    }
+}
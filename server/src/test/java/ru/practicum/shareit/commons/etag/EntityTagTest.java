@@ -0,0 +1,202 @@
+package ru.practicum.shareit.commons.etag;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Условные GET-запросы: ETag ответа меняется при изменении сущности и связанных с ней записей, а неизменившийся
+ * ответ возвращается кодом 304 без тела
+ */
+@DisplayName("Условные GET-запросы с заголовком ETag")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+class EntityTagTest {
+
+    private static final String X_SHARER_HEADER = "X-Sharer-User-Id";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User owner;
+    private User booker;
+    private ItemRequest itemRequest;
+    private Item item;
+    private Booking booking;
+
+    @BeforeAll
+    void seed() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@etag.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@etag.com").build());
+
+        LocalDateTime now = LocalDateTime.now();
+        itemRequest = itemRequestRepository.save(ItemRequest.builder()
+                .description("Request")
+                .requestor(booker)
+                .created(now)
+                .build());
+
+        item = itemRepository.save(Item.builder()
+                .sharer(owner)
+                .name("Item")
+                .description("Description")
+                .available(true)
+                .build());
+
+        booking = bookingRepository.save(Booking.builder()
+                .item(item)
+                .booker(booker)
+                .startDate(now.plusDays(1))
+                .endDate(now.plusDays(2))
+                .status(BookingStatus.WAITING)
+                .build());
+    }
+
+    @AfterAll
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Неизменившийся пользователь возвращается кодом 304, после изменения - с новым ETag")
+    @Test
+    void userNotModifiedUntilUpdated() throws Exception {
+        String eTag = eTag("/users/" + booker.getEntityId(), booker.getEntityId());
+
+        mockMvc.perform(get("/users/" + booker.getEntityId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch("/users/" + booker.getEntityId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed booker\"}"))
+                .andExpect(status().isOk());
+
+        String updatedETag = eTag("/users/" + booker.getEntityId(), booker.getEntityId());
+        assertNotEquals(eTag, updatedETag);
+
+        mockMvc.perform(get("/users/" + booker.getEntityId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isOk());
+    }
+
+    @DisplayName("ETag вещи меняется при изменении вещи и ее владельца")
+    @Test
+    void itemTagChangesWithItemAndSharer() throws Exception {
+        String eTag = eTag("/items/" + item.getEntityId(), booker.getEntityId());
+
+        mockMvc.perform(patch("/items/" + item.getEntityId())
+                        .header(X_SHARER_HEADER, owner.getEntityId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"description\": \"Updated description\"}"))
+                .andExpect(status().isOk());
+
+        String updatedETag = eTag("/items/" + item.getEntityId(), booker.getEntityId());
+        assertNotEquals(eTag, updatedETag);
+
+        mockMvc.perform(patch("/users/" + owner.getEntityId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Renamed owner\"}"))
+                .andExpect(status().isOk());
+
+        assertNotEquals(updatedETag, eTag("/items/" + item.getEntityId(), booker.getEntityId()));
+    }
+
+    @DisplayName("Вещь владельца возвращается без ETag и с запретом сохранения в кэше")
+    @Test
+    void ownerItemWithoutTag() throws Exception {
+        MockHttpServletResponse response = mockMvc.perform(get("/items/" + item.getEntityId())
+                        .header(X_SHARER_HEADER, owner.getEntityId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+
+        assertNull(response.getHeader(HttpHeaders.ETAG));
+        assertEquals("no-store, private", response.getHeader(HttpHeaders.CACHE_CONTROL));
+    }
+
+    @DisplayName("ETag запроса меняется при добавлении вещи в ответ на запрос")
+    @Test
+    void requestTagChangesWithNewItem() throws Exception {
+        String eTag = eTag("/requests/" + itemRequest.getEntityId(), booker.getEntityId());
+
+        mockMvc.perform(post("/items")
+                        .header(X_SHARER_HEADER, owner.getEntityId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Answer\", \"description\": \"Answer item\", \"available\": true, "
+                                + "\"requestId\": " + itemRequest.getEntityId() + "}"))
+                .andExpect(status().isCreated());
+
+        assertNotEquals(eTag, eTag("/requests/" + itemRequest.getEntityId(), booker.getEntityId()));
+    }
+
+    @DisplayName("Бронирование возвращается с ETag, неизменившееся - кодом 304")
+    @Test
+    void bookingNotModified() throws Exception {
+        String eTag = eTag("/bookings/" + booking.getEntityId(), booker.getEntityId());
+
+        mockMvc.perform(get("/bookings/" + booking.getEntityId())
+                        .header(X_SHARER_HEADER, owner.getEntityId())
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String eTag(String path, Long userId) throws Exception {
+        String eTag = mockMvc.perform(get(path)
+                        .header(X_SHARER_HEADER, userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(eTag);
+        return eTag;
+    }
+}
@@ -0,0 +1,111 @@
+package ru.practicum.shareit.commons.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
+import ru.practicum.shareit.item.dto.CommentCreateDto;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.mapper.CommentMapperImpl;
+import ru.practicum.shareit.item.mapper.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
+import ru.practicum.shareit.user.dto.UserCreateDto;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Если в контексте журнала есть фильтр {@link TurboFilter}, например счетчик событий журнала из метрик actuator, вызов
+ * журнала с аргументами создает массив аргументов до проверки уровня и передает его фильтру. Сообщения
+ * преобразователей моделей защищены проверкой уровня, поэтому при отключенном уровне TRACE фильтр не получает
+ * аргументов, а преобразование не выделяет память на журнал
+ */
+@DisplayName("Сообщения преобразователей моделей при отключенном уровне TRACE")
+class MapperLoggingGuardTest {
+
+    private static final List<Class<?>> MAPPERS = List.of(BookingMapperImpl.class, CommentMapperImpl.class,
+            ItemMapperImpl.class, ItemRequestMapperImpl.class, UserMapperImpl.class);
+
+    private final LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+    private final List<Object[]> arguments = new ArrayList<>();
+    private final List<String> messages = new ArrayList<>();
+
+    private final TurboFilter recorder = new TurboFilter() {
+        @Override
+        public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                                  Throwable t) {
+            if (MAPPERS.stream().anyMatch(mapper -> mapper.getName().equals(logger.getName()))) {
+                if (params != null) {
+                    arguments.add(params);
+                }
+                if (format != null) {
+                    messages.add(format);
+                }
+            }
+            return FilterReply.NEUTRAL;
+        }
+    };
+
+    @BeforeEach
+    void init() {
+        recorder.start();
+        context.addTurboFilter(recorder);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        context.getTurboFilterList().remove(recorder);
+        MAPPERS.forEach(mapper -> context.getLogger(mapper).setLevel(null));
+    }
+
+    @DisplayName("При отключенном уровне TRACE аргументы журнала не создаются")
+    @Test
+    void noArgumentsWhenTraceDisabled() {
+        MAPPERS.forEach(mapper -> context.getLogger(mapper).setLevel(Level.DEBUG));
+
+        mapAll();
+
+        assertTrue(arguments.isEmpty());
+        assertTrue(messages.isEmpty());
+    }
+
+    @DisplayName("При включенном уровне TRACE сообщения передаются в журнал с аргументами")
+    @Test
+    void argumentsWhenTraceEnabled() {
+        MAPPERS.forEach(mapper -> context.getLogger(mapper).setLevel(Level.TRACE));
+
+        mapAll();
+
+        assertEquals(7, messages.size());
+        assertEquals(7, arguments.size());
+        assertFalse(arguments.stream().anyMatch(params -> params.length != 2));
+    }
+
+    private void mapAll() {
+        new BookingMapperImpl().mapToBooking(new BookingCreateDto());
+        new CommentMapperImpl().mapToComment(new CommentCreateDto());
+        ItemMapperImpl itemMapper = new ItemMapperImpl();
+        Item item = itemMapper.mapToItem(new ItemCreateDto());
+        itemMapper.mapToShortDto(item);
+        UserMapperImpl userMapper = new UserMapperImpl();
+        new ItemRequestMapperImpl(userMapper).mapToItemRequest(new ItemRequestCreateDto());
+        User user = userMapper.mapToUser(new UserCreateDto());
+        userMapper.mapToUserDto(user);
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.commons.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Итоговая строка журнала на HTTP-запрос")
+class RequestSummaryInterceptorTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestSummaryInterceptor.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void init() throws NoSuchMethodException {
+        handler = new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+        appender.start();
+        logger.addAppender(appender);
+        logger.setLevel(Level.INFO);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        logger.detachAppender(appender);
+        logger.setLevel(null);
+    }
+
+    @DisplayName("Запрос из выборки записывается одной строкой с шаблоном пути и SQL-запросами")
+    @Test
+    void sampledRequestLogged() {
+        handle(new RequestSummaryInterceptor(1.0, Duration.ofMinutes(1), true), 200);
+
+        assertEquals(1, appender.list.size());
+        ILoggingEvent event = appender.list.getFirst();
+        assertEquals(Level.INFO, event.getLevel());
+        assertTrue(event.getFormattedMessage().startsWith("method=GET path=/items/{id} status=200 duration_ms="));
+        assertTrue(event.getFormattedMessage().contains("sql_statements=0 sql_rows=0"));
+    }
+
+    @DisplayName("Вне выборки записываются только медленные запросы и ошибки сервера")
+    @Test
+    void onlySlowAndFailedRequestsLoggedOutsideSample() {
+        handle(new RequestSummaryInterceptor(0, Duration.ofMinutes(1), false), 200);
+        assertTrue(appender.list.isEmpty());
+
+        handle(new RequestSummaryInterceptor(0, Duration.ofMinutes(1), false), 500);
+        handle(new RequestSummaryInterceptor(0, Duration.ZERO, false), 200);
+
+        assertEquals(2, appender.list.size());
+        assertEquals(Level.WARN, appender.list.get(0).getLevel());
+        assertTrue(appender.list.get(0).getFormattedMessage().contains("status=500"));
+        assertEquals(Level.WARN, appender.list.get(1).getLevel());
+        assertFalse(appender.list.get(1).getFormattedMessage().contains("sql_statements"));
+    }
+
+    @DisplayName("При отключенном уровне INFO запрос не учитывается")
+    @Test
+    void disabledLoggerSkipsRequest() {
+        logger.setLevel(Level.WARN);
+        MockHttpServletRequest request = handle(new RequestSummaryInterceptor(0, Duration.ZERO, true), 500);
+
+        assertTrue(appender.list.isEmpty());
+        assertFalse(request.getAttributeNames().hasMoreElements());
+    }
+
+    private MockHttpServletRequest handle(RequestSummaryInterceptor interceptor, int status) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        interceptor.preHandle(request, response, handler);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{id}");
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, handler, null);
+        request.removeAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request;
+    }
+}
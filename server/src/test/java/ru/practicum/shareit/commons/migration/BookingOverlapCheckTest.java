@@ -0,0 +1,137 @@
+package ru.practicum.shareit.commons.migration;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import javax.sql.DataSource;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Проверка пересечения подтвержденных бронирований перед миграцией V5")
+@SpringBootTest
+class BookingOverlapCheckTest {
+
+    private final BookingOverlapCheck check = new BookingOverlapCheck();
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private User booker;
+    private Item item;
+    private Item other;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void seed() {
+        booker = userRepository.save(User.builder().name("Booker").email("booker@overlap.com").build());
+        item = itemRepository.save(Item.builder().sharer(booker).name("Item").description("Item")
+                .available(true).build());
+        other = itemRepository.save(Item.builder().sharer(booker).name("Other").description("Other")
+                .available(true).build());
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Обработчик выполняется только перед миграцией V5")
+    @Test
+    void supportsOnlyOverlapConstraintMigration() {
+        assertTrue(check.supports(Event.BEFORE_EACH_MIGRATE, context("5", null)));
+        assertFalse(check.supports(Event.BEFORE_EACH_MIGRATE, context("4", null)));
+        assertFalse(check.supports(Event.BEFORE_EACH_MIGRATE, context("9", null)));
+        assertFalse(check.supports(Event.AFTER_EACH_MIGRATE, context("5", null)));
+        assertFalse(check.supports(Event.BEFORE_MIGRATE, mock(Context.class)));
+    }
+
+    @DisplayName("Миграция прерывается с перечнем пар пересекающихся бронирований, данные не изменяются")
+    @Test
+    void failsOnOverlappingBookings() throws SQLException {
+        // Цепочка: первое пересекается со вторым, второе с третьим, первое и третье не пересекаются
+        Booking first = save(item, 1, 3, BookingStatus.APPROVED);
+        Booking second = save(item, 2, 5, BookingStatus.APPROVED);
+        Booking third = save(item, 4, 6, BookingStatus.APPROVED);
+        save(item, 2, 3, BookingStatus.REJECTED);
+        save(item, 6, 7, BookingStatus.APPROVED);
+        save(other, 1, 3, BookingStatus.APPROVED);
+
+        try (Connection connection = dataSource.getConnection()) {
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> check.handle(Event.BEFORE_EACH_MIGRATE, context("5", connection)));
+
+            assertTrue(e.getMessage().contains(
+                    "с id " + first.getEntityId() + " и " + second.getEntityId() + ", "
+                            + second.getEntityId() + " и " + third.getEntityId() + ". "), e.getMessage());
+        }
+        assertEquals(5, bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == BookingStatus.APPROVED)
+                .count());
+    }
+
+    @DisplayName("Соседние и отклоненные бронирования не прерывают миграцию")
+    @Test
+    void passesWithoutOverlaps() throws SQLException {
+        save(item, 1, 3, BookingStatus.APPROVED);
+        save(item, 3, 5, BookingStatus.APPROVED);
+        save(item, 2, 4, BookingStatus.REJECTED);
+        save(other, 2, 4, BookingStatus.APPROVED);
+
+        try (Connection connection = dataSource.getConnection()) {
+            assertDoesNotThrow(() -> check.handle(Event.BEFORE_EACH_MIGRATE, context("5", connection)));
+        }
+    }
+
+    private Booking save(Item item, int startDay, int endDay, BookingStatus status) {
+        return bookingRepository.save(Booking.builder().item(item).booker(booker).startDate(start.plusDays(startDay))
+                .endDate(start.plusDays(endDay)).status(status).build());
+    }
+
+    private static Context context(String version, Connection connection) {
+        MigrationInfo migrationInfo = mock(MigrationInfo.class);
+        when(migrationInfo.getVersion())
+                .thenReturn(MigrationVersion.fromVersion(version));
+
+        Context context = mock(Context.class);
+        when(context.getMigrationInfo())
+                .thenReturn(migrationInfo);
+        when(context.getConnection())
+                .thenReturn(connection);
+        return context;
+    }
+}
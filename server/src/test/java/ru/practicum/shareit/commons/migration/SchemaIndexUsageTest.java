@@ -0,0 +1,146 @@
+package ru.practicum.shareit.commons.migration;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Изменение планов запросов после применения миграции с индексами")
+class SchemaIndexUsageTest {
+
+    private static final int USERS = 200;
+    private static final int ITEMS_PER_USER = 10;
+    private static final int BOOKINGS_PER_ITEM = 10;
+
+    /**
+     * Запросы в том виде, в котором их формируют методы репозиториев, и индексы, которые они должны использовать.
+     * H2 сам индексирует столбцы внешних ключей, поэтому здесь проверяются только составные индексы, которые меняют
+     * план и в H2. Полный набор планов для PostgreSQL строится скриптом explain-indexes.sql
+     */
+    private static final Map<String, String> QUERIES = Map.of(
+            "idx_bookings_booker_status_start",
+            "SELECT * FROM bookings WHERE booker_id = 7 AND status = 'REJECTED' ORDER BY start_date DESC LIMIT 10",
+            "idx_bookings_item_status_start",
+            "SELECT * FROM bookings WHERE item_id = 5 AND status = 'APPROVED' AND start_date >= CURRENT_TIMESTAMP "
+                    + "ORDER BY start_date LIMIT 1",
+            "idx_bookings_item_booker_end",
+            "SELECT COUNT(*) FROM bookings WHERE item_id = 5 AND booker_id = 6 "
+                    + "AND end_date < CURRENT_TIMESTAMP AND status = 'APPROVED'",
+            "idx_requests_created",
+            "SELECT * FROM requests ORDER BY created DESC LIMIT 10"
+    );
+
+    private static JdbcDataSource dataSource;
+    private static JdbcTemplate jdbcTemplate;
+    private static Map<String, String> plansBefore;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:shareit-index-usage;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("shareit");
+        dataSource.setPassword("shareit");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        // Схема до появления индексов
+        migrate("1");
+        seed();
+        plansBefore = explainAll();
+
+        // Схема после применения всех миграций
+        migrate(null);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        jdbcTemplate.execute("SHUTDOWN");
+        jdbcTemplate = null;
+        dataSource = null;
+        plansBefore = null;
+    }
+
+    @DisplayName("Каждый запрос после миграции использует предназначенный для него индекс")
+    @Test
+    void plansUseIndexes() {
+        Map<String, String> plansAfter = explainAll();
+
+        for (String index : QUERIES.keySet()) {
+            String before = plansBefore.get(index);
+            String after = plansAfter.get(index);
+
+            assertFalse(before.contains(index.toUpperCase()), before);
+            assertTrue(after.contains(index.toUpperCase()), after);
+            assertNotEquals(before, after);
+        }
+    }
+
+    private static void migrate(String target) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common")
+                .target(target == null ? "latest" : target)
+                .load()
+                .migrate();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static Map<String, String> explainAll() {
+        jdbcTemplate.execute("ANALYZE");
+        Map<String, String> plans = new HashMap<>();
+        QUERIES.forEach((index, sql) -> plans.put(index, jdbcTemplate.queryForObject("EXPLAIN " + sql,
+                String.class)));
+        return plans;
+    }
+
+    private static void seed() {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> requests = new ArrayList<>();
+        List<Object[]> items = new ArrayList<>();
+        List<Object[]> bookings = new ArrayList<>();
+        List<Object[]> comments = new ArrayList<>();
+        long itemId = 0;
+        long bookingId = 0;
+        for (long u = 1; u <= USERS; u++) {
+            users.add(new Object[]{u, "User " + u, "user" + u + "@system.com"});
+            requests.add(new Object[]{u, "Request " + u, u, Timestamp.valueOf(now.minusDays(u))});
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                itemId++;
+                items.add(new Object[]{itemId, "Item " + itemId, "Description " + itemId, true, u,
+                        i == 0 ? u : null});
+                comments.add(new Object[]{itemId, "Comment " + itemId, itemId, (u % USERS) + 1,
+                        Timestamp.valueOf(now.minusDays(1))});
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    bookingId++;
+                    LocalDateTime start = now.plusDays(b - BOOKINGS_PER_ITEM / 2);
+                    String status = b % 3 == 0 ? "WAITING" : b % 5 == 0 ? "REJECTED" : "APPROVED";
+                    bookings.add(new Object[]{bookingId, Timestamp.valueOf(start),
+                            Timestamp.valueOf(start.plusHours(12)), itemId, (bookingId % USERS) + 1, status});
+                }
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, name, email) VALUES (?, ?, ?)", users);
+        jdbcTemplate.batchUpdate("INSERT INTO requests (id, description, requestor_id, created) VALUES (?, ?, ?, ?)",
+                requests);
+        jdbcTemplate.batchUpdate("INSERT INTO items (id, name, description, is_available, owner_id, request_id) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", items);
+        jdbcTemplate.batchUpdate("INSERT INTO comments (id, text, item_id, author_id, created) VALUES (?, ?, ?, ?, ?)",
+                comments);
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", bookings);
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.commons.migration;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.commons.sql.QueryBudgetExtension;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Идентификаторы сущностей выдаются последовательностями блоками по 50, поэтому строки вставляются пакетами JDBC:
+ * количество запросов к БД не растет с количеством сохраняемых строк
+ */
+@DisplayName("Пакетная вставка строк с идентификаторами из последовательностей")
+@SpringBootTest
+class SequenceIdentifierTest {
+
+    private static final int ROWS = 100;
+
+    @RegisterExtension
+    final QueryBudgetExtension queries = new QueryBudgetExtension();
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        commentRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Строки одной таблицы вставляются пакетами")
+    @Test
+    void insertsBatched() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            users.add(User.builder().name("User " + i).email("user" + i + "@sequence.com").build());
+        }
+
+        // Не больше трех обращений к последовательности и двух пакетов по 50 строк
+        List<User> saved = queries.assertMaxQueries(5, () -> userRepository.saveAll(users));
+
+        assertEquals(ROWS, saved.stream().map(User::getEntityId).distinct().count());
+        assertEquals(ROWS, userRepository.count());
+    }
+
+    @DisplayName("Вставки разных таблиц в одной транзакции упорядочиваются по таблицам")
+    @Test
+    void insertsOrdered() {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@sequence.com").build());
+
+        queries.assertMaxQueries(6, () -> transactionTemplate.execute(status -> {
+            for (int i = 0; i < ROWS / 2; i++) {
+                Item item = itemRepository.save(Item.builder().sharer(owner).name("Item " + i)
+                        .description("Description").available(true).build());
+                commentRepository.save(Comment.builder().item(item).author(owner).text("Comment " + i)
+                        .created(LocalDateTime.now()).build());
+            }
+            return null;
+        }));
+
+        assertEquals(ROWS / 2, itemRepository.count());
+        assertEquals(ROWS / 2, commentRepository.count());
+    }
+
+    @DisplayName("Строка, вставленная в обход Hibernate, получает идентификатор вне блоков Hibernate")
+    @Test
+    void defaultValueFromSequence() {
+        Set<Long> ids = new HashSet<>();
+        ids.add(userRepository.save(User.builder().name("First").email("first@sequence.com").build()).getEntityId());
+
+        jdbcTemplate.update("INSERT INTO users (name, email) VALUES (?, ?)", "Second", "second@sequence.com");
+        Long insertedId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class,
+                "second@sequence.com");
+        assertNotNull(insertedId);
+        ids.add(insertedId);
+
+        ids.add(userRepository.save(User.builder().name("Third").email("third@sequence.com").build()).getEntityId());
+
+        assertEquals(3, ids.size());
+        assertTrue(userRepository.findById(insertedId).isPresent());
+    }
+}
@@ -0,0 +1,182 @@
+package ru.practicum.shareit.commons.pagination;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Количество SQL-запросов, выполняемых при получении списков. Списки возвращаются без подсчета общего количества
+ * элементов: запрос COUNT выполняется, только если клиент передал withTotal=true
+ */
+@DisplayName("Количество SQL-запросов при получении списков")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+class ListEndpointStatementCountTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private Statistics statistics;
+    private User owner;
+    private User booker;
+
+    @BeforeAll
+    void seed() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@statements.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("booker@statements.com").build());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < PAGE_SIZE + 1; i++) {
+            ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                    .description("Request " + i)
+                    .requestor(booker)
+                    .created(now.minusDays(i))
+                    .build());
+
+            Item item = itemRepository.save(Item.builder()
+                    .sharer(owner)
+                    .name("Item " + i)
+                    .description("Description " + i)
+                    .available(true)
+                    .request(request)
+                    .build());
+
+            bookingRepository.save(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .startDate(now.minusDays(i + 2))
+                    .endDate(now.minusDays(i + 1))
+                    .status(BookingStatus.APPROVED)
+                    .build());
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterAll
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void resetStatistics() {
+        statistics.clear();
+    }
+
+    @DisplayName("Список выбирается без запроса COUNT, общее количество подсчитывается только по запросу")
+    @ParameterizedTest(name = "{0} {1}: не больше {3} запросов")
+    @CsvSource({
+            "/users, owner, '', 1",
+            "/items, owner, '', 4",
+            "/bookings, booker, state=ALL, 2",
+            "/bookings, booker, state=PAST, 2",
+            "/bookings/owner, owner, state=ALL, 2",
+            "/bookings/owner, owner, state=WAITING, 2",
+            "/requests, booker, '', 3",
+            "/requests/all, booker, '', 1"
+    })
+    void listWithoutCount(String path, String user, String query, long budget) throws Exception {
+        String uri = path + "?size=" + PAGE_SIZE + (query.isEmpty() ? "" : "&" + query);
+        Long userId = "owner".equals(user) ? owner.getEntityId() : booker.getEntityId();
+
+        mockMvc.perform(get(uri)
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PageCursor.TOTAL_COUNT_HEADER));
+
+        assertEquals(0, countQueries(), "Запрос COUNT при получении " + uri);
+        assertTrue(statistics.getPrepareStatementCount() <= budget,
+                "Количество SQL-запросов при получении " + uri + ": " + statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        mockMvc.perform(get(uri + "&withTotal=true")
+                        .header("X-Sharer-User-Id", userId)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(PageCursor.TOTAL_COUNT_HEADER));
+
+        assertTrue(statistics.getPrepareStatementCount() <= budget + 1,
+                "Количество SQL-запросов при получении " + uri + " с общим количеством: "
+                        + statistics.getPrepareStatementCount());
+    }
+
+    private long countQueries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(String::toLowerCase)
+                .filter(query -> query.contains("count("))
+                .count();
+    }
+
+    @DisplayName("Общее количество бронирований совпадает с количеством в выборке")
+    @ParameterizedTest(name = "{0}")
+    @CsvSource({
+            "ALL, 3",
+            "PAST, 3",
+            "CURRENT, 0",
+            "WAITING, 0"
+    })
+    void totalCount(String state, String expected) throws Exception {
+        for (String path : List.of("/bookings", "/bookings/owner")) {
+            Long userId = "/bookings".equals(path) ? booker.getEntityId() : owner.getEntityId();
+
+            mockMvc.perform(get(path + "?state=" + state + "&withTotal=true")
+                            .header("X-Sharer-User-Id", userId)
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(PageCursor.TOTAL_COUNT_HEADER, expected));
+        }
+    }
+}
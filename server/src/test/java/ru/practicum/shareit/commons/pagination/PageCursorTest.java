@@ -0,0 +1,59 @@
+package ru.practicum.shareit.commons.pagination;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Проверка работы курсора постраничной выборки PageCursor")
+class PageCursorTest {
+
+    @DisplayName("Курсор восстанавливается из строки без потери даты и идентификатора")
+    @Test
+    void encodeAndDecode() {
+        PageCursor withDate = PageCursor.of(LocalDateTime.of(2024, 8, 1, 10, 0, 0, 123456000), 42L);
+        assertEquals(withDate, PageCursor.decode(withDate.encode(), true));
+
+        PageCursor withoutDate = PageCursor.of(7L);
+        assertEquals(withoutDate, PageCursor.decode(withoutDate.encode(), false));
+    }
+
+    @DisplayName("Вызов исключения IncorrectDataException при передаче некорректного курсора")
+    @Test
+    void decodeWith400Exception() {
+        String withDate = PageCursor.of(LocalDateTime.now(), 1L).encode();
+        String withoutDate = PageCursor.of(1L).encode();
+
+        assertThrows(IncorrectDataException.class, () -> PageCursor.decode(withDate, false));
+        assertThrows(IncorrectDataException.class, () -> PageCursor.decode(withoutDate, true));
+        assertThrows(IncorrectDataException.class, () -> PageCursor.decode("не курсор", true));
+        assertThrows(IncorrectDataException.class, () -> PageCursor.decode("YWJj", false));
+    }
+
+    @DisplayName("Курсор следующей страницы передается только при наличии следующих элементов выборки")
+    @Test
+    void nextPageHeaders() {
+        HttpHeaders headers = PageCursor.nextPageHeaders(slice(List.of(1L, 2L), true), PageCursor::of);
+        assertEquals(PageCursor.of(2L).encode(), headers.getFirst(PageCursor.NEXT_CURSOR_HEADER));
+
+        assertFalse(PageCursor.nextPageHeaders(slice(List.of(1L, 2L), false), PageCursor::of)
+                .containsKey(PageCursor.NEXT_CURSOR_HEADER));
+        assertFalse(PageCursor.nextPageHeaders(slice(List.of(1L), false), PageCursor::of)
+                .containsKey(PageCursor.NEXT_CURSOR_HEADER));
+        assertFalse(PageCursor.nextPageHeaders(slice(List.of(), false), PageCursor::of)
+                .containsKey(PageCursor.NEXT_CURSOR_HEADER));
+    }
+
+    private static Slice<Long> slice(List<Long> content, boolean hasNext) {
+        return new SliceImpl<>(content, PageRequest.of(0, 2), hasNext);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.commons.sql;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.mockito.Mockito;
+import org.springframework.data.repository.Repository;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Расширение JUnit для проверки количества SQL-запросов, выполняемых одним вызовом сервиса. Учитываются только
+ * запросы, прошедшие через {@link SqlCountingDataSource}, поэтому проверка выполняется в контексте Spring с БД H2 и
+ * настоящими репозиториями. В контексте с репозиториями, замененными заглушками Mockito, запросы к БД не выполняются,
+ * и проверка завершается ошибкой.
+ * <p>
+ * Подключается через {@code @RegisterExtension} в тестах с контекстом Spring
+ */
+public class QueryBudgetExtension implements BeforeEachCallback, AfterEachCallback {
+
+    private List<String> repositoryMocks = List.of();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        repositoryMocks = SpringExtension.getApplicationContext(context)
+                .getBeansOfType(Repository.class)
+                .entrySet().stream()
+                .filter(bean -> Mockito.mockingDetails(bean.getValue()).isMock())
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        repositoryMocks = List.of();
+    }
+
+    /**
+     * Метод выполняет вызов и проверяет, что количество SQL-запросов не превышает допустимое
+     *
+     * @param maxQueries допустимое количество запросов
+     * @param call проверяемый вызов
+     * @param <T> тип результата вызова
+     * @return результат вызова
+     */
+    public <T> T assertMaxQueries(int maxQueries, Supplier<T> call) {
+        if (!repositoryMocks.isEmpty()) {
+            fail("Количество SQL-запросов проверяется только с настоящими репозиториями, заменены заглушками: "
+                    + repositoryMocks);
+        }
+
+        T result;
+        long statements;
+        try (SqlStatistics statistics = SqlStatistics.open()) {
+            result = call.get();
+            statements = statistics.getStatements();
+        }
+
+        if (statements > maxQueries) {
+            fail("Ожидалось не больше " + maxQueries + " SQL-запросов, выполнено " + statements);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.commons.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.opentest4j.AssertionFailedError;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Подсчет SQL-запросов на HTTP-запрос")
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(Lifecycle.PER_CLASS)
+class SqlMetricsInterceptorTest {
+
+    @RegisterExtension
+    final QueryBudgetExtension queries = new QueryBudgetExtension();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    void seed() {
+        userRepository.save(User.builder().name("First").email("first@metrics.com").build());
+        userRepository.save(User.builder().name("Second").email("second@metrics.com").build());
+    }
+
+    @AfterAll
+    void cleanUp() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Метрики SQL-запросов публикуются с тегами метода контроллера")
+    @Test
+    void metricsTaggedByControllerMethod() throws Exception {
+        mockMvc.perform(get("/users")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("shareit.sql.statements")
+                .tags("controller", "UserController", "method", "findAll")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.count() >= 1);
+        assertTrue(statements.totalAmount() >= 1);
+
+        DistributionSummary rows = meterRegistry.find("shareit.sql.rows")
+                .tags("controller", "UserController", "method", "findAll")
+                .summary();
+        assertNotNull(rows);
+        assertTrue(rows.totalAmount() >= 2);
+
+        Timer time = meterRegistry.find("shareit.sql.time")
+                .tags("controller", "UserController", "method", "findAll")
+                .timer();
+        assertNotNull(time);
+        assertTrue(time.count() >= 1);
+    }
+
+    @DisplayName("Области подсчета вкладываются друг в друга")
+    @Test
+    void nestedStatistics() {
+        try (SqlStatistics outer = SqlStatistics.open()) {
+            try (SqlStatistics inner = SqlStatistics.open()) {
+                userRepository.findAll();
+                assertEquals(1, inner.getStatements());
+                assertEquals(2, inner.getRows());
+            }
+            userRepository.findAll();
+            assertEquals(2, outer.getStatements());
+            assertEquals(4, outer.getRows());
+        }
+    }
+
+    @DisplayName("Превышение допустимого количества запросов к БД обнаруживается")
+    @Test
+    void queryBudget() {
+        List<User> users = queries.assertMaxQueries(1, userRepository::findAll);
+        assertEquals(2, users.size());
+
+        assertThrows(AssertionFailedError.class, () -> queries.assertMaxQueries(1, () -> {
+            userRepository.findAll();
+            return userRepository.findAll();
+        }));
+    }
+}
@@ -0,0 +1,125 @@
+package ru.practicum.shareit.commons.threads;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@DisplayName("Обнаружение закрепления виртуальных потоков")
+@SpringBootTest(properties = {"spring.threads.virtual.enabled=true", "shareit.virtual-threads.pinning.threshold=10ms"})
+@AutoConfigureMockMvc
+class VirtualThreadPinningTest {
+
+    private static final Duration BLOCKING = Duration.ofMillis(50);
+
+    private final Object monitorLock = new Object();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    @Autowired
+    private VirtualThreadPinningMonitor monitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @DisplayName("Блокировка внутри synchronized учитывается и возвращается точкой доступа actuator")
+    @Test
+    void pinningReported() throws Exception {
+        Logger logger = (Logger) LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        logger.addAppender(appender);
+        Level level = logger.getLevel();
+        logger.setLevel(Level.DEBUG);
+
+        PinningReport report;
+        try {
+            // Ожидание под ReentrantLock освобождает поток-носитель и не учитывается
+            Thread.ofVirtual().start(this::sleepUnderLock).join();
+            Thread.ofVirtual().start(this::sleepInSynchronized).join();
+            Thread.ofVirtual().start(this::sleepInSynchronized).join();
+
+            report = awaitPinning(2);
+        } finally {
+            logger.detachAppender(appender);
+            logger.setLevel(level);
+        }
+
+        // Повторное закрепление в том же кадре не выводится с уровнем WARN
+        assertEquals(List.of(Level.WARN, Level.DEBUG), appender.list.stream().map(ILoggingEvent::getLevel).toList());
+        assertEquals(1, report.frames().size());
+        PinningReport.Frame frame = report.frames().getFirst();
+        assertTrue(frame.frame().startsWith(VirtualThreadPinningTest.class.getName() + ".sleepInSynchronized"));
+        assertTrue(frame.maxMs() >= BLOCKING.toMillis());
+        assertTrue(frame.stackTrace().size() > 1);
+
+        Timer timer = meterRegistry.find("shareit.virtual-threads.pinned").tag("frame", frame.frame()).timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+
+        mockMvc.perform(get("/actuator/pinning"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.thresholdMs").value(10))
+                .andExpect(jsonPath("$.total").value(greaterThanOrEqualTo(2)))
+                .andExpect(jsonPath("$.frames[0].frame").value(startsWith(VirtualThreadPinningTest.class.getName())));
+    }
+
+    private void sleepInSynchronized() {
+        synchronized (monitorLock) {
+            try {
+                Thread.sleep(BLOCKING);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void sleepUnderLock() {
+        lock.lock();
+        try {
+            Thread.sleep(BLOCKING);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * События JFR передаются потоку чтения с задержкой до секунды
+     */
+    private PinningReport awaitPinning(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        PinningReport report = monitor.report();
+        while (report.total() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            report = monitor.report();
+        }
+        assertEquals(expected, report.total());
+        return report;
+    }
+}
@@ -13,6 +13,9 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingShortDto;
@@ -23,8 +26,10 @@ import ru.practicum.shareit.item.dto.CommentCreateDto;
 import ru.practicum.shareit.item.dto.CommentShortDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.dto.ItemImportEventDto;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
+import ru.practicum.shareit.item.importing.ItemImporter;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
@@ -35,6 +40,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
@@ -42,14 +50,17 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @DisplayName("Обработка REST-запросов к /items")
 @WebMvcTest(controllers = ItemController.class)
+@Import(ItemImporter.class)
 class ItemControllerTest {
 
     private static final String X_SHARER_HEADER = "X-Sharer-User-Id";
+    private static final String ENTITY_TAG = "\"5d41402abc4b2a76b9719d911017c592\"";
 
     @Autowired
     ObjectMapper objectMapper;
@@ -198,8 +209,8 @@ class ItemControllerTest {
     @DisplayName("Получение списка вещей")
     @Test
     void findAll() throws Exception {
-        when(itemService.findAllByOwner(anyLong(), anyInt(), anyInt()))
-                .thenReturn(List.of(itemFullDto));
+        when(itemService.findAllByOwner(anyLong(), anyInt(), anyInt(), any()))
+                .thenReturn(new SliceImpl<>(List.of(itemFullDto)));
 
         mockMvc.perform(get("/items")
                         .header(X_SHARER_HEADER, owner.getId())
@@ -259,7 +270,7 @@ class ItemControllerTest {
     @DisplayName("Вызов исключения UserIsNotSharerException при получении списка вещей")
     @Test
     void findAllWith403Exception() throws Exception {
-        when(itemService.findAllByOwner(anyLong(), anyInt(), anyInt()))
+        when(itemService.findAllByOwner(anyLong(), anyInt(), anyInt(), any()))
                 .thenThrow(UserIsNotSharerException.class);
 
         mockMvc.perform(get("/items")
@@ -275,7 +286,7 @@ class ItemControllerTest {
     @DisplayName("Вызов исключения NotFoundException при получении списка вещей")
     @Test
     void findAllWith404Exception() throws Exception {
-        when(itemService.findAllByOwner(anyLong(), anyInt(), anyInt()))
+        when(itemService.findAllByOwner(anyLong(), anyInt(), anyInt(), any()))
                 .thenThrow(NotFoundException.class);
 
         mockMvc.perform(get("/items")
@@ -291,7 +302,7 @@ class ItemControllerTest {
     @DisplayName("Вызов исключения RuntimeException при получении списка вещей")
     @Test
     void findAllWith500Exception() throws Exception {
-        when(itemService.findAllByOwner(anyLong(), anyInt(), anyInt()))
+        when(itemService.findAllByOwner(anyLong(), anyInt(), anyInt(), any()))
                 .thenThrow(RuntimeException.class);
 
         mockMvc.perform(get("/items")
@@ -393,6 +404,8 @@ class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON)
                         .characterEncoding(StandardCharsets.UTF_8))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-store, private"))
                 .andExpect(jsonPath("$.id", is(itemFullDto.getId()), Long.class))
                 .andExpect(jsonPath("$.name", is(itemFullDto.getName())))
                 .andExpect(jsonPath("$.description", is(itemFullDto.getDescription())))
@@ -439,6 +452,44 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.request.items[0].request.requestor.email", is(booker.getEmail())));
     }
 
+    @DisplayName("Поиск вещи по идентификатору с передачей ETag")
+    @Test
+    void findByIdWithEntityTag() throws Exception {
+        when(itemService.getEntityTag(anyLong(), anyLong()))
+                .thenReturn(ENTITY_TAG);
+        when(itemService.findById(anyLong(), anyLong()))
+                .thenReturn(itemFullDto);
+
+        mockMvc.perform(get("/items/" + itemFullDto.getId())
+                        .header(X_SHARER_HEADER, booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"outdated\"")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ENTITY_TAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.id", is(itemFullDto.getId()), Long.class));
+    }
+
+    @DisplayName("Вещь не формируется, если ETag не изменился")
+    @Test
+    void findByIdNotModified() throws Exception {
+        when(itemService.getEntityTag(anyLong(), anyLong()))
+                .thenReturn(ENTITY_TAG);
+
+        mockMvc.perform(get("/items/" + itemFullDto.getId())
+                        .header(X_SHARER_HEADER, booker.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, ENTITY_TAG)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ENTITY_TAG))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().string(""));
+
+        verify(itemService, never()).findById(anyLong(), anyLong());
+    }
+
     @DisplayName("Вызов исключения ValidationException при поиске вещи по идентификатору")
     @Test
     void findByIdWith400Exception() throws Exception {
@@ -783,4 +834,59 @@ class ItemControllerTest {
                 .andExpect(status().isOk());
         verify(itemService).delete(owner.getId(), itemFullDto.getId());
     }
-}
\ No newline at end of file
+
+    @DisplayName("Импорт вещей в формате NDJSON с передачей ошибок строк")
+    @Test
+    void importItems() throws Exception {
+        when(itemService.importChunk(anyLong(), any()))
+                .thenReturn(List.of(ItemImportEventDto.error(2, 400, "Ошибка")));
+
+        String body = objectMapper.writeValueAsString(itemCreateDto) + "\n{\n\n"
+                + objectMapper.writeValueAsString(itemCreateDto) + "\n";
+
+        mockMvc.perform(post("/items/import")
+                        .header(X_SHARER_HEADER, owner.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(body)
+                        .contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(ItemImportEventDto.error(2, 400, "Ошибка")) + "\n"
+                                + objectMapper.writeValueAsString(ItemImportEventDto.progress(
+                                ItemImportEventDto.Type.PROGRESS, 3, 1)) + "\n"
+                                + objectMapper.writeValueAsString(ItemImportEventDto.progress(
+                                ItemImportEventDto.Type.COMPLETED, 3, 1)) + "\n"));
+
+        verify(itemService).importChunk(eq(owner.getId()), argThat(lines -> lines.size() == 3
+                && lines.get(1).number() == 2 && lines.get(1).error() != null
+                && lines.get(2).number() == 4 && itemCreateDto.equals(lines.get(2).dto())));
+    }
+
+    @DisplayName("Ответ 404 при импорте вещей несуществующим пользователем")
+    @Test
+    void importItemsWith404Exception() throws Exception {
+        when(itemService.importChunk(anyLong(), any()))
+                .thenThrow(NotFoundException.class);
+
+        mockMvc.perform(post("/items/import")
+                        .header(X_SHARER_HEADER, owner.getId())
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content("name,description,available\nName,Description,true\n")
+                        .contentType("text/csv"))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @DisplayName("Ответ 415 при импорте вещей в неподдерживаемом формате")
+    @Test
+    void importItemsWithUnsupportedType() throws Exception {
+        mockMvc.perform(post("/items/import")
+                        .header(X_SHARER_HEADER, owner.getId())
+                        .content(objectMapper.writeValueAsString(List.of(itemCreateDto)))
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isUnsupportedMediaType());
+
+        verify(itemService, never()).importChunk(anyLong(), any());
+    }
+}
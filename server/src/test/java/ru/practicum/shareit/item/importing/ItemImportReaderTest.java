@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@DisplayName("Построчное чтение вещей из тела запроса импорта")
+class ItemImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DisplayName("Чтение строк NDJSON с пропуском пустых строк")
+    @Test
+    void readNdjson() throws IOException {
+        List<ItemImportLine> lines = readAll(MediaType.APPLICATION_NDJSON, String.join("\n",
+                "{\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true,\"requestId\":7}",
+                "",
+                "{\"name\":\"Молоток\"",
+                "null"));
+
+        assertEquals(3, lines.size());
+        assertEquals(1, lines.get(0).number());
+        assertEquals(new ItemCreateDto("Дрель", "Ударная", true, 7L), lines.get(0).dto());
+        assertNull(lines.get(0).error());
+        assertEquals(3, lines.get(1).number());
+        assertNull(lines.get(1).dto());
+        assertNotNull(lines.get(1).error());
+        assertEquals(4, lines.get(2).number());
+        assertNotNull(lines.get(2).error());
+    }
+
+    @DisplayName("Чтение строк CSV со столбцами в произвольном порядке и значениями в кавычках")
+    @Test
+    void readCsv() throws IOException {
+        List<ItemImportLine> lines = readAll(ItemImportReader.TEXT_CSV, String.join("\n",
+                "available,Name,description,requestId",
+                "true,Дрель,\"Ударная, с \"\"битами\"\"\",7",
+                "false,Молоток,,",
+                "yes,Пила,Ручная,",
+                "true,Топор,Колун,abc",
+                "true,Лопата",
+                "true,Грабли,\"Веерные"));
+
+        assertEquals(6, lines.size());
+        assertEquals(2, lines.get(0).number());
+        assertEquals(new ItemCreateDto("Дрель", "Ударная, с \"битами\"", true, 7L), lines.get(0).dto());
+        assertEquals(new ItemCreateDto("Молоток", "", false, null), lines.get(1).dto());
+        for (ItemImportLine line : lines.subList(2, lines.size())) {
+            assertNull(line.dto());
+            assertNotNull(line.error());
+        }
+    }
+
+    @DisplayName("Заголовок CSV с неизвестным столбцом и неподдерживаемый формат отклоняются до чтения строк")
+    @Test
+    void rejectUnknownFormat() {
+        assertThrows(IncorrectDataException.class,
+                () -> readAll(ItemImportReader.TEXT_CSV, "name,price\nДрель,100\n"));
+        assertThrows(IncorrectDataException.class, () -> readAll(MediaType.APPLICATION_JSON, "[]"));
+    }
+
+    private List<ItemImportLine> readAll(MediaType contentType, String body) throws IOException {
+        List<ItemImportLine> lines = new ArrayList<>();
+        try (ItemImportReader reader = ItemImportReader.of(contentType,
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), objectMapper)) {
+            ItemImportLine line;
+            while ((line = reader.next()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
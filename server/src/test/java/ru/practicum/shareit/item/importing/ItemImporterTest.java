@@ -0,0 +1,145 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import ru.practicum.shareit.commons.exceptions.NotFoundException;
+import ru.practicum.shareit.commons.sql.QueryBudgetExtension;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisplayName("Потоковый импорт вещей частями")
+@SpringBootTest(properties = "shareit.items.import.chunk-size=" + ItemImporterTest.CHUNK_SIZE)
+class ItemImporterTest {
+
+    static final int CHUNK_SIZE = 50;
+    private static final int ROWS = 120;
+
+    @RegisterExtension
+    final QueryBudgetExtension queries = new QueryBudgetExtension();
+
+    @Autowired
+    private ItemImporter itemImporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    private User owner;
+    private ItemRequest itemRequest;
+
+    @BeforeEach
+    void seed() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@import.com").build());
+        User requestor = userRepository.save(User.builder().name("Requestor").email("requestor@import.com").build());
+        itemRequest = itemRequestRepository.save(ItemRequest.builder().description("Request").requestor(requestor)
+                .created(LocalDateTime.now()).build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Строки сохраняются частями, ошибки строк и ход импорта передаются в ответ")
+    @Test
+    void importItems() throws Exception {
+        StringBuilder body = new StringBuilder();
+        for (int i = 1; i <= ROWS; i++) {
+            ItemCreateDto dto = new ItemCreateDto("Item " + i, "Description " + i, true, null);
+            if (i % 10 == 0) {
+                dto.setName(" ");
+            } else if (i == 7) {
+                dto.setRequestId(itemRequest.getEntityId());
+            } else if (i == 8) {
+                dto.setRequestId(Long.MAX_VALUE);
+            }
+            body.append(objectMapper.writeValueAsString(dto)).append('\n');
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        // На каждую часть: запросы вещей, последовательность и пакетная вставка
+        queries.assertMaxQueries(15, () -> {
+            try {
+                itemImporter.importItems(owner.getEntityId(), MediaType.APPLICATION_NDJSON,
+                        new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), response);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return null;
+        });
+
+        assertTrue(MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(response.getContentType())));
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : response.getContentAsString(StandardCharsets.UTF_8).split("\n")) {
+            events.add(objectMapper.readTree(line));
+        }
+
+        List<JsonNode> errors = events.stream().filter(event -> "ERROR".equals(event.get("type").asText())).toList();
+        List<JsonNode> progress = events.stream().filter(event -> "PROGRESS".equals(event.get("type").asText()))
+                .toList();
+        assertEquals(ROWS / 10 + 1, errors.size());
+        assertEquals(8, errors.getFirst().get("line").asInt());
+        assertEquals(404, errors.getFirst().get("status").asInt());
+        assertEquals(10, errors.get(1).get("line").asInt());
+        assertEquals(400, errors.get(1).get("status").asInt());
+        assertEquals(List.of(50, 100, 120), progress.stream().map(event -> event.get("processed").asInt()).toList());
+
+        JsonNode completed = events.getLast();
+        assertEquals("COMPLETED", completed.get("type").asText());
+        assertEquals(ROWS, completed.get("processed").asInt());
+        assertEquals(ROWS - errors.size(), completed.get("created").asInt());
+        assertEquals(errors.size(), completed.get("failed").asInt());
+
+        assertEquals(ROWS - errors.size(), itemRepository.countBySharerEntityId(owner.getEntityId()));
+        assertEquals(1, itemRepository.findByRequestEntityIdIn(List.of(itemRequest.getEntityId()),
+                Sort.unsorted()).size());
+    }
+
+    @DisplayName("Импорт несуществующим пользователем завершается ошибкой до начала передачи ответа")
+    @Test
+    void importItemsByUnknownUser() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(NotFoundException.class, () -> itemImporter.importItems(Long.MAX_VALUE, ItemImportReader.TEXT_CSV,
+                new ByteArrayInputStream("name,description,available\nItem,Description,true\n"
+                        .getBytes(StandardCharsets.UTF_8)), response));
+        assertFalse(response.isCommitted());
+        assertEquals(0, itemRepository.count());
+    }
+}
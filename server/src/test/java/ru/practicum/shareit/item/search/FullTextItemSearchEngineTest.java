@@ -0,0 +1,42 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DisplayName("Проверка работы полнотекстового поиска FullTextItemSearchEngine")
+class FullTextItemSearchEngineTest {
+
+    @DisplayName("Преобразование поисковой строки в запрос to_tsquery")
+    @Test
+    void toTsQuery() {
+        assertEquals("дрель:*", FullTextItemSearchEngine.toTsQuery("Дрель"));
+        assertEquals("аккумуляторная:* & дрель:*", FullTextItemSearchEngine.toTsQuery("  Аккумуляторная   ДРЕЛЬ "));
+        assertEquals("drill:* & 2000:*", FullTextItemSearchEngine.toTsQuery("drill&2000 | !"));
+        assertEquals("", FullTextItemSearchEngine.toTsQuery("&|!:*()"));
+    }
+
+    @DisplayName("Строка без слов не передаётся в хранилище")
+    @Test
+    void searchWithoutWords() {
+        ItemRepository itemRepository = mock(ItemRepository.class);
+        FullTextItemSearchEngine engine = new FullTextItemSearchEngine(itemRepository);
+
+        assertTrue(engine.search("!!!", PageRequest.of(0, 10)).isEmpty());
+        verify(itemRepository, never()).findAvailableByFullText(anyString(), any());
+
+        engine.search("дрель", PageRequest.of(0, 10));
+        verify(itemRepository).findAvailableByFullText("дрель:*", PageRequest.of(0, 10));
+        assertEquals(List.of(), engine.search("", PageRequest.of(0, 10)));
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.item.projection.ItemSearchProjection;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Проверка работы поиска по индексу в памяти InMemoryItemSearchEngine")
+class InMemoryItemSearchEngineTest {
+
+    private final SpelAwareProxyProjectionFactory projectionFactory = new SpelAwareProxyProjectionFactory();
+
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        itemRepository = mock(ItemRepository.class);
+    }
+
+    @DisplayName("Индекс находит подстроку в названии и описании без учета регистра")
+    @Test
+    void indexSearch() {
+        ItemTrigramIndex index = new ItemTrigramIndex(4);
+        index.put(1L, "Отвертка", "Крестовая, для дрели");
+        index.put(2L, "Дрель", "Ударная");
+        index.put(3L, "Аккумуляторная ДРЕЛЬ", "Без проводов");
+        index.put(4L, "Пила", "Ручная");
+
+        assertEquals(List.of(2L, 3L, 1L), index.search("дрел"));
+        assertEquals(List.of(2L, 3L), index.search("ДРЕЛЬ"));
+        assertEquals(List.of(2L, 3L, 1L), index.search("ре"));
+        assertEquals(List.of(), index.search("дрелька"));
+        assertEquals(4, index.size());
+
+        index.put(2L, "Перфоратор", "Ударный");
+        assertEquals(List.of(3L, 1L), index.search("дрел"));
+
+        index.remove(3L);
+        index.remove(3L);
+        assertEquals(List.of(1L), index.search("дрел"));
+        assertEquals(3, index.size());
+    }
+
+    @DisplayName("До построения индекса поиск выполняется в БД, после - только страница загружается по ключу")
+    @Test
+    void rebuildAndSearch() {
+        InMemoryItemSearchEngine engine = new InMemoryItemSearchEngine(itemRepository, 2, 100, 2);
+        engine.search("дрель", PageRequest.of(0, 10));
+        verify(itemRepository).findAvailableBySubstring("дрель", PageRequest.of(0, 10));
+
+        when(itemRepository.findAvailableForSearchIndex(0L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(getDocument(1L, "Дрель", "Ударная"), getDocument(2L, "Пила", "Не дрель")));
+        when(itemRepository.findAvailableForSearchIndex(2L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(getDocument(5L, "Дрель", "Аккумуляторная")));
+        engine.rebuild();
+
+        assertTrue(engine.isReady());
+        assertEquals(3, engine.size());
+
+        ItemProjection item = projectionFactory.createProjection(ItemProjection.class,
+                Map.of("id", 5L, "name", "Дрель", "description", "Аккумуляторная", "available", true));
+        when(itemRepository.findProjectionsByIdIn(List.of(5L))).thenReturn(List.of(item));
+
+        assertEquals(List.of(item), engine.search("дрель", PageRequest.of(1, 1)));
+        assertEquals(List.of(), engine.search("дрель", PageRequest.of(3, 1)));
+        verify(itemRepository).findAvailableBySubstring(anyString(), any());
+    }
+
+    @DisplayName("Изменения вещей применяются к индексу, переполнение возвращает поиск в БД")
+    @Test
+    void updates() {
+        InMemoryItemSearchEngine engine = new InMemoryItemSearchEngine(itemRepository, 0, 2, 10);
+        when(itemRepository.findAvailableForSearchIndex(anyLong(), any())).thenReturn(List.of());
+        engine.rebuild();
+
+        engine.onSaved(getItem(1L, "Дрель", "Ударная", true));
+        engine.onSaved(getItem(2L, "Пила", "Ручная", true));
+        assertEquals(2, engine.size());
+
+        engine.onSaved(getItem(1L, "Дрель", "Ударная", false));
+        engine.onDeleted(2L);
+        assertEquals(0, engine.size());
+        assertTrue(engine.isReady());
+        verify(itemRepository, never()).findAvailableBySubstring(anyString(), any());
+
+        engine.onSaved(getItem(1L, "Дрель", "Ударная", true));
+        engine.onSaved(getItem(2L, "Пила", "Ручная", true));
+        engine.onSaved(getItem(3L, "Молоток", "Слесарный", true));
+        assertFalse(engine.isReady());
+        assertEquals(0, engine.size());
+
+        engine.search("дрель", PageRequest.of(0, 10));
+        verify(itemRepository).findAvailableBySubstring("дрель", PageRequest.of(0, 10));
+    }
+
+    private ItemSearchProjection getDocument(Long id, String name, String description) {
+        return projectionFactory.createProjection(ItemSearchProjection.class,
+                Map.of("id", id, "name", name, "description", description));
+    }
+
+    private Item getItem(Long id, String name, String description, Boolean available) {
+        Item item = new Item();
+        item.setEntityId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
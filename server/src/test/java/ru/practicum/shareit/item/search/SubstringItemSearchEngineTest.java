@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@DisplayName("Проверка работы поиска по подстроке SubstringItemSearchEngine, подключаемого по умолчанию")
+@SpringBootTest
+class SubstringItemSearchEngineTest {
+
+    @Autowired
+    private ItemSearchEngine itemSearchEngine;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @BeforeEach
+    void seed() {
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@search.com").build());
+        itemRepository.saveAll(List.of(
+                Item.builder().sharer(owner).name("Дрель").description("Ударная").available(true).build(),
+                Item.builder().sharer(owner).name("Отвертка").description("Для ДРЕЛИ").available(true).build(),
+                Item.builder().sharer(owner).name("Дрель").description("Сломана").available(false).build(),
+                Item.builder().sharer(owner).name("Пила").description("Ручная").available(true).build()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Без настройки shareit.search.engine подключается поиск по подстроке")
+    @Test
+    void defaultEngine() {
+        assertInstanceOf(SubstringItemSearchEngine.class, itemSearchEngine);
+    }
+
+    @DisplayName("Доступные вещи находятся по вхождению в середину слова без учета регистра")
+    @Test
+    void searchInsideWord() {
+        List<ItemProjection> found = itemSearchEngine.search("рел", PageRequest.of(0, 10));
+
+        assertEquals(List.of("Дрель", "Отвертка"), found.stream().map(ItemProjection::getName).toList());
+        assertEquals(List.of("Дрель"), itemSearchEngine.search("РЕЛЬ", PageRequest.of(0, 10)).stream()
+                .map(ItemProjection::getName)
+                .toList());
+    }
+}
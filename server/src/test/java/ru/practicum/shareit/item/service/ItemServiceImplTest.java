@@ -3,7 +3,9 @@ package ru.practicum.shareit.item.service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import lombok.RequiredArgsConstructor;
@@ -18,8 +20,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.projection.BookingNeighbourProjection;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
@@ -32,6 +36,8 @@ import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.CommentProjection;
+import ru.practicum.shareit.item.projection.ItemProjection;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -42,12 +48,14 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -85,12 +93,73 @@ class ItemServiceImplTest {
     private CommentCreateDto commentCreateDto;
     private ItemUpdateDto itemUpdateDto;
 
-    private static Page<Item> getPageFromListForItem(List<Item> list) {
+    private static final SpelAwareProxyProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private static Page<ItemProjection> getPageFromListForItem(List<ItemProjection> list) {
         return new PageImpl<>(list, PageRequest.of(0, list.isEmpty() ? 1 : list.size()), list.size());
     }
 
-    private static Page<Booking> getPageFromListForBooking(List<Booking> list) {
-        return new PageImpl<>(list, PageRequest.of(0, list.isEmpty() ? 1 : list.size()), list.size());
+    private static ItemProjection getItemProjection(Item item) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", item.getEntityId());
+        values.put("name", item.getName());
+        values.put("description", item.getDescription());
+        values.put("available", item.getAvailable());
+        values.put("sharerId", item.getSharer().getEntityId());
+        values.put("sharerName", item.getSharer().getName());
+        values.put("sharerEmail", item.getSharer().getEmail());
+        if (item.getRequest() != null) {
+            values.put("requestId", item.getRequest().getEntityId());
+            values.put("requestDescription", item.getRequest().getDescription());
+            values.put("requestCreated", item.getRequest().getCreated());
+            values.put("requestorId", item.getRequest().getRequestor().getEntityId());
+            values.put("requestorName", item.getRequest().getRequestor().getName());
+            values.put("requestorEmail", item.getRequest().getRequestor().getEmail());
+        }
+        return PROJECTION_FACTORY.createProjection(ItemProjection.class, values);
+    }
+
+    private static CommentProjection getCommentProjection(Comment comment) {
+        return PROJECTION_FACTORY.createProjection(CommentProjection.class, Map.of(
+                "id", comment.getEntityId(),
+                "itemId", comment.getItem().getEntityId(),
+                "text", comment.getText(),
+                "authorName", comment.getAuthor().getName(),
+                "created", comment.getCreated()));
+    }
+
+    private static BookingNeighbourProjection getNeighbour(Booking booking, String kind) {
+        return new BookingNeighbourProjection() {
+            @Override
+            public Long getItemId() {
+                return booking.getItem().getEntityId();
+            }
+
+            @Override
+            public Long getId() {
+                return booking.getEntityId();
+            }
+
+            @Override
+            public Long getBookerId() {
+                return booking.getBooker().getEntityId();
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return booking.getStartDate();
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return booking.getEndDate();
+            }
+
+            @Override
+            public String getKind() {
+                return kind;
+            }
+        };
     }
 
     @BeforeEach
@@ -188,18 +257,16 @@ class ItemServiceImplTest {
     @Test
     void findAllByOwner() {
         when(itemRepository.findAllBySharerEntityId(anyLong(), any()))
-                .thenReturn(getPageFromListForItem(List.of(item)));
+                .thenReturn(getPageFromListForItem(List.of(getItemProjection(item))));
         when(itemRepository.findByRequestEntityIdIn(any(), any()))
-                .thenReturn(List.of(item));
-        when(bookingRepository.findLastBooking(anyLong(), any(), any(),
-                any()))
-                .thenReturn(getPageFromListForBooking(List.of(lastBooking)));
-        when(bookingRepository.findNextBooking(anyLong(), any(), any(), any()))
-                .thenReturn(getPageFromListForBooking(List.of(nextBooking)));
-        when(commentRepository.findAllByItemEntityId(anyLong(), any()))
-                .thenReturn(List.of(comment));
-
-        Collection<ItemFullDto> itemList = itemService.findAllByOwner(owner.getEntityId(), 0, 10);
+                .thenReturn(List.of(getItemProjection(item)));
+        when(bookingRepository.findNeighbourBookings(any(), any(), any()))
+                .thenReturn(List.of(getNeighbour(lastBooking, BookingNeighbourProjection.LAST),
+                        getNeighbour(nextBooking, BookingNeighbourProjection.NEXT)));
+        when(commentRepository.findAllByItemEntityIdIn(any(), any()))
+                .thenReturn(List.of(getCommentProjection(comment)));
+
+        Collection<ItemFullDto> itemList = itemService.findAllByOwner(owner.getEntityId(), 0, 10, null).getContent();
         assertNotNull(itemList);
         assertFalse(itemList.isEmpty());
         assertEquals(1, itemList.size());
@@ -274,16 +341,60 @@ class ItemServiceImplTest {
         when(itemRepository.findAllBySharerEntityId(anyLong(), any()))
                 .thenReturn(getPageFromListForItem(new ArrayList<>()));
 
-        Collection<ItemFullDto> itemList = itemService.findAllByOwner(owner.getEntityId(), 0, 10);
+        Collection<ItemFullDto> itemList = itemService.findAllByOwner(owner.getEntityId(), 0, 10, null).getContent();
         assertNotNull(itemList);
         assertTrue(itemList.isEmpty());
     }
 
+    @DisplayName("Получение списка из нескольких вещей владельца одним запросом на каждый вид сведений")
+    @Test
+    void findAllByOwnerBatched() {
+        Item itemWithoutRequest = Item.builder()
+                .entityId(item.getEntityId() + 1)
+                .sharer(owner)
+                .name("Second item")
+                .description("Second item description")
+                .available(true)
+                .build();
+
+        when(itemRepository.findAllBySharerEntityId(anyLong(), any()))
+                .thenReturn(getPageFromListForItem(
+                        List.of(getItemProjection(item), getItemProjection(itemWithoutRequest))));
+        when(itemRepository.findByRequestEntityIdIn(any(), any()))
+                .thenReturn(List.of(getItemProjection(item)));
+        when(bookingRepository.findNeighbourBookings(any(), any(), any()))
+                .thenReturn(List.of(getNeighbour(lastBooking, BookingNeighbourProjection.LAST),
+                        getNeighbour(nextBooking, BookingNeighbourProjection.NEXT)));
+        when(commentRepository.findAllByItemEntityIdIn(any(), any()))
+                .thenReturn(List.of(getCommentProjection(comment)));
+
+        List<ItemFullDto> itemList = List.copyOf(itemService.findAllByOwner(owner.getEntityId(), 0, 10, null).getContent());
+        assertEquals(2, itemList.size());
+
+        ItemFullDto first = itemList.get(0);
+        assertEquals(item.getEntityId(), first.getId());
+        assertEquals(lastBooking.getEntityId(), first.getLastBooking().getId());
+        assertEquals(nextBooking.getEntityId(), first.getNextBooking().getId());
+        assertEquals(1, first.getComments().size());
+        assertNotNull(first.getRequest());
+
+        ItemFullDto second = itemList.get(1);
+        assertEquals(itemWithoutRequest.getEntityId(), second.getId());
+        assertNull(second.getLastBooking());
+        assertNull(second.getNextBooking());
+        assertTrue(second.getComments().isEmpty());
+        assertNull(second.getRequest());
+
+        verify(bookingRepository, times(1)).findNeighbourBookings(any(), any(), any());
+        verify(commentRepository, times(1)).findAllByItemEntityIdIn(any(), any());
+        verify(itemRepository, times(1)).findByRequestEntityIdIn(any(), any());
+    }
+
     @DisplayName("Получение списка вещей по вхождению подстроки")
     @Test
     void findByText() {
-        when(itemRepository.findAllByNameAndAvailable(anyString(), anyBoolean(), any()))
-                .thenReturn(getPageFromListForItem(List.of(item)));
+        when(itemRepository.findAvailableBySubstring(anyString(), any()))
+                .thenReturn(List.of(getItemProjection(item)));
 
         Collection<ItemShortDto> itemList = itemService.findByText(item.getName(), 0, 10);
         assertNotNull(itemList);
@@ -313,31 +424,40 @@ class ItemServiceImplTest {
     @DisplayName("Получение пустого списка вещей по вхождению подстроки")
     @Test
     void findByTextEmptyList() {
-        when(itemRepository.findAllByNameAndAvailable(anyString(), anyBoolean(), any()))
-                .thenReturn(getPageFromListForItem(new ArrayList<>()));
+        when(itemRepository.findAvailableBySubstring(anyString(), any()))
+                .thenReturn(new ArrayList<>());
 
         Collection<ItemShortDto> itemList = itemService.findByText(item.getName(), 0, 10);
         assertNotNull(itemList);
         assertTrue(itemList.isEmpty());
     }
 
+    @DisplayName("Получение пустого списка вещей по пустой подстроке без обращения к хранилищу")
+    @Test
+    void findByTextBlank() {
+        Collection<ItemShortDto> itemList = itemService.findByText("  ", 0, 10);
+        assertNotNull(itemList);
+        assertTrue(itemList.isEmpty());
+
+        verify(itemRepository, never()).findAvailableBySubstring(anyString(), any());
+    }
+
     @DisplayName("Получение вещи по идентификатору")
     @Test
     void findById() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(owner));
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(item));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.findProjectionById(anyLong()))
+                .thenReturn(Optional.of(getItemProjection(item)));
         when(itemRepository.findByRequestEntityIdIn(any(), any()))
-                .thenReturn(List.of(item));
-        when(bookingRepository.findLastBooking(anyLong(), any(), any(), any()))
-                .thenReturn(getPageFromListForBooking(List.of(lastBooking)));
-        when(bookingRepository.findNextBooking(anyLong(), any(), any(), any()))
-                .thenReturn(getPageFromListForBooking(List.of(nextBooking)));
-        when(commentRepository.findAllByItemEntityId(anyLong(), any()))
-                .thenReturn(List.of(comment));
-
-        ItemFullDto itemDto = itemService.findById(owner.getEntityId(), item.getEntityId());
+                .thenReturn(List.of(getItemProjection(item)));
+        when(bookingRepository.findNeighbourBookings(any(), any(), any()))
+                .thenReturn(List.of(getNeighbour(lastBooking, BookingNeighbourProjection.LAST),
+                        getNeighbour(nextBooking, BookingNeighbourProjection.NEXT)));
+        when(commentRepository.findAllByItemEntityIdIn(any(), any()))
+                .thenReturn(List.of(getCommentProjection(comment)));
+
+        ItemFullDto itemDto = itemService.findById(item.getEntityId(), owner.getEntityId());
         assertNotNull(itemDto);
         assertNotNull(itemDto.getId());
         assertEquals(item.getEntityId(), itemDto.getId());
@@ -400,14 +520,14 @@ class ItemServiceImplTest {
     @DisplayName("Вызов исключения NotFoundException при получении вещи по идентификатору")
     @Test
     void findByIdWith404Exception() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemService.findById(owner.getEntityId(), item.getEntityId()));
 
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(owner));
-        when(itemRepository.findById(anyLong()))
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.findProjectionById(anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.findById(owner.getEntityId(), item.getEntityId()));
@@ -475,8 +595,10 @@ class ItemServiceImplTest {
     @DisplayName("Создание комментария")
     @Test
     void createComment() {
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(item));
+        when(itemRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.getReferenceById(anyLong()))
+                .thenReturn(item);
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(booker));
         when(bookingRepository.existsByItemAndBooker(anyLong(), anyLong(), any(), any()))
@@ -497,8 +619,10 @@ class ItemServiceImplTest {
     @DisplayName("Вызов исключения ValidationException при создании комментария")
     @Test
     void createCommentWith400Exception() {
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(item));
+        when(itemRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.getReferenceById(anyLong()))
+                .thenReturn(item);
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(booker));
         when(bookingRepository.existsByItemAndBooker(anyLong(), anyLong(), any(), any()))
@@ -512,14 +636,16 @@ class ItemServiceImplTest {
     @DisplayName("Вызов исключения NotFoundException при создании комментария")
     @Test
     void createCommentWith404Exception() {
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(itemRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class,
                 () -> itemService.createComment(item.getEntityId(), booker.getEntityId(), commentCreateDto));
 
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(item));
+        when(itemRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.getReferenceById(anyLong()))
+                .thenReturn(item);
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
@@ -531,16 +657,20 @@ class ItemServiceImplTest {
     @DisplayName("Вызов исключения RuntimeException при создании комментария")
     @Test
     void createCommentWith500Exception() {
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(item));
+        when(itemRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.getReferenceById(anyLong()))
+                .thenReturn(item);
         when(itemRepository.save(any()))
                 .thenThrow(RuntimeException.class);
 
         assertThrows(RuntimeException.class,
                 () -> itemService.createComment(item.getEntityId(), booker.getEntityId(), commentCreateDto));
 
-        when(itemRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(item));
+        when(itemRepository.existsById(anyLong()))
+                .thenReturn(true);
+        when(itemRepository.getReferenceById(anyLong()))
+                .thenReturn(item);
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
@@ -597,8 +727,8 @@ class ItemServiceImplTest {
     @DisplayName("Удаление вещи по идентификатору")
     @Test
     void delete() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
@@ -610,8 +740,8 @@ class ItemServiceImplTest {
     @DisplayName("Вызов исключения ValidationException при удалении вещи по идентификатору")
     @Test
     void deleteWith400Exception() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(booker));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(item));
 
@@ -622,14 +752,14 @@ class ItemServiceImplTest {
     @DisplayName("Вызов исключения NotFoundException при удалении вещи по идентификатору")
     @Test
     void deleteWith404Exception() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class,
                 () -> itemService.delete(owner.getEntityId(), item.getEntityId()));
 
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(owner));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.empty());
 
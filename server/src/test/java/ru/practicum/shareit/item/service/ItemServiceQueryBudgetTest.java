@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.commons.sql.QueryBudgetExtension;
+import ru.practicum.shareit.item.dto.ItemFullDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Количество SQL-запросов при получении вещей с бронированиями и комментариями. Запросы считаются в БД H2 без кэша
+ * второго уровня и не зависят от количества вещей на странице
+ */
+@DisplayName("Количество SQL-запросов сервиса ItemService")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE)
+@TestInstance(Lifecycle.PER_CLASS)
+class ItemServiceQueryBudgetTest {
+
+    private static final int ITEMS = 3;
+
+    @RegisterExtension
+    final QueryBudgetExtension queries = new QueryBudgetExtension();
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User owner;
+    private Item item;
+
+    @BeforeAll
+    void seed() {
+        owner = userRepository.save(User.builder().name("Owner").email("owner@budget.com").build());
+        User booker = userRepository.save(User.builder().name("Booker").email("booker@budget.com").build());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < ITEMS; i++) {
+            item = itemRepository.save(Item.builder()
+                    .sharer(owner)
+                    .name("Item " + i)
+                    .description("Budget item " + i)
+                    .available(true)
+                    .build());
+            bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .startDate(now.minusDays(3)).endDate(now.minusDays(2)).build());
+            bookingRepository.save(Booking.builder().item(item).booker(booker).status(BookingStatus.APPROVED)
+                    .startDate(now.plusDays(2)).endDate(now.plusDays(3)).build());
+            commentRepository.save(Comment.builder().item(item).author(booker).text("Comment " + i)
+                    .created(now.minusDays(1)).build());
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        commentRepository.deleteAll();
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void evictCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @DisplayName("Вещи владельца с бронированиями и комментариями получаются постоянным числом запросов")
+    @Test
+    void findAllByOwner() {
+        List<ItemFullDto> items = queries.assertMaxQueries(3,
+                () -> itemService.findAllByOwner(owner.getEntityId(), 0, 10, null)).getContent();
+
+        assertEquals(ITEMS, items.size());
+        items.forEach(dto -> {
+            assertNotNull(dto.getLastBooking());
+            assertNotNull(dto.getNextBooking());
+            assertEquals(1, dto.getComments().size());
+        });
+    }
+
+    @DisplayName("Вещь владельца с бронированиями и комментариями получается постоянным числом запросов")
+    @Test
+    void findById() {
+        ItemFullDto dto = queries.assertMaxQueries(4,
+                () -> itemService.findById(item.getEntityId(), owner.getEntityId()));
+
+        assertEquals(item.getEntityId(), dto.getId());
+        assertNotNull(dto.getLastBooking());
+        assertNotNull(dto.getNextBooking());
+        assertEquals(1, dto.getComments().size());
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
@@ -113,8 +114,8 @@ class ItemRequestControllerTest {
     @DisplayName("Получение списка запросов")
     @Test
     void findAll() throws Exception {
-        when(itemRequestService.findAll(anyInt(), anyInt()))
-                .thenReturn(List.of(itemRequestShortDto));
+        when(itemRequestService.findAll(anyInt(), anyInt(), any()))
+                .thenReturn(new SliceImpl<>(List.of(itemRequestShortDto)));
 
         mockMvc.perform(get("/requests/all")
                         .accept(MediaType.APPLICATION_JSON)
@@ -134,7 +135,7 @@ class ItemRequestControllerTest {
     @DisplayName("Вызов исключения RuntimeException при получении списка запросов")
     @Test
     void findAllWith500Exception() throws Exception {
-        when(itemRequestService.findAll(anyInt(), anyInt()))
+        when(itemRequestService.findAll(anyInt(), anyInt(), any()))
                 .thenThrow(RuntimeException.class);
 
         mockMvc.perform(get("/requests/all")
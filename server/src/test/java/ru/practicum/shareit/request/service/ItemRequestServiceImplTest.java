@@ -3,7 +3,9 @@ package ru.practicum.shareit.request.service;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import lombok.RequiredArgsConstructor;
@@ -19,16 +21,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemShortDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.projection.ItemProjection;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestFullDto;
 import ru.practicum.shareit.request.dto.ItemRequestShortDto;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.projection.ItemRequestProjection;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -72,10 +77,40 @@ class ItemRequestServiceImplTest {
     private Item item;
     private ItemRequestCreateDto itemRequestCreateDto;
 
-    private static Page<ItemRequest> getPageFromList(List<ItemRequest> list) {
+    private static final SpelAwareProxyProjectionFactory PROJECTION_FACTORY = new SpelAwareProxyProjectionFactory();
+
+    private static Page<ItemRequestProjection> getPageFromList(List<ItemRequestProjection> list) {
         return new PageImpl<>(list, PageRequest.of(0, 10), list.isEmpty() ? 1 : list.size());
     }
 
+    private static ItemRequestProjection getItemRequestProjection(ItemRequest itemRequest) {
+        return PROJECTION_FACTORY.createProjection(ItemRequestProjection.class, Map.of(
+                "id", itemRequest.getEntityId(),
+                "description", itemRequest.getDescription(),
+                "created", itemRequest.getCreated(),
+                "requestorId", itemRequest.getRequestor().getEntityId(),
+                "requestorName", itemRequest.getRequestor().getName(),
+                "requestorEmail", itemRequest.getRequestor().getEmail()));
+    }
+
+    private static ItemProjection getItemProjection(Item item) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", item.getEntityId());
+        values.put("name", item.getName());
+        values.put("description", item.getDescription());
+        values.put("available", item.getAvailable());
+        values.put("sharerId", item.getSharer().getEntityId());
+        values.put("sharerName", item.getSharer().getName());
+        values.put("sharerEmail", item.getSharer().getEmail());
+        values.put("requestId", item.getRequest().getEntityId());
+        values.put("requestDescription", item.getRequest().getDescription());
+        values.put("requestCreated", item.getRequest().getCreated());
+        values.put("requestorId", item.getRequest().getRequestor().getEntityId());
+        values.put("requestorName", item.getRequest().getRequestor().getName());
+        values.put("requestorEmail", item.getRequest().getRequestor().getEmail());
+        return PROJECTION_FACTORY.createProjection(ItemProjection.class, values);
+    }
+
     @BeforeEach
     void setUp() {
         Random random = new Random();
@@ -125,10 +160,10 @@ class ItemRequestServiceImplTest {
     @DisplayName("Получение списка всех запросов")
     @Test
     void findAll() {
-        when(itemRequestRepository.findAll(any(Pageable.class)))
-                .thenReturn(getPageFromList(List.of(itemRequest)));
+        when(itemRequestRepository.findAllProjections(any(Pageable.class)))
+                .thenReturn(getPageFromList(List.of(getItemRequestProjection(itemRequest))));
 
-        Collection<ItemRequestShortDto> requestList = itemRequestService.findAll(0, 10);
+        Collection<ItemRequestShortDto> requestList = itemRequestService.findAll(0, 10, null).getContent();
         assertNotNull(requestList);
         assertFalse(requestList.isEmpty());
         assertEquals(1, requestList.size());
@@ -150,10 +185,10 @@ class ItemRequestServiceImplTest {
     @DisplayName("Получение пустого списка всех запросов")
     @Test
     void findAllEmptyList() {
-        when(itemRequestRepository.findAll(any(Pageable.class)))
+        when(itemRequestRepository.findAllProjections(any(Pageable.class)))
                 .thenReturn(getPageFromList(new ArrayList<>()));
 
-        Collection<ItemRequestShortDto> requestList = itemRequestService.findAll(0, 10);
+        Collection<ItemRequestShortDto> requestList = itemRequestService.findAll(0, 10, null).getContent();
         assertNotNull(requestList);
         assertTrue(requestList.isEmpty());
     }
@@ -161,21 +196,21 @@ class ItemRequestServiceImplTest {
     @DisplayName("Вызов исключения  при получении списка всех запросов")
     @Test
     void findAllWith500Exception() {
-        when(itemRequestRepository.findAll(any(Pageable.class)))
+        when(itemRequestRepository.findAllProjections(any(Pageable.class)))
                 .thenThrow(RuntimeException.class);
 
-        assertThrows(RuntimeException.class, () -> itemRequestService.findAll(0, 10));
+        assertThrows(RuntimeException.class, () -> itemRequestService.findAll(0, 10, null));
     }
 
     @DisplayName("Получение списка бронирований по идентификатору автора")
     @Test
     void findByRequestorId() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(requestor));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
         when(itemRequestRepository.findByRequestorEntityId(anyLong(), any()))
-                .thenReturn(getPageFromList(List.of(itemRequest)));
+                .thenReturn(getPageFromList(List.of(getItemRequestProjection(itemRequest))));
         when(itemRepository.findByRequestEntityIdIn(anyList(), any()))
-                .thenReturn(List.of(item));
+                .thenReturn(List.of(getItemProjection(item)));
 
         Collection<ItemRequestFullDto> requestList = itemRequestService.findByRequestorId(requestor.getEntityId(), 0,
                 10);
@@ -226,8 +261,8 @@ class ItemRequestServiceImplTest {
     @DisplayName("Вызов исключения NotFoundException при получении списка бронирований по идентификатору автора")
     @Test
     void findByRequestorIdWith404Exception() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         assertThrows(NotFoundException.class,
                 () -> itemRequestService.findByRequestorId(requestor.getEntityId(), 0, 10));
@@ -246,10 +281,10 @@ class ItemRequestServiceImplTest {
     @DisplayName("Получение запроса по идентификатору")
     @Test
     void findById() {
-        when(itemRequestRepository.findById(anyLong()))
-                .thenReturn(Optional.ofNullable(itemRequest));
+        when(itemRequestRepository.findProjectionById(anyLong()))
+                .thenReturn(Optional.of(getItemRequestProjection(itemRequest)));
         when(itemRepository.findByRequestEntityIdIn(anyList(), any()))
-                .thenReturn(List.of(item));
+                .thenReturn(List.of(getItemProjection(item)));
 
         ItemRequestFullDto itemRequestFullDto = itemRequestService.findById(itemRequest.getEntityId());
         assertNotNull(itemRequestFullDto);
@@ -290,7 +325,7 @@ class ItemRequestServiceImplTest {
     @DisplayName("Вызов исключения  при получении запроса по идентификатору")
     @Test
     void findByIdWith404Exception() {
-        when(itemRequestRepository.findById(anyLong()))
+        when(itemRequestRepository.findProjectionById(anyLong()))
                 .thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.findById(itemRequest.getEntityId()));
@@ -304,7 +339,7 @@ class ItemRequestServiceImplTest {
         when(itemRequestRepository.save(any()))
                 .thenReturn(itemRequest);
         when(itemRepository.findByRequestEntityIdIn(anyList(), any()))
-                .thenReturn(List.of(item));
+                .thenReturn(List.of(getItemProjection(item)));
 
         ItemRequestFullDto itemRequestFullDto = itemRequestService.create(requestor.getEntityId(),
                 itemRequestCreateDto);
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.request.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import ru.practicum.shareit.commons.sql.QueryBudgetExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestFullDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Количество SQL-запросов при получении запросов вещей с вещами, добавленными в ответ. Запросы считаются в БД H2 без
+ * кэша второго уровня и не зависят от количества запросов на странице
+ */
+@DisplayName("Количество SQL-запросов сервиса ItemRequestService")
+@SpringBootTest(webEnvironment = WebEnvironment.NONE)
+@TestInstance(Lifecycle.PER_CLASS)
+class ItemRequestServiceQueryBudgetTest {
+
+    private static final int REQUESTS = 3;
+
+    @RegisterExtension
+    final QueryBudgetExtension queries = new QueryBudgetExtension();
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User requestor;
+    private ItemRequest itemRequest;
+
+    @BeforeAll
+    void seed() {
+        requestor = userRepository.save(User.builder().name("Requestor").email("requestor@budget.com").build());
+        User owner = userRepository.save(User.builder().name("Owner").email("owner@requests-budget.com").build());
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < REQUESTS; i++) {
+            itemRequest = itemRequestRepository.save(ItemRequest.builder()
+                    .requestor(requestor)
+                    .description("Request " + i)
+                    .created(now.minusHours(i))
+                    .build());
+            itemRepository.save(Item.builder()
+                    .sharer(owner)
+                    .name("Answer " + i)
+                    .description("Answer item " + i)
+                    .available(true)
+                    .request(itemRequest)
+                    .build());
+        }
+    }
+
+    @AfterAll
+    void cleanUp() {
+        itemRepository.deleteAll();
+        itemRequestRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @BeforeEach
+    void evictCache() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @DisplayName("Запросы пользователя с вещами в ответ получаются постоянным числом запросов")
+    @Test
+    void findByRequestorId() {
+        List<ItemRequestFullDto> requests = List.copyOf(queries.assertMaxQueries(3,
+                () -> itemRequestService.findByRequestorId(requestor.getEntityId(), 0, 10)));
+
+        assertEquals(REQUESTS, requests.size());
+        requests.forEach(dto -> assertEquals(1, dto.getItems().size()));
+    }
+
+    @DisplayName("Запрос с вещами в ответ получается постоянным числом запросов")
+    @Test
+    void findById() {
+        ItemRequestFullDto dto = queries.assertMaxQueries(2,
+                () -> itemRequestService.findById(itemRequest.getEntityId()));
+
+        assertEquals(itemRequest.getEntityId(), dto.getId());
+        assertEquals(1, dto.getItems().size());
+    }
+}
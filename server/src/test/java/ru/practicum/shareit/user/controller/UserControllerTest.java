@@ -11,10 +11,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
 import ru.practicum.shareit.commons.exceptions.ValueAlreadyUsedException;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -30,6 +33,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -80,8 +84,8 @@ class UserControllerTest {
     @DisplayName("Получение списка пользователей")
     @Test
     void findAll() throws Exception {
-        when(userService.findAll(anyInt(), anyInt()))
-                .thenReturn(List.of(userDto));
+        when(userService.findAll(anyInt(), anyInt(), any()))
+                .thenReturn(new SliceImpl<>(List.of(userDto)));
 
         mockMvc.perform(get("/users")
                         .characterEncoding(StandardCharsets.UTF_8)
@@ -94,10 +98,44 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].email", is(userDto.getEmail())));
     }
 
+    @DisplayName("Получение списка пользователей после курсора")
+    @Test
+    void findAllAfterCursor() throws Exception {
+        String after = PageCursor.of(userDto.getId() - 1).encode();
+        when(userService.findAll(0, 1, after))
+                .thenReturn(new SliceImpl<>(List.of(userDto), PageRequest.of(0, 1), true));
+
+        mockMvc.perform(get("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .param("size", "1")
+                        .param("after", after)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PageCursor.NEXT_CURSOR_HEADER, PageCursor.of(userDto.getId()).encode()))
+                .andExpect(jsonPath("$[0].id", is(userDto.getId()), Long.class));
+    }
+
+    @DisplayName("Для заполненной последней страницы курсор следующей страницы не передается")
+    @Test
+    void findAllLastFullPage() throws Exception {
+        String after = PageCursor.of(userDto.getId() - 1).encode();
+        when(userService.findAll(0, 1, after))
+                .thenReturn(new SliceImpl<>(List.of(userDto), PageRequest.of(0, 1), false));
+
+        mockMvc.perform(get("/users")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .param("size", "1")
+                        .param("after", after)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(PageCursor.NEXT_CURSOR_HEADER))
+                .andExpect(jsonPath("$[0].id", is(userDto.getId()), Long.class));
+    }
+
     @DisplayName("Вызов исключения RuntimeException при получении списка пользователей")
     @Test
     void findAllWith403Exception() throws Exception {
-        when(userService.findAll(anyInt(), anyInt()))
+        when(userService.findAll(anyInt(), anyInt(), any()))
                 .thenThrow(RuntimeException.class);
 
         mockMvc.perform(get("/users")
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.service;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -17,11 +18,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.commons.exceptions.IncorrectDataException;
 import ru.practicum.shareit.commons.exceptions.NotFoundException;
 import ru.practicum.shareit.commons.exceptions.ValueAlreadyUsedException;
+import ru.practicum.shareit.commons.pagination.PageCursor;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -39,6 +43,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -107,10 +112,10 @@ class UserServiceImplTest {
     void getAllUsers() {
         Pageable pageable = PageRequest.of(0, 10, Sort.by(Direction.ASC, "entityId"));
 
-        when(userRepository.findAll(pageable))
+        when(userRepository.findAllBy(pageable))
                 .thenReturn(getPageFromList(List.of(user)));
 
-        Collection<UserDto> userList = userService.findAll(0, 10);
+        Collection<UserDto> userList = userService.findAll(0, 10, null).getContent();
         assertNotNull(userList);
         assertFalse(userList.isEmpty());
         assertEquals(1, userList.size());
@@ -125,6 +130,29 @@ class UserServiceImplTest {
         assertEquals(user.getEmail(), userDto.getEmail());
     }
 
+    @DisplayName("Получение списка пользователей после курсора")
+    @Test
+    void getAllUsersAfterCursor() {
+        Long afterId = user.getEntityId() - 1;
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Direction.ASC, "entityId"));
+
+        when(userRepository.findByEntityIdGreaterThan(afterId, pageable))
+                .thenReturn(new SliceImpl<>(List.of(user), pageable, false));
+
+        Collection<UserDto> userList = userService.findAll(0, 10, PageCursor.of(afterId).encode()).getContent();
+        assertEquals(1, userList.size());
+        assertEquals(user.getEntityId(), userList.iterator().next().getId());
+        verify(userRepository, never()).findAllBy(any(Pageable.class));
+    }
+
+    @DisplayName("Вызов исключения IncorrectDataException при получении списка пользователей после курсора")
+    @Test
+    void getAllUsersAfterCursorWith400Exception() {
+        String after = PageCursor.of(LocalDateTime.now(), user.getEntityId()).encode();
+
+        assertThrows(IncorrectDataException.class, () -> userService.findAll(0, 10, after));
+    }
+
     @DisplayName("Поиск пользователя по идентификатору")
     @Test
     void findById() {
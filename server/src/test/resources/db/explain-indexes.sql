@@ -0,0 +1,85 @@
+-- Сравнение планов запросов репозиториев до и после миграции V2__create_indexes.sql в PostgreSQL.
+-- Запуск на пустой базе, созданной миграцией V1__create_tables.sql:
+--   psql -h localhost -p 6541 -U shareit -d shareit -f explain-indexes.sql > before.txt
+--   (применить V2 и V3)
+--   psql -h localhost -p 6541 -U shareit -d shareit -f explain-indexes.sql > after.txt
+
+BEGIN;
+
+INSERT INTO users (id, name, email)
+SELECT u, 'User ' || u, 'user' || u || '@system.com'
+FROM generate_series(1, 20000) AS u;
+
+INSERT INTO requests (id, description, requestor_id, created)
+SELECT r, 'Request ' || r, 1 + (r % 20000), NOW() - (r % 1000) * INTERVAL '1 hour'
+FROM generate_series(1, 50000) AS r;
+
+INSERT INTO items (id, name, description, is_available, owner_id, request_id)
+SELECT i, 'Item ' || i, 'Description ' || i, i % 7 <> 0, 1 + (i % 20000), CASE WHEN i % 10 = 0 THEN 1 + (i % 50000) END
+FROM generate_series(1, 200000) AS i;
+
+INSERT INTO comments (id, text, item_id, author_id, created)
+SELECT c, 'Comment ' || c, 1 + (c % 200000), 1 + (c % 20000), NOW() - (c % 500) * INTERVAL '1 hour'
+FROM generate_series(1, 300000) AS c;
+
+INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, status)
+SELECT b,
+       NOW() + ((b % 400) - 200) * INTERVAL '1 day',
+       NOW() + ((b % 400) - 199) * INTERVAL '1 day',
+       1 + (b % 200000),
+       1 + ((b * 7) % 20000),
+       (ARRAY ['WAITING', 'APPROVED', 'APPROVED', 'REJECTED'])[1 + b % 4]
+FROM generate_series(1, 2000000) AS b;
+
+ANALYZE;
+
+-- BookingRepository.findAllByBookerEntityId
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bookings WHERE booker_id = 77 ORDER BY start_date DESC LIMIT 10;
+
+-- BookingRepository.findAllCurrentBookerBookings
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM bookings
+WHERE booker_id = 77 AND start_date < NOW() AND end_date > NOW() AND status = 'APPROVED'
+ORDER BY start_date DESC LIMIT 10;
+
+-- BookingRepository.findAllFutureOwnerBookings
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT b.* FROM bookings b JOIN items i ON i.id = b.item_id
+WHERE i.owner_id = 77 AND b.start_date > NOW() AND b.status = 'APPROVED'
+ORDER BY b.start_date DESC LIMIT 10;
+
+-- BookingRepository.findNeighbourBookings
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM (
+    SELECT b.*, ROW_NUMBER() OVER (PARTITION BY b.item_id, b.end_date < NOW() ORDER BY b.start_date) AS rn
+    FROM bookings b
+    WHERE b.item_id IN (10, 20, 30, 40, 50) AND b.status = 'APPROVED'
+) nb WHERE nb.rn = 1;
+
+-- BookingRepository.existsByItemAndBooker
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT COUNT(*) FROM bookings
+WHERE item_id = 10 AND booker_id = 71 AND end_date < NOW() AND status = 'APPROVED';
+
+-- ItemRepository.findAllBySharerEntityId
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM items WHERE owner_id = 77 ORDER BY id LIMIT 10;
+
+-- ItemRepository.findByRequestEntityIdIn
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM items WHERE request_id IN (11, 21, 31) ORDER BY id;
+
+-- ItemRequestRepository.findByRequestorEntityId
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM requests WHERE requestor_id = 77 ORDER BY created DESC LIMIT 10;
+
+-- CommentRepository.findAllByItemEntityIdIn
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM comments WHERE item_id IN (10, 20, 30) ORDER BY created;
+
+-- UserRepository.existsByEmailIgnoreCase
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT 1 FROM users WHERE UPPER(email) = UPPER('user77@system.com') LIMIT 1;
+
+ROLLBACK;